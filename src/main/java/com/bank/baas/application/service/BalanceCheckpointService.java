@@ -0,0 +1,141 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.BalanceCheckpoint;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.BalanceCheckpointRepository;
+import com.bank.baas.domain.repository.TransactionHistoryRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * End-of-day balance checkpoints and point-in-time balances. A checkpoint for day D is the current balance minus the
+ * net of the successful transactions created since midnight after D; a balance as of an instant is the nearest
+ * earlier checkpoint plus the transactions created between its close and that instant, both read from the
+ * per-user history table.
+ */
+@Service
+public class BalanceCheckpointService {
+
+    private final AccountRepository accountRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionHistoryRepository historyRepository;
+    private final LedgerBalanceService ledgerBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean doubleEntry;
+    private final int chunkSize;
+
+    @Autowired
+    public BalanceCheckpointService(
+            AccountRepository accountRepository,
+            BalanceCheckpointRepository checkpointRepository,
+            TransactionHistoryRepository historyRepository,
+            LedgerBalanceService ledgerBalanceService,
+            TransactionTemplate transactionTemplate,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode,
+            @Value("${baas.balance.checkpoint.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("baas.balance.checkpoint.chunk-size must be greater than zero");
+        }
+        this.accountRepository = accountRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.historyRepository = historyRepository;
+        this.ledgerBalanceService = ledgerBalanceService;
+        this.transactionTemplate = transactionTemplate;
+        this.doubleEntry = concurrencyMode == TransferConcurrencyMode.DOUBLE_ENTRY;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${baas.balance.checkpoint.cron:0 5 0 * * *}")
+    public void checkpointPreviousDay() {
+        checkpoint(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Writes the closing balance of {@code date} for every account that existed by then and has none yet, one
+     * database transaction per chunk of accounts. Running it again for the same date only fills the gaps.
+     */
+    public int checkpoint(LocalDate date) {
+        LocalDateTime closedAt = date.plusDays(1).atStartOfDay();
+        UUID afterId = null;
+        int written = 0;
+
+        while (true) {
+            UUID chunkAfterId = afterId;
+            // Balances and history sums of a chunk are read in one transaction so they see the same snapshot.
+            ChunkResult chunk = transactionTemplate.execute(status -> checkpointChunk(date, closedAt, chunkAfterId));
+            if (chunk == null || chunk.lastAccountId() == null) {
+                break;
+            }
+            written += chunk.written();
+            afterId = chunk.lastAccountId();
+        }
+
+        SimpleLogger.info(BalanceCheckpointService.class, "Wrote " + written + " balance checkpoints for " + date);
+        return written;
+    }
+
+    public BigDecimal balanceAsOf(Account account, LocalDateTime asOf) {
+        UUID userId = account.getUser().getId();
+        Optional<BalanceCheckpoint> checkpoint =
+                checkpointRepository.findLatestOnOrBefore(account.getId(), asOf.toLocalDate().minusDays(1));
+
+        if (checkpoint.isPresent()) {
+            return checkpoint.get().closingBalance()
+                    .add(historyRepository.sumSettledAmount(userId, checkpoint.get().closedAt(), asOf));
+        }
+
+        // No checkpoint that early: walk back from the current balance instead.
+        return currentBalance(account).subtract(historyRepository.sumSettledAmount(userId, asOf, null));
+    }
+
+    private ChunkResult checkpointChunk(LocalDate date, LocalDateTime closedAt, UUID afterId) {
+        List<Account> accounts = accountRepository.findAllAfter(afterId, chunkSize);
+        if (accounts.isEmpty()) {
+            return new ChunkResult(null, 0);
+        }
+
+        Set<UUID> done = checkpointRepository.findAccountIdsWithCheckpoint(date,
+                accounts.stream().map(Account::getId).toList());
+        List<Account> pending = accounts.stream()
+                .filter(account -> !done.contains(account.getId()))
+                .filter(account -> account.getUser() != null)
+                .filter(account -> account.getCreatedAt() == null || account.getCreatedAt().isBefore(closedAt))
+                .toList();
+
+        Map<UUID, BigDecimal> sinceClose = historyRepository.sumSettledAmountsSince(
+                pending.stream().map(account -> account.getUser().getId()).toList(), closedAt);
+
+        List<BalanceCheckpoint> checkpoints = new ArrayList<>(pending.size());
+        for (Account account : pending) {
+            BigDecimal delta = sinceClose.getOrDefault(account.getUser().getId(), BigDecimal.ZERO);
+            checkpoints.add(new BalanceCheckpoint(account.getId(), date, currentBalance(account).subtract(delta)));
+        }
+        checkpointRepository.saveAll(checkpoints);
+
+        return new ChunkResult(accounts.get(accounts.size() - 1).getId(), checkpoints.size());
+    }
+
+    private BigDecimal currentBalance(Account account) {
+        // The double-entry mode leaves the account table at the opening balance.
+        return doubleEntry ? ledgerBalanceService.balanceOf(account) : account.getBalance();
+    }
+
+    private record ChunkResult(UUID lastAccountId, int written) {
+    }
+}
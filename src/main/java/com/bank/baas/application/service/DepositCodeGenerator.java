@@ -0,0 +1,56 @@
+package com.bank.baas.application.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Draws deposit codes uniformly from a 64-symbol URL-safe alphabet, six bits per character, so {@code length}
+ * characters carry {@code 6 * length} bits. Each thread has its own DRBG instance: the platform default
+ * (NativePRNG on Linux) serializes every call on a shared lock.
+ */
+@Service
+public class DepositCodeGenerator {
+
+    public static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    private static final char[] SYMBOLS = ALPHABET.toCharArray();
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(DepositCodeGenerator::newRandom);
+
+    private final int length;
+
+    @Autowired
+    public DepositCodeGenerator(@Value("${baas.deposit-code.length:12}") int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("baas.deposit-code.length must be greater than zero");
+        }
+        this.length = length;
+    }
+
+    public String next() {
+        byte[] bytes = new byte[length];
+        RANDOM.get().nextBytes(bytes);
+
+        char[] code = new char[length];
+        for (int i = 0; i < length; i++) {
+            code[i] = SYMBOLS[bytes[i] & 0x3F];
+        }
+        return new String(code);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
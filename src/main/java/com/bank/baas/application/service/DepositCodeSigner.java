@@ -0,0 +1,183 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.model.SignedDepositCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Encodes deposit codes as self-contained tokens signed with HMAC-SHA256, so generating one needs no database
+ * write. A token is version, key id, amount in cents, generator id, expiry, nonce and the first 16 bytes of the
+ * MAC over all of them, in URL-safe Base64 ({@value #TOKEN_LENGTH} characters).
+ * <p>
+ * Keys are configured as {@code id:base64-secret} pairs in {@code baas.deposit-code.signing.keys}. New tokens are
+ * signed with {@code active-key-id} and any configured key verifies, so a key is rotated by adding the new one,
+ * switching the active id and removing the old key once its tokens have expired. Removing a key revokes its tokens.
+ */
+@Service
+public class DepositCodeSigner {
+
+    public static final int TOKEN_LENGTH = 88;
+
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_BYTES = 1 + 1 + Long.BYTES + 16 + Long.BYTES + 16;
+    private static final int TAG_BYTES = 16;
+    private static final int MIN_KEY_BYTES = 32;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Map<Integer, ThreadLocal<Mac>> macs;
+    private final int activeKeyId;
+
+    @Autowired
+    public DepositCodeSigner(
+            @Value("${baas.deposit-code.signing.keys:}") String keys,
+            @Value("${baas.deposit-code.signing.active-key-id:0}") int activeKeyId) {
+        this.macs = parseKeys(keys);
+        this.activeKeyId = activeKeyId;
+        if (!macs.isEmpty() && !macs.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("baas.deposit-code.signing.active-key-id " + activeKeyId + " is not configured");
+        }
+    }
+
+    public boolean isEnabled() {
+        return !macs.isEmpty();
+    }
+
+    /**
+     * Signed tokens have a fixed length, which is how redemption tells them from stored codes.
+     */
+    public boolean isSigned(String code) {
+        return code != null && code.length() == TOKEN_LENGTH;
+    }
+
+    public String sign(SignedDepositCode code) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("No deposit code signing keys configured");
+        }
+
+        ByteBuffer token = ByteBuffer.allocate(PAYLOAD_BYTES + TAG_BYTES);
+        token.put(VERSION);
+        token.put((byte) activeKeyId);
+        token.putLong(toCents(code.amount()));
+        token.putLong(code.generatorId().getMostSignificantBits());
+        token.putLong(code.generatorId().getLeastSignificantBits());
+        token.putLong(code.expiresAt().toEpochSecond(ZoneOffset.UTC));
+        token.putLong(code.nonce().getMostSignificantBits());
+        token.putLong(code.nonce().getLeastSignificantBits());
+        token.put(tag(macs.get(activeKeyId).get(), token.array()), 0, TAG_BYTES);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+    }
+
+    /**
+     * Returns the claims of a token signed with a configured key, or empty when the token is malformed, was
+     * tampered with or its key was removed. Expiry is left to the caller.
+     */
+    public Optional<SignedDepositCode> verify(String code) {
+        if (!isSigned(code)) {
+            return Optional.empty();
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(code);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != PAYLOAD_BYTES + TAG_BYTES || bytes[0] != VERSION) {
+            return Optional.empty();
+        }
+
+        ThreadLocal<Mac> mac = macs.get(bytes[1] & 0xFF);
+        if (mac == null) {
+            return Optional.empty();
+        }
+
+        byte[] expected = tag(mac.get(), bytes);
+        if (!MessageDigest.isEqual(Arrays.copyOf(expected, TAG_BYTES),
+                Arrays.copyOfRange(bytes, PAYLOAD_BYTES, PAYLOAD_BYTES + TAG_BYTES))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes, 2, PAYLOAD_BYTES - 2);
+        BigDecimal amount = BigDecimal.valueOf(payload.getLong(), 2);
+        UUID generatorId = new UUID(payload.getLong(), payload.getLong());
+        LocalDateTime expiresAt = LocalDateTime.ofEpochSecond(payload.getLong(), 0, ZoneOffset.UTC);
+        UUID nonce = new UUID(payload.getLong(), payload.getLong());
+
+        return Optional.of(new SignedDepositCode(nonce, generatorId, amount, expiresAt));
+    }
+
+    private static byte[] tag(Mac mac, byte[] token) {
+        mac.update(token, 0, PAYLOAD_BYTES);
+        return mac.doFinal();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        try {
+            return amount.setScale(2).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most two decimal places", e);
+        }
+    }
+
+    private static Map<Integer, ThreadLocal<Mac>> parseKeys(String keys) {
+        Map<Integer, ThreadLocal<Mac>> macs = new HashMap<>();
+        if (keys == null || keys.isBlank()) {
+            return Collections.emptyMap();
+        }
+
+        for (String entry : keys.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("baas.deposit-code.signing.keys entries must be id:base64-secret");
+            }
+
+            int id = Integer.parseInt(parts[0].trim());
+            if (id < 0 || id > 255) {
+                throw new IllegalArgumentException("Deposit code signing key id must be between 0 and 255: " + id);
+            }
+
+            byte[] secret = Base64.getDecoder().decode(parts[1].trim());
+            if (secret.length < MIN_KEY_BYTES) {
+                throw new IllegalArgumentException("Deposit code signing key " + id + " must be at least "
+                        + MIN_KEY_BYTES + " bytes");
+            }
+
+            SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+            newMac(key); // fail at startup, not on the first code
+            if (macs.put(id, ThreadLocal.withInitial(() -> newMac(key))) != null) {
+                throw new IllegalArgumentException("Duplicate deposit code signing key id: " + id);
+            }
+        }
+
+        return Collections.unmodifiableMap(macs);
+    }
+
+    // Mac instances are not thread-safe and costly to set up, so each thread keeps one per key.
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize " + ALGORITHM, e);
+        }
+    }
+}
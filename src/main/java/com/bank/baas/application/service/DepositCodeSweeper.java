@@ -0,0 +1,96 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.RedeemedCodeRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Keeps {@code deposit_codes} down to the codes that can still be redeemed. Unused codes are deleted once they have
+ * been expired for the retention period and redeemed ones once they were used that long ago; the redemption itself
+ * stays in the transactions table. Entries of {@code redeemed_codes} go once their signed code has been expired
+ * for the retention period, when the expiry check alone rejects the token. Deletes run in batches of
+ * {@code batch-size} rows, each its own short transaction, and a run stops after {@code max-batches} per kind so a
+ * backlog is worked off over several runs.
+ */
+@Service
+public class DepositCodeSweeper {
+
+    private final DepositCodeRepository depositCodeRepository;
+    private final RedeemedCodeRepository redeemedCodeRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long retentionHours;
+    private final Counter expiredSwept;
+    private final Counter usedSwept;
+    private final Counter signedSwept;
+
+    @Autowired
+    public DepositCodeSweeper(
+            DepositCodeRepository depositCodeRepository,
+            RedeemedCodeRepository redeemedCodeRepository,
+            MeterRegistry meterRegistry,
+            @Value("${baas.deposit-code.sweeper.batch-size:1000}") int batchSize,
+            @Value("${baas.deposit-code.sweeper.max-batches:100}") int maxBatches,
+            @Value("${baas.deposit-code.sweeper.retention-hours:24}") long retentionHours) {
+        if (batchSize <= 0 || maxBatches <= 0) {
+            throw new IllegalArgumentException(
+                    "baas.deposit-code.sweeper batch-size and max-batches must be greater than zero");
+        }
+        this.depositCodeRepository = depositCodeRepository;
+        this.redeemedCodeRepository = redeemedCodeRepository;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.retentionHours = retentionHours;
+        this.expiredSwept = Counter.builder("baas.deposit-code.swept").tag("reason", "expired").register(meterRegistry);
+        this.usedSwept = Counter.builder("baas.deposit-code.swept").tag("reason", "used").register(meterRegistry);
+        this.signedSwept = Counter.builder("baas.deposit-code.swept").tag("reason", "signed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${baas.deposit-code.sweeper.interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+
+        int expired = drain(() -> depositCodeRepository.deleteExpiredUnused(before, batchSize));
+        expiredSwept.increment(expired);
+
+        int used = drain(() -> depositCodeRepository.deleteUsedBefore(before, batchSize));
+        usedSwept.increment(used);
+
+        int signed = drain(() -> redeemedCodeRepository.deleteExpiredBefore(before, batchSize));
+        signedSwept.increment(signed);
+
+        if (expired > 0 || used > 0 || signed > 0) {
+            SimpleLogger.info(DepositCodeSweeper.class, "Swept " + expired + " expired and " + used
+                    + " redeemed deposit codes, " + signed + " redeemed signed codes");
+        }
+    }
+
+    private int drain(IntSupplier batch) {
+        int total = 0;
+
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted;
+            try {
+                deleted = batch.getAsInt();
+            } catch (RuntimeException e) {
+                SimpleLogger.error(DepositCodeSweeper.class, "Deposit code sweep batch failed: " + e.getMessage(), e);
+                break;
+            }
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+
+        return total;
+    }
+}
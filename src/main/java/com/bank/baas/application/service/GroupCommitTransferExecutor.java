@@ -0,0 +1,266 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settles concurrent transfers in groups, one database transaction and one commit per group, for
+ * {@link TransferConcurrencyMode#GROUP_COMMIT}. A committer closes its group after {@code window-ms} or
+ * {@code max-batch-size} transfers, whichever comes first: a longer window trades latency for fewer commits.
+ * <p>
+ * The accounts of a group are locked in id order and the transfers applied in arrival order, so an earlier credit
+ * can fund a later debit. Insufficient balance only fails its own transfer; if the group transaction itself fails,
+ * it is split in halves and replayed until the failing transfer is isolated.
+ */
+@Service
+public class GroupCommitTransferExecutor {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferRetryService transferRetryService;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final int committerCount;
+    private final BlockingQueue<PendingTransfer> queue;
+    private final DistributionSummary batchSizes;
+    private final Counter replays;
+    private final List<Thread> committers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @Autowired
+    public GroupCommitTransferExecutor(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            TransferRetryService transferRetryService,
+            MeterRegistry meterRegistry,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode,
+            @Value("${baas.transfer.group-commit.window-ms:2}") long windowMs,
+            @Value("${baas.transfer.group-commit.max-batch-size:64}") int maxBatchSize,
+            @Value("${baas.transfer.group-commit.committers:2}") int committerCount,
+            @Value("${baas.transfer.group-commit.queue-capacity:10000}") int queueCapacity) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("baas.transfer.group-commit.max-batch-size must be greater than zero");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transferRetryService = transferRetryService;
+        this.enabled = concurrencyMode == TransferConcurrencyMode.GROUP_COMMIT;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxBatchSize = maxBatchSize;
+        this.committerCount = committerCount;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("baas.transfer.group-commit.batch.size")
+                .description("Transfers settled per database transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.replays = Counter.builder("baas.transfer.group-commit.replays")
+                .description("Groups split and replayed after a failed commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        for (int i = 0; i < committerCount; i++) {
+            Thread committer = new Thread(this::commitLoop, "transfer-group-commit-" + i);
+            committers.add(committer);
+            committer.start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        for (Thread committer : committers) {
+            try {
+                committer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        committers.clear();
+    }
+
+    public CompletableFuture<Transaction> submit(User sender, UUID senderAccountId, User receiver, UUID receiverAccountId,
+                                                 BigDecimal amount, String idempotencyKey) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Group commit executor is not running"));
+        }
+
+        PendingTransfer transfer = new PendingTransfer(sender, senderAccountId, receiver, receiverAccountId, amount,
+                idempotencyKey, new CompletableFuture<>());
+        try {
+            // A full queue blocks the caller, which is the backpressure for a committer that cannot keep up.
+            queue.put(transfer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new IllegalStateException("Interrupted while queueing transfer", e));
+        }
+        return transfer.result();
+    }
+
+    private void commitLoop() {
+        List<PendingTransfer> group = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                group.clear();
+                group.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+
+                while (group.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingTransfer next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+
+                settle(new ArrayList<>(group));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void settle(List<PendingTransfer> group) {
+        Map<PendingTransfer, Object> outcomes;
+        try {
+            outcomes = transferRetryService.executeInTransaction(() -> apply(group));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(e);
+                return;
+            }
+
+            SimpleLogger.warn(GroupCommitTransferExecutor.class,
+                    "Group of " + group.size() + " transfers failed, replaying in halves: " + e.getMessage());
+            replays.increment();
+            int half = group.size() / 2;
+            settle(group.subList(0, half));
+            settle(group.subList(half, group.size()));
+            return;
+        }
+
+        batchSizes.record(group.size());
+        outcomes.forEach((transfer, outcome) -> {
+            if (outcome instanceof Transaction transaction) {
+                transfer.result().complete(transaction);
+            } else {
+                transfer.result().completeExceptionally((RuntimeException) outcome);
+            }
+        });
+    }
+
+    private Map<PendingTransfer, Object> apply(List<PendingTransfer> group) {
+        Set<UUID> accountIds = new HashSet<>();
+        for (PendingTransfer transfer : group) {
+            accountIds.add(transfer.senderAccountId());
+            accountIds.add(transfer.receiverAccountId());
+        }
+
+        // One SELECT ... FOR UPDATE ordered by id, so groups with overlapping accounts cannot deadlock.
+        Map<UUID, BigDecimal> balances = accountRepository.lockBalances(accountIds);
+        Map<UUID, BigDecimal> deltas = new HashMap<>();
+        Map<PendingTransfer, Object> outcomes = new HashMap<>();
+        List<PendingTransfer> settled = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (PendingTransfer transfer : group) {
+            BigDecimal senderBalance = balances.get(transfer.senderAccountId());
+
+            if (senderBalance == null || !balances.containsKey(transfer.receiverAccountId())) {
+                outcomes.put(transfer, new AuthorizationException("Account not found"));
+                continue;
+            }
+
+            if (senderBalance.compareTo(transfer.amount()) < 0) {
+                SimpleLogger.error(GroupCommitTransferExecutor.class,
+                        "Insufficient balance for account: " + transfer.senderAccountId() + ", amount: " + transfer.amount());
+                outcomes.put(transfer, new AuthorizationException("Insufficient balance"));
+                continue;
+            }
+
+            balances.put(transfer.senderAccountId(), senderBalance.subtract(transfer.amount()));
+            balances.merge(transfer.receiverAccountId(), transfer.amount(), BigDecimal::add);
+            deltas.merge(transfer.senderAccountId(), transfer.amount().negate(), BigDecimal::add);
+            deltas.merge(transfer.receiverAccountId(), transfer.amount(), BigDecimal::add);
+
+            Transaction transaction = new Transaction(transfer.sender(), transfer.receiver(), transfer.amount(), now);
+            transaction.setStatus(TransactionStatus.SUCCESS);
+            transaction.setUpdatedAt(now);
+            transaction.setIdempotencyKey(transfer.idempotencyKey());
+            transactions.add(transaction);
+            settled.add(transfer);
+        }
+
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        accountRepository.applyBalanceDeltas(deltas);
+
+        if (!transactions.isEmpty()) {
+            List<Transaction> saved = transactionRepository.saveAll(transactions);
+            for (int i = 0; i < saved.size(); i++) {
+                outcomes.put(settled.get(i), saved.get(i));
+            }
+        }
+
+        return outcomes;
+    }
+
+    record PendingTransfer(
+            User sender,
+            UUID senderAccountId,
+            User receiver,
+            UUID receiverAccountId,
+            BigDecimal amount,
+            String idempotencyKey,
+            CompletableFuture<Transaction> result
+    ) {
+    }
+}
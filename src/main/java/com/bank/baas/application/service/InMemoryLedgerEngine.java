@@ -0,0 +1,384 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AlreadyExistsException;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.LedgerRecord;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.LedgerJournal;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Settlement backend for {@link TransferConcurrencyMode#IN_MEMORY}. Balances live in memory, split across
+ * partitions that are each owned by one sequencer thread, so no balance is ever touched by two threads and no
+ * lock is taken. A transfer debits the sender on its partition, is made durable in the {@link LedgerJournal},
+ * credits the receiver on its partition and is projected to the database asynchronously.
+ * <p>
+ * On start the balances are loaded from the account table, which already contains every projected record, and the
+ * journal records after the projection checkpoint are replayed on top of them.
+ * <p>
+ * Idempotency keys are indexed per sender from the moment a transfer claims them until well after its record is
+ * projected, and the index is rebuilt from the replayed records, so a retried key never debits twice even when the
+ * row carrying it is not in the transactions table yet.
+ * <p>
+ * The projection may fall behind the journal by at most {@code baas.ledger.projection.max-lag} records. Past that,
+ * new transfers wait for it to catch up and are refused once {@code baas.ledger.projection.backpressure-timeout-ms}
+ * runs out, so a slow or failing database bounds the backlog instead of growing it.
+ */
+@Service
+public class InMemoryLedgerEngine {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerJournal ledgerJournal;
+    private final LedgerProjectionWriter projectionWriter;
+    private final boolean enabled;
+    private final int partitionCount;
+    private final int ringSize;
+    private final long keyRetentionMs;
+    private final long maxProjectionLag;
+    private final long backpressureTimeoutMs;
+
+    private final List<Partition> partitions = new ArrayList<>();
+    private final Set<UUID> knownAccounts = ConcurrentHashMap.newKeySet();
+    private final AtomicLong journaledSequence = new AtomicLong();
+    private final Map<KeyScope, CompletableFuture<LedgerRecord>> journaledKeys = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    @Autowired
+    public InMemoryLedgerEngine(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerJournal ledgerJournal,
+            LedgerProjectionWriter projectionWriter,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode,
+            @Value("${baas.ledger.partitions:4}") int partitionCount,
+            @Value("${baas.ledger.ring-size:65536}") int ringSize,
+            @Value("${baas.ledger.idempotency.retention-ms:600000}") long keyRetentionMs,
+            @Value("${baas.ledger.projection.max-lag:100000}") long maxProjectionLag,
+            @Value("${baas.ledger.projection.backpressure-timeout-ms:5000}") long backpressureTimeoutMs) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerJournal = ledgerJournal;
+        this.projectionWriter = projectionWriter;
+        this.enabled = concurrencyMode == TransferConcurrencyMode.IN_MEMORY;
+        this.partitionCount = partitionCount;
+        this.ringSize = ringSize;
+        this.keyRetentionMs = keyRetentionMs;
+        this.maxProjectionLag = maxProjectionLag;
+        this.backpressureTimeoutMs = backpressureTimeoutMs;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new Partition(i));
+        }
+
+        for (Account account : accountRepository.findAll()) {
+            partitionFor(account.getId()).balances.put(account.getId(), account.getBalance());
+        }
+
+        long projectedSequence = transactionRepository.findMaxLedgerSequence();
+        List<LedgerRecord> unprojected = ledgerJournal.open(projectedSequence);
+        journaledSequence.set(unprojected.isEmpty()
+                ? projectedSequence
+                : unprojected.get(unprojected.size() - 1).sequence());
+
+        // Replayed records were authorized before the restart, so they are applied without checks.
+        for (LedgerRecord record : unprojected) {
+            partitionFor(record.senderAccountId()).balances.merge(record.senderAccountId(), record.amount().negate(), BigDecimal::add);
+            partitionFor(record.receiverAccountId()).balances.merge(record.receiverAccountId(), record.amount(), BigDecimal::add);
+            if (record.idempotencyKey() != null) {
+                journaledKeys.put(new KeyScope(record.senderUserId(), record.idempotencyKey()),
+                        CompletableFuture.completedFuture(record));
+            }
+        }
+
+        partitions.forEach(partition -> knownAccounts.addAll(partition.balances.keySet()));
+
+        projectionWriter.start(projectedSequence);
+        unprojected.forEach(projectionWriter::enqueue);
+
+        running = true;
+        partitions.forEach(partition -> partition.thread.start());
+
+        SimpleLogger.info(InMemoryLedgerEngine.class, "In-memory ledger started with " + partitionCount +
+                " partitions, replayed " + unprojected.size() + " journal records after sequence " + projectedSequence);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ledgerJournal.close();
+        projectionWriter.stop();
+    }
+
+    public LedgerRecord transfer(UUID senderUserId, UUID senderAccountId, UUID receiverUserId, UUID receiverAccountId,
+                                 BigDecimal amount, String idempotencyKey) {
+        if (!running) {
+            throw new IllegalStateException("In-memory ledger engine is not running");
+        }
+
+        if (idempotencyKey == null) {
+            return settle(senderUserId, senderAccountId, receiverUserId, receiverAccountId, amount, null);
+        }
+
+        KeyScope scope = new KeyScope(senderUserId, idempotencyKey);
+        CompletableFuture<LedgerRecord> claim = new CompletableFuture<>();
+        CompletableFuture<LedgerRecord> earlier = journaledKeys.putIfAbsent(scope, claim);
+        if (earlier != null) {
+            return replay(await(earlier), senderAccountId, receiverAccountId, amount);
+        }
+
+        try {
+            LedgerRecord record = settle(senderUserId, senderAccountId, receiverUserId, receiverAccountId, amount,
+                    idempotencyKey);
+            claim.complete(record);
+            return record;
+        } catch (RuntimeException e) {
+            // Nothing was journaled, so the key is free for a retry.
+            journaledKeys.remove(scope, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets keys whose records were projected long enough ago that a replay finds them in the transactions table.
+     * The retention covers a replay that looked the key up in the table just before its row was written.
+     */
+    @Scheduled(fixedDelayString = "${baas.ledger.idempotency.retention-ms:600000}")
+    public void pruneProjectedKeys() {
+        if (!running) {
+            return;
+        }
+
+        long projectedSequence = projectionWriter.projectedSequence();
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(keyRetentionMs * 1_000_000);
+
+        journaledKeys.values().removeIf(claim -> {
+            LedgerRecord record = claim.getNow(null);
+            return record != null && record.sequence() <= projectedSequence && record.createdAt().isBefore(cutoff);
+        });
+    }
+
+    private LedgerRecord replay(LedgerRecord record, UUID senderAccountId, UUID receiverAccountId, BigDecimal amount) {
+        if (!record.senderAccountId().equals(senderAccountId)
+                || !record.receiverAccountId().equals(receiverAccountId)
+                || record.amount().compareTo(amount) != 0) {
+            SimpleLogger.error(InMemoryLedgerEngine.class,
+                    "Idempotency key reused with a different transfer: " + record.idempotencyKey());
+            throw new AlreadyExistsException("Idempotency-Key already used for a different transfer");
+        }
+
+        SimpleLogger.info(InMemoryLedgerEngine.class, "Replaying journaled transfer for key: " + record.idempotencyKey());
+        return record;
+    }
+
+    private LedgerRecord settle(UUID senderUserId, UUID senderAccountId, UUID receiverUserId, UUID receiverAccountId,
+                                BigDecimal amount, String idempotencyKey) {
+        awaitProjectionCapacity();
+
+        Partition senderPartition = partitionFor(senderAccountId);
+        Partition receiverPartition = partitionFor(receiverAccountId);
+
+        // Make sure both accounts are known before any money leaves the sender.
+        resolve(senderAccountId);
+        resolve(receiverAccountId);
+
+        boolean debited = await(senderPartition.submit(() -> senderPartition.debit(senderAccountId, amount)));
+        if (!debited) {
+            SimpleLogger.error(InMemoryLedgerEngine.class, "Insufficient balance for account: " + senderAccountId);
+            throw new AuthorizationException("Insufficient balance");
+        }
+
+        LedgerRecord record;
+        try {
+            record = await(ledgerJournal.append(new LedgerRecord(0, UUID.randomUUID(), senderUserId, senderAccountId,
+                    receiverUserId, receiverAccountId, amount, idempotencyKey, LocalDateTime.now())));
+        } catch (RuntimeException e) {
+            senderPartition.execute(() -> senderPartition.credit(senderAccountId, amount));
+            throw e;
+        }
+
+        journaledSequence.accumulateAndGet(record.sequence(), Math::max);
+        receiverPartition.execute(() -> receiverPartition.credit(receiverAccountId, amount));
+        projectionWriter.enqueue(record);
+
+        return record;
+    }
+
+    private void awaitProjectionCapacity() {
+        long required = journaledSequence.get() - maxProjectionLag;
+        if (projectionWriter.projectedSequence() >= required) {
+            return;
+        }
+
+        try {
+            if (projectionWriter.awaitProjected(required, backpressureTimeoutMs)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger projection", e);
+        }
+
+        SimpleLogger.warn(InMemoryLedgerEngine.class, "Ledger projection is more than " + maxProjectionLag +
+                " records behind the journal, refusing transfer");
+        throw new IllegalStateException("Ledger projection is lagging behind the journal");
+    }
+
+    public BigDecimal balanceOf(UUID accountId) {
+        if (!running) {
+            throw new IllegalStateException("In-memory ledger engine is not running");
+        }
+        resolve(accountId);
+        Partition partition = partitionFor(accountId);
+        return await(partition.submit(() -> partition.balance(accountId)));
+    }
+
+    /**
+     * Loads an account opened after start on the caller thread, so the sequencers never wait on the database. Such an
+     * account has no ledger history yet, so its table balance is current; if another caller registered it first, the
+     * partition keeps that balance and whatever was applied on top of it.
+     */
+    private void resolve(UUID accountId) {
+        if (knownAccounts.contains(accountId)) {
+            return;
+        }
+
+        BigDecimal loaded = accountRepository.findById(accountId)
+                .map(Account::getBalance)
+                .orElseThrow(() -> new AuthorizationException("Account not found: " + accountId));
+        Partition partition = partitionFor(accountId);
+        await(partition.submit(() -> partition.balances.putIfAbsent(accountId, loaded)));
+        knownAccounts.add(accountId);
+    }
+
+    private Partition partitionFor(UUID accountId) {
+        return partitions.get(Math.floorMod(accountId.hashCode(), partitions.size()));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record KeyScope(UUID senderUserId, String idempotencyKey) {
+    }
+
+    private final class Partition {
+        private final Map<UUID, BigDecimal> balances = new HashMap<>();
+        private final BlockingQueue<Runnable> ring = new ArrayBlockingQueue<>(ringSize);
+        private final Thread thread;
+
+        private Partition(int index) {
+            this.thread = new Thread(this::run, "ledger-sequencer-" + index);
+        }
+
+        private <T> CompletableFuture<T> submit(Supplier<T> command) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            execute(() -> {
+                try {
+                    result.complete(command.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return result;
+        }
+
+        private void execute(Runnable command) {
+            try {
+                ring.put(command);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing ledger command", e);
+            }
+        }
+
+        private void run() {
+            while (running || !ring.isEmpty()) {
+                try {
+                    Runnable command = ring.poll(100, TimeUnit.MILLISECONDS);
+                    if (command != null) {
+                        command.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    SimpleLogger.error(InMemoryLedgerEngine.class, "Ledger command failed: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        private BigDecimal balance(UUID accountId) {
+            BigDecimal balance = balances.get(accountId);
+            if (balance == null) {
+                throw new AuthorizationException("Account not found: " + accountId);
+            }
+            return balance;
+        }
+
+        private boolean debit(UUID accountId, BigDecimal amount) {
+            BigDecimal balance = balance(accountId);
+            if (balance.compareTo(amount) < 0) {
+                return false;
+            }
+            balances.put(accountId, balance.subtract(amount));
+            return true;
+        }
+
+        private void credit(UUID accountId, BigDecimal amount) {
+            balances.put(accountId, balance(accountId).add(amount));
+        }
+    }
+}
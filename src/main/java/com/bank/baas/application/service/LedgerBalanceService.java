@@ -0,0 +1,119 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.BalanceSnapshot;
+import com.bank.baas.domain.model.LedgerEntry;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.LedgerEntryRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Balances for {@link TransferConcurrencyMode#DOUBLE_ENTRY}: an account's balance is its latest snapshot plus the
+ * ledger entries posted after it. Without a snapshot the account table balance is the opening balance, since this
+ * mode never updates it.
+ */
+@Service
+public class LedgerBalanceService {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long snapshotMinEntries;
+    private final long settleLagMs;
+
+    @Autowired
+    public LedgerBalanceService(
+            LedgerEntryRepository ledgerEntryRepository,
+            AccountRepository accountRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode,
+            @Value("${baas.ledger.snapshot.min-entries:1000}") long snapshotMinEntries,
+            @Value("${baas.ledger.snapshot.settle-lag-ms:60000}") long settleLagMs) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = concurrencyMode == TransferConcurrencyMode.DOUBLE_ENTRY;
+        this.snapshotMinEntries = snapshotMinEntries;
+        this.settleLagMs = settleLagMs;
+    }
+
+    public BigDecimal balanceOf(Account account) {
+        Optional<BalanceSnapshot> snapshot = ledgerEntryRepository.findLatestSnapshot(account.getId());
+
+        if (snapshot.isPresent()) {
+            return snapshot.get().balance()
+                    .add(ledgerEntryRepository.sumAfter(account.getId(), snapshot.get().lastEntryId()));
+        }
+
+        return account.getBalance().add(ledgerEntryRepository.sumAfter(account.getId(), 0));
+    }
+
+    public void post(UUID transactionId, UUID senderAccountId, UUID receiverAccountId, BigDecimal amount,
+                     LocalDateTime createdAt) {
+        ledgerEntryRepository.appendAll(List.of(
+                LedgerEntry.debit(senderAccountId, transactionId, amount, createdAt),
+                LedgerEntry.credit(receiverAccountId, transactionId, amount, createdAt)));
+    }
+
+    @Scheduled(fixedDelayString = "${baas.ledger.snapshot.interval-ms:60000}")
+    public void snapshotBalances() {
+        if (!enabled) {
+            return;
+        }
+
+        // Entry ids are assigned at insert but become visible at commit, so only entries old enough that no
+        // transaction can still be writing below them are folded into a snapshot.
+        long horizon = ledgerEntryRepository.findMaxEntryIdCreatedBefore(
+                LocalDateTime.now().minusNanos(settleLagMs * 1_000_000));
+        if (horizon == 0) {
+            return;
+        }
+
+        List<UUID> accountIds = ledgerEntryRepository.findAccountsWithEntriesSinceSnapshot(horizon, snapshotMinEntries);
+        for (UUID accountId : accountIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> snapshot(accountId, horizon));
+            } catch (RuntimeException e) {
+                SimpleLogger.error(LedgerBalanceService.class,
+                        "Failed to snapshot balance of account " + accountId + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (!accountIds.isEmpty()) {
+            SimpleLogger.info(LedgerBalanceService.class,
+                    "Snapshotted " + accountIds.size() + " account balances up to ledger entry " + horizon);
+        }
+    }
+
+    void snapshot(UUID accountId, long upToEntryId) {
+        Optional<BalanceSnapshot> latest = ledgerEntryRepository.findLatestSnapshot(accountId);
+        long afterEntryId = latest.map(BalanceSnapshot::lastEntryId).orElse(0L);
+
+        if (afterEntryId >= upToEntryId) {
+            return;
+        }
+
+        BigDecimal base = latest.isPresent()
+                ? latest.get().balance()
+                : accountRepository.findById(accountId)
+                        .map(Account::getBalance)
+                        .orElseThrow(() -> new AuthorizationException("Account not found: " + accountId));
+
+        BigDecimal balance = base.add(ledgerEntryRepository.sumBetween(accountId, afterEntryId, upToEntryId));
+        ledgerEntryRepository.saveSnapshot(new BalanceSnapshot(accountId, balance, upToEntryId, LocalDateTime.now()));
+    }
+}
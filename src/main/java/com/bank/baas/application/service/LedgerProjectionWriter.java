@@ -0,0 +1,192 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.LedgerRecord;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes journaled ledger records to the account and transactions tables in the background. Records are projected
+ * strictly in sequence order, one database transaction per batch, so max(ledger_sequence) is the projection checkpoint.
+ * Ids and idempotency keys are written as journaled: the engine guarantees the keys are unique, so a violation stops
+ * the projection and is retried rather than hidden. The backlog is bounded by the engine, which stops accepting
+ * transfers once the journal is {@code baas.ledger.projection.max-lag} records ahead of {@link #projectedSequence()}.
+ */
+@Service
+public class LedgerProjectionWriter {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final PriorityBlockingQueue<LedgerRecord> pending =
+            new PriorityBlockingQueue<>(1024, Comparator.comparingLong(LedgerRecord::sequence));
+    private final Object progress = new Object();
+
+    private Thread worker;
+    private volatile boolean running;
+    private volatile long projectedSequence;
+
+    @Autowired
+    public LedgerProjectionWriter(
+            TransactionRepository transactionRepository,
+            AccountRepository accountRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${baas.ledger.projection.batch-size:500}") int batchSize) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        Gauge.builder("baas.ledger.projection.pending", pending, PriorityBlockingQueue::size).register(meterRegistry);
+    }
+
+    public synchronized void start(long projectedSequence) {
+        if (running) {
+            return;
+        }
+        this.projectedSequence = projectedSequence;
+        running = true;
+        worker = new Thread(this::projectLoop, "ledger-projection-writer");
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void enqueue(LedgerRecord record) {
+        pending.add(record);
+    }
+
+    public long projectedSequence() {
+        return projectedSequence;
+    }
+
+    public boolean awaitProjected(long sequence, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (progress) {
+            while (projectedSequence < sequence) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                progress.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    private void projectLoop() {
+        while ((running || !pending.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+            List<LedgerRecord> batch = nextContiguousBatch();
+
+            if (batch.isEmpty()) {
+                pause(pending.isEmpty() ? 10 : 1);
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                advanceTo(batch.get(batch.size() - 1).sequence());
+            } catch (RuntimeException e) {
+                SimpleLogger.error(LedgerProjectionWriter.class,
+                        "Ledger projection failed, retrying from sequence " + batch.get(0).sequence() + ": " + e.getMessage(), e);
+                pending.addAll(batch);
+                pause(500);
+            }
+        }
+    }
+
+    private List<LedgerRecord> nextContiguousBatch() {
+        List<LedgerRecord> batch = new ArrayList<>();
+        long expected = projectedSequence + 1;
+
+        // Journal appends complete in order but callers enqueue concurrently, so wait for gaps to fill.
+        while (batch.size() < batchSize) {
+            LedgerRecord next = pending.poll();
+            if (next == null) {
+                break;
+            }
+            if (next.sequence() < expected) {
+                continue;
+            }
+            if (next.sequence() > expected) {
+                pending.add(next);
+                break;
+            }
+            batch.add(next);
+            expected++;
+        }
+
+        return batch;
+    }
+
+    private void write(List<LedgerRecord> batch) {
+        Map<UUID, BigDecimal> deltas = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+
+        for (LedgerRecord record : batch) {
+            deltas.merge(record.senderAccountId(), record.amount().negate(), BigDecimal::add);
+            deltas.merge(record.receiverAccountId(), record.amount(), BigDecimal::add);
+
+            Transaction transaction = new Transaction(
+                    new User(record.senderUserId(), null, null),
+                    new User(record.receiverUserId(), null, null),
+                    record.amount(),
+                    record.createdAt());
+            transaction.setId(record.transactionId());
+            transaction.setStatus(TransactionStatus.SUCCESS);
+            transaction.setUpdatedAt(record.createdAt());
+            transaction.setLedgerSequence(record.sequence());
+            transaction.setIdempotencyKey(record.idempotencyKey());
+            transactions.add(transaction);
+        }
+
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        accountRepository.applyBalanceDeltas(deltas);
+        transactionRepository.insertAll(transactions);
+    }
+
+    private void advanceTo(long sequence) {
+        synchronized (progress) {
+            projectedSequence = sequence;
+            progress.notifyAll();
+        }
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
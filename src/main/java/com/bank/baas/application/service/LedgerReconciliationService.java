@@ -0,0 +1,236 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.model.AccountBalanceCheck;
+import com.bank.baas.domain.model.ReconciliationFinding;
+import com.bank.baas.domain.repository.ReconciliationRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Checks that every account balance equals the net of its successful transactions. The account id space is cut into
+ * ranges that are reconciled in parallel on a dedicated pool, each range by one streaming query; mismatches are written
+ * to {@code reconciliation_findings} under the id of the run. The pace is capped by
+ * {@code baas.reconciliation.max-accounts-per-second} so a nightly run does not compete with transfers for I/O.
+ */
+@Service
+public class LedgerReconciliationService {
+
+    private final ReconciliationRepository reconciliationRepository;
+    private final boolean enabled;
+    private final int rangeCount;
+    private final ForkJoinPool pool;
+    private final Pacer pacer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger rangesTotal = new AtomicInteger();
+    private final AtomicInteger rangesCompleted = new AtomicInteger();
+    private final Counter accountsChecked;
+    private final Counter mismatchesFound;
+    private final Counter rangesFailed;
+    private final Timer rangeTimer;
+
+    @Autowired
+    public LedgerReconciliationService(
+            ReconciliationRepository reconciliationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode,
+            @Value("${baas.reconciliation.parallelism:4}") int parallelism,
+            @Value("${baas.reconciliation.ranges:256}") int rangeCount,
+            @Value("${baas.reconciliation.max-accounts-per-second:2000}") long maxAccountsPerSecond) {
+        if (parallelism <= 0 || rangeCount <= 0) {
+            throw new IllegalArgumentException("baas.reconciliation.parallelism and ranges must be greater than zero");
+        }
+        this.reconciliationRepository = reconciliationRepository;
+        // The double-entry mode keeps balances in ledger_entries and leaves the account table at the opening balance.
+        this.enabled = concurrencyMode != TransferConcurrencyMode.DOUBLE_ENTRY;
+        this.rangeCount = rangeCount;
+        this.pool = new ForkJoinPool(parallelism);
+        this.pacer = new Pacer(maxAccountsPerSecond);
+
+        this.accountsChecked = Counter.builder("baas.reconciliation.accounts.checked").register(meterRegistry);
+        this.mismatchesFound = Counter.builder("baas.reconciliation.mismatches").register(meterRegistry);
+        this.rangesFailed = Counter.builder("baas.reconciliation.ranges.failed").register(meterRegistry);
+        this.rangeTimer = Timer.builder("baas.reconciliation.range.duration").register(meterRegistry);
+        Gauge.builder("baas.reconciliation.ranges.total", rangesTotal, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("baas.reconciliation.ranges.completed", rangesCompleted, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${baas.reconciliation.cron:0 30 2 * * *}")
+    public void reconcileNightly() {
+        reconcile();
+    }
+
+    /**
+     * Runs a full reconciliation and waits for it. Returns null when the run was skipped because another one is still
+     * going or the concurrency mode does not keep balances in the account table.
+     */
+    public Report reconcile() {
+        if (!enabled) {
+            SimpleLogger.info(LedgerReconciliationService.class,
+                    "Reconciliation skipped: account balances are not kept in the account table in DOUBLE_ENTRY mode");
+            return null;
+        }
+        if (!running.compareAndSet(false, true)) {
+            SimpleLogger.warn(LedgerReconciliationService.class, "Reconciliation already running, skipping this run");
+            return null;
+        }
+
+        try {
+            UUID runId = UUID.randomUUID();
+            long startedAt = System.nanoTime();
+            List<Range> ranges = ranges(rangeCount);
+            AtomicLong checked = new AtomicLong();
+            AtomicLong mismatches = new AtomicLong();
+            AtomicInteger failed = new AtomicInteger();
+            rangesTotal.set(ranges.size());
+            rangesCompleted.set(0);
+
+            SimpleLogger.info(LedgerReconciliationService.class,
+                    "Reconciliation " + runId + " started over " + ranges.size() + " ranges");
+
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(ranges.size());
+            for (Range range : ranges) {
+                tasks.add(pool.submit(() -> {
+                    try {
+                        RangeResult result = reconcileRange(runId, range);
+                        checked.addAndGet(result.checked());
+                        mismatches.addAndGet(result.mismatches());
+                    } catch (RuntimeException e) {
+                        // One bad range must not hide the others; it is reported and picked up by the next run.
+                        failed.incrementAndGet();
+                        rangesFailed.increment();
+                        SimpleLogger.error(LedgerReconciliationService.class, "Reconciliation " + runId +
+                                " failed for range starting at " + range.fromInclusive() + ": " + e.getMessage(), e);
+                    } finally {
+                        rangesCompleted.incrementAndGet();
+                    }
+                }));
+            }
+            tasks.forEach(ForkJoinTask::join);
+
+            Report report = new Report(runId, checked.get(), mismatches.get(), failed.get(),
+                    Duration.ofNanos(System.nanoTime() - startedAt));
+            SimpleLogger.info(LedgerReconciliationService.class, "Reconciliation " + runId + " checked " +
+                    report.accountsChecked() + " accounts in " + report.elapsed().toMillis() + " ms, " +
+                    report.mismatches() + " mismatches, " + report.failedRanges() + " failed ranges");
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RangeResult reconcileRange(UUID runId, Range range) {
+        List<ReconciliationFinding> findings = new ArrayList<>();
+
+        Timer.Sample sample = Timer.start();
+        long checked = reconciliationRepository.forEachAccountInRange(range.fromInclusive(), range.toExclusive(),
+                check -> {
+                    pacer.acquire();
+                    accountsChecked.increment();
+                    if (!check.matches()) {
+                        findings.add(finding(runId, check));
+                    }
+                });
+        sample.stop(rangeTimer);
+
+        // Findings are written after the cursor is closed; the connection cannot run a second statement before that.
+        reconciliationRepository.saveFindings(findings);
+        mismatchesFound.increment(findings.size());
+
+        return new RangeResult(checked, findings.size());
+    }
+
+    private static ReconciliationFinding finding(UUID runId, AccountBalanceCheck check) {
+        SimpleLogger.warn(LedgerReconciliationService.class, "Balance mismatch on account " + check.accountId() +
+                ": recorded " + check.recordedBalance() + ", expected " + check.expectedBalance());
+        return new ReconciliationFinding(runId, check.accountId(), check.recordedBalance(), check.expectedBalance(),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Splits the id space into {@code count} contiguous ranges by the high 64 bits, compared unsigned as the database
+     * orders binary UUIDs. The first range starts at the lowest id and the last one is open at the top.
+     */
+    static List<Range> ranges(int count) {
+        BigInteger space = BigInteger.ONE.shiftLeft(64);
+        List<Range> ranges = new ArrayList<>(count);
+        UUID from = new UUID(0L, 0L);
+
+        for (int i = 1; i <= count; i++) {
+            UUID to = i == count ? null
+                    : new UUID(space.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)).longValue(), 0L);
+            ranges.add(new Range(from, to));
+            from = to;
+        }
+
+        return ranges;
+    }
+
+    record Range(UUID fromInclusive, UUID toExclusive) {
+    }
+
+    public record Report(UUID runId, long accountsChecked, long mismatches, int failedRanges, Duration elapsed) {
+    }
+
+    private record RangeResult(long checked, long mismatches) {
+    }
+
+    /**
+     * Hands out one permit per account at a fixed rate shared by all workers; a rate of zero means no limit.
+     */
+    private static final class Pacer {
+        private final long intervalNanos;
+        private long next;
+
+        private Pacer(long permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond <= 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+            this.next = System.nanoTime();
+        }
+
+        private void acquire() {
+            if (intervalNanos == 0) {
+                return;
+            }
+
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (next - now < 0) {
+                    next = now;
+                }
+                wait = next - now;
+                next += intervalNanos;
+            }
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+}
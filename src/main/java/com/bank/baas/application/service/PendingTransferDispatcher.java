@@ -0,0 +1,120 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands PENDING transfers to a fixed set of single-threaded lanes. A transfer always goes to the lane of its sender
+ * account, so debits of the same account are settled in FIFO order while different accounts settle in parallel.
+ * Transfers that could not be queued (full lane, restart) are picked up again by the recovery sweep.
+ */
+@Service
+public class PendingTransferDispatcher {
+
+    private final TransferSettlementService transferSettlementService;
+    private final TransactionRepository transactionRepository;
+    private final List<ThreadPoolExecutor> lanes;
+    private final long recoveryAgeMs;
+    private final int recoveryBatchSize;
+    private final Counter rejected;
+
+    @Autowired
+    public PendingTransferDispatcher(
+            TransferSettlementService transferSettlementService,
+            TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${baas.transfer.async.workers:4}") int workers,
+            @Value("${baas.transfer.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${baas.transfer.async.recovery-age-ms:60000}") long recoveryAgeMs,
+            @Value("${baas.transfer.async.recovery-batch-size:1000}") int recoveryBatchSize) {
+        this.transferSettlementService = transferSettlementService;
+        this.transactionRepository = transactionRepository;
+        this.recoveryAgeMs = recoveryAgeMs;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.lanes = new ArrayList<>(workers);
+
+        for (int i = 0; i < workers; i++) {
+            String threadName = "transfer-settlement-" + i;
+            lanes.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> new Thread(runnable, threadName)));
+        }
+
+        this.rejected = Counter.builder("baas.transfer.async.rejected").register(meterRegistry);
+        Gauge.builder("baas.transfer.async.queued", lanes,
+                        executors -> executors.stream().mapToInt(executor -> executor.getQueue().size()).sum())
+                .register(meterRegistry);
+    }
+
+    public boolean dispatch(Transaction transaction) {
+        UUID transactionId = transaction.getId();
+        UUID senderAccountId = transaction.getSender().getAccount().getId();
+        ThreadPoolExecutor lane = lanes.get(Math.floorMod(senderAccountId.hashCode(), lanes.size()));
+
+        try {
+            lane.execute(() -> settle(transactionId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            SimpleLogger.warn(PendingTransferDispatcher.class,
+                    "Settlement queue full, transaction left for recovery: " + transactionId);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${baas.transfer.async.recovery-interval-ms:30000}")
+    public void recoverPendingTransfers() {
+        LocalDateTime createdBefore = LocalDateTime.now().minusNanos(recoveryAgeMs * 1_000_000);
+        // Oldest first and bounded per sweep; whatever is left behind a large backlog is taken by the next sweeps.
+        List<Transaction> pending = transactionRepository.findByStatusCreatedBefore(
+                TransactionStatus.PENDING, createdBefore, recoveryBatchSize);
+
+        if (!pending.isEmpty()) {
+            SimpleLogger.info(PendingTransferDispatcher.class, "Re-dispatching " + pending.size() + " pending transfers");
+            pending.forEach(this::dispatch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Queued transfers stay PENDING in the database and are recovered on the next start.
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void settle(UUID transactionId) {
+        try {
+            transferSettlementService.settle(transactionId);
+        } catch (Exception e) {
+            SimpleLogger.error(PendingTransferDispatcher.class,
+                    "Error settling transaction " + transactionId + ": " + e.getMessage(), e);
+        }
+    }
+}
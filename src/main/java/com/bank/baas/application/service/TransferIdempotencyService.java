@@ -0,0 +1,131 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates transfers by idempotency key, scoped to the sender so unrelated clients never collide. Completed results
+ * are looked up in a bounded LRU first and then in the transactions table (unique sender_id, idempotency_key), and
+ * concurrent requests from the same sender with the same key share one execution.
+ */
+@Service
+public class TransferIdempotencyService {
+
+    private final TransactionRepository transactionRepository;
+    private final Map<Scope, Transaction> completed;
+    private final Map<Scope, CompletableFuture<Transaction>> inFlight = new ConcurrentHashMap<>();
+    private final Counter cacheReplays;
+    private final Counter databaseReplays;
+    private final Counter inFlightReplays;
+
+    @Autowired
+    public TransferIdempotencyService(
+            TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${baas.transfer.idempotency.cache-size:10000}") int cacheSize) {
+        this.transactionRepository = transactionRepository;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Scope, Transaction> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.cacheReplays = replayCounter(meterRegistry, "cache");
+        this.databaseReplays = replayCounter(meterRegistry, "database");
+        this.inFlightReplays = replayCounter(meterRegistry, "in-flight");
+    }
+
+    public Transaction execute(UUID senderId, String idempotencyKey, Supplier<Transaction> transfer) {
+        Scope scope = new Scope(senderId, idempotencyKey);
+        Transaction cached = completed.get(scope);
+        if (cached != null) {
+            SimpleLogger.info(TransferIdempotencyService.class, "Replaying cached transfer for key: " + idempotencyKey);
+            cacheReplays.increment();
+            return cached;
+        }
+
+        CompletableFuture<Transaction> flight = new CompletableFuture<>();
+        CompletableFuture<Transaction> running = inFlight.putIfAbsent(scope, flight);
+        if (running != null) {
+            SimpleLogger.info(TransferIdempotencyService.class, "Waiting for in-flight transfer with key: " + idempotencyKey);
+            inFlightReplays.increment();
+            return await(running);
+        }
+
+        try {
+            Transaction result = lookupOrRun(scope, transfer);
+            // A pending transfer is still being settled, so its replays are read from the table to see the outcome.
+            if (result.getStatus() != TransactionStatus.PENDING) {
+                completed.put(scope, result);
+            }
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, flight);
+        }
+    }
+
+    private Transaction lookupOrRun(Scope scope, Supplier<Transaction> transfer) {
+        Optional<Transaction> stored = transactionRepository.findBySenderIdAndIdempotencyKey(scope.senderId(),
+                scope.idempotencyKey());
+        if (stored.isPresent()) {
+            SimpleLogger.info(TransferIdempotencyService.class,
+                    "Replaying stored transfer for key: " + scope.idempotencyKey());
+            databaseReplays.increment();
+            return stored.get();
+        }
+
+        try {
+            return transfer.get();
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; its transaction is the result of this request too.
+            Transaction winner = transactionRepository.findBySenderIdAndIdempotencyKey(scope.senderId(),
+                    scope.idempotencyKey()).orElseThrow(() -> e);
+            SimpleLogger.warn(TransferIdempotencyService.class,
+                    "Lost idempotency race for key: " + scope.idempotencyKey());
+            databaseReplays.increment();
+            return winner;
+        }
+    }
+
+    private Transaction await(CompletableFuture<Transaction> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Scope(UUID senderId, String idempotencyKey) {
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("baas.transfer.idempotency.replays")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,127 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a transfer unit of work in its own transaction and retries it when the database reports
+ * a concurrency conflict: lock timeouts and deadlocks in pessimistic mode, stale versions in
+ * optimistic mode. Retries use a capped exponential backoff with jitter.
+ */
+@Service
+public class TransferRetryService {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double jitterRatio;
+
+    private final Counter attemptsCounter;
+    private final Counter retriesCounter;
+    private final Counter exhaustedCounter;
+    private final Counter optimisticConflictsCounter;
+    private final Counter pessimisticConflictsCounter;
+    private final DistributionSummary attemptsPerTransfer;
+
+    @Autowired
+    public TransferRetryService(
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${baas.transfer.retry.max-attempts:5}") int maxAttempts,
+            @Value("${baas.transfer.retry.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${baas.transfer.retry.max-backoff-ms:200}") long maxBackoffMs,
+            @Value("${baas.transfer.retry.jitter-ratio:0.5}") double jitterRatio) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.jitterRatio = Math.min(1.0, Math.max(0.0, jitterRatio));
+
+        this.attemptsCounter = Counter.builder("baas.transfer.attempts")
+                .description("Transfer units of work started, including retries")
+                .register(meterRegistry);
+        this.retriesCounter = Counter.builder("baas.transfer.retries")
+                .description("Transfer units of work retried after a concurrency conflict")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("baas.transfer.retries.exhausted")
+                .description("Transfers that failed after using the whole retry budget")
+                .register(meterRegistry);
+        this.optimisticConflictsCounter = Counter.builder("baas.transfer.conflicts")
+                .tag("type", "optimistic")
+                .description("Stale account versions detected on write")
+                .register(meterRegistry);
+        this.pessimisticConflictsCounter = Counter.builder("baas.transfer.conflicts")
+                .tag("type", "pessimistic")
+                .description("Lock timeouts and deadlocks")
+                .register(meterRegistry);
+        this.attemptsPerTransfer = DistributionSummary.builder("baas.transfer.attempts.per.transfer")
+                .description("Attempts needed to settle a transfer")
+                .register(meterRegistry);
+    }
+
+    public <T> T executeInTransaction(Supplier<T> unitOfWork) {
+        int attempt = 1;
+
+        while (true) {
+            attemptsCounter.increment();
+            try {
+                T result = transactionTemplate.execute(status -> unitOfWork.get());
+                attemptsPerTransfer.record(attempt);
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                recordConflict(e);
+
+                if (attempt >= maxAttempts) {
+                    exhaustedCounter.increment();
+                    attemptsPerTransfer.record(attempt);
+                    SimpleLogger.error(TransferRetryService.class,
+                            "Giving up after " + attempt + " attempts: " + e.getMessage(), e);
+                    throw e;
+                }
+
+                long backoff = backoffFor(attempt);
+                SimpleLogger.warn(TransferRetryService.class,
+                        "Concurrency conflict on attempt " + attempt + ", retrying in " + backoff + " ms: " + e.getMessage());
+
+                retriesCounter.increment();
+                sleep(backoff, e);
+                attempt++;
+            }
+        }
+    }
+
+    long backoffFor(int attempt) {
+        long backoff = Math.min(initialBackoffMs << Math.min(attempt - 1, 20), maxBackoffMs);
+        long jitter = (long) (backoff * jitterRatio * ThreadLocalRandom.current().nextDouble());
+        return backoff - jitter;
+    }
+
+    private void recordConflict(ConcurrencyFailureException e) {
+        if (e instanceof OptimisticLockingFailureException) {
+            optimisticConflictsCounter.increment();
+        } else {
+            pessimisticConflictsCounter.increment();
+        }
+    }
+
+    private void sleep(long millis, RuntimeException cause) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
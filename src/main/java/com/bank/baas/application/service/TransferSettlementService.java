@@ -0,0 +1,104 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Settles a PENDING transfer: locks both accounts in id order, moves the money and marks the transaction
+ * SUCCESS, or marks it FAILED when the sender no longer has the balance.
+ */
+@Service
+public class TransferSettlementService {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransferRetryService transferRetryService;
+
+    @Autowired
+    public TransferSettlementService(
+            TransactionRepository transactionRepository,
+            AccountRepository accountRepository,
+            TransferRetryService transferRetryService) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transferRetryService = transferRetryService;
+    }
+
+    public Optional<TransactionStatus> settle(UUID transactionId) {
+        return transferRetryService.executeInTransaction(() -> settleInTransaction(transactionId));
+    }
+
+    private Optional<TransactionStatus> settleInTransaction(UUID transactionId) {
+        Optional<Transaction> optionalTransaction = transactionRepository.findById(transactionId);
+
+        if (optionalTransaction.isEmpty()) {
+            SimpleLogger.warn(TransferSettlementService.class, "Pending transaction not found: " + transactionId);
+            return Optional.empty();
+        }
+
+        Transaction transaction = optionalTransaction.get();
+        if (transaction.getStatus() != TransactionStatus.PENDING) {
+            return Optional.of(transaction.getStatus());
+        }
+
+        Map<UUID, Account> lockedAccounts = lockAccountsInIdOrder(
+                transaction.getSender().getAccount(), transaction.getReceiver().getAccount());
+        Account senderAccount = lockedAccounts.get(transaction.getSender().getAccount().getId());
+        Account receiverAccount = lockedAccounts.get(transaction.getReceiver().getAccount().getId());
+
+        TransactionStatus outcome = senderAccount.hasSufficientBalance(transaction.getAmount())
+                ? TransactionStatus.SUCCESS
+                : TransactionStatus.FAILED;
+
+        // The conditional update runs after the account locks, so a duplicate settlement of the same transaction
+        // waits here and then finds it no longer PENDING.
+        if (!transactionRepository.updateStatusIfPending(transactionId, outcome)) {
+            SimpleLogger.info(TransferSettlementService.class, "Transaction already settled: " + transactionId);
+            return transactionRepository.findById(transactionId).map(Transaction::getStatus);
+        }
+
+        if (outcome == TransactionStatus.SUCCESS) {
+            senderAccount.decreaseBalance(transaction.getAmount());
+            receiverAccount.increaseBalance(transaction.getAmount());
+
+            accountRepository.save(senderAccount);
+            accountRepository.save(receiverAccount);
+
+            SimpleLogger.info(TransferSettlementService.class, "Transaction settled successfully: " + transactionId);
+        } else {
+            SimpleLogger.warn(TransferSettlementService.class,
+                    "Transaction failed for insufficient balance: " + transactionId);
+        }
+
+        return Optional.of(outcome);
+    }
+
+    private Map<UUID, Account> lockAccountsInIdOrder(Account senderAccount, Account receiverAccount) {
+        SortedSet<UUID> accountIds = new TreeSet<>(Account.LOCK_ORDER);
+        accountIds.add(senderAccount.getId());
+        accountIds.add(receiverAccount.getId());
+        Map<UUID, Account> lockedAccounts = new HashMap<>();
+
+        for (UUID accountId : accountIds) {
+            Account lockedAccount = accountRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> new AuthorizationException("Account not found: " + accountId));
+            lockedAccounts.put(accountId, lockedAccount);
+        }
+
+        return lockedAccounts;
+    }
+}
@@ -0,0 +1,247 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.TransferRetryService;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.TransferParticipant;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.presentation.dto.BatchTransferItem;
+import com.bank.baas.presentation.dto.BatchTransferItemResult;
+import com.bank.baas.presentation.dto.BatchTransferRequest;
+import com.bank.baas.presentation.dto.BatchTransferResponse;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class BatchTransferUseCase {
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferRetryService transferRetryService;
+    private final int chunkSize;
+    private final int maxItems;
+    private final TransferConcurrencyMode concurrencyMode;
+
+    @Autowired
+    public BatchTransferUseCase(
+            UserRepository userRepository,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            TransferRetryService transferRetryService,
+            @Value("${baas.transfer.batch.chunk-size:500}") int chunkSize,
+            @Value("${baas.transfer.batch.max-items:10000}") int maxItems,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("baas.transfer.batch.chunk-size must be greater than zero");
+        }
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transferRetryService = transferRetryService;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+        this.concurrencyMode = concurrencyMode;
+    }
+
+    public BatchTransferResponse execute(BatchTransferRequest request) {
+        // Batches move the account table balance, which the in-memory engine caches and never rereads, and which
+        // the double-entry mode ignores once an account has a snapshot.
+        if (concurrencyMode == TransferConcurrencyMode.IN_MEMORY || concurrencyMode == TransferConcurrencyMode.DOUBLE_ENTRY) {
+            SimpleLogger.error(BatchTransferUseCase.class, "Batch transfer unsupported in mode: " + concurrencyMode);
+            throw new AuthorizationException("Batch transfers are not available in " + concurrencyMode + " mode");
+        }
+
+        List<BatchTransferItem> items = request.items();
+
+        if (items == null || items.isEmpty()) {
+            SimpleLogger.error(BatchTransferUseCase.class, "Batch transfer without items");
+            throw new AuthorizationException("Batch must contain at least one transfer");
+        }
+
+        if (items.size() > maxItems) {
+            SimpleLogger.error(BatchTransferUseCase.class, "Batch transfer too large: " + items.size());
+            throw new AuthorizationException("Batch cannot contain more than " + maxItems + " transfers");
+        }
+
+        SimpleLogger.info(BatchTransferUseCase.class,
+                "Starting batch transfer with " + items.size() + " items in chunks of " + chunkSize);
+
+        List<BatchTransferItemResult> results = new ArrayList<>(items.size());
+
+        // Each chunk is its own transaction: a conflict only retries that chunk and the row locks are held briefly.
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            int offset = start;
+            List<BatchTransferItem> chunk = items.subList(start, Math.min(start + chunkSize, items.size()));
+            results.addAll(transferRetryService.executeInTransaction(
+                    () -> processChunk(chunk, offset, request.isCpf())));
+        }
+
+        int succeeded = (int) results.stream()
+                .filter(result -> result.status() == TransactionStatus.SUCCESS)
+                .count();
+
+        SimpleLogger.info(BatchTransferUseCase.class,
+                "Batch transfer finished: " + succeeded + " succeeded, " + (results.size() - succeeded) + " failed");
+
+        return new BatchTransferResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    private List<BatchTransferItemResult> processChunk(List<BatchTransferItem> chunk, int offset, boolean isCpf) {
+        Map<String, TransferParticipant> participants = resolveParticipants(chunk, isCpf);
+
+        List<BatchTransferItemResult> results = new ArrayList<>(chunk.size());
+        List<AcceptedTransfer> accepted = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            BatchTransferItem item = chunk.get(i);
+            int index = offset + i;
+            String rejection = validate(item, participants);
+
+            if (rejection != null) {
+                SimpleLogger.warn(BatchTransferUseCase.class, "Batch item " + index + " rejected: " + rejection);
+                results.add(BatchTransferItemResult.failed(index, rejection));
+            } else {
+                accepted.add(new AcceptedTransfer(index, item.amount(),
+                        participants.get(item.senderIdentifier()), participants.get(item.receiverIdentifier())));
+            }
+        }
+
+        Set<UUID> accountIds = new HashSet<>();
+        for (AcceptedTransfer transfer : accepted) {
+            accountIds.add(transfer.sender().accountId());
+            accountIds.add(transfer.receiver().accountId());
+        }
+
+        Map<UUID, BigDecimal> balances = accountRepository.lockBalances(accountIds);
+        Map<UUID, BigDecimal> deltas = new HashMap<>();
+        List<AcceptedTransfer> settled = new ArrayList<>();
+
+        // Items are applied in submission order against the locked balances, so an earlier credit can fund a later debit.
+        for (AcceptedTransfer transfer : accepted) {
+            UUID senderAccountId = transfer.sender().accountId();
+            UUID receiverAccountId = transfer.receiver().accountId();
+            BigDecimal senderBalance = balances.get(senderAccountId);
+
+            if (senderBalance == null || !balances.containsKey(receiverAccountId)) {
+                results.add(BatchTransferItemResult.failed(transfer.index(), "Account not found"));
+                continue;
+            }
+
+            if (senderBalance.compareTo(transfer.amount()) < 0) {
+                SimpleLogger.warn(BatchTransferUseCase.class,
+                        "Batch item " + transfer.index() + " rejected: insufficient balance for account " + senderAccountId);
+                results.add(BatchTransferItemResult.failed(transfer.index(), "Insufficient balance"));
+                continue;
+            }
+
+            balances.put(senderAccountId, senderBalance.subtract(transfer.amount()));
+            balances.merge(receiverAccountId, transfer.amount(), BigDecimal::add);
+            deltas.merge(senderAccountId, transfer.amount().negate(), BigDecimal::add);
+            deltas.merge(receiverAccountId, transfer.amount(), BigDecimal::add);
+            settled.add(transfer);
+        }
+
+        deltas.values().removeIf(delta -> delta.signum() == 0);
+        accountRepository.applyBalanceDeltas(deltas);
+
+        results.addAll(recordTransactions(settled));
+        results.sort(Comparator.comparingInt(BatchTransferItemResult::index));
+
+        return results;
+    }
+
+    private Map<String, TransferParticipant> resolveParticipants(List<BatchTransferItem> chunk, boolean isCpf) {
+        Set<String> identifiers = new HashSet<>();
+        for (BatchTransferItem item : chunk) {
+            if (item.senderIdentifier() != null) {
+                identifiers.add(item.senderIdentifier());
+            }
+            if (item.receiverIdentifier() != null) {
+                identifiers.add(item.receiverIdentifier());
+            }
+        }
+
+        List<TransferParticipant> found = isCpf
+                ? userRepository.findTransferParticipantsByCpfs(identifiers)
+                : userRepository.findTransferParticipantsByEmails(identifiers);
+
+        Map<String, TransferParticipant> participants = new HashMap<>();
+        for (TransferParticipant participant : found) {
+            participants.put(isCpf ? participant.cpf() : participant.email(), participant);
+        }
+        return participants;
+    }
+
+    private String validate(BatchTransferItem item, Map<String, TransferParticipant> participants) {
+        if (item.amount() == null || item.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be greater than zero";
+        }
+
+        TransferParticipant sender = participants.get(item.senderIdentifier());
+        if (sender == null) {
+            return "User not found: " + item.senderIdentifier();
+        }
+        if (!sender.hasAccount()) {
+            return "Sender has no account";
+        }
+        if (!sender.isPasswordCorrect(item.password())) {
+            return "Invalid password";
+        }
+
+        TransferParticipant receiver = participants.get(item.receiverIdentifier());
+        if (receiver == null) {
+            return "User not found: " + item.receiverIdentifier();
+        }
+        if (!receiver.hasAccount()) {
+            return "Receiver has no account";
+        }
+
+        return null;
+    }
+
+    private List<BatchTransferItemResult> recordTransactions(List<AcceptedTransfer> settled) {
+        if (settled.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(settled.size());
+
+        for (AcceptedTransfer transfer : settled) {
+            Transaction transaction = new Transaction(
+                    transfer.sender().toUser(), transfer.receiver().toUser(), transfer.amount(), now);
+            transaction.setStatus(TransactionStatus.SUCCESS);
+            transaction.setUpdatedAt(now);
+            transactions.add(transaction);
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        List<BatchTransferItemResult> results = new ArrayList<>(saved.size());
+
+        for (int i = 0; i < saved.size(); i++) {
+            results.add(BatchTransferItemResult.success(settled.get(i).index(), saved.get(i).getId()));
+        }
+        return results;
+    }
+
+    private record AcceptedTransfer(int index, BigDecimal amount, TransferParticipant sender, TransferParticipant receiver) {
+    }
+}
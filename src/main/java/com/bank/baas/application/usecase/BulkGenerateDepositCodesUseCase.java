@@ -0,0 +1,192 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.DepositCodeGenerator;
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.domain.enums.DepositCodeMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.SignedDepositCode;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.presentation.dto.BulkGenerateDepositCodeRequest;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates many deposit codes of the same amount for one user and writes them as NDJSON. The account is checked
+ * once; codes are then drawn in memory and inserted a chunk at a time with JDBC batches, each chunk in its own
+ * transaction and written out once committed, so every line the client receives is a usable code.
+ */
+@Service
+public class BulkGenerateDepositCodesUseCase {
+
+    private final UserRepository userRepository;
+    private final DepositCodeRepository depositCodeRepository;
+    private final DepositCodeGenerator depositCodeGenerator;
+    private final DepositCodeSigner depositCodeSigner;
+    private final DepositCodeMode mode;
+    private final int maxAttempts;
+    private final long ttlHours;
+    private final int chunkSize;
+    private final int maxCount;
+
+    @Autowired
+    public BulkGenerateDepositCodesUseCase(
+            UserRepository userRepository,
+            DepositCodeRepository depositCodeRepository,
+            DepositCodeGenerator depositCodeGenerator,
+            DepositCodeSigner depositCodeSigner,
+            @Value("${baas.deposit-code.mode:STORED}") DepositCodeMode mode,
+            @Value("${baas.deposit-code.max-attempts:5}") int maxAttempts,
+            @Value("${baas.deposit-code.ttl-hours:72}") long ttlHours,
+            @Value("${baas.deposit-code.bulk.chunk-size:500}") int chunkSize,
+            @Value("${baas.deposit-code.bulk.max-count:10000}") int maxCount) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("baas.deposit-code.bulk.chunk-size must be greater than zero");
+        }
+        if (mode == DepositCodeMode.SIGNED && !depositCodeSigner.isEnabled()) {
+            throw new IllegalStateException("baas.deposit-code.mode=SIGNED requires baas.deposit-code.signing.keys");
+        }
+        this.userRepository = userRepository;
+        this.depositCodeRepository = depositCodeRepository;
+        this.depositCodeGenerator = depositCodeGenerator;
+        this.depositCodeSigner = depositCodeSigner;
+        this.mode = mode;
+        this.maxAttempts = maxAttempts;
+        this.ttlHours = ttlHours;
+        this.chunkSize = chunkSize;
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Validates the request and the caller's account before anything is streamed, so failures still get a proper
+     * error response.
+     */
+    public User authorize(String email, BulkGenerateDepositCodeRequest request) {
+        if (request.amount() == null || request.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            SimpleLogger.error(BulkGenerateDepositCodesUseCase.class, "Invalid amount: " + request.amount());
+            throw new AuthorizationException("Amount must be greater than zero");
+        }
+
+        // Tokens carry the amount in cents; checked here rather than halfway through the stream.
+        if (mode == DepositCodeMode.SIGNED && request.amount().stripTrailingZeros().scale() > 2) {
+            SimpleLogger.error(BulkGenerateDepositCodesUseCase.class, "Amount beyond cents: " + request.amount());
+            throw new AuthorizationException("Amount must have at most two decimal places");
+        }
+
+        if (request.count() <= 0 || request.count() > maxCount) {
+            SimpleLogger.error(BulkGenerateDepositCodesUseCase.class, "Invalid bulk deposit code count: " + request.count());
+            throw new AuthorizationException("Count must be between 1 and " + maxCount);
+        }
+
+        User user = userRepository.findUserByEmail(email)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(BulkGenerateDepositCodesUseCase.class, "User not found: " + email);
+                    return new AuthorizationException("User not found: " + email);
+                });
+
+        Account account = user.getAccount();
+        if (account == null) {
+            SimpleLogger.error(BulkGenerateDepositCodesUseCase.class, "User has no account: " + user.getId());
+            throw new AuthorizationException("User has no account");
+        }
+
+        if (!account.isPasswordCorrect(request.password())) {
+            SimpleLogger.error(BulkGenerateDepositCodesUseCase.class, "Invalid password for account: " + account.getNumber());
+            throw new AuthorizationException("Invalid password");
+        }
+
+        return user;
+    }
+
+    public int execute(User user, BulkGenerateDepositCodeRequest request, OutputStream output) throws IOException {
+        SimpleLogger.info(BulkGenerateDepositCodesUseCase.class,
+                "Generating " + request.count() + " deposit codes for user: " + user.getId());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+        int generated = 0;
+
+        while (generated < request.count()) {
+            int size = Math.min(chunkSize, request.count() - generated);
+            List<DepositCode> chunk = mode == DepositCodeMode.SIGNED
+                    ? sign(user, request.amount(), expiresAt, size)
+                    : insertWithFreshCodes(user, request.amount(), expiresAt, size);
+
+            for (DepositCode depositCode : chunk) {
+                writeJson(writer, depositCode);
+            }
+            // Flushed per chunk so the client sees committed codes while the rest are generated.
+            writer.flush();
+            generated += size;
+        }
+
+        SimpleLogger.info(BulkGenerateDepositCodesUseCase.class,
+                "Generated " + generated + " deposit codes for user: " + user.getId());
+
+        return generated;
+    }
+
+    private List<DepositCode> sign(User user, BigDecimal amount, LocalDateTime expiresAt, int size) {
+        List<DepositCode> chunk = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String token = depositCodeSigner.sign(new SignedDepositCode(UUID.randomUUID(), user.getId(), amount, expiresAt));
+            chunk.add(new DepositCode(token, amount, user, expiresAt));
+        }
+        return chunk;
+    }
+
+    private List<DepositCode> insertWithFreshCodes(User user, BigDecimal amount, LocalDateTime expiresAt, int size) {
+        int attempt = 1;
+
+        while (true) {
+            List<DepositCode> chunk = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                chunk.add(new DepositCode(depositCodeGenerator.next(), amount, user, expiresAt));
+            }
+
+            try {
+                depositCodeRepository.insertAll(chunk);
+                return chunk;
+            } catch (DataIntegrityViolationException e) {
+                // The chunk rolled back as a whole, so it is redrawn as a whole.
+                if (attempt >= maxAttempts) {
+                    SimpleLogger.error(BulkGenerateDepositCodesUseCase.class,
+                            "Could not insert a chunk of free deposit codes after " + attempt + " attempts", e);
+                    throw e;
+                }
+                SimpleLogger.warn(BulkGenerateDepositCodesUseCase.class,
+                        "Deposit code collision in chunk on attempt " + attempt + ", drawing new codes");
+                attempt++;
+            }
+        }
+    }
+
+    private static void writeJson(Writer writer, DepositCode depositCode) throws IOException {
+        // Codes and tokens only use URL-safe characters, so nothing needs escaping.
+        writer.write("{\"code\":\"");
+        writer.write(depositCode.getCode());
+        writer.write("\",\"amount\":");
+        writer.write(depositCode.getAmount().toPlainString());
+        writer.write(",\"expiresAt\":\"");
+        writer.write(depositCode.getExpiresAt().toString());
+        writer.write("\"}\n");
+    }
+}
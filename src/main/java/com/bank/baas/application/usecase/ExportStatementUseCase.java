@@ -0,0 +1,153 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.enums.StatementFormat;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.StatementRow;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.StatementRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a user's full statement as CSV or NDJSON, one row at a time as it comes off the database cursor.
+ */
+@Service
+public class ExportStatementUseCase {
+
+    private static final String CSV_HEADER = "id,createdAt,senderId,senderEmail,receiverId,receiverEmail,amount,status";
+
+    private final UserRepository userRepository;
+    private final StatementRepository statementRepository;
+
+    @Autowired
+    public ExportStatementUseCase(UserRepository userRepository, StatementRepository statementRepository) {
+        this.userRepository = userRepository;
+        this.statementRepository = statementRepository;
+    }
+
+    public User findUser(String email) {
+        return userRepository.findUserByEmail(email)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(ExportStatementUseCase.class, "User not found: " + email);
+                    return new AuthorizationException("User not found: " + email);
+                });
+    }
+
+    public long execute(User user, StatementFormat format, OutputStream output) throws IOException {
+        SimpleLogger.info(ExportStatementUseCase.class, "Exporting " + format + " statement for user: " + user.getId());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == StatementFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows;
+        try {
+            rows = statementRepository.forEachRow(user.getId(), row -> {
+                try {
+                    if (format == StatementFormat.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writeJson(writer, row);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+
+        SimpleLogger.info(ExportStatementUseCase.class, "Exported " + rows + " statement rows for user: " + user.getId());
+
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, StatementRow row) throws IOException {
+        writer.write(row.id().toString());
+        writer.write(',');
+        writer.write(row.createdAt().toString());
+        writer.write(',');
+        writer.write(row.senderId().toString());
+        writer.write(',');
+        writer.write(csvField(row.senderEmail()));
+        writer.write(',');
+        writer.write(row.receiverId().toString());
+        writer.write(',');
+        writer.write(csvField(row.receiverEmail()));
+        writer.write(',');
+        writer.write(row.amount().toPlainString());
+        writer.write(',');
+        writer.write(row.status().name());
+        writer.write('\n');
+    }
+
+    private static void writeJson(Writer writer, StatementRow row) throws IOException {
+        writer.write("{\"id\":\"");
+        writer.write(row.id().toString());
+        writer.write("\",\"createdAt\":\"");
+        writer.write(row.createdAt().toString());
+        writer.write("\",\"senderId\":\"");
+        writer.write(row.senderId().toString());
+        writer.write("\",\"senderEmail\":");
+        writer.write(jsonString(row.senderEmail()));
+        writer.write(",\"receiverId\":\"");
+        writer.write(row.receiverId().toString());
+        writer.write("\",\"receiverEmail\":");
+        writer.write(jsonString(row.receiverEmail()));
+        writer.write(",\"amount\":");
+        writer.write(row.amount().toPlainString());
+        writer.write(",\"status\":\"");
+        writer.write(row.status().name());
+        writer.write("\"}\n");
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
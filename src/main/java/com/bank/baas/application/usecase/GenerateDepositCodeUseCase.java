@@ -1,35 +1,60 @@
 package com.bank.baas.application.usecase;
 
+import com.bank.baas.application.service.DepositCodeGenerator;
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.domain.enums.DepositCodeMode;
 import com.bank.baas.presentation.dto.GenerateDepositCodeRequest;
 import com.bank.baas.domain.exception.AuthorizationException;
 import com.bank.baas.domain.model.Account;
 import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.SignedDepositCode;
 import com.bank.baas.domain.model.User;
 import com.bank.baas.domain.repository.DepositCodeRepository;
 import com.bank.baas.domain.repository.UserRepository;
 import com.bank.baas.utils.log.SimpleLogger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.Random;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Service
 public class GenerateDepositCodeUseCase {
 
     private final UserRepository userRepository;
     private final DepositCodeRepository depositCodeRepository;
+    private final DepositCodeGenerator depositCodeGenerator;
+    private final DepositCodeSigner depositCodeSigner;
+    private final DepositCodeMode mode;
+    private final int maxAttempts;
+    private final long ttlHours;
 
     @Autowired
     public GenerateDepositCodeUseCase(
             UserRepository userRepository,
-            DepositCodeRepository depositCodeRepository) {
+            DepositCodeRepository depositCodeRepository,
+            DepositCodeGenerator depositCodeGenerator,
+            DepositCodeSigner depositCodeSigner,
+            @Value("${baas.deposit-code.mode:STORED}") DepositCodeMode mode,
+            @Value("${baas.deposit-code.max-attempts:5}") int maxAttempts,
+            @Value("${baas.deposit-code.ttl-hours:72}") long ttlHours) {
+        if (mode == DepositCodeMode.SIGNED && !depositCodeSigner.isEnabled()) {
+            throw new IllegalStateException("baas.deposit-code.mode=SIGNED requires baas.deposit-code.signing.keys");
+        }
         this.userRepository = userRepository;
         this.depositCodeRepository = depositCodeRepository;
+        this.depositCodeGenerator = depositCodeGenerator;
+        this.depositCodeSigner = depositCodeSigner;
+        this.mode = mode;
+        this.maxAttempts = maxAttempts;
+        this.ttlHours = ttlHours;
     }
 
-    @Transactional
+    // Not transactional: each insert attempt commits or rolls back on its own, and a duplicate key inside an
+    // enclosing transaction would leave it rollback-only.
     public DepositCode execute(GenerateDepositCodeRequest request) {
         SimpleLogger.info(GenerateDepositCodeUseCase.class, "Starting deposit code generation process");
 
@@ -55,36 +80,44 @@ public class GenerateDepositCodeUseCase {
             throw new AuthorizationException("Invalid password");
         }
 
-        String code = generateUniqueCode();
-        SimpleLogger.info(GenerateDepositCodeUseCase.class, "Generated deposit code: " + code);
-
-        DepositCode depositCode = new DepositCode(code, request.amount(), user);
+        if (mode == DepositCodeMode.SIGNED) {
+            DepositCode signedDepositCode = sign(request.amount(), user);
+            SimpleLogger.info(GenerateDepositCodeUseCase.class, "Signed deposit code for user: " + user.getId());
+            return signedDepositCode;
+        }
 
-        DepositCode savedDepositCode = depositCodeRepository.save(depositCode);
+        DepositCode savedDepositCode = insertWithFreshCode(request.amount(), user);
         SimpleLogger.info(GenerateDepositCodeUseCase.class, "Saved deposit code with ID: " + savedDepositCode.getId());
 
         return savedDepositCode;
     }
 
-    private String generateUniqueCode() {
-        Random random = new Random();
-        String code;
-
-        do {
-            StringBuilder sb = new StringBuilder(8);
-            for (int i = 0; i < 8; i++) {
-                int type = random.nextInt(3);
-                if (type == 0) {
-                    sb.append(random.nextInt(10));
-                } else if (type == 1) {
-                    sb.append((char) (random.nextInt(26) + 'A'));
-                } else {
-                    sb.append((char) (random.nextInt(26) + 'a'));
+    // Nothing is written: the token carries the amount, generator and expiry, and only redemption touches the database.
+    private DepositCode sign(BigDecimal amount, User user) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+        String token = depositCodeSigner.sign(new SignedDepositCode(UUID.randomUUID(), user.getId(), amount, expiresAt));
+        return new DepositCode(token, amount, user, expiresAt);
+    }
+
+    private DepositCode insertWithFreshCode(BigDecimal amount, User user) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+        int attempt = 1;
+
+        while (true) {
+            DepositCode depositCode = new DepositCode(depositCodeGenerator.next(), amount, user, expiresAt);
+            try {
+                return depositCodeRepository.insert(depositCode);
+            } catch (DataIntegrityViolationException e) {
+                // The id is random and the generator exists, so the unique code is the constraint that failed.
+                if (attempt >= maxAttempts) {
+                    SimpleLogger.error(GenerateDepositCodeUseCase.class,
+                            "Could not find a free deposit code after " + attempt + " attempts", e);
+                    throw e;
                 }
+                SimpleLogger.warn(GenerateDepositCodeUseCase.class,
+                        "Deposit code collision on attempt " + attempt + ", drawing a new code");
+                attempt++;
             }
-            code = sb.toString();
-        } while (depositCodeRepository.existsByCode(code));
-
-        return code;
+        }
     }
 }
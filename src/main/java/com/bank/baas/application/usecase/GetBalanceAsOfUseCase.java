@@ -0,0 +1,53 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.BalanceCheckpointService;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+public class GetBalanceAsOfUseCase {
+
+    private final AccountRepository accountRepository;
+    private final BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    public GetBalanceAsOfUseCase(AccountRepository accountRepository, BalanceCheckpointService balanceCheckpointService) {
+        this.accountRepository = accountRepository;
+        this.balanceCheckpointService = balanceCheckpointService;
+    }
+
+    /**
+     * Balance of the account at {@code asOf}, counting the transactions created before it. Only the account owner
+     * may ask unless {@code privileged} is set.
+     */
+    public BigDecimal execute(String requesterEmail, boolean privileged, UUID accountId, LocalDateTime asOf) {
+        if (asOf.isAfter(LocalDateTime.now())) {
+            SimpleLogger.error(GetBalanceAsOfUseCase.class, "Balance requested for a future instant: " + asOf);
+            throw new AuthorizationException("asOf cannot be in the future");
+        }
+
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(GetBalanceAsOfUseCase.class, "Account not found: " + accountId);
+                    return new AuthorizationException("Account not found: " + accountId);
+                });
+
+        if (!privileged && (account.getUser() == null || !requesterEmail.equals(account.getUser().getEmail()))) {
+            SimpleLogger.error(GetBalanceAsOfUseCase.class,
+                    "Balance of account " + accountId + " requested by another user: " + requesterEmail);
+            throw new AuthorizationException("Account does not belong to the authenticated user");
+        }
+
+        SimpleLogger.debug(GetBalanceAsOfUseCase.class, "Computing balance of account " + accountId + " as of " + asOf);
+
+        return balanceCheckpointService.balanceAsOf(account, asOf);
+    }
+}
@@ -0,0 +1,65 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.TransactionCursor;
+import com.bank.baas.domain.model.TransactionHistoryEntry;
+import com.bank.baas.domain.model.TransactionPage;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.TransactionHistoryRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class GetTransactionHistoryUseCase {
+
+    private final UserRepository userRepository;
+    private final TransactionHistoryRepository transactionHistoryRepository;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    @Autowired
+    public GetTransactionHistoryUseCase(
+            UserRepository userRepository,
+            TransactionHistoryRepository transactionHistoryRepository,
+            @Value("${baas.transaction.history.default-limit:20}") int defaultLimit,
+            @Value("${baas.transaction.history.max-limit:100}") int maxLimit) {
+        this.userRepository = userRepository;
+        this.transactionHistoryRepository = transactionHistoryRepository;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public TransactionPage execute(String email, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultLimit : limit;
+
+        if (pageSize <= 0 || pageSize > maxLimit) {
+            SimpleLogger.error(GetTransactionHistoryUseCase.class, "Invalid history page size: " + pageSize);
+            throw new AuthorizationException("Limit must be between 1 and " + maxLimit);
+        }
+
+        User user = userRepository.findUserByEmail(email)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(GetTransactionHistoryUseCase.class, "User not found: " + email);
+                    return new AuthorizationException("User not found: " + email);
+                });
+
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        SimpleLogger.debug(GetTransactionHistoryUseCase.class, "Finding transaction history for user: " + user.getId());
+
+        // One extra row tells whether there is a next page without a count query.
+        List<TransactionHistoryEntry> entries = transactionHistoryRepository.findPage(user.getId(), after, pageSize + 1);
+
+        if (entries.size() <= pageSize) {
+            return new TransactionPage(entries, null);
+        }
+
+        List<TransactionHistoryEntry> items = entries.subList(0, pageSize);
+        return new TransactionPage(items, TransactionCursor.after(items.get(pageSize - 1)));
+    }
+}
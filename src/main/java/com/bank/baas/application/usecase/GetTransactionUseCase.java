@@ -0,0 +1,37 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class GetTransactionUseCase {
+
+    private final TransactionRepository transactionRepository;
+
+    @Autowired
+    public GetTransactionUseCase(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Returns the transaction only to its sender or receiver; anyone else gets the same empty result as for an
+     * unknown id.
+     */
+    public Optional<Transaction> execute(UUID transactionId, String requesterEmail) {
+        SimpleLogger.debug(GetTransactionUseCase.class, "Finding transaction: " + transactionId);
+        return transactionRepository.findById(transactionId)
+                .filter(transaction -> isParty(transaction.getSender(), requesterEmail)
+                        || isParty(transaction.getReceiver(), requesterEmail));
+    }
+
+    private static boolean isParty(User user, String email) {
+        return user != null && user.getEmail() != null && user.getEmail().equals(email);
+    }
+}
@@ -0,0 +1,220 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.application.service.TransferRetryService;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.RedeemedCode;
+import com.bank.baas.domain.model.SignedDepositCode;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.RedeemedCodeRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Redeems a deposit code: the amount moves from the account of the user who generated the code to the redeemer's.
+ * The code is claimed with one conditional UPDATE and both balances move with conditional increments in the same
+ * database transaction, so racing redeemers cannot both win and a failed debit gives the code back.
+ * <p>
+ * Signed codes have no row to claim: the token is verified and its nonce inserted into {@code redeemed_codes}
+ * instead, in the same transaction, so the primary key plays the part of the conditional UPDATE.
+ */
+@Service
+public class RedeemDepositCodeUseCase {
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final DepositCodeRepository depositCodeRepository;
+    private final RedeemedCodeRepository redeemedCodeRepository;
+    private final DepositCodeSigner depositCodeSigner;
+    private final TransactionRepository transactionRepository;
+    private final TransferRetryService transferRetryService;
+    private final TransferConcurrencyMode concurrencyMode;
+
+    @Autowired
+    public RedeemDepositCodeUseCase(
+            UserRepository userRepository,
+            AccountRepository accountRepository,
+            DepositCodeRepository depositCodeRepository,
+            RedeemedCodeRepository redeemedCodeRepository,
+            DepositCodeSigner depositCodeSigner,
+            TransactionRepository transactionRepository,
+            TransferRetryService transferRetryService,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode) {
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.depositCodeRepository = depositCodeRepository;
+        this.redeemedCodeRepository = redeemedCodeRepository;
+        this.depositCodeSigner = depositCodeSigner;
+        this.transactionRepository = transactionRepository;
+        this.transferRetryService = transferRetryService;
+        this.concurrencyMode = concurrencyMode;
+    }
+
+    public Transaction execute(String redeemerEmail, String code) {
+        // Both modes keep balances outside the account table, which is what the conditional increments update.
+        if (concurrencyMode == TransferConcurrencyMode.IN_MEMORY || concurrencyMode == TransferConcurrencyMode.DOUBLE_ENTRY) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Deposit code redemption unsupported in mode: " + concurrencyMode);
+            throw new AuthorizationException("Deposit code redemption is not available in " + concurrencyMode + " mode");
+        }
+
+        return transferRetryService.executeInTransaction(() -> redeem(redeemerEmail, code));
+    }
+
+    private Transaction redeem(String redeemerEmail, String code) {
+        SimpleLogger.info(RedeemDepositCodeUseCase.class, "Starting deposit code redemption");
+
+        User redeemer = userRepository.findUserByEmail(redeemerEmail)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "User not found: " + redeemerEmail);
+                    return new AuthorizationException("User not found: " + redeemerEmail);
+                });
+
+        Account redeemerAccount = accountRepository.findByUserId(redeemer.getId())
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "User has no account: " + redeemer.getId());
+                    return new AuthorizationException("User has no account");
+                });
+
+        if (depositCodeSigner.isSigned(code)) {
+            return redeemSigned(redeemer, redeemerAccount, code);
+        }
+
+        DepositCode depositCode = depositCodeRepository.findByCode(code)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "Deposit code not found: " + code);
+                    return new AuthorizationException("Deposit code not found");
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Cheap rejections only; the claim below is what actually decides who wins.
+        if (depositCode.isUsed()) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Deposit code already used: " + code);
+            throw new AuthorizationException("Deposit code already used");
+        }
+
+        if (depositCode.isExpired(now)) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Deposit code expired: " + code);
+            throw new AuthorizationException("Deposit code expired");
+        }
+
+        User generator = depositCode.getGenerator();
+        if (generator.getId().equals(redeemer.getId())) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "User tried to redeem own deposit code: " + redeemer.getId());
+            throw new AuthorizationException("Cannot use own deposit code");
+        }
+
+        Account generatorAccount = accountRepository.findByUserId(generator.getId())
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "Generator has no account: " + generator.getId());
+                    return new AuthorizationException("Deposit code issuer has no account");
+                });
+
+        if (!depositCodeRepository.claim(code, redeemer, now)) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Deposit code claimed concurrently: " + code);
+            throw new AuthorizationException("Deposit code already used");
+        }
+
+        return settle(generator, generatorAccount, redeemer, redeemerAccount, depositCode.getAmount(), now,
+                "Deposit code " + depositCode.getId());
+    }
+
+    private Transaction redeemSigned(User redeemer, Account redeemerAccount, String code) {
+        SignedDepositCode signedCode = depositCodeSigner.verify(code)
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "Deposit code signature invalid or key retired");
+                    return new AuthorizationException("Deposit code not found");
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (signedCode.isExpired(now)) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Signed deposit code expired: " + signedCode.nonce());
+            throw new AuthorizationException("Deposit code expired");
+        }
+
+        if (signedCode.generatorId().equals(redeemer.getId())) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "User tried to redeem own deposit code: " + redeemer.getId());
+            throw new AuthorizationException("Cannot use own deposit code");
+        }
+
+        User generator = userRepository.findUserById(signedCode.generatorId())
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "Generator not found: " + signedCode.generatorId());
+                    return new AuthorizationException("Deposit code issuer not found");
+                });
+
+        Account generatorAccount = accountRepository.findByUserId(generator.getId())
+                .orElseThrow(() -> {
+                    SimpleLogger.error(RedeemDepositCodeUseCase.class, "Generator has no account: " + generator.getId());
+                    return new AuthorizationException("Deposit code issuer has no account");
+                });
+
+        try {
+            redeemedCodeRepository.insert(new RedeemedCode(signedCode.nonce(), generator.getId(), redeemer.getId(),
+                    signedCode.amount(), now, signedCode.expiresAt()));
+        } catch (DataIntegrityViolationException e) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Signed deposit code already redeemed: " + signedCode.nonce());
+            throw new AuthorizationException("Deposit code already used");
+        }
+
+        return settle(generator, generatorAccount, redeemer, redeemerAccount, signedCode.amount(), now,
+                "Signed deposit code " + signedCode.nonce());
+    }
+
+    private Transaction settle(User generator, Account generatorAccount, User redeemer, Account redeemerAccount,
+                               BigDecimal amount, LocalDateTime now, String description) {
+        moveAmount(generatorAccount, redeemerAccount, amount);
+
+        Transaction transaction = new Transaction(generator, redeemer, amount, now);
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        transaction.setUpdatedAt(now);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+
+        SimpleLogger.info(RedeemDepositCodeUseCase.class,
+                description + " redeemed in transaction " + savedTransaction.getId());
+
+        return savedTransaction;
+    }
+
+    private void moveAmount(Account generatorAccount, Account redeemerAccount, BigDecimal amount) {
+        // Row locks follow the same id order as transfers.
+        if (Account.LOCK_ORDER.compare(generatorAccount.getId(), redeemerAccount.getId()) <= 0) {
+            debit(generatorAccount, amount);
+            credit(redeemerAccount, amount);
+        } else {
+            credit(redeemerAccount, amount);
+            debit(generatorAccount, amount);
+        }
+    }
+
+    private void debit(Account account, BigDecimal amount) {
+        if (!accountRepository.debitIfSufficientBalance(account.getId(), amount)) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class,
+                    "Insufficient balance for account: " + account.getNumber() + ", amount: " + amount);
+            throw new AuthorizationException("Insufficient balance on the deposit code issuer's account");
+        }
+    }
+
+    private void credit(Account account, BigDecimal amount) {
+        if (!accountRepository.credit(account.getId(), amount)) {
+            SimpleLogger.error(RedeemDepositCodeUseCase.class, "Account not found: " + account.getId());
+            throw new AuthorizationException("Account not found: " + account.getId());
+        }
+    }
+}
@@ -11,7 +11,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 
 @Service
@@ -49,7 +48,8 @@ public class UpdateAccountUseCase {
             throw new AuthorizationException("Invalid password");
         }
 
-        setAccountPassword(account, request.newPassword());
+        account.changePassword(request.newPassword());
+        SimpleLogger.info(UpdateAccountUseCase.class, "Password updated for account: " + account.getNumber());
         account.setUpdatedAt(LocalDateTime.now());
 
         Account updatedAccount = accountRepository.save(account);
@@ -57,16 +57,4 @@ public class UpdateAccountUseCase {
 
         return updatedAccount;
     }
-
-    private void setAccountPassword(Account account, String password) {
-        try {
-            Field passwordField = Account.class.getDeclaredField("password");
-            passwordField.setAccessible(true);
-            passwordField.set(account, password);
-            SimpleLogger.info(UpdateAccountUseCase.class, "Password updated for account: " + account.getNumber());
-        } catch (Exception e) {
-            SimpleLogger.error(UpdateAccountUseCase.class, "Failed to update password: " + e.getMessage(), e);
-            throw new RuntimeException("Failed to update password", e);
-        }
-    }
 }
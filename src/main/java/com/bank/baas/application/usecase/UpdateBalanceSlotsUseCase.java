@@ -0,0 +1,45 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class UpdateBalanceSlotsUseCase {
+
+    private final AccountRepository accountRepository;
+
+    @Autowired
+    public UpdateBalanceSlotsUseCase(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * Sets how many balance slots the account spreads its credits over; 0 removes the flag. Any money in the slots
+     * is drained into the account before the change takes effect. Only {@code privileged} callers may do this.
+     */
+    public void execute(boolean privileged, UUID accountId, int slots) {
+        if (!privileged) {
+            SimpleLogger.error(UpdateBalanceSlotsUseCase.class,
+                    "Balance slots change of account " + accountId + " requested without privileges");
+            throw new AuthorizationException("Only administrators can change balance slots");
+        }
+
+        if (slots < 0) {
+            SimpleLogger.error(UpdateBalanceSlotsUseCase.class, "Negative balance slots requested: " + slots);
+            throw new AuthorizationException("Balance slots must not be negative");
+        }
+
+        if (!accountRepository.resizeBalanceSlots(accountId, slots)) {
+            SimpleLogger.error(UpdateBalanceSlotsUseCase.class, "Account not found: " + accountId);
+            throw new AuthorizationException("Account not found: " + accountId);
+        }
+
+        SimpleLogger.info(UpdateBalanceSlotsUseCase.class,
+                "Account " + accountId + " set to " + slots + " balance slots");
+    }
+}
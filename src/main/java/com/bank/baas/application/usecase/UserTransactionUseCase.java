@@ -1,21 +1,43 @@
 package com.bank.baas.application.usecase;
 
+import com.bank.baas.application.service.GroupCommitTransferExecutor;
+import com.bank.baas.application.service.InMemoryLedgerEngine;
+import com.bank.baas.application.service.LedgerBalanceService;
+import com.bank.baas.application.service.PendingTransferDispatcher;
+import com.bank.baas.application.service.TransferIdempotencyService;
+import com.bank.baas.application.service.TransferRetryService;
 import com.bank.baas.presentation.dto.UserTransactionRequest;
 import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AlreadyExistsException;
 import com.bank.baas.domain.exception.AuthorizationException;
 import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.LedgerRecord;
 import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.TransferParticipant;
 import com.bank.baas.domain.model.User;
 import com.bank.baas.domain.repository.AccountRepository;
 import com.bank.baas.domain.repository.TransactionRepository;
 import com.bank.baas.domain.repository.UserRepository;
 import com.bank.baas.utils.log.SimpleLogger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @Service
 public class UserTransactionUseCase {
@@ -23,21 +45,214 @@ public class UserTransactionUseCase {
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final TransferRetryService transferRetryService;
+    private final TransferIdempotencyService transferIdempotencyService;
+    private final PendingTransferDispatcher pendingTransferDispatcher;
+    private final InMemoryLedgerEngine inMemoryLedgerEngine;
+    private final LedgerBalanceService ledgerBalanceService;
+    private final GroupCommitTransferExecutor groupCommitTransferExecutor;
+    private final TransferConcurrencyMode concurrencyMode;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
 
     @Autowired
     public UserTransactionUseCase(
             UserRepository userRepository,
             AccountRepository accountRepository,
-            TransactionRepository transactionRepository) {
+            TransactionRepository transactionRepository,
+            TransferRetryService transferRetryService,
+            TransferIdempotencyService transferIdempotencyService,
+            PendingTransferDispatcher pendingTransferDispatcher,
+            InMemoryLedgerEngine inMemoryLedgerEngine,
+            LedgerBalanceService ledgerBalanceService,
+            GroupCommitTransferExecutor groupCommitTransferExecutor,
+            @Value("${baas.transfer.concurrency-mode:PESSIMISTIC}") TransferConcurrencyMode concurrencyMode) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
+        this.transferRetryService = transferRetryService;
+        this.transferIdempotencyService = transferIdempotencyService;
+        this.pendingTransferDispatcher = pendingTransferDispatcher;
+        this.inMemoryLedgerEngine = inMemoryLedgerEngine;
+        this.ledgerBalanceService = ledgerBalanceService;
+        this.groupCommitTransferExecutor = groupCommitTransferExecutor;
+        this.concurrencyMode = concurrencyMode;
     }
 
-    @Transactional
     public Transaction execute(UserTransactionRequest request) {
+        return execute(request, null);
+    }
+
+    public Transaction execute(UserTransactionRequest request, String idempotencyKey) {
+        if (concurrencyMode == TransferConcurrencyMode.IN_MEMORY) {
+            return deduplicated(request, idempotencyKey, key -> transferInMemory(request, key));
+        }
+
+        if (concurrencyMode == TransferConcurrencyMode.GROUP_COMMIT) {
+            return deduplicated(request, idempotencyKey, key -> transferGroupCommitted(request, key));
+        }
+
+        return deduplicated(request, idempotencyKey,
+                key -> transferRetryService.executeInTransaction(() -> transfer(request, key)));
+    }
+
+    /**
+     * Validates the transfer and records it as PENDING; the money is moved later by the settlement workers.
+     */
+    public Transaction submit(UserTransactionRequest request, String idempotencyKey) {
+        // The in-memory engine already settles off the database path, and the settlement workers move the account
+        // table balance that the double-entry mode only reads as an opening balance.
+        if (concurrencyMode == TransferConcurrencyMode.IN_MEMORY || concurrencyMode == TransferConcurrencyMode.DOUBLE_ENTRY) {
+            return execute(request, idempotencyKey);
+        }
+
+        AtomicBoolean enqueued = new AtomicBoolean();
+        Transaction transaction = deduplicated(request, idempotencyKey, key -> {
+            Transaction pending = transferRetryService.executeInTransaction(() -> enqueue(request, key));
+            enqueued.set(true);
+            return pending;
+        });
+
+        // A replay of a transfer that is still pending was already handed to the workers, or will be picked up by
+        // the recovery sweep.
+        if (enqueued.get()) {
+            pendingTransferDispatcher.dispatch(transaction);
+        }
+
+        return transaction;
+    }
+
+    private Transaction deduplicated(UserTransactionRequest request, String idempotencyKey,
+                                     Function<String, Transaction> operation) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return operation.apply(null);
+        }
+
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            SimpleLogger.error(UserTransactionUseCase.class, "Idempotency key too long: " + idempotencyKey.length());
+            throw new AuthorizationException("Idempotency-Key must have at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        // Keys are scoped to the sender. Resolving it first also makes a replay, which skips the transfer's own
+        // checks, prove the caller owns the sender account.
+        UUID senderId = resolveParticipants(request).sender().userId();
+        Transaction transaction = transferIdempotencyService.execute(senderId, idempotencyKey,
+                () -> operation.apply(idempotencyKey));
+
+        validateReplayMatchesRequest(transaction, request, idempotencyKey);
+
+        return transaction;
+    }
+
+    private Transaction transferInMemory(UserTransactionRequest request, String idempotencyKey) {
+        SimpleLogger.info(UserTransactionUseCase.class, "Starting in-memory transaction between users");
+
+        Participants participants = resolveParticipants(request);
+        TransferParticipant sender = participants.sender();
+        TransferParticipant receiver = participants.receiver();
+
+        // The table balance may lag behind the engine, so only the engine checks the balance.
+        validatePositiveAmount(request.amount());
+
+        LedgerRecord record = inMemoryLedgerEngine.transfer(sender.userId(), sender.accountId(),
+                receiver.userId(), receiver.accountId(), request.amount(), idempotencyKey);
+
+        Transaction transaction = new Transaction(sender.toUser(), receiver.toUser(), request.amount(), record.createdAt());
+        transaction.setId(record.transactionId());
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        transaction.setUpdatedAt(record.createdAt());
+        transaction.setIdempotencyKey(idempotencyKey);
+        transaction.setLedgerSequence(record.sequence());
+
+        SimpleLogger.info(UserTransactionUseCase.class, "In-memory transaction journaled: " + record.sequence());
+
+        return transaction;
+    }
+
+    private Transaction transferGroupCommitted(UserTransactionRequest request, String idempotencyKey) {
+        SimpleLogger.info(UserTransactionUseCase.class, "Starting group-committed transaction between users");
+
+        Participants participants = resolveParticipants(request);
+        TransferParticipant sender = participants.sender();
+        TransferParticipant receiver = participants.receiver();
+
+        // The balance is checked by the executor against the locked row, in the order the group is applied.
+        validatePositiveAmount(request.amount());
+
+        Transaction savedTransaction;
+        try {
+            savedTransaction = groupCommitTransferExecutor.submit(sender.toUser(), sender.accountId(), receiver.toUser(),
+                    receiver.accountId(), request.amount(), idempotencyKey).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        SimpleLogger.info(UserTransactionUseCase.class, "Transaction group-committed: " + savedTransaction.getId());
+
+        return savedTransaction;
+    }
+
+    private Transaction enqueue(UserTransactionRequest request, String idempotencyKey) {
+        SimpleLogger.info(UserTransactionUseCase.class, "Submitting asynchronous transaction between users");
+
+        // Loads the full graph: the dispatcher routes the pending transfer by the sender's account.
+        User sender = findUser(request.senderIdentifier(), request.isCpf());
+
+        Account senderAccount = validateSenderAccount(sender, request.password());
+
+        User receiver = findUser(request.receiverIdentifier(), request.isCpf());
+
+        validateReceiverAccount(receiver);
+
+        validateAmount(request.amount(), senderAccount);
+
+        Transaction transaction = new Transaction(sender, receiver, request.amount(), LocalDateTime.now());
+        transaction.setIdempotencyKey(idempotencyKey);
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+
+        SimpleLogger.info(UserTransactionUseCase.class, "Transaction accepted as pending: " + savedTransaction.getId());
+
+        return savedTransaction;
+    }
+
+    private Transaction transfer(UserTransactionRequest request, String idempotencyKey) {
         SimpleLogger.info(UserTransactionUseCase.class, "Starting transaction between users");
 
+        if (concurrencyMode == TransferConcurrencyMode.OPTIMISTIC) {
+            return transferOptimistically(request, idempotencyKey);
+        }
+
+        Participants participants = resolveParticipants(request);
+        TransferParticipant sender = participants.sender();
+        TransferParticipant receiver = participants.receiver();
+
+        if (concurrencyMode == TransferConcurrencyMode.DOUBLE_ENTRY) {
+            return postDoubleEntry(sender, receiver, request.amount(), idempotencyKey);
+        }
+
+        validateAmount(request.amount(), sender);
+
+        if (concurrencyMode == TransferConcurrencyMode.ATOMIC) {
+            return complete(sender.toUser(), receiver.toUser(), request.amount(), idempotencyKey,
+                    () -> applyAtomicTransfer(sender.accountId(), receiver.accountId(), request.amount()));
+        }
+
+        Map<UUID, Account> lockedAccounts = lockAccountsInIdOrder(sender.accountId(), receiver.accountId());
+        Account senderAccount = lockedAccounts.get(sender.accountId());
+        Account receiverAccount = lockedAccounts.get(receiver.accountId());
+
+        validateAmount(request.amount(), senderAccount);
+
+        return complete(sender.toUser(), receiver.toUser(), request.amount(), idempotencyKey,
+                () -> moveBalance(senderAccount, receiverAccount, request.amount()));
+    }
+
+    private Transaction transferOptimistically(UserTransactionRequest request, String idempotencyKey) {
+        // Saving relies on the version each account was read with, so this mode still loads the full graph.
         User sender = findUser(request.senderIdentifier(), request.isCpf());
 
         Account senderAccount = validateSenderAccount(sender, request.password());
@@ -48,15 +263,25 @@ public class UserTransactionUseCase {
 
         validateAmount(request.amount(), senderAccount);
 
-        Transaction transaction = new Transaction(sender, receiver, request.amount(), LocalDateTime.now());
-        transaction.setId(java.util.UUID.randomUUID());
+        return complete(sender, receiver, request.amount(), idempotencyKey,
+                () -> moveBalance(senderAccount, receiverAccount, request.amount()));
+    }
 
-        try {
-            senderAccount.decreaseBalance(request.amount());
-            receiverAccount.increaseBalance(request.amount());
+    private void moveBalance(Account senderAccount, Account receiverAccount, BigDecimal amount) {
+        senderAccount.decreaseBalance(amount);
+        receiverAccount.increaseBalance(amount);
 
-            accountRepository.save(senderAccount);
-            accountRepository.save(receiverAccount);
+        accountRepository.save(senderAccount);
+        accountRepository.save(receiverAccount);
+    }
+
+    private Transaction complete(User sender, User receiver, BigDecimal amount, String idempotencyKey,
+                                 Runnable balanceMove) {
+        Transaction transaction = new Transaction(sender, receiver, amount, LocalDateTime.now());
+        transaction.setIdempotencyKey(idempotencyKey);
+
+        try {
+            balanceMove.run();
 
             transaction.setStatus(TransactionStatus.SUCCESS);
             transaction.setUpdatedAt(LocalDateTime.now());
@@ -67,6 +292,10 @@ public class UserTransactionUseCase {
                     "Transaction completed successfully: " + savedTransaction.getId());
 
             return savedTransaction;
+        } catch (ConcurrencyFailureException | AuthorizationException | DataIntegrityViolationException e) {
+            // A duplicate idempotency key must reach TransferIdempotencyService, and the session that raised it
+            // cannot record a FAILED row anyway.
+            throw e;
         } catch (Exception e) {
             transaction.setStatus(TransactionStatus.FAILED);
             transaction.setUpdatedAt(LocalDateTime.now());
@@ -80,6 +309,107 @@ public class UserTransactionUseCase {
         }
     }
 
+    private Transaction postDoubleEntry(TransferParticipant sender, TransferParticipant receiver,
+                                        BigDecimal amount, String idempotencyKey) {
+        validatePositiveAmount(amount);
+
+        // Only the sender row is locked, to serialize its debits; the receiver just gets an appended credit.
+        Account lockedSender = accountRepository.findByIdForUpdate(sender.accountId())
+                .orElseThrow(() -> {
+                    SimpleLogger.error(UserTransactionUseCase.class, "Account not found: " + sender.accountId());
+                    return new AuthorizationException("Account not found: " + sender.accountId());
+                });
+
+        BigDecimal balance = ledgerBalanceService.balanceOf(lockedSender);
+        if (balance.compareTo(amount) < 0) {
+            SimpleLogger.error(UserTransactionUseCase.class,
+                    "Insufficient balance for account: " + lockedSender.getNumber() +
+                    ", amount: " + amount +
+                    ", balance: " + balance);
+            throw new AuthorizationException("Insufficient balance");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Transaction transaction = new Transaction(sender.toUser(), receiver.toUser(), amount, now);
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        transaction.setUpdatedAt(now);
+        transaction.setIdempotencyKey(idempotencyKey);
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+
+        ledgerBalanceService.post(savedTransaction.getId(), sender.accountId(), receiver.accountId(), amount, now);
+
+        SimpleLogger.info(UserTransactionUseCase.class, "Transaction posted to ledger: " + savedTransaction.getId());
+
+        return savedTransaction;
+    }
+
+    private void validateReplayMatchesRequest(Transaction transaction, UserTransactionRequest request, String idempotencyKey) {
+        String senderIdentifier = request.isCpf() ? transaction.getSender().getCpf() : transaction.getSender().getEmail();
+        String receiverIdentifier = request.isCpf() ? transaction.getReceiver().getCpf() : transaction.getReceiver().getEmail();
+
+        boolean sameRequest = request.senderIdentifier().equals(senderIdentifier)
+                && request.receiverIdentifier().equals(receiverIdentifier)
+                && request.amount().compareTo(transaction.getAmount()) == 0;
+
+        if (!sameRequest) {
+            SimpleLogger.error(UserTransactionUseCase.class,
+                    "Idempotency key reused with a different request: " + idempotencyKey);
+            throw new AlreadyExistsException("Idempotency-Key already used for a different transfer");
+        }
+    }
+
+    private Participants resolveParticipants(UserTransactionRequest request) {
+        // Both parties in one indexed lookup, the same list twice for a self-transfer.
+        List<String> identifiers = List.of(request.senderIdentifier(), request.receiverIdentifier());
+        List<TransferParticipant> found;
+
+        if (request.isCpf()) {
+            SimpleLogger.info(UserTransactionUseCase.class, "Finding transfer participants by CPF: " + identifiers);
+            found = userRepository.findTransferParticipantsByCpfs(identifiers);
+        } else {
+            SimpleLogger.info(UserTransactionUseCase.class, "Finding transfer participants by email: " + identifiers);
+            found = userRepository.findTransferParticipantsByEmails(identifiers);
+        }
+
+        Map<String, TransferParticipant> byIdentifier = new HashMap<>();
+        for (TransferParticipant participant : found) {
+            byIdentifier.put(request.isCpf() ? participant.cpf() : participant.email(), participant);
+        }
+
+        TransferParticipant sender = requireParticipant(byIdentifier, request.senderIdentifier());
+
+        if (!sender.hasAccount()) {
+            SimpleLogger.error(UserTransactionUseCase.class, "Sender has no account: " + sender.userId());
+            throw new AuthorizationException("Sender has no account");
+        }
+
+        if (!sender.isPasswordCorrect(request.password())) {
+            SimpleLogger.error(UserTransactionUseCase.class, "Invalid password for account: " + sender.accountId());
+            throw new AuthorizationException("Invalid password");
+        }
+
+        TransferParticipant receiver = requireParticipant(byIdentifier, request.receiverIdentifier());
+
+        if (!receiver.hasAccount()) {
+            SimpleLogger.error(UserTransactionUseCase.class, "Receiver has no account: " + receiver.userId());
+            throw new AuthorizationException("Receiver has no account");
+        }
+
+        return new Participants(sender, receiver);
+    }
+
+    private TransferParticipant requireParticipant(Map<String, TransferParticipant> byIdentifier, String identifier) {
+        TransferParticipant participant = byIdentifier.get(identifier);
+
+        if (participant == null) {
+            SimpleLogger.error(UserTransactionUseCase.class, "User not found: " + identifier);
+            throw new AuthorizationException("User not found: " + identifier);
+        }
+
+        return participant;
+    }
+
     private User findUser(String identifier, boolean isCpf) {
         Optional<User> optionalUser;
 
@@ -113,6 +443,51 @@ public class UserTransactionUseCase {
         return account;
     }
 
+    private void applyAtomicTransfer(UUID senderAccountId, UUID receiverAccountId, BigDecimal amount) {
+        // Both conditional updates take row locks, so they follow the same id order as the pessimistic mode.
+        if (Account.LOCK_ORDER.compare(senderAccountId, receiverAccountId) <= 0) {
+            debitAtomically(senderAccountId, amount);
+            creditAtomically(receiverAccountId, amount);
+        } else {
+            creditAtomically(receiverAccountId, amount);
+            debitAtomically(senderAccountId, amount);
+        }
+    }
+
+    private void debitAtomically(UUID accountId, BigDecimal amount) {
+        if (!accountRepository.debitIfSufficientBalance(accountId, amount)) {
+            SimpleLogger.error(UserTransactionUseCase.class,
+                    "Insufficient balance for account: " + accountId + ", amount: " + amount);
+            throw new AuthorizationException("Insufficient balance");
+        }
+    }
+
+    private void creditAtomically(UUID accountId, BigDecimal amount) {
+        if (!accountRepository.credit(accountId, amount)) {
+            SimpleLogger.error(UserTransactionUseCase.class, "Account not found: " + accountId);
+            throw new AuthorizationException("Account not found: " + accountId);
+        }
+    }
+
+    private Map<UUID, Account> lockAccountsInIdOrder(UUID senderAccountId, UUID receiverAccountId) {
+        SortedSet<UUID> accountIds = new TreeSet<>(Account.LOCK_ORDER);
+        accountIds.add(senderAccountId);
+        accountIds.add(receiverAccountId);
+        Map<UUID, Account> lockedAccounts = new HashMap<>();
+
+        for (UUID accountId : accountIds) {
+            SimpleLogger.debug(UserTransactionUseCase.class, "Locking account: " + accountId);
+            Account lockedAccount = accountRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> {
+                        SimpleLogger.error(UserTransactionUseCase.class, "Account not found: " + accountId);
+                        return new AuthorizationException("Account not found: " + accountId);
+                    });
+            lockedAccounts.put(accountId, lockedAccount);
+        }
+
+        return lockedAccounts;
+    }
+
     private Account validateReceiverAccount(User receiver) {
         Account account = receiver.getAccount();
 
@@ -125,10 +500,7 @@ public class UserTransactionUseCase {
     }
 
     private void validateAmount(java.math.BigDecimal amount, Account senderAccount) {
-        if (amount.compareTo(java.math.BigDecimal.ZERO) <= 0) {
-            SimpleLogger.error(UserTransactionUseCase.class, "Invalid amount: " + amount);
-            throw new AuthorizationException("Amount must be greater than zero");
-        }
+        validatePositiveAmount(amount);
 
         if (!senderAccount.hasSufficientBalance(amount)) {
             SimpleLogger.error(UserTransactionUseCase.class, 
@@ -138,4 +510,27 @@ public class UserTransactionUseCase {
             throw new AuthorizationException("Insufficient balance");
         }
     }
+
+    private void validateAmount(BigDecimal amount, TransferParticipant sender) {
+        validatePositiveAmount(amount);
+
+        // Read without a lock; the locked row or the conditional debit has the final say.
+        if (sender.accountBalance().compareTo(amount) < 0) {
+            SimpleLogger.error(UserTransactionUseCase.class,
+                    "Insufficient balance for account: " + sender.accountId() +
+                    ", amount: " + amount +
+                    ", balance: " + sender.accountBalance());
+            throw new AuthorizationException("Insufficient balance");
+        }
+    }
+
+    private void validatePositiveAmount(BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            SimpleLogger.error(UserTransactionUseCase.class, "Invalid amount: " + amount);
+            throw new AuthorizationException("Amount must be greater than zero");
+        }
+    }
+
+    private record Participants(TransferParticipant sender, TransferParticipant receiver) {
+    }
 }
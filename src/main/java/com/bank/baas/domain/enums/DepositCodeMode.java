@@ -0,0 +1,6 @@
+package com.bank.baas.domain.enums;
+
+public enum DepositCodeMode {
+    STORED,
+    SIGNED
+}
@@ -0,0 +1,10 @@
+package com.bank.baas.domain.enums;
+
+public enum TransferConcurrencyMode {
+    OPTIMISTIC,
+    PESSIMISTIC,
+    ATOMIC,
+    IN_MEMORY,
+    DOUBLE_ENTRY,
+    GROUP_COMMIT
+}
@@ -3,9 +3,21 @@ package com.bank.baas.domain.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.UUID;
 
 public class Account {
+    /**
+     * Order in which account rows are locked. It compares ids as unsigned bytes, the same way
+     * the database orders the id column, so Java-side and ORDER BY id locking agree.
+     */
+    public static final Comparator<UUID> LOCK_ORDER = (left, right) -> {
+        int mostSignificant = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return mostSignificant != 0
+                ? mostSignificant
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
     private UUID id;
 
     private String number;
@@ -18,6 +30,8 @@ public class Account {
 
     private User user;
 
+    private Long version;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -44,6 +58,21 @@ public class Account {
         this.createdAt = LocalDateTime.now();
     }
 
+    /**
+     * Rebuilds an account from stored state as is; unlike the other constructors nothing is defaulted.
+     */
+    public Account(UUID id, String number, String agency, BigDecimal balance, String password, Long version,
+                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.number = number;
+        this.agency = agency;
+        this.balance = balance;
+        this.password = password;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public String getNumber() {
         return number;
     }
@@ -76,6 +105,10 @@ public class Account {
         return user;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
@@ -84,6 +117,10 @@ public class Account {
         this.updatedAt = updatedAt;
     }
 
+    public void changePassword(String password) {
+        this.password = password;
+    }
+
     public void decreaseBalance(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("O valor deve ser maior que zero");
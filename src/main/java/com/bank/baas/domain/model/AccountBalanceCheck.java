@@ -0,0 +1,18 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Balance recorded on an account next to the balance its successful transactions add up to.
+ */
+public record AccountBalanceCheck(
+        UUID accountId,
+        BigDecimal recordedBalance,
+        BigDecimal expectedBalance
+) {
+
+    public boolean matches() {
+        return recordedBalance.compareTo(expectedBalance) == 0;
+    }
+}
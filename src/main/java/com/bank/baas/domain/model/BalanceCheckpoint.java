@@ -0,0 +1,20 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The balance of an account at the end of {@code date}, that is, at midnight of the following day.
+ */
+public record BalanceCheckpoint(
+        UUID accountId,
+        LocalDate date,
+        BigDecimal closingBalance
+) {
+
+    public LocalDateTime closedAt() {
+        return date.plusDays(1).atStartOfDay();
+    }
+}
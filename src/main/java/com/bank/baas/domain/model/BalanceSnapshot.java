@@ -0,0 +1,16 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The balance of an account including every ledger entry up to and including {@code lastEntryId}.
+ */
+public record BalanceSnapshot(
+        UUID accountId,
+        BigDecimal balance,
+        long lastEntryId,
+        LocalDateTime createdAt
+) {
+}
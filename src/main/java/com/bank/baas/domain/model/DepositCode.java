@@ -14,18 +14,41 @@ public class DepositCode {
     private LocalDateTime createdAt;
     private LocalDateTime usedAt;
     private User usedBy;
+    private LocalDateTime expiresAt;
 
     public DepositCode() {
     }
 
     public DepositCode(String code, BigDecimal amount, User generator) {
+        this(code, amount, generator, null);
+    }
+
+    public DepositCode(String code, BigDecimal amount, User generator, LocalDateTime expiresAt) {
         this.id = UUID.randomUUID();
         this.code = code;
         this.amount = amount;
         this.generator = generator;
         this.used = false;
         this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Restores a stored code together with its redemption state.
+     */
+    public DepositCode(UUID id, String code, BigDecimal amount, User generator, boolean used, LocalDateTime createdAt,
+                       LocalDateTime usedAt, User usedBy, LocalDateTime expiresAt) {
+        this.id = id;
+        this.code = code;
+        this.amount = amount;
+        this.generator = generator;
+        this.used = used;
+        this.createdAt = createdAt;
+        this.usedAt = usedAt;
+        this.usedBy = usedBy;
+        this.expiresAt = expiresAt;
     }
+
     public UUID getId() {
         return id;
     }
@@ -65,10 +88,27 @@ public class DepositCode {
     }
 
 
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+
+    /**
+     * Codes created before expiry existed have no expiresAt and never expire.
+     */
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+
     public void markAsUsed(User user) {
         if (this.used) {
             throw new IllegalStateException("Deposit code already used");
         }
+
+        if (isExpired(LocalDateTime.now())) {
+            throw new IllegalStateException("Deposit code expired");
+        }
         
         if (user.getId().equals(this.generator.getId())) {
             throw new IllegalStateException("Cannot use own deposit code");
@@ -0,0 +1,26 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An immutable posting against one account: negative amounts are debits, positive amounts are credits. Every
+ * transfer posts one of each, so the entries of a transaction always sum to zero.
+ */
+public record LedgerEntry(
+        Long id,
+        UUID accountId,
+        UUID transactionId,
+        BigDecimal amount,
+        LocalDateTime createdAt
+) {
+
+    public static LedgerEntry debit(UUID accountId, UUID transactionId, BigDecimal amount, LocalDateTime createdAt) {
+        return new LedgerEntry(null, accountId, transactionId, amount.negate(), createdAt);
+    }
+
+    public static LedgerEntry credit(UUID accountId, UUID transactionId, BigDecimal amount, LocalDateTime createdAt) {
+        return new LedgerEntry(null, accountId, transactionId, amount, createdAt);
+    }
+}
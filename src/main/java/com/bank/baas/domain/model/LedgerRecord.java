@@ -0,0 +1,27 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A transfer accepted by the in-memory ledger engine. The sequence is assigned by the journal and orders
+ * both replay and projection; the transaction id is assigned before journaling and becomes the projected row's id.
+ */
+public record LedgerRecord(
+        long sequence,
+        UUID transactionId,
+        UUID senderUserId,
+        UUID senderAccountId,
+        UUID receiverUserId,
+        UUID receiverAccountId,
+        BigDecimal amount,
+        String idempotencyKey,
+        LocalDateTime createdAt
+) {
+
+    public LedgerRecord withSequence(long sequence) {
+        return new LedgerRecord(sequence, transactionId, senderUserId, senderAccountId, receiverUserId, receiverAccountId,
+                amount, idempotencyKey, createdAt);
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReconciliationFinding(
+        UUID runId,
+        UUID accountId,
+        BigDecimal recordedBalance,
+        BigDecimal expectedBalance,
+        LocalDateTime detectedAt
+) {
+
+    public BigDecimal difference() {
+        return recordedBalance.subtract(expectedBalance);
+    }
+}
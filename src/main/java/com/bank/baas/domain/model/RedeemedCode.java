@@ -0,0 +1,15 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RedeemedCode(
+        UUID nonce,
+        UUID generatorId,
+        UUID redeemedBy,
+        BigDecimal amount,
+        LocalDateTime redeemedAt,
+        LocalDateTime expiresAt
+) {
+}
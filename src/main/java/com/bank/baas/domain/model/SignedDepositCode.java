@@ -0,0 +1,21 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The claims carried by a signed deposit code. Nothing is stored when such a code is generated; the nonce tells
+ * codes with the same generator, amount and expiry apart and is the key that marks the code as redeemed.
+ */
+public record SignedDepositCode(
+        UUID nonce,
+        UUID generatorId,
+        BigDecimal amount,
+        LocalDateTime expiresAt
+) {
+
+    public boolean isExpired(LocalDateTime now) {
+        return !now.isBefore(expiresAt);
+    }
+}
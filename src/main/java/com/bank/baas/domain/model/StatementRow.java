@@ -0,0 +1,22 @@
+package com.bank.baas.domain.model;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat, read-only view of a transaction for statement exports, without the sender and receiver object graphs.
+ */
+public record StatementRow(
+        UUID id,
+        LocalDateTime createdAt,
+        UUID senderId,
+        String senderEmail,
+        UUID receiverId,
+        String receiverEmail,
+        BigDecimal amount,
+        TransactionStatus status
+) {
+}
@@ -18,6 +18,10 @@ public class Transaction {
 
     private BigDecimal amount;
 
+    private String idempotencyKey;
+
+    private Long ledgerSequence;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -73,6 +77,22 @@ public class Transaction {
         this.amount = amount;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getLedgerSequence() {
+        return ledgerSequence;
+    }
+
+    public void setLedgerSequence(Long ledgerSequence) {
+        this.ledgerSequence = ledgerSequence;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
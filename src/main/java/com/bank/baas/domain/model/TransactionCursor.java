@@ -0,0 +1,40 @@
+package com.bank.baas.domain.model;
+
+import com.bank.baas.domain.exception.AuthorizationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a transaction history ordered by {@code (createdAt, id)}: the next page starts right after it. Clients
+ * only see the opaque {@link #encode() encoded} form.
+ */
+public record TransactionCursor(
+        LocalDateTime createdAt,
+        UUID id
+) {
+
+    public static TransactionCursor after(TransactionHistoryEntry entry) {
+        return new TransactionCursor(entry.createdAt(), entry.transactionId());
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new TransactionCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new AuthorizationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
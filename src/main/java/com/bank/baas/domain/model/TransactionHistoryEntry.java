@@ -0,0 +1,21 @@
+package com.bank.baas.domain.model;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A transaction seen from one participant: {@code amount} is negative when the participant paid and positive when
+ * they received.
+ */
+public record TransactionHistoryEntry(
+        UUID transactionId,
+        LocalDateTime createdAt,
+        UUID counterpartyId,
+        String counterpartyEmail,
+        BigDecimal amount,
+        TransactionStatus status
+) {
+}
@@ -0,0 +1,12 @@
+package com.bank.baas.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of a transaction history, newest first. {@code nextCursor} is null on the last page.
+ */
+public record TransactionPage(
+        List<TransactionHistoryEntry> items,
+        TransactionCursor nextCursor
+) {
+}
@@ -0,0 +1,40 @@
+package com.bank.baas.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The slice of a user and their account that a transfer needs, resolved without loading the full user graph.
+ */
+public record TransferParticipant(
+        UUID userId,
+        String email,
+        String cpf,
+        UUID accountId,
+        String accountPassword,
+        BigDecimal accountBalance
+) {
+
+    public boolean hasAccount() {
+        return accountId != null;
+    }
+
+    public boolean isPasswordCorrect(String password) {
+        return accountPassword != null && accountPassword.equals(password);
+    }
+
+    public User toUser() {
+        return new User(userId, email, cpf);
+    }
+
+    @Override
+    public String toString() {
+        return "TransferParticipant{" +
+                "userId=" + userId +
+                ", email='" + email + '\'' +
+                ", accountId=" + accountId +
+                ", accountPassword='[PROTECTED]'" +
+                ", accountBalance=" + accountBalance +
+                '}';
+    }
+}
@@ -34,6 +34,13 @@ public class User {
         this.roles = new HashSet<>();
     }
 
+    public User(UUID id, String email, String cpf) {
+        this.id = id;
+        this.email = email;
+        this.cpf = cpf;
+        this.roles = new HashSet<>();
+    }
+
     public User(String email, String cpf, String password) {
         this.id = UUID.randomUUID();
         this.email = email;
@@ -44,6 +51,17 @@ public class User {
         this.roles.add("ROLE_USER");
     }
 
+    public User(UUID id, String email, String cpf, String password, Set<String> roles,
+                LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.email = email;
+        this.cpf = cpf;
+        this.password = password;
+        this.roles = roles;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -3,17 +3,27 @@ package com.bank.baas.domain.repository;
 
 import com.bank.baas.domain.model.Account;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AccountRepository {
     Account save(Account account);
     Optional<Account> findById(UUID id);
+    Optional<Account> findByIdForUpdate(UUID id);
     Optional<Account> findByNumber(String number);
     Optional<Account> findByUserId(UUID userId);
     List<Account> findByAgency(String agency);
     List<Account> findAll();
+    List<Account> findAllAfter(UUID afterId, int limit);
     boolean existsByNumber(String number);
+    boolean debitIfSufficientBalance(UUID accountId, BigDecimal amount);
+    boolean credit(UUID accountId, BigDecimal amount);
+    Map<UUID, BigDecimal> lockBalances(Collection<UUID> accountIds);
+    void applyBalanceDeltas(Map<UUID, BigDecimal> deltas);
+    boolean resizeBalanceSlots(UUID accountId, int slots);
 }
 
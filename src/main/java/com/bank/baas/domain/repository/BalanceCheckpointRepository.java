@@ -0,0 +1,16 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.BalanceCheckpoint;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface BalanceCheckpointRepository {
+    void saveAll(List<BalanceCheckpoint> checkpoints);
+    Optional<BalanceCheckpoint> findLatestOnOrBefore(UUID accountId, LocalDate date);
+    Set<UUID> findAccountIdsWithCheckpoint(LocalDate date, Collection<UUID> accountIds);
+}
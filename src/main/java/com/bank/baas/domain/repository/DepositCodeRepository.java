@@ -3,12 +3,25 @@ package com.bank.baas.domain.repository;
 import com.bank.baas.domain.model.DepositCode;
 import com.bank.baas.domain.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface DepositCodeRepository {
     DepositCode save(DepositCode depositCode);
+
+    /**
+     * Inserts a new code with a single INSERT, without checking first whether the code is taken; the unique
+     * constraint on the code rejects duplicates with a DataIntegrityViolationException.
+     */
+    DepositCode insert(DepositCode depositCode);
+
+    /**
+     * Inserts new codes in one transaction using JDBC batches. A duplicate code rolls back the whole call with a
+     * DataIntegrityViolationException.
+     */
+    void insertAll(List<DepositCode> depositCodes);
     Optional<DepositCode> findById(UUID id);
     Optional<DepositCode> findByCode(String code);
     List<DepositCode> findByGenerator(User generator);
@@ -16,4 +29,20 @@ public interface DepositCodeRepository {
     List<DepositCode> findByGeneratorAndUsedTrue(User generator);
     List<DepositCode> findByUsedBy(User user);
     boolean existsByCode(String code);
+
+    /**
+     * Marks the code as used by {@code redeemer} only if it is still unused and not expired at {@code usedAt}.
+     * Returns false when someone else claimed it first or it expired.
+     */
+    boolean claim(String code, User redeemer, LocalDateTime usedAt);
+
+    /**
+     * Deletes at most {@code limit} unused codes that expired before {@code before}. Returns how many were deleted.
+     */
+    int deleteExpiredUnused(LocalDateTime before, int limit);
+
+    /**
+     * Deletes at most {@code limit} codes redeemed before {@code before}. Returns how many were deleted.
+     */
+    int deleteUsedBefore(LocalDateTime before, int limit);
 }
\ No newline at end of file
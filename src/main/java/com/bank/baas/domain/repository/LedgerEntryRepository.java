@@ -0,0 +1,20 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.BalanceSnapshot;
+import com.bank.baas.domain.model.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LedgerEntryRepository {
+    void appendAll(List<LedgerEntry> entries);
+    BigDecimal sumAfter(UUID accountId, long afterEntryId);
+    BigDecimal sumBetween(UUID accountId, long afterEntryId, long upToEntryId);
+    long findMaxEntryIdCreatedBefore(LocalDateTime createdBefore);
+    List<UUID> findAccountsWithEntriesSinceSnapshot(long upToEntryId, long minEntries);
+    Optional<BalanceSnapshot> findLatestSnapshot(UUID accountId);
+    void saveSnapshot(BalanceSnapshot snapshot);
+}
@@ -0,0 +1,22 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.LedgerRecord;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface LedgerJournal {
+
+    /**
+     * Opens the journal for appending and returns the records already stored after {@code afterSequence}.
+     * New records are numbered after both the stored records and {@code afterSequence}.
+     */
+    List<LedgerRecord> open(long afterSequence);
+
+    /**
+     * Appends the record and completes once it is durable, with the sequence it was stored under.
+     */
+    CompletableFuture<LedgerRecord> append(LedgerRecord record);
+
+    void close();
+}
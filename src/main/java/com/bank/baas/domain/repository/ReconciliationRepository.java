@@ -0,0 +1,19 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.AccountBalanceCheck;
+import com.bank.baas.domain.model.ReconciliationFinding;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface ReconciliationRepository {
+
+    /**
+     * Streams the balance check of every account with {@code fromInclusive <= id < toExclusive}, ordered by id.
+     * A null {@code toExclusive} leaves the range open at the top. Returns the number of accounts read.
+     */
+    long forEachAccountInRange(UUID fromInclusive, UUID toExclusive, Consumer<AccountBalanceCheck> consumer);
+
+    void saveFindings(List<ReconciliationFinding> findings);
+}
@@ -0,0 +1,19 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.RedeemedCode;
+
+import java.time.LocalDateTime;
+
+public interface RedeemedCodeRepository {
+
+    /**
+     * Records a signed code as redeemed with a single INSERT; the primary key on the nonce rejects a second
+     * redemption with a DataIntegrityViolationException.
+     */
+    void insert(RedeemedCode redeemedCode);
+
+    /**
+     * Deletes at most {@code limit} entries whose code expired before {@code before}. Returns how many were deleted.
+     */
+    int deleteExpiredBefore(LocalDateTime before, int limit);
+}
@@ -0,0 +1,10 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.StatementRow;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface StatementRepository {
+    long forEachRow(UUID userId, Consumer<StatementRow> consumer);
+}
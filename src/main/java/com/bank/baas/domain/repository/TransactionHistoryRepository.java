@@ -0,0 +1,17 @@
+package com.bank.baas.domain.repository;
+
+import com.bank.baas.domain.model.TransactionCursor;
+import com.bank.baas.domain.model.TransactionHistoryEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface TransactionHistoryRepository {
+    List<TransactionHistoryEntry> findPage(UUID userId, TransactionCursor after, int limit);
+    BigDecimal sumSettledAmount(UUID userId, LocalDateTime from, LocalDateTime to);
+    Map<UUID, BigDecimal> sumSettledAmountsSince(Collection<UUID> userIds, LocalDateTime from);
+}
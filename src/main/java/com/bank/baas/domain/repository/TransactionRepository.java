@@ -4,17 +4,24 @@ package com.bank.baas.domain.repository;
 import com.bank.baas.domain.enums.TransactionStatus;
 import com.bank.baas.domain.model.Transaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface TransactionRepository {
     Transaction save(Transaction transaction);
+    List<Transaction> saveAll(List<Transaction> transactions);
+    void insertAll(List<Transaction> transactions);
     Optional<Transaction> findById(UUID id);
+    Optional<Transaction> findBySenderIdAndIdempotencyKey(UUID senderId, String idempotencyKey);
     List<Transaction> findBySenderId(UUID senderId);
     List<Transaction> findByReceiverId(UUID receiverId);
     List<Transaction> findBySenderIdOrReceiverId(UUID userId, UUID sameUserId);
     List<Transaction> findByStatus(TransactionStatus status);
+    List<Transaction> findByStatusCreatedBefore(TransactionStatus status, LocalDateTime createdBefore, int limit);
+    boolean updateStatusIfPending(UUID id, TransactionStatus status);
+    long findMaxLedgerSequence();
     List<Transaction> findAll();
 }
 
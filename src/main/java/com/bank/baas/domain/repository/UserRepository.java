@@ -1,8 +1,11 @@
 package com.bank.baas.domain.repository;
 
 
+import com.bank.baas.domain.model.TransferParticipant;
 import com.bank.baas.domain.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,6 +14,8 @@ public interface UserRepository {
     Optional<User> findUserByAccount(String account);
     Optional<User> findUserByEmail(String email);
     Optional<User> findUserById(UUID id);
+    List<TransferParticipant> findTransferParticipantsByEmails(Collection<String> emails);
+    List<TransferParticipant> findTransferParticipantsByCpfs(Collection<String> cpfs);
     boolean existsByEmail(String email);
     boolean existsByCpf(String cpf);
     User save(User user);
@@ -0,0 +1,286 @@
+package com.bank.baas.infrastructure.ledger;
+
+import com.bank.baas.domain.model.LedgerRecord;
+import com.bank.baas.domain.repository.LedgerJournal;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal with one line per record, each ending with a CRC32 of its content. A single writer thread
+ * drains pending appends, writes them together and fsyncs once per group. A torn last line is dropped on open.
+ */
+@Component
+public class FileLedgerJournal implements LedgerJournal {
+
+    private static final String SEPARATOR = ";";
+    private static final int FIELDS = 10;
+    private static final int LEGACY_FIELDS = 9;
+
+    private final Path path;
+    private final int maxGroupSize;
+    private final DistributionSummary groupSizes;
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+
+    private FileChannel channel;
+    private Thread writer;
+    private long lastSequence;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    @Autowired
+    public FileLedgerJournal(
+            MeterRegistry meterRegistry,
+            @Value("${baas.ledger.journal-path:data/ledger.journal}") String path,
+            @Value("${baas.ledger.journal.max-group-size:256}") int maxGroupSize) {
+        this.path = Paths.get(path);
+        this.maxGroupSize = maxGroupSize;
+        this.groupSizes = DistributionSummary.builder("baas.ledger.journal.group.size")
+                .description("Records written per fsync")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized List<LedgerRecord> open(long afterSequence) {
+        if (running) {
+            throw new IllegalStateException("Ledger journal already open: " + path);
+        }
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            List<LedgerRecord> records = new ArrayList<>();
+            long validBytes = 0;
+            long storedSequence = 0;
+
+            if (Files.exists(path)) {
+                try (InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+                    byte[] line;
+                    while ((line = readTerminatedLine(input)) != null) {
+                        LedgerRecord record = decode(new String(line, StandardCharsets.UTF_8));
+                        if (record == null) {
+                            SimpleLogger.warn(FileLedgerJournal.class, "Ignoring corrupt ledger journal tail at byte " + validBytes);
+                            break;
+                        }
+                        validBytes += line.length + 1;
+                        storedSequence = record.sequence();
+                        if (record.sequence() > afterSequence) {
+                            records.add(record);
+                        }
+                    }
+                }
+            }
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.truncate(validBytes);
+            channel.position(validBytes);
+            lastSequence = Math.max(storedSequence, afterSequence);
+            failure = null;
+
+            running = true;
+            writer = new Thread(this::writeLoop, "ledger-journal-writer");
+            writer.start();
+
+            SimpleLogger.info(FileLedgerJournal.class,
+                    "Ledger journal opened at " + path + ", last sequence " + lastSequence + ", " + records.size() + " records to replay");
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open ledger journal " + path, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<LedgerRecord> append(LedgerRecord record) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Ledger journal is not open"));
+        }
+        if (failure != null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Ledger journal failed", failure));
+        }
+
+        PendingAppend pending = new PendingAppend(record, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.future();
+    }
+
+    @Override
+    @PreDestroy
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            SimpleLogger.error(FileLedgerJournal.class, "Error closing ledger journal: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>(maxGroupSize);
+
+        while (running || !queue.isEmpty()) {
+            PendingAppend first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            group.clear();
+            group.add(first);
+            queue.drainTo(group, maxGroupSize - 1);
+            writeGroup(group);
+        }
+    }
+
+    private void writeGroup(List<PendingAppend> group) {
+        if (failure != null) {
+            group.forEach(pending -> pending.future().completeExceptionally(
+                    new IllegalStateException("Ledger journal failed", failure)));
+            return;
+        }
+
+        List<LedgerRecord> stored = new ArrayList<>(group.size());
+        StringBuilder lines = new StringBuilder();
+        long sequence = lastSequence;
+
+        for (PendingAppend pending : group) {
+            LedgerRecord record = pending.record().withSequence(++sequence);
+            stored.add(record);
+            lines.append(encode(record)).append('\n');
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // Whatever reached the file is now uncertain, so the journal stops accepting records.
+            failure = e;
+            SimpleLogger.error(FileLedgerJournal.class, "Ledger journal write failed: " + e.getMessage(), e);
+            group.forEach(pending -> pending.future().completeExceptionally(e));
+            return;
+        }
+
+        lastSequence = sequence;
+        groupSizes.record(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).future().complete(stored.get(i));
+        }
+    }
+
+    static String encode(LedgerRecord record) {
+        String content = String.join(SEPARATOR,
+                Long.toString(record.sequence()),
+                record.createdAt().toString(),
+                record.senderUserId().toString(),
+                record.senderAccountId().toString(),
+                record.receiverUserId().toString(),
+                record.receiverAccountId().toString(),
+                record.amount().toPlainString(),
+                record.idempotencyKey() == null ? "" : Base64.getUrlEncoder().encodeToString(
+                        record.idempotencyKey().getBytes(StandardCharsets.UTF_8)),
+                record.transactionId().toString());
+        return content + SEPARATOR + Long.toHexString(checksum(content));
+    }
+
+    static LedgerRecord decode(String line) {
+        int checksumStart = line.lastIndexOf(SEPARATOR);
+        if (checksumStart < 0) {
+            return null;
+        }
+
+        String content = line.substring(0, checksumStart);
+        String[] fields = line.split(SEPARATOR, -1);
+        try {
+            if ((fields.length != FIELDS && fields.length != LEGACY_FIELDS)
+                    || Long.parseLong(fields[fields.length - 1], 16) != checksum(content)) {
+                return null;
+            }
+
+            long sequence = Long.parseLong(fields[0]);
+            // Lines written before transaction ids were journaled get one derived from their sequence, so every
+            // replay of them projects the same id.
+            UUID transactionId = fields.length == FIELDS
+                    ? UUID.fromString(fields[8])
+                    : UUID.nameUUIDFromBytes(("ledger-sequence:" + sequence).getBytes(StandardCharsets.UTF_8));
+
+            return new LedgerRecord(
+                    sequence,
+                    transactionId,
+                    UUID.fromString(fields[2]),
+                    UUID.fromString(fields[3]),
+                    UUID.fromString(fields[4]),
+                    UUID.fromString(fields[5]),
+                    new BigDecimal(fields[6]),
+                    fields[7].isEmpty() ? null : new String(Base64.getUrlDecoder().decode(fields[7]), StandardCharsets.UTF_8),
+                    LocalDateTime.parse(fields[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(String content) {
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static byte[] readTerminatedLine(InputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int next;
+        while ((next = input.read()) != -1) {
+            if (next == '\n') {
+                return line.toByteArray();
+            }
+            line.write(next);
+        }
+        // A line without its newline was cut off mid-write and is not part of the journal.
+        return null;
+    }
+
+    private record PendingAppend(LedgerRecord record, CompletableFuture<LedgerRecord> future) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.bank.baas.infrastructure.persistence.balance;
+
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountBalanceSlotRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Folds balance slots back into the account row, creates the slots of newly flagged accounts and changes how many
+ * slots an account has. Slots left with money after their flag was removed outside {@link #resize} are drained too.
+ */
+@Component
+public class AccountBalanceSlotConsolidator {
+
+    private final SpringDataAccountRepository accountRepository;
+    private final SpringDataAccountBalanceSlotRepository slotRepository;
+    private final AccountBalanceSlots balanceSlots;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public AccountBalanceSlotConsolidator(
+            SpringDataAccountRepository accountRepository,
+            SpringDataAccountBalanceSlotRepository slotRepository,
+            AccountBalanceSlots balanceSlots,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate) {
+        this.accountRepository = accountRepository;
+        this.slotRepository = slotRepository;
+        this.balanceSlots = balanceSlots;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${baas.account.balance-slots.consolidate-interval-ms:5000}")
+    public void consolidate() {
+        List<UUID> slotted = accountRepository.findIdsWithBalanceSlots();
+        balanceSlots.trackSlotted(slotted);
+
+        Set<UUID> accountIds = new LinkedHashSet<>(slotted);
+        accountIds.addAll(slotRepository.findAccountIdsWithSlotBalance());
+
+        for (UUID accountId : accountIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> consolidate(accountId));
+            } catch (RuntimeException e) {
+                SimpleLogger.error(AccountBalanceSlotConsolidator.class,
+                        "Failed to consolidate balance slots of account " + accountId + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Sets the number of slots of the account, 0 to remove the flag. The row and then the slots are locked and the
+     * slots are drained into the row before the flag changes, and slots past the new count are deleted, so an account
+     * never holds money in slots it is not flagged for; a credit racing with this finds its slot gone and lands on
+     * the row. Returns false when the account does not exist.
+     */
+    public boolean resize(UUID accountId, int slots) {
+        if (slots < 0) {
+            throw new IllegalArgumentException("Balance slots must not be negative: " + slots);
+        }
+
+        Boolean resized = transactionTemplate.execute(status -> {
+            AccountEntity account = entityManager.find(AccountEntity.class, accountId, LockModeType.PESSIMISTIC_WRITE);
+            if (account == null) {
+                return false;
+            }
+
+            BigDecimal swept = balanceSlots.sweep(accountId);
+            slotRepository.deleteSlotsFrom(accountId, slots);
+            balanceSlots.provision(accountId, slots);
+
+            account.setBalance(account.getBalance().add(swept));
+            account.setBalanceSlots(slots);
+            account.setUpdatedAt(LocalDateTime.now());
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(resized)) {
+            balanceSlots.trackSlotted(accountRepository.findIdsWithBalanceSlots());
+            SimpleLogger.info(AccountBalanceSlotConsolidator.class,
+                    "Account " + accountId + " now has " + slots + " balance slots");
+        }
+        return Boolean.TRUE.equals(resized);
+    }
+
+    private void consolidate(UUID accountId) {
+        AccountEntity account = entityManager.find(AccountEntity.class, accountId);
+        if (account == null) {
+            return;
+        }
+
+        // Row first, then the slots, like every debit that sweeps them.
+        entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE);
+        balanceSlots.provision(accountId, account.getBalanceSlots());
+
+        BigDecimal swept = balanceSlots.sweep(accountId);
+        if (swept.signum() == 0) {
+            return;
+        }
+
+        account.setBalance(account.getBalance().add(swept));
+        account.setUpdatedAt(LocalDateTime.now());
+
+        SimpleLogger.debug(AccountBalanceSlotConsolidator.class,
+                "Consolidated " + swept + " from balance slots into account " + accountId);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.baas.infrastructure.persistence.balance;
+
+import com.bank.baas.infrastructure.persistence.entity.AccountBalanceSlotEntity;
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountBalanceSlotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Splits the incoming side of a hot account across several rows. Credits land on a random slot, so concurrent
+ * credits only contend when they pick the same one; debits and the consolidator sweep every slot. A sweep always
+ * locks the account row first and then the slots in slot order, so two sweeps of one account never deadlock.
+ * <p>
+ * Only accounts flagged with slots can hold money in them: removing the flag goes through
+ * {@link AccountBalanceSlotConsolidator#resize}, which drains the slots in the same transaction. So the slot sum is
+ * read only for flagged accounts and every other load costs nothing extra.
+ */
+@Component
+public class AccountBalanceSlots {
+
+    /**
+     * JPQL for the slot balance of the account aliased {@code a}; the subquery only runs for flagged accounts.
+     */
+    public static final String SLOT_BALANCE_OF_A = "case when a.balanceSlots > 0 then " +
+            "coalesce((select sum(s.balance) from AccountBalanceSlotEntity s where s.accountId = a.id), 0) else 0 end";
+
+    private final SpringDataAccountBalanceSlotRepository slotRepository;
+    private volatile Set<UUID> slottedAccounts = Set.of();
+
+    @Autowired
+    public AccountBalanceSlots(SpringDataAccountBalanceSlotRepository slotRepository) {
+        this.slotRepository = slotRepository;
+    }
+
+    /**
+     * Returns false when the chosen slot does not exist yet, in which case the caller credits the account row.
+     */
+    public boolean credit(UUID accountId, int slots, BigDecimal amount) {
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        return slotRepository.credit(accountId, slot, amount) > 0;
+    }
+
+    /**
+     * Empties every slot of the account and returns what they held. Must run inside the caller's transaction, after
+     * the account row has been locked.
+     */
+    public BigDecimal sweep(UUID accountId) {
+        BigDecimal swept = BigDecimal.ZERO;
+
+        for (AccountBalanceSlotEntity slot : slotRepository.findAllByAccountIdForUpdate(accountId)) {
+            if (slot.getBalance().signum() != 0) {
+                swept = swept.add(slot.getBalance());
+                slot.setBalance(BigDecimal.ZERO);
+            }
+        }
+
+        return swept;
+    }
+
+    public void loadSlotBalance(AccountEntity account) {
+        account.setSlotBalance(account.getBalanceSlots() > 0
+                ? slotRepository.sumBalanceByAccountId(account.getId())
+                : BigDecimal.ZERO);
+    }
+
+    /**
+     * Like {@link #loadSlotBalance}, with one query for all the flagged accounts.
+     */
+    public void loadSlotBalances(Collection<AccountEntity> accounts) {
+        List<UUID> slotted = accounts.stream()
+                .filter(account -> account.getBalanceSlots() > 0)
+                .map(AccountEntity::getId)
+                .toList();
+
+        Map<UUID, BigDecimal> sums = new HashMap<>();
+        if (!slotted.isEmpty()) {
+            for (Object[] row : slotRepository.sumBalanceByAccountIdIn(slotted)) {
+                sums.put((UUID) row[0], (BigDecimal) row[1]);
+            }
+        }
+
+        for (AccountEntity account : accounts) {
+            account.setSlotBalance(sums.getOrDefault(account.getId(), BigDecimal.ZERO));
+        }
+    }
+
+    /**
+     * Whether the account had slots at the consolidator's last run. Only a hint for how to read the row: an account
+     * flagged since then is briefly read with a row lock, which is slower but still correct.
+     */
+    public boolean isSlotted(UUID accountId) {
+        return slottedAccounts.contains(accountId);
+    }
+
+    public void trackSlotted(Collection<UUID> accountIds) {
+        slottedAccounts = Set.copyOf(accountIds);
+    }
+
+    public void provision(UUID accountId, int slots) {
+        Set<Integer> existing = new HashSet<>(slotRepository.findSlotsByAccountId(accountId));
+
+        for (int slot = 0; slot < slots; slot++) {
+            if (!existing.contains(slot)) {
+                slotRepository.save(new AccountBalanceSlotEntity(accountId, slot));
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "account_balance_slots",
+        indexes = {
+                @Index(name = "idx_account_balance_slots_account_id_slot", columnList = "account_id, slot", unique = true)
+        }
+)
+public class AccountBalanceSlotEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(nullable = false, updatable = false)
+    private int slot;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    public AccountBalanceSlotEntity() {
+    }
+
+    public AccountBalanceSlotEntity(UUID accountId, int slot) {
+        this.accountId = accountId;
+        this.slot = slot;
+        this.balance = BigDecimal.ZERO;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+}
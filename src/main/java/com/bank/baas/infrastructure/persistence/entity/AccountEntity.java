@@ -2,6 +2,7 @@ package com.bank.baas.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(
         name = "account",
         indexes = {
@@ -33,6 +35,19 @@ public class AccountEntity {
     @Column(nullable = false)
     private String password;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Accounts with slots take credits into account_balance_slots rows instead of this one; balance here
+    // only holds what the consolidator has folded back.
+    @Column(name = "balance_slots", nullable = false, columnDefinition = "integer default 0")
+    private int balanceSlots;
+
+    // Read on demand by AccountBalanceSlots, and only for accounts with slots; null until then.
+    @Transient
+    private BigDecimal slotBalance;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(
             name = "user_id",
@@ -80,6 +95,22 @@ public class AccountEntity {
         return balance;
     }
 
+    public int getBalanceSlots() {
+        return balanceSlots;
+    }
+
+    public BigDecimal getSlotBalance() {
+        return slotBalance == null ? BigDecimal.ZERO : slotBalance;
+    }
+
+    public boolean isSlotBalanceLoaded() {
+        return slotBalance != null;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return balance.add(getSlotBalance());
+    }
+
     public UUID getId() {
         return id;
     }
@@ -92,6 +123,10 @@ public class AccountEntity {
         return password;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -132,10 +167,22 @@ public class AccountEntity {
         this.password = password;
     }
 
+    public void setBalanceSlots(int balanceSlots) {
+        this.balanceSlots = balanceSlots;
+    }
+
+    public void setSlotBalance(BigDecimal slotBalance) {
+        this.slotBalance = slotBalance;
+    }
+
     public void setUserEntity(UserEntity userEntity) {
         this.userEntity = userEntity;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
@@ -0,0 +1,65 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "balance_checkpoints",
+        indexes = {
+                @Index(name = "idx_balance_checkpoints_account_id_date", columnList = "account_id, checkpoint_date", unique = true),
+                @Index(name = "idx_balance_checkpoints_date", columnList = "checkpoint_date")
+        }
+)
+public class BalanceCheckpointEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "checkpoint_date", nullable = false, updatable = false)
+    private LocalDate checkpointDate;
+
+    @Column(name = "closing_balance", nullable = false, updatable = false)
+    private BigDecimal closingBalance;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public BalanceCheckpointEntity() {
+    }
+
+    public BalanceCheckpointEntity(UUID accountId, LocalDate checkpointDate, BigDecimal closingBalance,
+                                   LocalDateTime createdAt) {
+        this.accountId = accountId;
+        this.checkpointDate = checkpointDate;
+        this.closingBalance = closingBalance;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getCheckpointDate() {
+        return checkpointDate;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
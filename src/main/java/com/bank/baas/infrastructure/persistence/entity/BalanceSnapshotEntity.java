@@ -0,0 +1,62 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "balance_snapshots",
+        indexes = {
+                @Index(name = "idx_balance_snapshots_account_id_last_entry_id", columnList = "account_id, last_entry_id")
+        }
+)
+public class BalanceSnapshotEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal balance;
+
+    @Column(name = "last_entry_id", nullable = false, updatable = false)
+    private Long lastEntryId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public BalanceSnapshotEntity() {
+    }
+
+    public BalanceSnapshotEntity(UUID accountId, BigDecimal balance, Long lastEntryId, LocalDateTime createdAt) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.lastEntryId = lastEntryId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public Long getLastEntryId() {
+        return lastEntryId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
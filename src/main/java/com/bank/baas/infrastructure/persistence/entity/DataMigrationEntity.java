@@ -0,0 +1,32 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "data_migrations")
+public class DataMigrationEntity {
+    @Id
+    @Column(name = "name", nullable = false, updatable = false, length = 128)
+    private String name;
+
+    @Column(name = "completed_at", nullable = false, updatable = false)
+    private LocalDateTime completedAt;
+
+    public DataMigrationEntity() {
+    }
+
+    public DataMigrationEntity(String name, LocalDateTime completedAt) {
+        this.name = name;
+        this.completedAt = completedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
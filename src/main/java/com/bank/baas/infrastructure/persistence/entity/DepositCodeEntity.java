@@ -7,7 +7,14 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "deposit_codes")
+@Table(
+        name = "deposit_codes",
+        indexes = {
+                @Index(name = "idx_deposit_codes_generator_used", columnList = "generator_id, used"),
+                @Index(name = "idx_deposit_codes_used_expires_at", columnList = "used, expires_at"),
+                @Index(name = "idx_deposit_codes_used_used_at", columnList = "used, used_at")
+        }
+)
 public class DepositCodeEntity {
 
     @Id
@@ -36,6 +43,9 @@ public class DepositCodeEntity {
     @JoinColumn(name = "used_by_id")
     private UserEntity usedBy;
 
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
     public DepositCodeEntity() {
     }
 
@@ -106,4 +116,14 @@ public class DepositCodeEntity {
     public void setUsedBy(UserEntity usedBy) {
         this.usedBy = usedBy;
     }
+
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "ledger_entries",
+        indexes = {
+                @Index(name = "idx_ledger_entries_account_id_id", columnList = "account_id, id"),
+                @Index(name = "idx_ledger_entries_transaction_id", columnList = "transaction_id"),
+                @Index(name = "idx_ledger_entries_created_at", columnList = "created_at")
+        }
+)
+public class LedgerEntryEntity {
+    // Auto-increment ids follow insertion order, which is what balance snapshots are cut on.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "transaction_id", nullable = false, updatable = false)
+    private UUID transactionId;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public LedgerEntryEntity() {
+    }
+
+    public LedgerEntryEntity(UUID accountId, UUID transactionId, BigDecimal amount, LocalDateTime createdAt) {
+        this.accountId = accountId;
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
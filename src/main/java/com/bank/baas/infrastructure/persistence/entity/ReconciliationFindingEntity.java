@@ -0,0 +1,80 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "reconciliation_findings",
+        indexes = {
+                @Index(name = "idx_reconciliation_findings_run_id", columnList = "run_id"),
+                @Index(name = "idx_reconciliation_findings_account_detected_at", columnList = "account_id, detected_at")
+        }
+)
+public class ReconciliationFindingEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "run_id", nullable = false, updatable = false)
+    private UUID runId;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "recorded_balance", nullable = false, updatable = false)
+    private BigDecimal recordedBalance;
+
+    @Column(name = "expected_balance", nullable = false, updatable = false)
+    private BigDecimal expectedBalance;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal difference;
+
+    @Column(name = "detected_at", nullable = false, updatable = false)
+    private LocalDateTime detectedAt;
+
+    public ReconciliationFindingEntity() {
+    }
+
+    public ReconciliationFindingEntity(UUID runId, UUID accountId, BigDecimal recordedBalance,
+                                       BigDecimal expectedBalance, BigDecimal difference, LocalDateTime detectedAt) {
+        this.runId = runId;
+        this.accountId = accountId;
+        this.recordedBalance = recordedBalance;
+        this.expectedBalance = expectedBalance;
+        this.difference = difference;
+        this.detectedAt = detectedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getRunId() {
+        return runId;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getRecordedBalance() {
+        return recordedBalance;
+    }
+
+    public BigDecimal getExpectedBalance() {
+        return expectedBalance;
+    }
+
+    public BigDecimal getDifference() {
+        return difference;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "redeemed_codes",
+        indexes = {
+                @Index(name = "idx_redeemed_codes_expires_at", columnList = "expires_at")
+        }
+)
+public class RedeemedCodeEntity {
+    @Id
+    @Column(name = "nonce", nullable = false, updatable = false)
+    private UUID nonce;
+
+    @Column(name = "generator_id", nullable = false, updatable = false)
+    private UUID generatorId;
+
+    @Column(name = "redeemed_by", nullable = false, updatable = false)
+    private UUID redeemedBy;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "redeemed_at", nullable = false, updatable = false)
+    private LocalDateTime redeemedAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    public RedeemedCodeEntity() {
+    }
+
+    public RedeemedCodeEntity(UUID nonce, UUID generatorId, UUID redeemedBy, BigDecimal amount,
+                              LocalDateTime redeemedAt, LocalDateTime expiresAt) {
+        this.nonce = nonce;
+        this.generatorId = generatorId;
+        this.redeemedBy = redeemedBy;
+        this.amount = amount;
+        this.redeemedAt = redeemedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getNonce() {
+        return nonce;
+    }
+
+    public UUID getGeneratorId() {
+        return generatorId;
+    }
+
+    public UUID getRedeemedBy() {
+        return redeemedBy;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getRedeemedAt() {
+        return redeemedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
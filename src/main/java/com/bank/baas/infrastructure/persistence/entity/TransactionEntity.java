@@ -13,8 +13,11 @@ import java.util.UUID;
 @Table(
         name = "transactions",
         indexes = {
-                @Index(name = "idx_transactions_sender_id", columnList = "sender_id"),
-                @Index(name = "idx_transactions_receiver_id", columnList = "receiver_id")
+                @Index(name = "idx_transactions_sender_created_at", columnList = "sender_id, created_at, id"),
+                @Index(name = "idx_transactions_receiver_created_at", columnList = "receiver_id, created_at, id"),
+                @Index(name = "idx_transactions_sender_idempotency_key", columnList = "sender_id, idempotency_key", unique = true),
+                @Index(name = "idx_transactions_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_transactions_ledger_sequence", columnList = "ledger_sequence", unique = true)
         }
 )
 public class TransactionEntity {
@@ -49,6 +52,12 @@ public class TransactionEntity {
     @Column(nullable = false)
     private BigDecimal amount;
 
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    @Column(name = "ledger_sequence")
+    private Long ledgerSequence;
+
     @Column(nullable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -115,4 +124,20 @@ public class TransactionEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getLedgerSequence() {
+        return ledgerSequence;
+    }
+
+    public void setLedgerSequence(Long ledgerSequence) {
+        this.ledgerSequence = ledgerSequence;
+    }
 }
@@ -1,11 +1,11 @@
 package com.bank.baas.infrastructure.persistence.entity;
 
+import com.bank.baas.infrastructure.persistence.role.RoleBits;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -31,10 +31,9 @@ public class UserEntity {
     @Column(nullable = false)
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role")
-    private Set<String> roles = new HashSet<>();
+    // Bitmask over RoleBits, read with the row instead of joining a roles table on every user load.
+    @Column(name = "roles", nullable = false, columnDefinition = "integer default 0")
+    private int roles;
 
     @Column(nullable = false)
     @CreationTimestamp
@@ -48,7 +47,6 @@ public class UserEntity {
     private AccountEntity accountEntity;
 
     public UserEntity() {
-        this.roles = new HashSet<>();
     }
 
     public UserEntity(String email, String cpf) {
@@ -56,7 +54,6 @@ public class UserEntity {
         this.email = email;
         this.cpf = cpf;
         this.createdAt = LocalDateTime.now();
-        this.roles = new HashSet<>();
     }
 
     public UserEntity(String email, String cpf, String password) {
@@ -65,8 +62,7 @@ public class UserEntity {
         this.cpf = cpf;
         this.password = password;
         this.createdAt = LocalDateTime.now();
-        this.roles = new HashSet<>();
-        this.roles.add("ROLE_USER");
+        this.roles = RoleBits.bitOf("ROLE_USER");
     }
 
     public UUID getId() {
@@ -113,19 +109,20 @@ public class UserEntity {
         this.password = password;
     }
 
+    /**
+     * Decoded from the mask on each call, so changes to the returned set are not written back; use
+     * {@link #setRoles(Set)} or {@link #addRole(String)}.
+     */
     public Set<String> getRoles() {
-        return roles;
+        return RoleBits.decode(roles);
     }
 
     public void setRoles(Set<String> roles) {
-        this.roles = roles;
+        this.roles = RoleBits.encode(roles);
     }
 
     public void addRole(String role) {
-        if (this.roles == null) {
-            this.roles = new HashSet<>();
-        }
-        this.roles.add(role);
+        this.roles |= RoleBits.bitOf(role);
     }
 
     public void setCreatedAt(LocalDateTime createdAt) {
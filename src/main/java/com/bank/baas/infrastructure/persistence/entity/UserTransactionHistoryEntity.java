@@ -0,0 +1,99 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model of the transactions table: one row per participant, with the counterparty and the amount signed from
+ * the participant's point of view. Hibernate orders composite key columns by attribute name, so the attributes are
+ * named to keep the primary key, and therefore the InnoDB clustered index, as (user_id, created_at, transaction_id).
+ */
+@Entity
+@IdClass(UserTransactionHistoryKey.class)
+@Table(
+        name = "user_transaction_history",
+        indexes = {
+                @Index(name = "idx_user_transaction_history_transaction_id", columnList = "transaction_id")
+        }
+)
+public class UserTransactionHistoryEntity {
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID participantId;
+
+    @Id
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    @Id
+    @Column(name = "transaction_id", nullable = false, updatable = false)
+    private UUID transactionId;
+
+    @Column(name = "counterparty_id", nullable = false, updatable = false)
+    private UUID counterpartyId;
+
+    @Column(name = "counterparty_email", updatable = false)
+    private String counterpartyEmail;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public UserTransactionHistoryEntity() {
+    }
+
+    public UserTransactionHistoryEntity(UUID participantId, LocalDateTime postedAt, UUID transactionId,
+                                        UUID counterpartyId, String counterpartyEmail, BigDecimal amount,
+                                        TransactionStatus status, LocalDateTime updatedAt) {
+        this.participantId = participantId;
+        this.postedAt = postedAt;
+        this.transactionId = transactionId;
+        this.counterpartyId = counterpartyId;
+        this.counterpartyEmail = counterpartyEmail;
+        this.amount = amount;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getParticipantId() {
+        return participantId;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public UUID getCounterpartyId() {
+        return counterpartyId;
+    }
+
+    public String getCounterpartyEmail() {
+        return counterpartyEmail;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.baas.infrastructure.persistence.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+public class UserTransactionHistoryKey implements Serializable {
+    private UUID participantId;
+    private LocalDateTime postedAt;
+    private UUID transactionId;
+
+    public UserTransactionHistoryKey() {
+    }
+
+    public UserTransactionHistoryKey(UUID participantId, LocalDateTime postedAt, UUID transactionId) {
+        this.participantId = participantId;
+        this.postedAt = postedAt;
+        this.transactionId = transactionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserTransactionHistoryKey that)) {
+            return false;
+        }
+        return Objects.equals(participantId, that.participantId)
+                && Objects.equals(postedAt, that.postedAt)
+                && Objects.equals(transactionId, that.transactionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(participantId, postedAt, transactionId);
+    }
+}
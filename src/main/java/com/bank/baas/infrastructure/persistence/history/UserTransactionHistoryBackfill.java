@@ -0,0 +1,79 @@
+package com.bank.baas.infrastructure.persistence.history;
+
+import com.bank.baas.infrastructure.persistence.migration.DataMigrations;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserTransactionHistoryRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Copies transactions that have no user_transaction_history rows yet into the read model. It runs once every bean is
+ * created and before the web server and schedulers start, so no transfer writes history alongside it. Transactions
+ * are walked by id in chunks, one database transaction each, and only missing rows are inserted, so an interrupted
+ * run resumes on the next start. Completion is recorded in {@code data_migrations}: from then on every transfer
+ * writes its own history, and later starts skip the scan.
+ */
+@Component
+public class UserTransactionHistoryBackfill implements SmartInitializingSingleton {
+
+    static final String MIGRATION = "user_transaction_history_backfill";
+
+    private final SpringDataUserTransactionHistoryRepository historyRepository;
+    private final DataMigrations dataMigrations;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public UserTransactionHistoryBackfill(
+            SpringDataUserTransactionHistoryRepository historyRepository,
+            DataMigrations dataMigrations,
+            TransactionTemplate transactionTemplate,
+            @Value("${baas.transaction.history.backfill.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("baas.transaction.history.backfill.chunk-size must be greater than zero");
+        }
+        this.historyRepository = historyRepository;
+        this.dataMigrations = dataMigrations;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    public void backfill() {
+        if (dataMigrations.isCompleted(MIGRATION)) {
+            return;
+        }
+
+        long rows = 0;
+        List<UUID> ids = historyRepository.findTransactionIdsWithoutHistory(Limit.of(chunkSize));
+
+        while (!ids.isEmpty()) {
+            rows += copy(ids);
+            ids = historyRepository.findTransactionIdsWithoutHistoryAfter(ids.get(ids.size() - 1), Limit.of(chunkSize));
+        }
+
+        SimpleLogger.info(UserTransactionHistoryBackfill.class, "Backfilled " + rows + " transaction history rows");
+        dataMigrations.markCompleted(MIGRATION);
+    }
+
+    private int copy(List<UUID> ids) {
+        try {
+            return transactionTemplate.execute(status -> historyRepository.copyMissingTransactions(ids));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance starting at the same time copied some of these; the retry skips what it wrote.
+            return transactionTemplate.execute(status -> historyRepository.copyMissingTransactions(ids));
+        }
+    }
+}
@@ -5,14 +5,10 @@ import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
-import java.util.UUID;
-
 @Component
 public class AccountMapper {
 
     private final UserMapper userMapper;
-    private boolean isCircularMappingInProgress = false;
 
     @Autowired
     public AccountMapper(UserMapper userMapper) {
@@ -20,113 +16,65 @@ public class AccountMapper {
     }
 
     public AccountEntity toEntity(Account account) {
+        return toEntity(account, new MappingContext());
+    }
+
+    AccountEntity toEntity(Account account, MappingContext context) {
         if (account == null) {
             return null;
         }
 
-        if (isCircularMappingInProgress) {
-            AccountEntity entity = new AccountEntity();
-            entity.setId(account.getId());
-            return entity;
+        AccountEntity existing = context.get(account, AccountEntity.class);
+        if (existing != null) {
+            return existing;
         }
 
-        isCircularMappingInProgress = true;
+        AccountEntity entity = new AccountEntity();
+        // Registered before the user is mapped, so the user's way back to this account lands here.
+        context.put(account, entity);
 
-        try {
-            AccountEntity entity = new AccountEntity();
-            entity.setId(account.getId());
-            entity.setNumber(account.getNumber());
-            entity.setAgency(account.getAgency());
-            entity.setBalance(account.getBalance());
-            entity.setPassword(account.getPassword());
-            entity.setCreatedAt(account.getCreatedAt());
+        entity.setId(account.getId());
+        entity.setNumber(account.getNumber());
+        entity.setAgency(account.getAgency());
+        entity.setBalance(account.getBalance());
+        entity.setPassword(account.getPassword());
+        entity.setVersion(account.getVersion());
+        entity.setCreatedAt(account.getCreatedAt());
 
-            if (account.getUpdatedAt() != null) {
-                entity.setUpdatedAt(account.getUpdatedAt());
-            }
-
-            if (account.getUser() != null) {
-                entity.setUser(userMapper.toEntity(account.getUser()));
-            }
+        if (account.getUpdatedAt() != null) {
+            entity.setUpdatedAt(account.getUpdatedAt());
+        }
 
-            return entity;
-        } finally {
-            isCircularMappingInProgress = false;
+        if (account.getUser() != null) {
+            entity.setUser(userMapper.toEntity(account.getUser(), context));
         }
-    }
 
+        return entity;
+    }
 
     public Account toDomain(AccountEntity entity) {
+        return toDomain(entity, new MappingContext());
+    }
+
+    Account toDomain(AccountEntity entity, MappingContext context) {
         if (entity == null) {
             return null;
         }
 
-        if (isCircularMappingInProgress) {
-            Account account = new Account(entity.getNumber(), entity.getAgency(), entity.getPassword());
-            setAccountId(account, entity.getId());
-            return account;
-        }
-
-        isCircularMappingInProgress = true;
-
-        try {
-            Account account = new Account(entity.getNumber(), entity.getAgency(), entity.getPassword());
-            setAccountId(account, entity.getId());
-            setAccountBalance(account, entity.getBalance());
-            setAccountCreatedAt(account, entity.getCreatedAt());
-
-            if (entity.getUpdatedAt() != null) {
-                setAccountUpdatedAt(account, entity.getUpdatedAt());
-            }
-
-            if (entity.getUser() != null) {
-                account.setUser(userMapper.toDomain(entity.getUser()));
-            }
-
-            return account;
-        } finally {
-            isCircularMappingInProgress = false;
-        }
-    }
-
-    private void setAccountId(Account account, UUID id) {
-        try {
-            Field idField = Account.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(account, id);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir o ID da conta", e);
+        Account existing = context.get(entity, Account.class);
+        if (existing != null) {
+            return existing;
         }
-    }
 
-    private void setAccountBalance(Account account, java.math.BigDecimal balance) {
-        try {
-            Field balanceField = Account.class.getDeclaredField("balance");
-            balanceField.setAccessible(true);
-            balanceField.set(account, balance);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir o saldo da conta", e);
-        }
-    }
+        Account account = new Account(entity.getId(), entity.getNumber(), entity.getAgency(),
+                entity.getTotalBalance(), entity.getPassword(), entity.getVersion(), entity.getCreatedAt(),
+                entity.getUpdatedAt());
+        context.put(entity, account);
 
-    private void setAccountCreatedAt(Account account, java.time.LocalDateTime createdAt) {
-        try {
-            Field createdAtField = Account.class.getDeclaredField("createdAt");
-            createdAtField.setAccessible(true);
-            createdAtField.set(account, createdAt);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir a data de criação da conta", e);
+        if (entity.getUser() != null) {
+            account.setUser(userMapper.toDomain(entity.getUser(), context));
         }
-    }
 
-    private void setAccountUpdatedAt(Account account, java.time.LocalDateTime updatedAt) {
-        try {
-            Field updatedAtField = Account.class.getDeclaredField("updatedAt");
-            updatedAtField.setAccessible(true);
-            updatedAtField.set(account, updatedAt);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir a data de atualização da conta", e);
-        }
+        return account;
     }
-
 }
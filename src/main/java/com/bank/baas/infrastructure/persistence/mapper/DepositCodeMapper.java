@@ -20,20 +20,22 @@ public class DepositCodeMapper {
             return null;
         }
 
+        MappingContext context = new MappingContext();
         DepositCodeEntity entity = new DepositCodeEntity();
         entity.setId(depositCode.getId());
         entity.setCode(depositCode.getCode());
         entity.setAmount(depositCode.getAmount());
-        entity.setGenerator(userMapper.toEntity(depositCode.getGenerator()));
+        entity.setGenerator(userMapper.toEntity(depositCode.getGenerator(), context));
         entity.setUsed(depositCode.isUsed());
         entity.setCreatedAt(depositCode.getCreatedAt());
+        entity.setExpiresAt(depositCode.getExpiresAt());
         
         if (depositCode.getUsedAt() != null) {
             entity.setUsedAt(depositCode.getUsedAt());
         }
         
         if (depositCode.getUsedBy() != null) {
-            entity.setUsedBy(userMapper.toEntity(depositCode.getUsedBy()));
+            entity.setUsedBy(userMapper.toEntity(depositCode.getUsedBy(), context));
         }
 
         return entity;
@@ -44,42 +46,17 @@ public class DepositCodeMapper {
             return null;
         }
 
-        DepositCode depositCode = new DepositCode(
+        MappingContext context = new MappingContext();
+        return new DepositCode(
+                entity.getId(),
                 entity.getCode(),
                 entity.getAmount(),
-                userMapper.toDomain(entity.getGenerator())
+                userMapper.toDomain(entity.getGenerator(), context),
+                entity.isUsed(),
+                entity.getCreatedAt(),
+                entity.getUsedAt(),
+                userMapper.toDomain(entity.getUsedBy(), context),
+                entity.getExpiresAt()
         );
-        
-        try {
-            java.lang.reflect.Field idField = DepositCode.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(depositCode, entity.getId());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to set deposit code ID", e);
-        }
-        
-        if (entity.isUsed()) {
-            try {
-                java.lang.reflect.Field usedField = DepositCode.class.getDeclaredField("used");
-                usedField.setAccessible(true);
-                usedField.set(depositCode, true);
-                
-                if (entity.getUsedAt() != null) {
-                    java.lang.reflect.Field usedAtField = DepositCode.class.getDeclaredField("usedAt");
-                    usedAtField.setAccessible(true);
-                    usedAtField.set(depositCode, entity.getUsedAt());
-                }
-                
-                if (entity.getUsedBy() != null) {
-                    java.lang.reflect.Field usedByField = DepositCode.class.getDeclaredField("usedBy");
-                    usedByField.setAccessible(true);
-                    usedByField.set(depositCode, userMapper.toDomain(entity.getUsedBy()));
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set deposit code used properties", e);
-            }
-        }
-
-        return depositCode;
     }
-}
\ No newline at end of file
+}
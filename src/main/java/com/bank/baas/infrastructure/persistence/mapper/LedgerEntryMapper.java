@@ -0,0 +1,46 @@
+package com.bank.baas.infrastructure.persistence.mapper;
+
+import com.bank.baas.domain.model.BalanceSnapshot;
+import com.bank.baas.domain.model.LedgerEntry;
+import com.bank.baas.infrastructure.persistence.entity.BalanceSnapshotEntity;
+import com.bank.baas.infrastructure.persistence.entity.LedgerEntryEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LedgerEntryMapper {
+
+    public LedgerEntryEntity toEntity(LedgerEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+
+        return new LedgerEntryEntity(entry.accountId(), entry.transactionId(), entry.amount(), entry.createdAt());
+    }
+
+    public LedgerEntry toDomain(LedgerEntryEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return new LedgerEntry(entity.getId(), entity.getAccountId(), entity.getTransactionId(),
+                entity.getAmount(), entity.getCreatedAt());
+    }
+
+    public BalanceSnapshotEntity toEntity(BalanceSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+
+        return new BalanceSnapshotEntity(snapshot.accountId(), snapshot.balance(), snapshot.lastEntryId(),
+                snapshot.createdAt());
+    }
+
+    public BalanceSnapshot toDomain(BalanceSnapshotEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return new BalanceSnapshot(entity.getAccountId(), entity.getBalance(), entity.getLastEntryId(),
+                entity.getCreatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.baas.infrastructure.persistence.mapper;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Identity map for a single mapping call. Each object in the graph is mapped once and every further reference to it
+ * resolves to that same copy, which is what closes the User/Account cycle. A context belongs to one call on one
+ * thread and is never shared, so the mappers themselves stay stateless.
+ */
+final class MappingContext {
+
+    private final Map<Object, Object> mapped = new IdentityHashMap<>(4);
+
+    <T> T get(Object source, Class<T> type) {
+        return type.cast(mapped.get(source));
+    }
+
+    void put(Object source, Object target) {
+        mapped.put(source, target);
+    }
+}
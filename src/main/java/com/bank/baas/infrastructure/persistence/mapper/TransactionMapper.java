@@ -6,10 +6,6 @@ import com.bank.baas.infrastructure.persistence.entity.TransactionEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
-import java.time.LocalDateTime;
-import java.util.UUID;
-
 @Component
 public class TransactionMapper {
 
@@ -25,12 +21,15 @@ public class TransactionMapper {
             return null;
         }
 
+        MappingContext context = new MappingContext();
         TransactionEntity entity = new TransactionEntity();
         entity.setId(transaction.getId());
-        entity.setSender(userMapper.toEntity(transaction.getSender()));
-        entity.setReceiver(userMapper.toEntity(transaction.getReceiver()));
+        entity.setSender(userMapper.toEntity(transaction.getSender(), context));
+        entity.setReceiver(userMapper.toEntity(transaction.getReceiver(), context));
         entity.setStatus(transaction.getStatus());
         entity.setAmount(transaction.getAmount());
+        entity.setIdempotencyKey(transaction.getIdempotencyKey());
+        entity.setLedgerSequence(transaction.getLedgerSequence());
         entity.setCreatedAt(transaction.getCreatedAt());
 
         if (transaction.getUpdatedAt() != null) {
@@ -45,53 +44,22 @@ public class TransactionMapper {
             return null;
         }
 
+        MappingContext context = new MappingContext();
         Transaction transaction = new Transaction(
-            userMapper.toDomain(entity.getSender()),
-            userMapper.toDomain(entity.getReceiver()),
+            userMapper.toDomain(entity.getSender(), context),
+            userMapper.toDomain(entity.getReceiver(), context),
             entity.getAmount(),
             entity.getCreatedAt()
         );
-
-        setTransactionId(transaction, entity.getId());
-        setTransactionStatus(transaction, entity.getStatus());
-
-        if (entity.getUpdatedAt() != null) {
-            setTransactionUpdatedAt(transaction, entity.getUpdatedAt());
-        }
+        transaction.setId(entity.getId());
+        transaction.setStatus(entity.getStatus());
+        transaction.setIdempotencyKey(entity.getIdempotencyKey());
+        transaction.setLedgerSequence(entity.getLedgerSequence());
+        transaction.setUpdatedAt(entity.getUpdatedAt());
 
         return transaction;
     }
 
-    private void setTransactionId(Transaction transaction, UUID id) {
-        try {
-            Field idField = Transaction.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(transaction, id);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir o ID da transação", e);
-        }
-    }
-
-    private void setTransactionStatus(Transaction transaction, com.bank.baas.domain.enums.TransactionStatus status) {
-        try {
-            Field statusField = Transaction.class.getDeclaredField("status");
-            statusField.setAccessible(true);
-            statusField.set(transaction, status);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir o status da transação", e);
-        }
-    }
-
-    private void setTransactionUpdatedAt(Transaction transaction, LocalDateTime updatedAt) {
-        try {
-            Field updatedAtField = Transaction.class.getDeclaredField("updatedAt");
-            updatedAtField.setAccessible(true);
-            updatedAtField.set(transaction, updatedAt);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir a data de atualização da transação", e);
-        }
-    }
-
     public TransactionDTO toDTO(Transaction transaction) {
         if (transaction == null) {
             return null;
@@ -6,7 +6,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
 
 @Component
 public class UserMapper {
@@ -18,11 +17,22 @@ public class UserMapper {
     }
 
     public UserEntity toEntity(User user) {
+        return toEntity(user, new MappingContext());
+    }
+
+    UserEntity toEntity(User user, MappingContext context) {
         if (user == null) {
             return null;
         }
 
+        UserEntity existing = context.get(user, UserEntity.class);
+        if (existing != null) {
+            return existing;
+        }
+
         UserEntity entity = new UserEntity();
+        context.put(user, entity);
+
         entity.setId(user.getId());
         entity.setEmail(user.getEmail());
         entity.setCpf(user.getCpf());
@@ -32,36 +42,34 @@ public class UserMapper {
         entity.setUpdatedAt(user.getUpdatedAt());
 
         if (user.getAccount() != null) {
-            entity.setAccount(accountMapper.toEntity(user.getAccount()));
+            entity.setAccount(accountMapper.toEntity(user.getAccount(), context));
         }
 
         return entity;
     }
 
     public User toDomain(UserEntity entity) {
+        return toDomain(entity, new MappingContext());
+    }
+
+    User toDomain(UserEntity entity, MappingContext context) {
         if (entity == null) {
             return null;
         }
 
-        User user = new User(entity.getEmail(), entity.getCpf());
-        user.setPassword(entity.getPassword());
-        user.setRoles(entity.getRoles());
-        setUserId(user, entity.getId());
+        User existing = context.get(entity, User.class);
+        if (existing != null) {
+            return existing;
+        }
+
+        User user = new User(entity.getId(), entity.getEmail(), entity.getCpf(), entity.getPassword(),
+                entity.getRoles(), entity.getCreatedAt(), entity.getUpdatedAt());
+        context.put(entity, user);
 
         if (entity.getAccount() != null) {
-            user.setAccount(accountMapper.toDomain(entity.getAccount()));
+            user.setAccount(accountMapper.toDomain(entity.getAccount(), context));
         }
 
         return user;
     }
-
-    private void setUserId(User user, UUID id) {
-        try {
-            java.lang.reflect.Field idField = User.class.getDeclaredField("id");
-            idField.setAccessible(true);
-            idField.set(user, id);
-        } catch (Exception e) {
-            throw new RuntimeException("Não foi possível definir o ID do usuário", e);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.bank.baas.infrastructure.persistence.migration;
+
+import com.bank.baas.infrastructure.persistence.entity.DataMigrationEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataDataMigrationRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records one-shot data migrations in {@code data_migrations}, so a startup migration costs a primary key lookup
+ * once it has completed.
+ */
+@Component
+public class DataMigrations {
+
+    private final SpringDataDataMigrationRepository migrationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public DataMigrations(SpringDataDataMigrationRepository migrationRepository, TransactionTemplate transactionTemplate) {
+        this.migrationRepository = migrationRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isCompleted(String name) {
+        return migrationRepository.existsById(name);
+    }
+
+    public void markCompleted(String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    migrationRepository.save(new DataMigrationEntity(name, LocalDateTime.now())));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance finished the same migration at the same time.
+            SimpleLogger.debug(DataMigrations.class, "Data migration already recorded: " + name);
+        }
+        SimpleLogger.info(DataMigrations.class, "Data migration completed: " + name);
+    }
+}
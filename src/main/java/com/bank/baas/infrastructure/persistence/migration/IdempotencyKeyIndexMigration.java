@@ -0,0 +1,76 @@
+package com.bank.baas.infrastructure.persistence.migration;
+
+import com.bank.baas.utils.log.SimpleLogger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Drops the old global unique index on {@code transactions.idempotency_key}. Keys are unique per sender now, and the
+ * schema update creates the (sender_id, idempotency_key) index but never drops an index, so without this an upgraded
+ * database would still reject a key another client already used.
+ */
+@Component
+public class IdempotencyKeyIndexMigration implements SmartInitializingSingleton {
+
+    static final String MIGRATION = "transactions_sender_scoped_idempotency_key";
+    static final String LEGACY_INDEX = "idx_transactions_idempotency_key";
+    private static final String TABLE = "transactions";
+
+    private final DataSource dataSource;
+    private final DataMigrations dataMigrations;
+
+    @Autowired
+    public IdempotencyKeyIndexMigration(DataSource dataSource, DataMigrations dataMigrations) {
+        this.dataSource = dataSource;
+        this.dataMigrations = dataMigrations;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        if (dataMigrations.isCompleted(MIGRATION)) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (legacyIndexExists(connection)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("drop index " + LEGACY_INDEX + " on " + TABLE);
+                }
+                SimpleLogger.info(IdempotencyKeyIndexMigration.class, "Dropped legacy index " + LEGACY_INDEX);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not drop legacy index " + LEGACY_INDEX, e);
+        }
+
+        dataMigrations.markCompleted(MIGRATION);
+    }
+
+    private boolean legacyIndexExists(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // Identifier case in the catalog differs by database (lower on MySQL, upper on H2).
+        for (String table : List.of(TABLE, TABLE.toUpperCase())) {
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                while (indexes.next()) {
+                    if (LEGACY_INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
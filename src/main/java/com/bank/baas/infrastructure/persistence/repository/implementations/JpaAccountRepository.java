@@ -2,13 +2,28 @@ package com.bank.baas.infrastructure.persistence.repository.implementations;
 
 import com.bank.baas.domain.model.Account;
 import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlotConsolidator;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlots;
 import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
 import com.bank.baas.infrastructure.persistence.mapper.AccountMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -16,58 +31,266 @@ import java.util.stream.Collectors;
 @Repository
 public class JpaAccountRepository implements AccountRepository {
 
+    private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+    private static final String LOCK_BALANCES_QUERY = "select a from AccountEntity a where a.id in :ids order by a.id";
+
     private final SpringDataAccountRepository accountRepository;
     private final AccountMapper accountMapper;
+    private final EntityManager entityManager;
+    private final AccountBalanceSlots balanceSlots;
+    private final AccountBalanceSlotConsolidator slotConsolidator;
+
+    @Value("${baas.transfer.lock-timeout-ms:3000}")
+    private long lockTimeoutMs;
 
     @Autowired
-    public JpaAccountRepository(SpringDataAccountRepository accountRepository, AccountMapper accountMapper) {
+    public JpaAccountRepository(
+            SpringDataAccountRepository accountRepository,
+            AccountMapper accountMapper,
+            EntityManager entityManager,
+            AccountBalanceSlots balanceSlots,
+            AccountBalanceSlotConsolidator slotConsolidator) {
         this.accountRepository = accountRepository;
         this.accountMapper = accountMapper;
+        this.entityManager = entityManager;
+        this.balanceSlots = balanceSlots;
+        this.slotConsolidator = slotConsolidator;
     }
 
     @Override
     public Account save(Account account) {
-        AccountEntity accountEntity = accountMapper.toEntity(account);
-        AccountEntity savedEntity = accountRepository.save(accountEntity);
-        return accountMapper.toDomain(savedEntity);
+        AccountEntity managed = account.getId() == null ? null : entityManager.find(AccountEntity.class, account.getId());
+        if (managed == null) {
+            AccountEntity savedEntity = accountRepository.save(accountMapper.toEntity(account));
+            return accountMapper.toDomain(savedEntity);
+        }
+
+        // The row is normally still managed from the lookup earlier in the transaction, so the changes go onto that
+        // instance and dirty checking writes only the columns that moved. Merging a freshly mapped copy instead
+        // re-reads the graph and rewrites every column of the account and its user.
+        if (!Objects.equals(managed.getVersion(), account.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(AccountEntity.class, managed.getId());
+        }
+
+        if (!managed.isSlotBalanceLoaded()) {
+            balanceSlots.loadSlotBalance(managed);
+        }
+        if (hasSlots(managed)) {
+            splitSlotBalance(managed, account.getBalance());
+        } else {
+            managed.setBalance(account.getBalance());
+        }
+        managed.setNumber(account.getNumber());
+        managed.setAgency(account.getAgency());
+        managed.setPassword(account.getPassword());
+
+        return accountMapper.toDomain(managed);
     }
 
     @Override
     public Optional<Account> findById(UUID id) {
         return accountRepository.findById(id)
-                .map(accountMapper::toDomain);
+                .map(this::toDomain);
+    }
+
+    @Override
+    public Optional<Account> findByIdForUpdate(UUID id) {
+        AccountEntity entity = managedAccount(id);
+        if (entity == null) {
+            // Not read yet in this transaction, so one SELECT ... FOR UPDATE loads it current. Slotted accounts are
+            // read without the lock, as below.
+            entity = balanceSlots.isSlotted(id)
+                    ? entityManager.find(AccountEntity.class, id)
+                    : entityManager.find(AccountEntity.class, id, LockModeType.PESSIMISTIC_WRITE,
+                            Map.of(LOCK_TIMEOUT_HINT, lockTimeoutMs));
+            return Optional.ofNullable(entity).map(this::toDomain);
+        }
+
+        if (entity.getBalanceSlots() > 0) {
+            // Credits to a slotted account never write its row and its debits are checked by version on flush,
+            // so the row is re-read without a lock and inbound traffic does not queue behind it.
+            entityManager.refresh(entity);
+            return Optional.of(toDomain(entity));
+        }
+
+        // A locking find would hand back the managed, possibly stale instance, so it is re-read under
+        // SELECT ... FOR UPDATE instead.
+        entityManager.refresh(entity, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT_HINT, lockTimeoutMs));
+        return Optional.of(toDomain(entity));
+    }
+
+    private AccountEntity managedAccount(UUID id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(AccountEntity.class);
+        return (AccountEntity) session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
     }
 
     @Override
     public Optional<Account> findByNumber(String number) {
         return accountRepository.findByNumber(number)
-                .map(accountMapper::toDomain);
+                .map(this::toDomain);
     }
 
     @Override
     public Optional<Account> findByUserId(UUID userId) {
         return accountRepository.findByUserEntityId(userId)
-                .map(accountMapper::toDomain);
+                .map(this::toDomain);
     }
 
     @Override
     public List<Account> findByAgency(String agency) {
-        return accountRepository.findByAgency(agency)
-                .stream()
-                .map(accountMapper::toDomain)
-                .collect(Collectors.toList());
+        return toDomain(accountRepository.findByAgency(agency));
     }
 
     @Override
     public List<Account> findAll() {
-        return accountRepository.findAll()
-                .stream()
-                .map(accountMapper::toDomain)
-                .collect(Collectors.toList());
+        return toDomain(accountRepository.findAll());
+    }
+
+    @Override
+    public List<Account> findAllAfter(UUID afterId, int limit) {
+        List<AccountEntity> entities = afterId == null
+                ? accountRepository.findAllByOrderByIdAsc(Limit.of(limit))
+                : accountRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+
+        return toDomain(entities);
     }
 
     @Override
     public boolean existsByNumber(String number) {
         return accountRepository.existsByNumber(number);
     }
+
+    @Override
+    public boolean debitIfSufficientBalance(UUID accountId, BigDecimal amount) {
+        if (accountRepository.debitIfSufficientBalance(accountId, amount, LocalDateTime.now()) > 0) {
+            return true;
+        }
+
+        AccountEntity entity = entityManager.find(AccountEntity.class, accountId);
+        if (entity == null || entity.getBalanceSlots() == 0) {
+            return false;
+        }
+
+        // The row alone is short, so fold the slots into it and try once more. The row is locked before the slots,
+        // the order every sweep follows.
+        entityManager.refresh(entity, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT_HINT, lockTimeoutMs));
+        BigDecimal swept = balanceSlots.sweep(accountId);
+        if (swept.signum() == 0) {
+            return false;
+        }
+        accountRepository.credit(accountId, swept, LocalDateTime.now());
+        return accountRepository.debitIfSufficientBalance(accountId, amount, LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public boolean credit(UUID accountId, BigDecimal amount) {
+        AccountEntity entity = entityManager.find(AccountEntity.class, accountId);
+        if (entity != null && entity.getBalanceSlots() > 0 && balanceSlots.credit(accountId, entity.getBalanceSlots(), amount)) {
+            return true;
+        }
+
+        return accountRepository.credit(accountId, amount, LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> lockBalances(Collection<UUID> accountIds) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return balances;
+        }
+
+        // One SELECT ... FOR UPDATE ordered by id, so concurrent batches lock rows in the same order, bounded by the
+        // same lock timeout as findByIdForUpdate. Slot credits are spendable, so the balance includes them and
+        // applyBalanceDeltas splits the change back like save().
+        List<AccountEntity> locked = entityManager.createQuery(LOCK_BALANCES_QUERY, AccountEntity.class)
+                .setParameter("ids", accountIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(LOCK_TIMEOUT_HINT, lockTimeoutMs)
+                .getResultList();
+        balanceSlots.loadSlotBalances(locked);
+        for (AccountEntity entity : locked) {
+            balances.put(entity.getId(), entity.getTotalBalance());
+        }
+        return balances;
+    }
+
+    @Override
+    public void applyBalanceDeltas(Map<UUID, BigDecimal> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // The rows were just loaded by lockBalances, so find() is served by the persistence context and the
+        // changes are flushed as one batched UPDATE statement per account.
+        deltas.forEach((accountId, delta) -> {
+            AccountEntity entity = entityManager.find(AccountEntity.class, accountId);
+            if (entity == null) {
+                throw new IllegalStateException("Account not found: " + accountId);
+            }
+            if (!entity.isSlotBalanceLoaded()) {
+                balanceSlots.loadSlotBalance(entity);
+            }
+            if (hasSlots(entity)) {
+                splitSlotBalance(entity, entity.getTotalBalance().add(delta));
+            } else {
+                entity.setBalance(entity.getBalance().add(delta));
+            }
+            entity.setUpdatedAt(now);
+        });
+    }
+
+    @Override
+    public boolean resizeBalanceSlots(UUID accountId, int slots) {
+        return slotConsolidator.resize(accountId, slots);
+    }
+
+    private Account toDomain(AccountEntity entity) {
+        balanceSlots.loadSlotBalance(entity);
+        return accountMapper.toDomain(entity);
+    }
+
+    private List<Account> toDomain(List<AccountEntity> entities) {
+        balanceSlots.loadSlotBalances(entities);
+        return entities.stream()
+                .map(accountMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean hasSlots(AccountEntity entity) {
+        // Removing the flag drains the slots, so only flagged accounts hold money in them.
+        return entity.getBalanceSlots() > 0;
+    }
+
+    /**
+     * Domain accounts carry the row balance plus the slots, so the change made since loading is split back: a credit
+     * goes to a slot and leaves the row untouched, a debit comes from the row and sweeps the slots if it must.
+     */
+    private void splitSlotBalance(AccountEntity managed, BigDecimal balance) {
+        BigDecimal delta = balance.subtract(managed.getTotalBalance());
+        BigDecimal rowBalance = managed.getBalance();
+        BigDecimal slotBalance = managed.getSlotBalance();
+
+        if (delta.signum() > 0) {
+            if (managed.getBalanceSlots() > 0 && balanceSlots.credit(managed.getId(), managed.getBalanceSlots(), delta)) {
+                slotBalance = slotBalance.add(delta);
+            } else {
+                rowBalance = rowBalance.add(delta);
+            }
+        } else if (delta.signum() < 0) {
+            BigDecimal debit = delta.negate();
+            if (rowBalance.compareTo(debit) < 0) {
+                // Row before slots; the lock also fails if the row changed since it was read.
+                entityManager.lock(managed, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT_HINT, lockTimeoutMs));
+                rowBalance = rowBalance.add(balanceSlots.sweep(managed.getId()));
+                slotBalance = BigDecimal.ZERO;
+            }
+            if (rowBalance.compareTo(debit) < 0) {
+                // Another debit swept the slots since this account was read.
+                throw new ObjectOptimisticLockingFailureException(AccountEntity.class, managed.getId());
+            }
+            rowBalance = rowBalance.subtract(debit);
+        }
+
+        managed.setBalance(rowBalance);
+        managed.setSlotBalance(slotBalance);
+    }
 }
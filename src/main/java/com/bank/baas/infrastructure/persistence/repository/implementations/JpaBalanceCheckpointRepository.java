@@ -0,0 +1,54 @@
+package com.bank.baas.infrastructure.persistence.repository.implementations;
+
+import com.bank.baas.domain.model.BalanceCheckpoint;
+import com.bank.baas.domain.repository.BalanceCheckpointRepository;
+import com.bank.baas.infrastructure.persistence.entity.BalanceCheckpointEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataBalanceCheckpointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class JpaBalanceCheckpointRepository implements BalanceCheckpointRepository {
+
+    private final SpringDataBalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    public JpaBalanceCheckpointRepository(SpringDataBalanceCheckpointRepository checkpointRepository) {
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    @Override
+    public void saveAll(List<BalanceCheckpoint> checkpoints) {
+        LocalDateTime now = LocalDateTime.now();
+        checkpointRepository.saveAll(checkpoints.stream()
+                .map(checkpoint -> new BalanceCheckpointEntity(checkpoint.accountId(), checkpoint.date(),
+                        checkpoint.closingBalance(), now))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Optional<BalanceCheckpoint> findLatestOnOrBefore(UUID accountId, LocalDate date) {
+        return checkpointRepository
+                .findFirstByAccountIdAndCheckpointDateLessThanEqualOrderByCheckpointDateDesc(accountId, date)
+                .map(entity -> new BalanceCheckpoint(entity.getAccountId(), entity.getCheckpointDate(),
+                        entity.getClosingBalance()));
+    }
+
+    @Override
+    public Set<UUID> findAccountIdsWithCheckpoint(LocalDate date, Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(checkpointRepository.findAccountIdsWithCheckpoint(date, accountIds));
+    }
+}
@@ -8,9 +8,13 @@ import com.bank.baas.infrastructure.persistence.entity.UserEntity;
 import com.bank.baas.infrastructure.persistence.mapper.DepositCodeMapper;
 import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataDepositCodeRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,15 +26,18 @@ public class JpaDepositCodeRepository implements DepositCodeRepository {
     private final SpringDataDepositCodeRepository depositCodeRepository;
     private final DepositCodeMapper depositCodeMapper;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
 
     @Autowired
     public JpaDepositCodeRepository(
             SpringDataDepositCodeRepository depositCodeRepository,
             DepositCodeMapper depositCodeMapper,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            EntityManager entityManager) {
         this.depositCodeRepository = depositCodeRepository;
         this.depositCodeMapper = depositCodeMapper;
         this.userMapper = userMapper;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -40,6 +47,26 @@ public class JpaDepositCodeRepository implements DepositCodeRepository {
         return depositCodeMapper.toDomain(savedEntity);
     }
 
+    @Override
+    @Transactional
+    public DepositCode insert(DepositCode depositCode) {
+        // The id is assigned, so save() would merge and SELECT the row before inserting it.
+        DepositCodeEntity entity = depositCodeMapper.toEntity(depositCode);
+        entityManager.persist(entity);
+        entityManager.flush();
+        return depositCodeMapper.toDomain(entity);
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<DepositCode> depositCodes) {
+        // persist queues the inserts and the flush sends them in hibernate.jdbc.batch_size statements.
+        for (DepositCode depositCode : depositCodes) {
+            entityManager.persist(depositCodeMapper.toEntity(depositCode));
+        }
+        entityManager.flush();
+    }
+
     @Override
     public Optional<DepositCode> findById(UUID id) {
         return depositCodeRepository.findById(id)
@@ -88,4 +115,25 @@ public class JpaDepositCodeRepository implements DepositCodeRepository {
     public boolean existsByCode(String code) {
         return depositCodeRepository.existsByCode(code);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean claim(String code, User redeemer, LocalDateTime usedAt) {
+        // A single conditional UPDATE: concurrent claimers queue on the row lock and all but the first match no row.
+        return depositCodeRepository.claim(code, userMapper.toEntity(redeemer), usedAt) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpiredUnused(LocalDateTime before, int limit) {
+        // Ids first, through the (used, expires_at) index, so each batch deletes a bounded set of rows by key.
+        List<UUID> ids = depositCodeRepository.findExpiredUnusedIds(before, Limit.of(limit));
+        return ids.isEmpty() ? 0 : depositCodeRepository.deleteExpiredUnused(ids, before);
+    }
+
+    @Override
+    @Transactional
+    public int deleteUsedBefore(LocalDateTime before, int limit) {
+        List<UUID> ids = depositCodeRepository.findUsedIdsBefore(before, Limit.of(limit));
+        return ids.isEmpty() ? 0 : depositCodeRepository.deleteUsedBefore(ids, before);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.baas.infrastructure.persistence.repository.implementations;
+
+import com.bank.baas.domain.model.BalanceSnapshot;
+import com.bank.baas.domain.model.LedgerEntry;
+import com.bank.baas.domain.repository.LedgerEntryRepository;
+import com.bank.baas.infrastructure.persistence.mapper.LedgerEntryMapper;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataBalanceSnapshotRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataLedgerEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class JpaLedgerEntryRepository implements LedgerEntryRepository {
+
+    private final SpringDataLedgerEntryRepository ledgerEntryRepository;
+    private final SpringDataBalanceSnapshotRepository balanceSnapshotRepository;
+    private final LedgerEntryMapper ledgerEntryMapper;
+
+    @Autowired
+    public JpaLedgerEntryRepository(
+            SpringDataLedgerEntryRepository ledgerEntryRepository,
+            SpringDataBalanceSnapshotRepository balanceSnapshotRepository,
+            LedgerEntryMapper ledgerEntryMapper) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.ledgerEntryMapper = ledgerEntryMapper;
+    }
+
+    @Override
+    public void appendAll(List<LedgerEntry> entries) {
+        ledgerEntryRepository.saveAll(entries.stream()
+                .map(ledgerEntryMapper::toEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public BigDecimal sumAfter(UUID accountId, long afterEntryId) {
+        return ledgerEntryRepository.sumAfter(accountId, afterEntryId);
+    }
+
+    @Override
+    public BigDecimal sumBetween(UUID accountId, long afterEntryId, long upToEntryId) {
+        return ledgerEntryRepository.sumBetween(accountId, afterEntryId, upToEntryId);
+    }
+
+    @Override
+    public long findMaxEntryIdCreatedBefore(LocalDateTime createdBefore) {
+        return ledgerEntryRepository.findMaxIdCreatedBefore(createdBefore);
+    }
+
+    @Override
+    public List<UUID> findAccountsWithEntriesSinceSnapshot(long upToEntryId, long minEntries) {
+        return ledgerEntryRepository.findAccountsWithEntriesSinceSnapshot(upToEntryId, minEntries);
+    }
+
+    @Override
+    public Optional<BalanceSnapshot> findLatestSnapshot(UUID accountId) {
+        return balanceSnapshotRepository.findFirstByAccountIdOrderByLastEntryIdDesc(accountId)
+                .map(ledgerEntryMapper::toDomain);
+    }
+
+    @Override
+    public void saveSnapshot(BalanceSnapshot snapshot) {
+        balanceSnapshotRepository.save(ledgerEntryMapper.toEntity(snapshot));
+    }
+}
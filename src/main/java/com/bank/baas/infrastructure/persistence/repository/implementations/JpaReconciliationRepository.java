@@ -0,0 +1,126 @@
+package com.bank.baas.infrastructure.persistence.repository.implementations;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.AccountBalanceCheck;
+import com.bank.baas.domain.model.ReconciliationFinding;
+import com.bank.baas.domain.repository.ReconciliationRepository;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlots;
+import com.bank.baas.infrastructure.persistence.entity.ReconciliationFindingEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reconciliation reads run on a small connection pool of their own, so a nightly run can hold long cursors without
+ * taking connections from transfers. Sessions are stateless and opened on those connections; each account's expected
+ * balance is computed by the database in the same statement that reads its recorded balance, so both come from one
+ * consistent snapshot.
+ */
+@Repository
+public class JpaReconciliationRepository implements ReconciliationRepository {
+
+    private static final String CHECK_QUERY =
+            "select new com.bank.baas.domain.model.AccountBalanceCheck(a.id, a.balance + " +
+            AccountBalanceSlots.SLOT_BALANCE_OF_A + ", " +
+            "coalesce((select sum(t.amount) from TransactionEntity t " +
+            "where t.receiver = a.userEntity and t.status = :success), 0) - " +
+            "coalesce((select sum(t.amount) from TransactionEntity t " +
+            "where t.sender = a.userEntity and t.status = :success), 0)) " +
+            "from AccountEntity a where a.id >= :fromId ";
+    private static final String BOUNDED_RANGE_QUERY = CHECK_QUERY + "and a.id < :toId order by a.id";
+    private static final String OPEN_RANGE_QUERY = CHECK_QUERY + "order by a.id";
+
+    private final SessionFactory sessionFactory;
+    private final HikariDataSource dataSource;
+    private final int fetchSize;
+
+    @Autowired
+    public JpaReconciliationRepository(
+            EntityManagerFactory entityManagerFactory,
+            DataSourceProperties dataSourceProperties,
+            @Value("${baas.reconciliation.parallelism:4}") int poolSize,
+            @Value("${baas.reconciliation.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Not a bean: exposing a second DataSource would switch off the auto-configured primary pool.
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("baas-reconciliation");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.fetchSize = fetchSize;
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+
+    @Override
+    public long forEachAccountInRange(UUID fromInclusive, UUID toExclusive, Consumer<AccountBalanceCheck> consumer) {
+        long count = 0;
+
+        try (Connection connection = dataSource.getConnection();
+             StatelessSession session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+            var query = session.createQuery(toExclusive == null ? OPEN_RANGE_QUERY : BOUNDED_RANGE_QUERY,
+                            AccountBalanceCheck.class)
+                    .setParameter("fromId", fromInclusive)
+                    .setParameter("success", TransactionStatus.SUCCESS)
+                    .setFetchSize(fetchSize);
+            if (toExclusive != null) {
+                query.setParameter("toId", toExclusive);
+            }
+
+            try (Stream<AccountBalanceCheck> checks = query.getResultStream()) {
+                Iterator<AccountBalanceCheck> iterator = checks.iterator();
+                while (iterator.hasNext()) {
+                    consumer.accept(iterator.next());
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not open reconciliation connection", e);
+        }
+
+        return count;
+    }
+
+    @Override
+    public void saveFindings(List<ReconciliationFinding> findings) {
+        if (findings.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             StatelessSession session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (ReconciliationFinding finding : findings) {
+                    session.insert(new ReconciliationFindingEntity(finding.runId(), finding.accountId(),
+                            finding.recordedBalance(), finding.expectedBalance(), finding.difference(),
+                            finding.detectedAt()));
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not open reconciliation connection", e);
+        }
+    }
+}
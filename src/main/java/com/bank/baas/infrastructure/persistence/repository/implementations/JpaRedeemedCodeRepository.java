@@ -0,0 +1,47 @@
+package com.bank.baas.infrastructure.persistence.repository.implementations;
+
+import com.bank.baas.domain.model.RedeemedCode;
+import com.bank.baas.domain.repository.RedeemedCodeRepository;
+import com.bank.baas.infrastructure.persistence.entity.RedeemedCodeEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataRedeemedCodeRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class JpaRedeemedCodeRepository implements RedeemedCodeRepository {
+
+    private final SpringDataRedeemedCodeRepository redeemedCodeRepository;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public JpaRedeemedCodeRepository(
+            SpringDataRedeemedCodeRepository redeemedCodeRepository,
+            EntityManager entityManager) {
+        this.redeemedCodeRepository = redeemedCodeRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public void insert(RedeemedCode redeemedCode) {
+        // persist, not save: the nonce is assigned, so save() would SELECT it first. The flush surfaces a
+        // duplicate here rather than at commit, after the balances have moved.
+        entityManager.persist(new RedeemedCodeEntity(redeemedCode.nonce(), redeemedCode.generatorId(),
+                redeemedCode.redeemedBy(), redeemedCode.amount(), redeemedCode.redeemedAt(), redeemedCode.expiresAt()));
+        entityManager.flush();
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpiredBefore(LocalDateTime before, int limit) {
+        List<UUID> nonces = redeemedCodeRepository.findExpiredNonces(before, Limit.of(limit));
+        return nonces.isEmpty() ? 0 : redeemedCodeRepository.deleteExpired(nonces, before);
+    }
+}
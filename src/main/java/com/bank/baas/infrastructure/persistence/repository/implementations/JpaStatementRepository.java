@@ -0,0 +1,62 @@
+package com.bank.baas.infrastructure.persistence.repository.implementations;
+
+import com.bank.baas.domain.model.StatementRow;
+import com.bank.baas.domain.repository.StatementRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads a user's statement through a forward-only cursor, {@code fetch-size} rows per round trip. Rows are projected
+ * straight into {@link StatementRow}s, so no entity is loaded or kept in the persistence context and memory does not
+ * grow with the number of rows.
+ */
+@Repository
+public class JpaStatementRepository implements StatementRepository {
+
+    private static final String STATEMENT_QUERY =
+            "select new com.bank.baas.domain.model.StatementRow(" +
+            "t.id, t.createdAt, s.id, s.email, r.id, r.email, t.amount, t.status) " +
+            "from TransactionEntity t join t.sender s join t.receiver r " +
+            "where s.id = :userId or r.id = :userId " +
+            "order by t.createdAt, t.id";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    @Autowired
+    public JpaStatementRepository(
+            EntityManager entityManager,
+            @Value("${baas.transaction.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachRow(UUID userId, Consumer<StatementRow> consumer) {
+        long count = 0;
+
+        try (Stream<StatementRow> rows = entityManager.createQuery(STATEMENT_QUERY, StatementRow.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<StatementRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
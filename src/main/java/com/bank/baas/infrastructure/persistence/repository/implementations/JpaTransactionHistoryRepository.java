@@ -0,0 +1,65 @@
+package com.bank.baas.infrastructure.persistence.repository.implementations;
+
+import com.bank.baas.domain.model.TransactionCursor;
+import com.bank.baas.domain.model.TransactionHistoryEntry;
+import com.bank.baas.domain.repository.TransactionHistoryRepository;
+import com.bank.baas.infrastructure.persistence.entity.UserTransactionHistoryEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserTransactionHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class JpaTransactionHistoryRepository implements TransactionHistoryRepository {
+
+    private final SpringDataUserTransactionHistoryRepository historyRepository;
+
+    @Autowired
+    public JpaTransactionHistoryRepository(SpringDataUserTransactionHistoryRepository historyRepository) {
+        this.historyRepository = historyRepository;
+    }
+
+    @Override
+    public List<TransactionHistoryEntry> findPage(UUID userId, TransactionCursor after, int limit) {
+        List<UserTransactionHistoryEntity> rows = after == null
+                ? historyRepository.findLatest(userId, Limit.of(limit))
+                : historyRepository.findBefore(userId, after.createdAt(), after.id(), Limit.of(limit));
+
+        return rows.stream()
+                .map(row -> new TransactionHistoryEntry(row.getTransactionId(), row.getPostedAt(),
+                        row.getCounterpartyId(), row.getCounterpartyEmail(), row.getAmount(), row.getStatus()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Net amount of the user's successful transactions created in [from, to); a null {@code to} leaves it open.
+     */
+    @Override
+    public BigDecimal sumSettledAmount(UUID userId, LocalDateTime from, LocalDateTime to) {
+        return to == null
+                ? historyRepository.sumSettledSince(userId, from)
+                : historyRepository.sumSettledBetween(userId, from, to);
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> sumSettledAmountsSince(Collection<UUID> userIds, LocalDateTime from) {
+        Map<UUID, BigDecimal> sums = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return sums;
+        }
+
+        for (Object[] row : historyRepository.sumSettledSinceByParticipant(userIds, from)) {
+            sums.put((UUID) row[0], (BigDecimal) row[1]);
+        }
+        return sums;
+    }
+}
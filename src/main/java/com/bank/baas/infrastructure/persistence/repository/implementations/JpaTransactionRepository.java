@@ -3,12 +3,24 @@ package com.bank.baas.infrastructure.persistence.repository.implementations;
 import com.bank.baas.domain.enums.TransactionStatus;
 import com.bank.baas.domain.model.Transaction;
 import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.infrastructure.persistence.entity.TransactionEntity;
 import com.bank.baas.infrastructure.persistence.mapper.TransactionMapper;
 import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataTransactionRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserTransactionHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.type.descriptor.ValueBinder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,33 +29,139 @@ import java.util.stream.Collectors;
 @Repository
 public class JpaTransactionRepository implements TransactionRepository {
 
+    private static final String INSERT_SQL = "insert into transactions " +
+            "(id, sender_id, receiver_id, status, amount, idempotency_key, ledger_sequence, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final SpringDataTransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
     private final UserMapper userMapper;
+    private final SpringDataUserTransactionHistoryRepository historyRepository;
+    private final EntityManager entityManager;
 
     @Autowired
     public JpaTransactionRepository(
             SpringDataTransactionRepository transactionRepository,
             TransactionMapper transactionMapper,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            SpringDataUserTransactionHistoryRepository historyRepository,
+            EntityManager entityManager) {
         this.transactionRepository = transactionRepository;
         this.transactionMapper = transactionMapper;
         this.userMapper = userMapper;
+        this.historyRepository = historyRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
+    @Transactional
     public Transaction save(Transaction transaction) {
+        boolean isNew = transaction.getId() == null;
         var entity = transactionMapper.toEntity(transaction);
         var savedEntity = transactionRepository.save(entity);
+
+        if (isNew) {
+            recordHistory(List.of(savedEntity.getId()));
+        } else {
+            historyRepository.updateStatus(savedEntity.getId(), savedEntity.getStatus(), LocalDateTime.now());
+        }
+
         return transactionMapper.toDomain(savedEntity);
     }
 
+    @Override
+    @Transactional
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        List<TransactionEntity> entities = transactions.stream()
+                .map(transactionMapper::toEntity)
+                .collect(Collectors.toList());
+        List<Boolean> isNew = transactions.stream()
+                .map(transaction -> transaction.getId() == null)
+                .collect(Collectors.toList());
+
+        List<TransactionEntity> savedEntities = transactionRepository.saveAll(entities);
+
+        List<UUID> created = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < savedEntities.size(); i++) {
+            TransactionEntity savedEntity = savedEntities.get(i);
+            if (isNew.get(i)) {
+                created.add(savedEntity.getId());
+            } else {
+                historyRepository.updateStatus(savedEntity.getId(), savedEntity.getStatus(), now);
+            }
+        }
+        if (!created.isEmpty()) {
+            recordHistory(created);
+        }
+
+        return savedEntities.stream()
+                .map(transactionMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        // The ids and timestamps come from the journal, which persist would regenerate, so the rows are written as
+        // one JDBC batch. UUIDs are bound through the mapped id type so the column encoding matches the dialect.
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        ValueBinder<UUID> uuidBinder = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(TransactionEntity.class)
+                .getIdentifierMapping()
+                .getJdbcMapping(0)
+                .getJdbcValueBinder();
+
+        List<UUID> ids = new ArrayList<>(transactions.size());
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (Transaction transaction : transactions) {
+                    uuidBinder.bind(statement, transaction.getId(), 1, session);
+                    uuidBinder.bind(statement, transaction.getSender().getId(), 2, session);
+                    uuidBinder.bind(statement, transaction.getReceiver().getId(), 3, session);
+                    statement.setString(4, transaction.getStatus().name());
+                    statement.setBigDecimal(5, transaction.getAmount());
+                    statement.setString(6, transaction.getIdempotencyKey());
+                    statement.setObject(7, transaction.getLedgerSequence(), Types.BIGINT);
+                    statement.setTimestamp(8, Timestamp.valueOf(transaction.getCreatedAt()));
+                    LocalDateTime updatedAt = transaction.getUpdatedAt();
+                    statement.setTimestamp(9, updatedAt == null ? null : Timestamp.valueOf(updatedAt));
+                    statement.addBatch();
+                    ids.add(transaction.getId());
+                }
+                statement.executeBatch();
+            }
+        });
+
+        recordHistory(ids);
+    }
+
+    /**
+     * Writes the user_transaction_history rows of new transactions in the caller's unit of work, so the read model
+     * commits or rolls back together with the transfer.
+     */
+    private void recordHistory(List<UUID> transactionIds) {
+        transactionRepository.flush();
+        historyRepository.copyFromTransactions(transactionIds);
+    }
+
     @Override
     public Optional<Transaction> findById(UUID id) {
         return transactionRepository.findById(id)
                 .map(transactionMapper::toDomain);
     }
 
+    @Override
+    public Optional<Transaction> findBySenderIdAndIdempotencyKey(UUID senderId, String idempotencyKey) {
+        return transactionRepository.findBySenderIdAndIdempotencyKey(senderId, idempotencyKey)
+                .map(transactionMapper::toDomain);
+    }
+
     @Override
     public List<Transaction> findBySenderId(UUID senderId) {
         var senderEntity = userMapper.toEntity(null);
@@ -88,6 +206,30 @@ public class JpaTransactionRepository implements TransactionRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Transaction> findByStatusCreatedBefore(TransactionStatus status, LocalDateTime createdBefore, int limit) {
+        return transactionRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAtAsc(status, createdBefore, Limit.of(limit))
+                .stream()
+                .map(transactionMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public boolean updateStatusIfPending(UUID id, TransactionStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        if (transactionRepository.updateStatusIfPending(id, status, now) == 0) {
+            return false;
+        }
+        historyRepository.updateStatus(id, status, now);
+        return true;
+    }
+
+    @Override
+    public long findMaxLedgerSequence() {
+        return transactionRepository.findMaxLedgerSequence();
+    }
+
     @Override
     public List<Transaction> findAll() {
         return transactionRepository.findAll()
@@ -1,7 +1,9 @@
 package com.bank.baas.infrastructure.persistence.repository.implementations;
 
+import com.bank.baas.domain.model.TransferParticipant;
 import com.bank.baas.domain.model.User;
 import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlots;
 import com.bank.baas.infrastructure.persistence.entity.UserEntity;
 import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountRepository;
@@ -9,6 +11,8 @@ import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringData
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,37 +22,59 @@ public class JpaUserRepository implements UserRepository {
     private final SpringDataUserRepository userRepository;
     private final SpringDataAccountRepository accountRepository;
     private final UserMapper userMapper;
+    private final AccountBalanceSlots balanceSlots;
 
     @Autowired
-    public JpaUserRepository(SpringDataUserRepository userRepository, SpringDataAccountRepository accountRepository, UserMapper userMapper) {
+    public JpaUserRepository(
+            SpringDataUserRepository userRepository,
+            SpringDataAccountRepository accountRepository,
+            UserMapper userMapper,
+            AccountBalanceSlots balanceSlots) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
         this.userMapper = userMapper;
+        this.balanceSlots = balanceSlots;
     }
 
     @Override
     public Optional<User> findUserByCPF(String cpf) {
         return userRepository.findByCpf(cpf)
-                .map(userMapper::toDomain);
+                .map(this::toDomain);
     }
 
     @Override
     public Optional<User> findUserByAccount(String account) {
         return accountRepository.findByNumber(account)
                 .map(accountEntity -> accountEntity.getUser())
-                .map(userMapper::toDomain);
+                .map(this::toDomain);
     }
 
     @Override
     public Optional<User> findUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .map(userMapper::toDomain);
+                .map(this::toDomain);
     }
 
     @Override
     public Optional<User> findUserById(UUID id) {
         return userRepository.findById(id)
-                .map(userMapper::toDomain);
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<TransferParticipant> findTransferParticipantsByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findTransferParticipantsByEmailIn(emails);
+    }
+
+    @Override
+    public List<TransferParticipant> findTransferParticipantsByCpfs(Collection<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findTransferParticipantsByCpfIn(cpfs);
     }
 
     @Override
@@ -65,6 +91,13 @@ public class JpaUserRepository implements UserRepository {
     public User save(User user) {
         UserEntity userEntity = userMapper.toEntity(user);
         UserEntity savedEntity = userRepository.save(userEntity);
-        return userMapper.toDomain(savedEntity);
+        return toDomain(savedEntity);
+    }
+
+    private User toDomain(UserEntity entity) {
+        if (entity.getAccount() != null) {
+            balanceSlots.loadSlotBalance(entity.getAccount());
+        }
+        return userMapper.toDomain(entity);
     }
 }
\ No newline at end of file
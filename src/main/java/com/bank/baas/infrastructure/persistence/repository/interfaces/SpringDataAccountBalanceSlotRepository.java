@@ -0,0 +1,47 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.infrastructure.persistence.entity.AccountBalanceSlotEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataAccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlotEntity, UUID> {
+
+    @Query("select s.slot from AccountBalanceSlotEntity s where s.accountId = :accountId")
+    List<Integer> findSlotsByAccountId(@Param("accountId") UUID accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceSlotEntity s where s.accountId = :accountId order by s.slot")
+    List<AccountBalanceSlotEntity> findAllByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountBalanceSlotEntity s where s.accountId = :accountId")
+    BigDecimal sumBalanceByAccountId(@Param("accountId") UUID accountId);
+
+    @Query("select s.accountId, sum(s.balance) from AccountBalanceSlotEntity s " +
+            "where s.accountId in :accountIds group by s.accountId")
+    List<Object[]> sumBalanceByAccountIdIn(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Query("select distinct s.accountId from AccountBalanceSlotEntity s where s.balance <> 0")
+    List<UUID> findAccountIdsWithSlotBalance();
+
+    @Transactional
+    @Modifying
+    @Query("update AccountBalanceSlotEntity s set s.balance = s.balance + :amount " +
+            "where s.accountId = :accountId and s.slot = :slot")
+    int credit(@Param("accountId") UUID accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("delete from AccountBalanceSlotEntity s where s.accountId = :accountId and s.slot >= :slots")
+    int deleteSlotsFrom(@Param("accountId") UUID accountId, @Param("slots") int slots);
+}
@@ -1,9 +1,16 @@
 package com.bank.baas.infrastructure.persistence.repository.interfaces;
 
 import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,5 +20,22 @@ public interface SpringDataAccountRepository extends JpaRepository<AccountEntity
     Optional<AccountEntity> findByNumber(String number);
     Optional<AccountEntity> findByUserEntityId(UUID userId);
     List<AccountEntity> findByAgency(String agency);
+    List<AccountEntity> findAllByOrderByIdAsc(Limit limit);
+    List<AccountEntity> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
     boolean existsByNumber(String number);
+
+    @Query("select a.id from AccountEntity a where a.balanceSlots > 0")
+    List<UUID> findIdsWithBalanceSlots();
+
+    @Transactional
+    @Modifying
+    @Query("update AccountEntity a set a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.id = :id and a.balance >= :amount")
+    int debitIfSufficientBalance(@Param("id") UUID id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update AccountEntity a set a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.id = :id")
+    int credit(@Param("id") UUID id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
 }
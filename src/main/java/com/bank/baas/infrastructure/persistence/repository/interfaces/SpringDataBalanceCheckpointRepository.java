@@ -0,0 +1,22 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.infrastructure.persistence.entity.BalanceCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataBalanceCheckpointRepository extends JpaRepository<BalanceCheckpointEntity, Long> {
+    Optional<BalanceCheckpointEntity> findFirstByAccountIdAndCheckpointDateLessThanEqualOrderByCheckpointDateDesc(
+            UUID accountId, LocalDate checkpointDate);
+
+    @Query("select c.accountId from BalanceCheckpointEntity c where c.checkpointDate = :date and c.accountId in :ids")
+    List<UUID> findAccountIdsWithCheckpoint(@Param("date") LocalDate date, @Param("ids") Collection<UUID> accountIds);
+}
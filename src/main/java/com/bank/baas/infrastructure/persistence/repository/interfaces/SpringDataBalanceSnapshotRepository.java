@@ -0,0 +1,13 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.infrastructure.persistence.entity.BalanceSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataBalanceSnapshotRepository extends JpaRepository<BalanceSnapshotEntity, Long> {
+    Optional<BalanceSnapshotEntity> findFirstByAccountIdOrderByLastEntryIdDesc(UUID accountId);
+}
@@ -0,0 +1,9 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.infrastructure.persistence.entity.DataMigrationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SpringDataDataMigrationRepository extends JpaRepository<DataMigrationEntity, String> {
+}
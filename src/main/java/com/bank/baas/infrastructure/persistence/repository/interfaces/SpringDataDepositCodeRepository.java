@@ -2,9 +2,16 @@ package com.bank.baas.infrastructure.persistence.repository.interfaces;
 
 import com.bank.baas.infrastructure.persistence.entity.DepositCodeEntity;
 import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +23,25 @@ public interface SpringDataDepositCodeRepository extends JpaRepository<DepositCo
     List<DepositCodeEntity> findByGeneratorAndUsed(UserEntity generator, boolean used);
     List<DepositCodeEntity> findByUsedBy(UserEntity usedBy);
     boolean existsByCode(String code);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying
+    @Query("update DepositCodeEntity d set d.used = true, d.usedBy = :usedBy, d.usedAt = :usedAt " +
+            "where d.code = :code and d.used = false and (d.expiresAt is null or d.expiresAt > :usedAt)")
+    int claim(@Param("code") String code, @Param("usedBy") UserEntity usedBy, @Param("usedAt") LocalDateTime usedAt);
+
+    @Query("select d.id from DepositCodeEntity d where d.used = false and d.expiresAt < :before order by d.expiresAt")
+    List<UUID> findExpiredUnusedIds(@Param("before") LocalDateTime before, Limit limit);
+
+    @Query("select d.id from DepositCodeEntity d where d.used = true and d.usedAt < :before order by d.usedAt")
+    List<UUID> findUsedIdsBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // The conditions are repeated so a row claimed or changed after the id lookup is left alone.
+    @Modifying
+    @Query("delete from DepositCodeEntity d where d.id in :ids and d.used = false and d.expiresAt < :before")
+    int deleteExpiredUnused(@Param("ids") Collection<UUID> ids, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from DepositCodeEntity d where d.id in :ids and d.used = true and d.usedAt < :before")
+    int deleteUsedBefore(@Param("ids") Collection<UUID> ids, @Param("before") LocalDateTime before);
+}
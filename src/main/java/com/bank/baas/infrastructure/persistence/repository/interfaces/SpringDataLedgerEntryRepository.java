@@ -0,0 +1,31 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.infrastructure.persistence.entity.LedgerEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataLedgerEntryRepository extends JpaRepository<LedgerEntryEntity, Long> {
+
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntryEntity e where e.accountId = :accountId and e.id > :afterId")
+    BigDecimal sumAfter(@Param("accountId") UUID accountId, @Param("afterId") long afterId);
+
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntryEntity e " +
+            "where e.accountId = :accountId and e.id > :afterId and e.id <= :upToId")
+    BigDecimal sumBetween(@Param("accountId") UUID accountId, @Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @Query("select coalesce(max(e.id), 0) from LedgerEntryEntity e where e.createdAt < :createdBefore")
+    long findMaxIdCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+
+    @Query("select e.accountId from LedgerEntryEntity e where e.id <= :upToId and e.id > coalesce(" +
+            "(select max(s.lastEntryId) from BalanceSnapshotEntity s where s.accountId = e.accountId), 0) " +
+            "group by e.accountId having count(e) >= :minEntries")
+    List<UUID> findAccountsWithEntriesSinceSnapshot(@Param("upToId") long upToId, @Param("minEntries") long minEntries);
+}
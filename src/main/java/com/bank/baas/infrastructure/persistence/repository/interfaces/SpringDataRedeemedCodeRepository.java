@@ -0,0 +1,25 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.infrastructure.persistence.entity.RedeemedCodeEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataRedeemedCodeRepository extends JpaRepository<RedeemedCodeEntity, UUID> {
+
+    @Query("select r.nonce from RedeemedCodeEntity r where r.expiresAt < :before order by r.expiresAt")
+    List<UUID> findExpiredNonces(@Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("delete from RedeemedCodeEntity r where r.nonce in :nonces and r.expiresAt < :before")
+    int deleteExpired(@Param("nonces") Collection<UUID> nonces, @Param("before") LocalDateTime before);
+}
@@ -3,10 +3,17 @@ package com.bank.baas.infrastructure.persistence.repository.interfaces;
 import com.bank.baas.domain.enums.TransactionStatus;
 import com.bank.baas.infrastructure.persistence.entity.TransactionEntity;
 import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -15,4 +22,16 @@ public interface SpringDataTransactionRepository extends JpaRepository<Transacti
     List<TransactionEntity> findByReceiver(UserEntity receiver);
     List<TransactionEntity> findBySenderOrReceiver(UserEntity sender, UserEntity receiver);
     List<TransactionEntity> findByStatus(TransactionStatus status);
+    Optional<TransactionEntity> findBySenderIdAndIdempotencyKey(UUID senderId, String idempotencyKey);
+    List<TransactionEntity> findByStatusAndCreatedAtBeforeOrderByCreatedAtAsc(TransactionStatus status, LocalDateTime createdAt,
+                                                                               Limit limit);
+
+    @Query("select coalesce(max(t.ledgerSequence), 0) from TransactionEntity t")
+    long findMaxLedgerSequence();
+
+    @Transactional
+    @Modifying
+    @Query("update TransactionEntity t set t.status = :status, t.updatedAt = :now " +
+            "where t.id = :id and t.status = com.bank.baas.domain.enums.TransactionStatus.PENDING")
+    int updateStatusIfPending(@Param("id") UUID id, @Param("status") TransactionStatus status, @Param("now") LocalDateTime now);
 }
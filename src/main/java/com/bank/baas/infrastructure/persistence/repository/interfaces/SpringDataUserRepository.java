@@ -1,9 +1,15 @@
 package com.bank.baas.infrastructure.persistence.repository.interfaces;
 
+import com.bank.baas.domain.model.TransferParticipant;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlots;
 import com.bank.baas.infrastructure.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +19,15 @@ public interface SpringDataUserRepository extends JpaRepository<UserEntity, UUID
     Optional<UserEntity> findByCpf(String cpf);
     boolean existsByEmail(String email);
     boolean existsByCpf(String cpf);
+
+    // One row per user straight from the idx_users_email / idx_users_cpf lookups, with no roles or entity graph.
+    @Query("select new com.bank.baas.domain.model.TransferParticipant(u.id, u.email, u.cpf, a.id, a.password, " +
+            "a.balance + " + AccountBalanceSlots.SLOT_BALANCE_OF_A + ") " +
+            "from UserEntity u left join u.accountEntity a where u.email in :emails")
+    List<TransferParticipant> findTransferParticipantsByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.bank.baas.domain.model.TransferParticipant(u.id, u.email, u.cpf, a.id, a.password, " +
+            "a.balance + " + AccountBalanceSlots.SLOT_BALANCE_OF_A + ") " +
+            "from UserEntity u left join u.accountEntity a where u.cpf in :cpfs")
+    List<TransferParticipant> findTransferParticipantsByCpfIn(@Param("cpfs") Collection<String> cpfs);
 }
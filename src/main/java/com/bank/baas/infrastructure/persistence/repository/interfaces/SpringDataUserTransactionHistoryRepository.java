@@ -0,0 +1,95 @@
+package com.bank.baas.infrastructure.persistence.repository.interfaces;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.infrastructure.persistence.entity.UserTransactionHistoryEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserTransactionHistoryKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataUserTransactionHistoryRepository
+        extends JpaRepository<UserTransactionHistoryEntity, UserTransactionHistoryKey> {
+
+    @Query("select h from UserTransactionHistoryEntity h where h.participantId = :userId " +
+            "order by h.postedAt desc, h.transactionId desc")
+    List<UserTransactionHistoryEntity> findLatest(@Param("userId") UUID userId, Limit limit);
+
+    // The postedAt <= bound keeps the seek a plain range scan on the primary key.
+    @Query("select h from UserTransactionHistoryEntity h where h.participantId = :userId and h.postedAt <= :createdAt " +
+            "and (h.postedAt < :createdAt or h.transactionId < :id) order by h.postedAt desc, h.transactionId desc")
+    List<UserTransactionHistoryEntity> findBefore(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") UUID id, Limit limit);
+
+    @Query("select coalesce(sum(h.amount), 0) from UserTransactionHistoryEntity h where h.participantId = :userId " +
+            "and h.status = com.bank.baas.domain.enums.TransactionStatus.SUCCESS " +
+            "and h.postedAt >= :from and h.postedAt < :to")
+    BigDecimal sumSettledBetween(@Param("userId") UUID userId, @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to);
+
+    @Query("select coalesce(sum(h.amount), 0) from UserTransactionHistoryEntity h where h.participantId = :userId " +
+            "and h.status = com.bank.baas.domain.enums.TransactionStatus.SUCCESS and h.postedAt >= :from")
+    BigDecimal sumSettledSince(@Param("userId") UUID userId, @Param("from") LocalDateTime from);
+
+    @Query("select h.participantId, sum(h.amount) from UserTransactionHistoryEntity h " +
+            "where h.participantId in :userIds and h.status = com.bank.baas.domain.enums.TransactionStatus.SUCCESS " +
+            "and h.postedAt >= :from group by h.participantId")
+    List<Object[]> sumSettledSinceByParticipant(@Param("userIds") Collection<UUID> userIds,
+                                                @Param("from") LocalDateTime from);
+
+    /**
+     * Copies the given transactions into the read model, one row per participant. Counterparty emails are read from
+     * {@code users} here, so callers holding only user ids still produce complete rows. A transfer to oneself is a
+     * single row with a zero net amount.
+     */
+    @Modifying
+    @Query(value = "insert into user_transaction_history " +
+            "(user_id, created_at, transaction_id, counterparty_id, counterparty_email, amount, status, updated_at) " +
+            "select t.sender_id, t.created_at, t.id, t.receiver_id, r.email, " +
+            "case when t.sender_id = t.receiver_id then 0 else -t.amount end, t.status, t.updated_at " +
+            "from transactions t join users r on r.id = t.receiver_id where t.id in (:ids) " +
+            "union all " +
+            "select t.receiver_id, t.created_at, t.id, t.sender_id, s.email, t.amount, t.status, t.updated_at " +
+            "from transactions t join users s on s.id = t.sender_id where t.id in (:ids) and t.receiver_id <> t.sender_id",
+            nativeQuery = true)
+    int copyFromTransactions(@Param("ids") Collection<UUID> transactionIds);
+
+    @Query("select t.id from TransactionEntity t where not exists " +
+            "(select 1 from UserTransactionHistoryEntity h where h.transactionId = t.id) order by t.id")
+    List<UUID> findTransactionIdsWithoutHistory(Limit limit);
+
+    @Query("select t.id from TransactionEntity t where t.id > :after and not exists " +
+            "(select 1 from UserTransactionHistoryEntity h where h.transactionId = t.id) order by t.id")
+    List<UUID> findTransactionIdsWithoutHistoryAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Same rows as {@link #copyFromTransactions}, skipping participants that already have theirs, so it can be re-run.
+     */
+    @Modifying
+    @Query(value = "insert into user_transaction_history " +
+            "(user_id, created_at, transaction_id, counterparty_id, counterparty_email, amount, status, updated_at) " +
+            "select t.sender_id, t.created_at, t.id, t.receiver_id, r.email, " +
+            "case when t.sender_id = t.receiver_id then 0 else -t.amount end, t.status, t.updated_at " +
+            "from transactions t join users r on r.id = t.receiver_id where t.id in (:ids) and not exists " +
+            "(select 1 from user_transaction_history h where h.transaction_id = t.id and h.user_id = t.sender_id) " +
+            "union all " +
+            "select t.receiver_id, t.created_at, t.id, t.sender_id, s.email, t.amount, t.status, t.updated_at " +
+            "from transactions t join users s on s.id = t.sender_id where t.id in (:ids) and t.receiver_id <> t.sender_id " +
+            "and not exists (select 1 from user_transaction_history h where h.transaction_id = t.id and h.user_id = t.receiver_id)",
+            nativeQuery = true)
+    int copyMissingTransactions(@Param("ids") Collection<UUID> transactionIds);
+
+    @Modifying
+    @Query("update UserTransactionHistoryEntity h set h.status = :status, h.updatedAt = :now where h.transactionId = :id")
+    int updateStatus(@Param("id") UUID transactionId, @Param("status") TransactionStatus status,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,56 @@
+package com.bank.baas.infrastructure.persistence.role;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registry of the bits behind the {@code users.roles} column. A role's bit is its position in {@link #ROLES}, so the
+ * list is append-only: reordering or removing an entry would change the meaning of every stored mask.
+ */
+public final class RoleBits {
+
+    static final List<String> ROLES = List.of(
+            "ROLE_USER",
+            "ROLE_SUPPORT",
+            "ROLE_ADMIN"
+    );
+
+    private RoleBits() {
+    }
+
+    public static List<String> registeredRoles() {
+        return ROLES;
+    }
+
+    public static int bitOf(String role) {
+        int position = ROLES.indexOf(role);
+        if (position < 0) {
+            throw new IllegalArgumentException("Role has no registered bit: " + role);
+        }
+        return 1 << position;
+    }
+
+    public static int encode(Collection<String> roles) {
+        if (roles == null) {
+            return 0;
+        }
+        if (roles instanceof RoleSet roleSet) {
+            return roleSet.mask();
+        }
+
+        int mask = 0;
+        for (String role : roles) {
+            mask |= bitOf(role);
+        }
+        return mask;
+    }
+
+    /**
+     * A mutable set over a copy of the mask. Nothing is decoded until the roles are iterated; membership checks are a
+     * bit test.
+     */
+    public static Set<String> decode(int mask) {
+        return new RoleSet(mask);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.baas.infrastructure.persistence.role;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+final class RoleSet extends AbstractSet<String> {
+
+    private int mask;
+
+    RoleSet(int mask) {
+        this.mask = mask;
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String role)) {
+            return false;
+        }
+        int position = RoleBits.ROLES.indexOf(role);
+        return position >= 0 && (mask & (1 << position)) != 0;
+    }
+
+    @Override
+    public boolean add(String role) {
+        int bit = RoleBits.bitOf(role);
+        boolean added = (mask & bit) == 0;
+        mask |= bit;
+        return added;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        mask &= ~RoleBits.bitOf((String) o);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        mask = 0;
+    }
+
+    @Override
+    public int size() {
+        return Integer.bitCount(mask);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int remaining = mask;
+            private int expected = mask;
+            private int last;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public String next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                if (mask != expected) {
+                    throw new ConcurrentModificationException();
+                }
+                last = Integer.lowestOneBit(remaining);
+                remaining &= ~last;
+                return RoleBits.ROLES.get(Integer.numberOfTrailingZeros(last));
+            }
+
+            @Override
+            public void remove() {
+                if (last == 0) {
+                    throw new IllegalStateException();
+                }
+                mask &= ~last;
+                expected = mask;
+                last = 0;
+            }
+        };
+    }
+}
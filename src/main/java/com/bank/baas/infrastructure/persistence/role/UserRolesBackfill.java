@@ -0,0 +1,112 @@
+package com.bank.baas.infrastructure.persistence.role;
+
+import com.bank.baas.infrastructure.persistence.migration.DataMigrations;
+import com.bank.baas.utils.log.SimpleLogger;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Moves roles from the old {@code user_roles} collection table into the {@code users.roles} bitmask. Only users whose
+ * mask is still 0 are touched: every account created since the column exists has at least ROLE_USER, so a non-zero
+ * mask is never overwritten. It runs once every bean is created and before the web server starts, so no request is
+ * authorized against a legacy user's empty mask. Completion is recorded in {@code data_migrations} and later starts
+ * skip both the schema lookup and the update. {@code user_roles} is left in place and can be dropped once the
+ * migration has run.
+ */
+@Component
+public class UserRolesBackfill implements SmartInitializingSingleton {
+
+    static final String MIGRATION = "users_roles_bitmask_backfill";
+    private static final String LEGACY_TABLE = "user_roles";
+
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private final DataMigrations dataMigrations;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserRolesBackfill(
+            EntityManager entityManager,
+            DataSource dataSource,
+            DataMigrations dataMigrations,
+            TransactionTemplate transactionTemplate) {
+        this.entityManager = entityManager;
+        this.dataSource = dataSource;
+        this.dataMigrations = dataMigrations;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    public void backfill() {
+        if (dataMigrations.isCompleted(MIGRATION)) {
+            return;
+        }
+        if (!legacyTableExists()) {
+            dataMigrations.markCompleted(MIGRATION);
+            return;
+        }
+
+        Integer rows = transactionTemplate.execute(status -> entityManager.createNativeQuery(updateStatement())
+                .executeUpdate());
+
+        Number unregistered = (Number) entityManager.createNativeQuery(
+                        "select count(*) from user_roles where role not in (:roles)")
+                .setParameter("roles", RoleBits.registeredRoles())
+                .getSingleResult();
+        if (unregistered.longValue() > 0) {
+            SimpleLogger.warn(UserRolesBackfill.class,
+                    unregistered + " user_roles rows hold roles without a registered bit and were not migrated");
+        }
+
+        SimpleLogger.info(UserRolesBackfill.class, "Backfilled roles bitmask for " + rows + " users");
+        dataMigrations.markCompleted(MIGRATION);
+    }
+
+    /**
+     * (user_id, role) is the collection table's primary key, so summing each role's bit over a user's rows equals
+     * OR-ing them, without bitwise operators that differ between databases.
+     */
+    static String updateStatement() {
+        StringBuilder bits = new StringBuilder("case r.role");
+        List<String> roles = RoleBits.registeredRoles();
+        for (String role : roles) {
+            bits.append(" when '").append(role).append("' then ").append(RoleBits.bitOf(role));
+        }
+        bits.append(" else 0 end");
+
+        return "update users set roles = (select coalesce(sum(" + bits + "), 0) from user_roles r " +
+                "where r.user_id = users.id) where roles = 0";
+    }
+
+    private boolean legacyTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Identifier case in the catalog differs by database (lower on MySQL, upper on H2).
+            for (String name : List.of(LEGACY_TABLE, LEGACY_TABLE.toUpperCase())) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not inspect schema for " + LEGACY_TABLE, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.baas.infrastructure.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -30,6 +31,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                    // Streamed responses finish on an async dispatch; the request was already authorized and the
+                    // stateless JWT context is not carried over to it.
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/register").permitAll().
                     requestMatchers("/swagger-ui.html").permitAll()
@@ -1,36 +1,55 @@
 package com.bank.baas.presentation.controller;
 
+import com.bank.baas.presentation.dto.BalanceAsOfResponse;
 import com.bank.baas.presentation.dto.CreateAccountRequest;
 import com.bank.baas.presentation.dto.UpdateAccountRequest;
 import com.bank.baas.application.usecase.CreateAccountUseCase;
+import com.bank.baas.application.usecase.GetBalanceAsOfUseCase;
 import com.bank.baas.application.usecase.UpdateAccountUseCase;
+import com.bank.baas.application.usecase.UpdateBalanceSlotsUseCase;
 import com.bank.baas.domain.model.Account;
 import com.bank.baas.utils.log.SimpleLogger;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/accounts")
 @Tag(name = "Account", description = "Account management API")
 public class AccountController {
 
+    private static final String SUPPORT_AUTHORITY = "ROLE_SUPPORT";
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
     private final CreateAccountUseCase createAccountUseCase;
     private final UpdateAccountUseCase updateAccountUseCase;
+    private final GetBalanceAsOfUseCase getBalanceAsOfUseCase;
+    private final UpdateBalanceSlotsUseCase updateBalanceSlotsUseCase;
 
     @Autowired
     public AccountController(
             CreateAccountUseCase createAccountUseCase,
-            UpdateAccountUseCase updateAccountUseCase) {
+            UpdateAccountUseCase updateAccountUseCase,
+            GetBalanceAsOfUseCase getBalanceAsOfUseCase,
+            UpdateBalanceSlotsUseCase updateBalanceSlotsUseCase) {
         this.createAccountUseCase = createAccountUseCase;
         this.updateAccountUseCase = updateAccountUseCase;
+        this.getBalanceAsOfUseCase = getBalanceAsOfUseCase;
+        this.updateBalanceSlotsUseCase = updateBalanceSlotsUseCase;
     }
 
     @PostMapping
@@ -108,6 +127,55 @@ public class AccountController {
         }
     }
 
+    @GetMapping("/{accountId}/balance")
+    @Operation(summary = "Get balance at a point in time",
+               description = "Returns the balance of the account at the given instant, counting every transaction " +
+                       "created before it. Only the account owner or support staff may query it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Balance at the requested instant",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BalanceAsOfResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Account not found, not owned by the caller or asOf in the future")
+    })
+    public ResponseEntity<BalanceAsOfResponse> getBalanceAsOf(
+            Authentication authentication,
+            @PathVariable UUID accountId,
+            @Parameter(description = "ISO-8601 date-time; defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        SimpleLogger.info(AccountController.class, "Received point-in-time balance request for account: " + accountId);
+
+        LocalDateTime instant = asOf == null ? LocalDateTime.now() : asOf;
+        boolean privileged = authentication.getAuthorities().stream()
+                .anyMatch(authority -> SUPPORT_AUTHORITY.equals(authority.getAuthority()));
+
+        BigDecimal balance = getBalanceAsOfUseCase.execute(authentication.getName(), privileged, accountId, instant);
+
+        return ResponseEntity.ok(new BalanceAsOfResponse(accountId, instant, balance));
+    }
+
+    @PutMapping("/{accountId}/balance-slots")
+    @Operation(summary = "Set the balance slots of an account",
+               description = "Spreads the credits of a hot account over the given number of slots; 0 removes the " +
+                       "flag. Money held in the slots is moved into the account first. Administrators only")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Balance slots updated"),
+        @ApiResponse(responseCode = "400",
+                description = "Account not found, negative slots or caller not an administrator")
+    })
+    public ResponseEntity<Void> updateBalanceSlots(
+            Authentication authentication,
+            @PathVariable UUID accountId,
+            @RequestParam int slots) {
+        SimpleLogger.info(AccountController.class, "Received balance slots update request for account: " + accountId);
+
+        boolean privileged = authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+
+        updateBalanceSlotsUseCase.execute(privileged, accountId, slots);
+
+        return ResponseEntity.noContent().build();
+    }
+
     public static class AccountResponse {
         private final java.util.UUID id;
         private final String number;
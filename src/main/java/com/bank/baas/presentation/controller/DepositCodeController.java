@@ -0,0 +1,84 @@
+package com.bank.baas.presentation.controller;
+
+import com.bank.baas.application.usecase.BulkGenerateDepositCodesUseCase;
+import com.bank.baas.application.usecase.RedeemDepositCodeUseCase;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.infrastructure.persistence.mapper.TransactionMapper;
+import com.bank.baas.presentation.dto.BulkGenerateDepositCodeRequest;
+import com.bank.baas.presentation.dto.TransactionDTO;
+import com.bank.baas.utils.log.SimpleLogger;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/deposit-codes")
+@Tag(name = "Deposit Code", description = "Deposit code API")
+public class DepositCodeController {
+
+    private final RedeemDepositCodeUseCase redeemDepositCodeUseCase;
+    private final BulkGenerateDepositCodesUseCase bulkGenerateDepositCodesUseCase;
+    private final TransactionMapper transactionMapper;
+
+    @Autowired
+    public DepositCodeController(
+            RedeemDepositCodeUseCase redeemDepositCodeUseCase,
+            BulkGenerateDepositCodesUseCase bulkGenerateDepositCodesUseCase,
+            TransactionMapper transactionMapper) {
+        this.redeemDepositCodeUseCase = redeemDepositCodeUseCase;
+        this.bulkGenerateDepositCodesUseCase = bulkGenerateDepositCodesUseCase;
+        this.transactionMapper = transactionMapper;
+    }
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Generate deposit codes in bulk",
+               description = "Generates count codes of the same amount for the authenticated user and streams them " +
+                       "as NDJSON, one {code, amount, expiresAt} object per line. Lines are written as each chunk " +
+                       "is committed, so a response cut short still lists only usable codes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Code stream"),
+        @ApiResponse(responseCode = "400", description = "Invalid amount or count, or invalid password")
+    })
+    public ResponseEntity<StreamingResponseBody> generateBulk(Authentication authentication,
+                                                              @RequestBody BulkGenerateDepositCodeRequest request) {
+        SimpleLogger.info(DepositCodeController.class, "Received bulk deposit code request: " + request);
+
+        // Resolved before streaming starts, so a rejected request still gets a proper error response.
+        User user = bulkGenerateDepositCodesUseCase.authorize(authentication.getName(), request);
+
+        StreamingResponseBody body = output -> bulkGenerateDepositCodesUseCase.execute(user, request, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping("/{code}/redeem")
+    @Operation(summary = "Redeem a deposit code",
+               description = "Moves the code's amount from the account of the user who generated it to the " +
+                       "authenticated user's account. A code can be redeemed only once")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Code redeemed",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = TransactionDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Code not found, already used, own code or insufficient funds")
+    })
+    public ResponseEntity<TransactionDTO> redeem(Authentication authentication, @PathVariable String code) {
+        SimpleLogger.info(DepositCodeController.class, "Received deposit code redemption request");
+
+        Transaction transaction = redeemDepositCodeUseCase.execute(authentication.getName(), code);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(transactionMapper.toDTO(transaction));
+    }
+}
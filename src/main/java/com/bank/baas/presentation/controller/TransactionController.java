@@ -1,21 +1,47 @@
 package com.bank.baas.presentation.controller;
 
+import com.bank.baas.application.usecase.BatchTransferUseCase;
+import com.bank.baas.application.usecase.ExportStatementUseCase;
+import com.bank.baas.application.usecase.GetTransactionHistoryUseCase;
+import com.bank.baas.application.usecase.GetTransactionUseCase;
+import com.bank.baas.domain.enums.StatementFormat;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferExecutionMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.TransactionPage;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.presentation.dto.BatchTransferRequest;
+import com.bank.baas.presentation.dto.BatchTransferResponse;
 import com.bank.baas.presentation.dto.UserTransactionRequest;
 import com.bank.baas.application.usecase.UserTransactionUseCase;
 import com.bank.baas.domain.model.Transaction;
 import com.bank.baas.presentation.dto.TransactionDTO;
+import com.bank.baas.presentation.dto.TransactionHistoryItemDTO;
+import com.bank.baas.presentation.dto.TransactionPageResponse;
 import com.bank.baas.utils.log.SimpleLogger;
 import com.bank.baas.infrastructure.persistence.mapper.TransactionMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -23,34 +49,70 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionController {
 
     private final UserTransactionUseCase userTransactionUseCase;
+    private final BatchTransferUseCase batchTransferUseCase;
+    private final GetTransactionUseCase getTransactionUseCase;
+    private final GetTransactionHistoryUseCase getTransactionHistoryUseCase;
+    private final ExportStatementUseCase exportStatementUseCase;
     private final TransactionMapper transactionMapper;
+    private final TransferExecutionMode executionMode;
 
     @Autowired
     public TransactionController(
             UserTransactionUseCase userTransactionUseCase,
-            TransactionMapper transactionMapper) {
+            BatchTransferUseCase batchTransferUseCase,
+            GetTransactionUseCase getTransactionUseCase,
+            GetTransactionHistoryUseCase getTransactionHistoryUseCase,
+            ExportStatementUseCase exportStatementUseCase,
+            TransactionMapper transactionMapper,
+            @Value("${baas.transfer.execution-mode:SYNC}") TransferExecutionMode executionMode) {
         this.userTransactionUseCase = userTransactionUseCase;
+        this.batchTransferUseCase = batchTransferUseCase;
+        this.getTransactionUseCase = getTransactionUseCase;
+        this.getTransactionHistoryUseCase = getTransactionHistoryUseCase;
+        this.exportStatementUseCase = exportStatementUseCase;
         this.transactionMapper = transactionMapper;
+        this.executionMode = executionMode;
     }
 
     @PostMapping("/user-to-user")
     @Operation(summary = "Create user-to-user transaction", 
-               description = "Creates a transaction between two users")
+               description = "Creates a transaction between two users. In asynchronous mode the transaction is " +
+                       "accepted as PENDING and settled in the background")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Transaction created successfully",
                 content = @Content(mediaType = "application/json", 
                 schema = @Schema(implementation = TransactionDTO.class))),
+        @ApiResponse(responseCode = "202", description = "Transaction accepted for asynchronous settlement",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = TransactionDTO.class))),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "409", description = "Idempotency key already used for a different transfer"),
         @ApiResponse(responseCode = "422", description = "Insufficient funds"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<TransactionDTO> createUserToUserTransaction(
-            @RequestBody UserTransactionRequest request) {
+            @RequestBody UserTransactionRequest request,
+            @Parameter(description = "Client-generated key; retries with the same key return the original transaction")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         SimpleLogger.info(TransactionController.class, "Received user-to-user transaction request");
 
         try {
-            Transaction transaction = userTransactionUseCase.execute(request);
+            Transaction transaction = executionMode == TransferExecutionMode.ASYNC
+                    ? userTransactionUseCase.submit(request, idempotencyKey)
+                    : userTransactionUseCase.execute(request, idempotencyKey);
+
+            // Only a transfer still waiting for the settlement workers is accepted; modes that settle on submit,
+            // and replays of settled transfers, answer as created.
+            if (transaction.getStatus() == TransactionStatus.PENDING) {
+                SimpleLogger.info(TransactionController.class,
+                        "User-to-user transaction accepted: " + transaction.getId());
+
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/transactions/" + transaction.getId()))
+                        .body(transactionMapper.toDTO(transaction));
+            }
+
             TransactionDTO transactionDTO = transactionMapper.toDTO(transaction);
 
             SimpleLogger.info(TransactionController.class, 
@@ -64,4 +126,132 @@ public class TransactionController {
             throw e;
         }
     }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create batch of transactions",
+               description = "Executes a batch of user-to-user transactions and reports the outcome of each item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = BatchTransferResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BatchTransferResponse> createBatchTransaction(
+            @RequestBody BatchTransferRequest request) {
+        SimpleLogger.info(TransactionController.class, "Received batch transaction request");
+
+        try {
+            BatchTransferResponse response = batchTransferUseCase.execute(request);
+
+            SimpleLogger.info(TransactionController.class,
+                    "Batch transaction processed: " + response.succeeded() + "/" + response.total() + " succeeded");
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            SimpleLogger.error(TransactionController.class,
+                    "Error processing batch transaction: " + e.getMessage(), e);
+
+            throw e;
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "List transaction history",
+               description = "Returns the transactions sent or received by the authenticated user, newest first, with " +
+                       "the counterparty and the amount signed from the user's side (negative when paid). " +
+                       "Pass the returned nextCursor to get the following page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of transactions",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = TransactionPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    public ResponseEntity<TransactionPageResponse> listTransactions(
+            Authentication authentication,
+            @Parameter(description = "Opaque cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size")
+            @RequestParam(required = false) Integer limit) {
+        SimpleLogger.info(TransactionController.class, "Received transaction history request");
+
+        TransactionPage page = getTransactionHistoryUseCase.execute(authentication.getName(), cursor, limit);
+
+        return ResponseEntity.ok(new TransactionPageResponse(
+                page.items().stream()
+                        .map(entry -> new TransactionHistoryItemDTO(entry.transactionId(), entry.counterpartyId(),
+                                entry.counterpartyEmail(), entry.amount(), entry.status(), entry.createdAt()))
+                        .toList(),
+                page.nextCursor() == null ? null : page.nextCursor().encode()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export statement",
+               description = "Streams every transaction sent or received by the authenticated user, oldest first, " +
+                       "as CSV or NDJSON. The body is gzip-compressed when the client sends Accept-Encoding: gzip")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statement stream"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            Authentication authentication,
+            @Parameter(description = "csv or ndjson")
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        SimpleLogger.info(TransactionController.class, "Received statement export request");
+
+        StatementFormat statementFormat = parseStatementFormat(format);
+        // Resolved before streaming starts, so an unknown user still gets a proper error response.
+        User user = exportStatementUseCase.findUser(authentication.getName());
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(output, 64 * 1024)) {
+                    exportStatementUseCase.execute(user, statementFormat, compressed);
+                }
+            } else {
+                exportStatementUseCase.execute(user, statementFormat, output);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(statementFormat == StatementFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement." +
+                        statementFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+
+    private static StatementFormat parseStatementFormat(String format) {
+        try {
+            return StatementFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            SimpleLogger.error(TransactionController.class, "Unsupported statement format: " + format);
+            throw new AuthorizationException("Unsupported statement format: " + format);
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get transaction",
+               description = "Returns a transaction sent or received by the authenticated user and its current status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transaction found",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = TransactionDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Transaction not found")
+    })
+    public ResponseEntity<TransactionDTO> getTransaction(Authentication authentication, @PathVariable UUID id) {
+        SimpleLogger.info(TransactionController.class, "Received transaction status request: " + id);
+
+        return getTransactionUseCase.execute(id, authentication.getName())
+                .map(transactionMapper::toDTO)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
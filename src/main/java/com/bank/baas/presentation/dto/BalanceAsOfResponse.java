@@ -0,0 +1,12 @@
+package com.bank.baas.presentation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BalanceAsOfResponse(
+        UUID accountId,
+        LocalDateTime asOf,
+        BigDecimal balance
+) {
+}
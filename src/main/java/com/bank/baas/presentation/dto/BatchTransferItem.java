@@ -0,0 +1,20 @@
+package com.bank.baas.presentation.dto;
+
+import java.math.BigDecimal;
+
+public record BatchTransferItem(
+        String senderIdentifier,
+        String receiverIdentifier,
+        BigDecimal amount,
+        String password
+) {
+    @Override
+    public String toString() {
+        return "BatchTransferItem{" +
+                "senderIdentifier='" + senderIdentifier + '\'' +
+                ", receiverIdentifier='" + receiverIdentifier + '\'' +
+                ", amount=" + amount +
+                ", password='[PROTECTED]'" +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.baas.presentation.dto;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+
+import java.util.UUID;
+
+public record BatchTransferItemResult(
+        int index,
+        UUID transactionId,
+        TransactionStatus status,
+        String message
+) {
+    public static BatchTransferItemResult success(int index, UUID transactionId) {
+        return new BatchTransferItemResult(index, transactionId, TransactionStatus.SUCCESS, null);
+    }
+
+    public static BatchTransferItemResult failed(int index, String message) {
+        return new BatchTransferItemResult(index, null, TransactionStatus.FAILED, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.baas.presentation.dto;
+
+import java.util.List;
+
+public record BatchTransferResponse(
+        int total,
+        int succeeded,
+        int failed,
+        List<BatchTransferItemResult> results
+) {
+}
@@ -0,0 +1,18 @@
+package com.bank.baas.presentation.dto;
+
+import java.math.BigDecimal;
+
+public record BulkGenerateDepositCodeRequest(
+    String password,
+    BigDecimal amount,
+    int count
+) {
+    @Override
+    public String toString() {
+        return "BulkGenerateDepositCodeRequest{" +
+                "password='[PROTECTED]'" +
+                ", amount=" + amount +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.baas.presentation.dto;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransactionHistoryItemDTO(
+        UUID transactionId,
+        UUID counterpartyId,
+        String counterpartyEmail,
+        BigDecimal amount,
+        TransactionStatus status,
+        LocalDateTime createdAt
+) {
+}
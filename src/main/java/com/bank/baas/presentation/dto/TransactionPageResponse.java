@@ -0,0 +1,9 @@
+package com.bank.baas.presentation.dto;
+
+import java.util.List;
+
+public record TransactionPageResponse(
+        List<TransactionHistoryItemDTO> items,
+        String nextCursor
+) {
+}
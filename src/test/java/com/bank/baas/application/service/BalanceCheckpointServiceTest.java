@@ -0,0 +1,185 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.BalanceCheckpoint;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.BalanceCheckpointRepository;
+import com.bank.baas.domain.repository.TransactionHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCheckpointServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+    private static final LocalDateTime CLOSED_AT = DAY.plusDays(1).atStartOfDay();
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionHistoryRepository historyRepository;
+
+    @Mock
+    private LedgerBalanceService ledgerBalanceService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BalanceCheckpointService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BalanceCheckpointService(accountRepository, checkpointRepository, historyRepository,
+                ledgerBalanceService, transactionTemplate, TransferConcurrencyMode.PESSIMISTIC, 2);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void checkpoint_ShouldSubtractTransactionsSinceCloseFromCurrentBalance() {
+        // Arrange
+        Account account = account("150.00", DAY.atTime(9, 0));
+        when(accountRepository.findAllAfter(null, 2)).thenReturn(List.of(account));
+        when(accountRepository.findAllAfter(account.getId(), 2)).thenReturn(List.of());
+        when(checkpointRepository.findAccountIdsWithCheckpoint(eq(DAY), anyCollection())).thenReturn(Set.of());
+        when(historyRepository.sumSettledAmountsSince(List.of(account.getUser().getId()), CLOSED_AT))
+                .thenReturn(Map.of(account.getUser().getId(), new BigDecimal("50.00")));
+
+        // Act
+        int written = service.checkpoint(DAY);
+
+        // Assert
+        assertEquals(1, written);
+        verify(checkpointRepository).saveAll(List.of(new BalanceCheckpoint(account.getId(), DAY, new BigDecimal("100.00"))));
+    }
+
+    @Test
+    void checkpoint_ShouldWalkAccountsInChunksAndSkipExistingAndNewerAccounts() {
+        // Arrange
+        Account first = account("10.00", DAY.atTime(8, 0));
+        Account alreadyDone = account("20.00", DAY.atTime(8, 0));
+        Account openedLater = account("30.00", CLOSED_AT.plusHours(1));
+        when(accountRepository.findAllAfter(null, 2)).thenReturn(List.of(first, alreadyDone));
+        when(accountRepository.findAllAfter(alreadyDone.getId(), 2)).thenReturn(List.of(openedLater));
+        when(accountRepository.findAllAfter(openedLater.getId(), 2)).thenReturn(List.of());
+        when(checkpointRepository.findAccountIdsWithCheckpoint(eq(DAY), anyCollection()))
+                .thenReturn(Set.of(alreadyDone.getId()))
+                .thenReturn(Set.of());
+        when(historyRepository.sumSettledAmountsSince(anyCollection(), eq(CLOSED_AT))).thenReturn(Map.of());
+
+        // Act
+        int written = service.checkpoint(DAY);
+
+        // Assert
+        assertEquals(1, written);
+        verify(transactionTemplate, times(3)).execute(any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BalanceCheckpoint>> captor = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository, times(2)).saveAll(captor.capture());
+        assertEquals(List.of(new BalanceCheckpoint(first.getId(), DAY, new BigDecimal("10.00"))), captor.getAllValues().get(0));
+        assertTrue(captor.getAllValues().get(1).isEmpty());
+    }
+
+    @Test
+    void balanceAsOf_ShouldAddTransactionsAfterLatestCheckpoint() {
+        // Arrange
+        Account account = account("999.00", DAY.minusDays(30).atStartOfDay());
+        LocalDateTime asOf = DAY.plusDays(3).atTime(15, 30);
+        BalanceCheckpoint checkpoint = new BalanceCheckpoint(account.getId(), DAY, new BigDecimal("200.00"));
+        when(checkpointRepository.findLatestOnOrBefore(account.getId(), asOf.toLocalDate().minusDays(1)))
+                .thenReturn(Optional.of(checkpoint));
+        when(historyRepository.sumSettledAmount(account.getUser().getId(), CLOSED_AT, asOf))
+                .thenReturn(new BigDecimal("-25.00"));
+
+        // Act
+        BigDecimal balance = service.balanceAsOf(account, asOf);
+
+        // Assert
+        assertEquals(new BigDecimal("175.00"), balance);
+        verify(ledgerBalanceService, never()).balanceOf(any());
+    }
+
+    @Test
+    void balanceAsOf_ShouldWalkBackFromCurrentBalanceWithoutCheckpoint() {
+        // Arrange
+        Account account = account("80.00", DAY.atStartOfDay());
+        LocalDateTime asOf = DAY.atTime(12, 0);
+        when(checkpointRepository.findLatestOnOrBefore(account.getId(), DAY.minusDays(1))).thenReturn(Optional.empty());
+        when(historyRepository.sumSettledAmount(account.getUser().getId(), asOf, null))
+                .thenReturn(new BigDecimal("30.00"));
+
+        // Act
+        BigDecimal balance = service.balanceAsOf(account, asOf);
+
+        // Assert
+        assertEquals(new BigDecimal("50.00"), balance);
+    }
+
+    @Test
+    void balanceAsOf_ShouldUseLedgerBalanceInDoubleEntryMode() {
+        // Arrange
+        service = new BalanceCheckpointService(accountRepository, checkpointRepository, historyRepository,
+                ledgerBalanceService, transactionTemplate, TransferConcurrencyMode.DOUBLE_ENTRY, 2);
+        Account account = account("0.00", DAY.atStartOfDay());
+        LocalDateTime asOf = DAY.atTime(12, 0);
+        when(checkpointRepository.findLatestOnOrBefore(account.getId(), DAY.minusDays(1))).thenReturn(Optional.empty());
+        when(ledgerBalanceService.balanceOf(account)).thenReturn(new BigDecimal("70.00"));
+        when(historyRepository.sumSettledAmount(account.getUser().getId(), asOf, null))
+                .thenReturn(new BigDecimal("-5.00"));
+
+        // Act
+        BigDecimal balance = service.balanceAsOf(account, asOf);
+
+        // Assert
+        assertEquals(new BigDecimal("75.00"), balance);
+    }
+
+    private Account account(String balance, LocalDateTime createdAt) {
+        Account account = new Account("12345678", "0001",
+                new User(UUID.randomUUID(), UUID.randomUUID() + "@example.com", "12345678901"), "password");
+        try {
+            java.lang.reflect.Field idField = Account.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(account, UUID.randomUUID());
+
+            java.lang.reflect.Field balanceField = Account.class.getDeclaredField("balance");
+            balanceField.setAccessible(true);
+            balanceField.set(account, new BigDecimal(balance));
+
+            java.lang.reflect.Field createdAtField = Account.class.getDeclaredField("createdAt");
+            createdAtField.setAccessible(true);
+            createdAtField.set(account, createdAt);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up account", e);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.baas.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepositCodeGeneratorTest {
+
+    @Test
+    void next_ShouldDrawConfiguredLengthFromUrlSafeAlphabet() {
+        // Arrange
+        DepositCodeGenerator generator = new DepositCodeGenerator(12);
+
+        // Act
+        String code = generator.next();
+
+        // Assert
+        assertEquals(12, code.length());
+        assertTrue(code.chars().allMatch(c -> DepositCodeGenerator.ALPHABET.indexOf(c) >= 0));
+    }
+
+    @Test
+    void next_ShouldUseWholeAlphabet() {
+        // Arrange
+        DepositCodeGenerator generator = new DepositCodeGenerator(64);
+        Set<Character> seen = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            generator.next().chars().forEach(c -> seen.add((char) c));
+        }
+
+        // Assert
+        assertEquals(DepositCodeGenerator.ALPHABET.length(), seen.size());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveLength() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new DepositCodeGenerator(0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.model.SignedDepositCode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepositCodeSignerTest {
+
+    private static final String KEY_1 = "1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    private static final String KEY_2 = "2:ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+
+    private final SignedDepositCode code = new SignedDepositCode(UUID.randomUUID(), UUID.randomUUID(),
+            new BigDecimal("123.45"), LocalDateTime.of(2030, 1, 2, 3, 4, 5));
+
+    @Test
+    void sign_ShouldRoundTripClaims() {
+        // Arrange
+        DepositCodeSigner signer = new DepositCodeSigner(KEY_1, 1);
+
+        // Act
+        String token = signer.sign(code);
+
+        // Assert
+        assertEquals(DepositCodeSigner.TOKEN_LENGTH, token.length());
+        assertTrue(token.chars().allMatch(c -> DepositCodeGenerator.ALPHABET.indexOf(c) >= 0));
+        assertEquals(code, signer.verify(token).orElseThrow());
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedPayload() {
+        // Arrange
+        DepositCodeSigner signer = new DepositCodeSigner(KEY_1, 1);
+        String token = signer.sign(code);
+        char[] chars = token.toCharArray();
+        chars[10] = chars[10] == 'A' ? 'B' : 'A';
+
+        // Act & Assert
+        assertTrue(signer.verify(new String(chars)).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldRejectMalformedTokens() {
+        // Arrange
+        DepositCodeSigner signer = new DepositCodeSigner(KEY_1, 1);
+
+        // Act & Assert
+        assertTrue(signer.verify("ABCD1234efgh").isEmpty());
+        assertTrue(signer.verify("*".repeat(DepositCodeSigner.TOKEN_LENGTH)).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldAcceptRetiringKey_AfterRotation() {
+        // Arrange
+        String oldToken = new DepositCodeSigner(KEY_1, 1).sign(code);
+        DepositCodeSigner rotated = new DepositCodeSigner(KEY_1 + "," + KEY_2, 2);
+
+        // Act
+        String newToken = rotated.sign(code);
+
+        // Assert
+        assertNotEquals(oldToken, newToken);
+        assertEquals(code, rotated.verify(oldToken).orElseThrow());
+        assertEquals(code, rotated.verify(newToken).orElseThrow());
+    }
+
+    @Test
+    void verify_ShouldRejectTokensOfRemovedKey() {
+        // Arrange
+        String oldToken = new DepositCodeSigner(KEY_1, 1).sign(code);
+        DepositCodeSigner rotated = new DepositCodeSigner(KEY_2, 2);
+
+        // Act & Assert
+        assertTrue(rotated.verify(oldToken).isEmpty());
+    }
+
+    @Test
+    void sign_ShouldRejectAmountsBeyondCents() {
+        // Arrange
+        DepositCodeSigner signer = new DepositCodeSigner(KEY_1, 1);
+        SignedDepositCode fractional = new SignedDepositCode(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("1.005"), code.expiresAt());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> signer.sign(fractional));
+    }
+
+    @Test
+    void constructor_ShouldRejectShortKeysAndUnknownActiveKey() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new DepositCodeSigner("1:c2hvcnQ=", 1));
+        assertThrows(IllegalArgumentException.class, () -> new DepositCodeSigner(KEY_1, 2));
+        assertFalse(new DepositCodeSigner("", 0).isEnabled());
+    }
+}
@@ -0,0 +1,100 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.RedeemedCodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepositCodeSweeperTest {
+
+    @Mock
+    private DepositCodeRepository depositCodeRepository;
+
+    @Mock
+    private RedeemedCodeRepository redeemedCodeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DepositCodeSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new DepositCodeSweeper(depositCodeRepository, redeemedCodeRepository, meterRegistry, 10, 3, 24);
+    }
+
+    @Test
+    void sweep_ShouldStopDraining_WhenBatchComesBackShort() {
+        // Arrange
+        when(depositCodeRepository.deleteExpiredUnused(any(), eq(10))).thenReturn(10, 4);
+        when(depositCodeRepository.deleteUsedBefore(any(), eq(10))).thenReturn(0);
+
+        // Act
+        sweeper.sweep();
+
+        // Assert
+        verify(depositCodeRepository, times(2)).deleteExpiredUnused(any(), eq(10));
+        verify(depositCodeRepository, times(1)).deleteUsedBefore(any(), eq(10));
+        assertEquals(14.0, meterRegistry.get("baas.deposit-code.swept").tag("reason", "expired").counter().count());
+        assertEquals(0.0, meterRegistry.get("baas.deposit-code.swept").tag("reason", "used").counter().count());
+    }
+
+    @Test
+    void sweep_ShouldCapBatchesPerRun() {
+        // Arrange
+        when(depositCodeRepository.deleteExpiredUnused(any(), eq(10))).thenReturn(10);
+        when(depositCodeRepository.deleteUsedBefore(any(), eq(10))).thenReturn(10);
+
+        // Act
+        sweeper.sweep();
+
+        // Assert
+        verify(depositCodeRepository, times(3)).deleteExpiredUnused(any(), eq(10));
+        verify(depositCodeRepository, times(3)).deleteUsedBefore(any(), eq(10));
+        verify(redeemedCodeRepository, times(1)).deleteExpiredBefore(any(), eq(10));
+        assertEquals(30.0, meterRegistry.get("baas.deposit-code.swept").tag("reason", "used").counter().count());
+    }
+
+    @Test
+    void sweep_ShouldDeleteExpiredRedeemedSignedCodes() {
+        // Arrange
+        when(redeemedCodeRepository.deleteExpiredBefore(any(), eq(10))).thenReturn(10, 10, 1);
+
+        // Act
+        sweeper.sweep();
+
+        // Assert
+        verify(redeemedCodeRepository, times(3)).deleteExpiredBefore(any(), eq(10));
+        assertEquals(21.0, meterRegistry.get("baas.deposit-code.swept").tag("reason", "signed").counter().count());
+    }
+
+    @Test
+    void sweep_ShouldStillSweepUsedCodes_WhenExpiredBatchFails() {
+        // Arrange
+        when(depositCodeRepository.deleteExpiredUnused(any(), eq(10))).thenThrow(new RuntimeException("lock wait timeout"));
+        when(depositCodeRepository.deleteUsedBefore(any(), eq(10))).thenReturn(2);
+
+        // Act
+        sweeper.sweep();
+
+        // Assert
+        verify(depositCodeRepository, times(1)).deleteExpiredUnused(any(), eq(10));
+        assertEquals(2.0, meterRegistry.get("baas.deposit-code.swept").tag("reason", "used").counter().count());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveBatchSize() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new DepositCodeSweeper(depositCodeRepository, redeemedCodeRepository, new SimpleMeterRegistry(), 0, 3, 24));
+    }
+}
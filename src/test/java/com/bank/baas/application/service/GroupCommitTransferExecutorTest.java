@@ -0,0 +1,190 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.application.service.GroupCommitTransferExecutor.PendingTransfer;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitTransferExecutorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferRetryService transferRetryService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GroupCommitTransferExecutor executor;
+    private User alice;
+    private User bob;
+    private UUID aliceAccountId;
+    private UUID bobAccountId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        alice = new User(UUID.randomUUID(), "alice@example.com", "11111111111");
+        bob = new User(UUID.randomUUID(), "bob@example.com", "22222222222");
+        aliceAccountId = UUID.randomUUID();
+        bobAccountId = UUID.randomUUID();
+
+        lenient().when(transferRetryService.executeInTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(transactionRepository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        executor = new GroupCommitTransferExecutor(accountRepository, transactionRepository, transferRetryService,
+                meterRegistry, TransferConcurrencyMode.GROUP_COMMIT, 50, 16, 1, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void settle_ShouldLockOnceAndApplyNetDeltas_ForWholeGroup() {
+        // Arrange
+        balances(new BigDecimal("100.00"), new BigDecimal("50.00"));
+        PendingTransfer first = pending(alice, aliceAccountId, bob, bobAccountId, "30.00", null);
+        PendingTransfer second = pending(bob, bobAccountId, alice, aliceAccountId, "10.00", null);
+
+        // Act
+        executor.settle(List.of(first, second));
+
+        // Assert
+        verify(accountRepository, times(1)).lockBalances(anyCollection());
+        verify(accountRepository).applyBalanceDeltas(Map.of(
+                aliceAccountId, new BigDecimal("-20.00"),
+                bobAccountId, new BigDecimal("20.00")));
+        verify(transactionRepository, times(1)).saveAll(any());
+        assertEquals(TransactionStatus.SUCCESS, first.result().join().getStatus());
+        assertEquals(TransactionStatus.SUCCESS, second.result().join().getStatus());
+        assertEquals(2.0, meterRegistry.summary("baas.transfer.group-commit.batch.size").totalAmount());
+    }
+
+    @Test
+    void settle_ShouldFailOnlyUnfundedTransfer_WhenBalanceRunsOutInsideGroup() {
+        // Arrange
+        balances(new BigDecimal("50.00"), new BigDecimal("0.00"));
+        PendingTransfer funded = pending(alice, aliceAccountId, bob, bobAccountId, "40.00", null);
+        PendingTransfer unfunded = pending(alice, aliceAccountId, bob, bobAccountId, "40.00", null);
+        PendingTransfer fundedByEarlierCredit = pending(bob, bobAccountId, alice, aliceAccountId, "40.00", null);
+
+        // Act
+        executor.settle(List.of(funded, unfunded, fundedByEarlierCredit));
+
+        // Assert
+        assertNotNull(funded.result().join());
+        assertNotNull(fundedByEarlierCredit.result().join());
+        CompletionException exception = assertThrows(CompletionException.class, () -> unfunded.result().join());
+        assertInstanceOf(AuthorizationException.class, exception.getCause());
+        assertEquals("Insufficient balance", exception.getCause().getMessage());
+    }
+
+    @Test
+    void settle_ShouldReplayHalvesUntilFailingTransferIsIsolated_WhenGroupCommitFails() {
+        // Arrange
+        balances(new BigDecimal("100.00"), new BigDecimal("100.00"));
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            if (transactions.stream().anyMatch(transaction -> "reused-key".equals(transaction.getIdempotencyKey()))) {
+                throw new DataIntegrityViolationException("Duplicate idempotency key");
+            }
+            return transactions;
+        });
+        PendingTransfer first = pending(alice, aliceAccountId, bob, bobAccountId, "1.00", "key-1");
+        PendingTransfer second = pending(alice, aliceAccountId, bob, bobAccountId, "1.00", "key-2");
+        PendingTransfer duplicate = pending(alice, aliceAccountId, bob, bobAccountId, "1.00", "reused-key");
+        PendingTransfer fourth = pending(alice, aliceAccountId, bob, bobAccountId, "1.00", "key-4");
+
+        // Act
+        executor.settle(List.of(first, second, duplicate, fourth));
+
+        // Assert
+        assertEquals("key-1", first.result().join().getIdempotencyKey());
+        assertEquals("key-2", second.result().join().getIdempotencyKey());
+        assertEquals("key-4", fourth.result().join().getIdempotencyKey());
+        CompletionException exception = assertThrows(CompletionException.class, () -> duplicate.result().join());
+        assertInstanceOf(DataIntegrityViolationException.class, exception.getCause());
+        assertEquals(2.0, meterRegistry.counter("baas.transfer.group-commit.replays").count());
+    }
+
+    @Test
+    void submit_ShouldCompleteFuture_WhenCommitterSettlesGroup() {
+        // Arrange
+        balances(new BigDecimal("100.00"), new BigDecimal("0.00"));
+        executor.start();
+
+        // Act
+        CompletableFuture<Transaction> result = executor.submit(alice, aliceAccountId, bob, bobAccountId,
+                new BigDecimal("25.00"), null);
+
+        // Assert
+        Transaction transaction = result.join();
+        assertEquals(TransactionStatus.SUCCESS, transaction.getStatus());
+        assertEquals(new BigDecimal("25.00"), transaction.getAmount());
+    }
+
+    @Test
+    void submit_ShouldFail_WhenModeIsNotGroupCommit() {
+        // Arrange
+        GroupCommitTransferExecutor disabled = new GroupCommitTransferExecutor(accountRepository, transactionRepository,
+                transferRetryService, meterRegistry, TransferConcurrencyMode.PESSIMISTIC, 2, 64, 1, 100);
+        disabled.start();
+
+        // Act
+        CompletableFuture<Transaction> result = disabled.submit(alice, aliceAccountId, bob, bobAccountId,
+                new BigDecimal("25.00"), null);
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        verifyNoInteractions(accountRepository, transactionRepository);
+    }
+
+    private void balances(BigDecimal aliceBalance, BigDecimal bobBalance) {
+        when(accountRepository.lockBalances(anyCollection())).thenAnswer(invocation -> {
+            Map<UUID, BigDecimal> balances = new HashMap<>();
+            balances.put(aliceAccountId, aliceBalance);
+            balances.put(bobAccountId, bobBalance);
+            return balances;
+        });
+    }
+
+    private static PendingTransfer pending(User sender, UUID senderAccountId, User receiver, UUID receiverAccountId,
+                                           String amount, String idempotencyKey) {
+        return new PendingTransfer(sender, senderAccountId, receiver, receiverAccountId, new BigDecimal(amount),
+                idempotencyKey, new CompletableFuture<>());
+    }
+}
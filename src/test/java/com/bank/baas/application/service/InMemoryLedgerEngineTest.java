@@ -0,0 +1,368 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AlreadyExistsException;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.LedgerRecord;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.LedgerJournal;
+import com.bank.baas.domain.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryLedgerEngineTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerJournal ledgerJournal;
+
+    @Mock
+    private LedgerProjectionWriter projectionWriter;
+
+    private InMemoryLedgerEngine engine;
+    private Account senderAccount;
+    private Account receiverAccount;
+    private final UUID senderUserId = UUID.randomUUID();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        senderAccount = account(new BigDecimal("100.00"));
+        receiverAccount = account(new BigDecimal("0.00"));
+
+        lenient().when(accountRepository.findAll()).thenReturn(List.of(senderAccount, receiverAccount));
+        lenient().when(ledgerJournal.append(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                invocation.<LedgerRecord>getArgument(0).withSequence(sequence.incrementAndGet())));
+
+        engine = new InMemoryLedgerEngine(accountRepository, transactionRepository, ledgerJournal, projectionWriter,
+                TransferConcurrencyMode.IN_MEMORY, 4, 1024, 600000, 100000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    void transfer_ShouldMoveBalanceAndProjectJournaledRecord() {
+        // Arrange
+        engine.start();
+
+        // Act
+        LedgerRecord record = transfer(new BigDecimal("60.00"));
+
+        // Assert
+        assertEquals(1, record.sequence());
+        assertEquals(new BigDecimal("40.00"), engine.balanceOf(senderAccount.getId()));
+        assertEquals(new BigDecimal("60.00"), engine.balanceOf(receiverAccount.getId()));
+        verify(projectionWriter).enqueue(record);
+    }
+
+    @Test
+    void transfer_ShouldThrowAndNotJournal_WhenBalanceIsInsufficient() {
+        // Arrange
+        engine.start();
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> transfer(new BigDecimal("150.00")));
+        assertEquals("Insufficient balance", exception.getMessage());
+        assertEquals(new BigDecimal("100.00"), engine.balanceOf(senderAccount.getId()));
+        verify(ledgerJournal, never()).append(any());
+        verify(projectionWriter, never()).enqueue(any());
+    }
+
+    @Test
+    void transfer_ShouldRefundSender_WhenJournalAppendFails() {
+        // Arrange
+        engine.start();
+        when(ledgerJournal.append(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("disk full")));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> transfer(new BigDecimal("60.00")));
+        assertEquals(new BigDecimal("100.00"), engine.balanceOf(senderAccount.getId()));
+        assertEquals(new BigDecimal("0.00"), engine.balanceOf(receiverAccount.getId()));
+    }
+
+    @Test
+    void transfer_ShouldRefuse_WhenProjectionLagsBeyondLimit() throws Exception {
+        // Arrange
+        engine = new InMemoryLedgerEngine(accountRepository, transactionRepository, ledgerJournal, projectionWriter,
+                TransferConcurrencyMode.IN_MEMORY, 4, 1024, 600000, 1, 10);
+        engine.start();
+        transfer(new BigDecimal("10.00"));
+        transfer(new BigDecimal("10.00"));
+        when(projectionWriter.awaitProjected(1, 10)).thenReturn(false);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> transfer(new BigDecimal("10.00")));
+        assertEquals("Ledger projection is lagging behind the journal", exception.getMessage());
+        assertEquals(new BigDecimal("80.00"), engine.balanceOf(senderAccount.getId()));
+        verify(ledgerJournal, times(2)).append(any());
+    }
+
+    @Test
+    void transfer_ShouldProceed_OnceProjectionCatchesUp() throws Exception {
+        // Arrange
+        engine = new InMemoryLedgerEngine(accountRepository, transactionRepository, ledgerJournal, projectionWriter,
+                TransferConcurrencyMode.IN_MEMORY, 4, 1024, 600000, 1, 10);
+        engine.start();
+        transfer(new BigDecimal("10.00"));
+        transfer(new BigDecimal("10.00"));
+        when(projectionWriter.awaitProjected(1, 10)).thenReturn(true);
+
+        // Act
+        LedgerRecord record = transfer(new BigDecimal("10.00"));
+
+        // Assert
+        assertEquals(3, record.sequence());
+        assertEquals(new BigDecimal("70.00"), engine.balanceOf(senderAccount.getId()));
+    }
+
+    @Test
+    void transfer_ShouldNeverOverdraw_WhenCalledConcurrently() throws Exception {
+        // Arrange
+        engine.start();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    transfer(new BigDecimal("3.00"));
+                    return true;
+                } catch (AuthorizationException e) {
+                    return false;
+                }
+            }));
+        }
+        long succeeded = 0;
+        for (Future<Boolean> result : results) {
+            succeeded += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(33, succeeded);
+        assertEquals(new BigDecimal("1.00"), engine.balanceOf(senderAccount.getId()));
+        assertEquals(new BigDecimal("99.00"), engine.balanceOf(receiverAccount.getId()));
+    }
+
+    @Test
+    void start_ShouldReplayJournalRecordsAfterProjectionCheckpoint() {
+        // Arrange
+        LedgerRecord unprojected = new LedgerRecord(8, UUID.randomUUID(), UUID.randomUUID(), senderAccount.getId(),
+                UUID.randomUUID(), receiverAccount.getId(), new BigDecimal("25.00"), null, LocalDateTime.now());
+        when(transactionRepository.findMaxLedgerSequence()).thenReturn(7L);
+        when(ledgerJournal.open(7L)).thenReturn(List.of(unprojected));
+
+        // Act
+        engine.start();
+
+        // Assert
+        assertEquals(new BigDecimal("75.00"), engine.balanceOf(senderAccount.getId()));
+        assertEquals(new BigDecimal("25.00"), engine.balanceOf(receiverAccount.getId()));
+        verify(projectionWriter).start(7L);
+        verify(projectionWriter).enqueue(unprojected);
+    }
+
+    @Test
+    void transfer_ShouldReturnJournaledRecord_WhenKeyIsRetried() {
+        // Arrange
+        engine.start();
+        LedgerRecord first = engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(),
+                receiverAccount.getId(), new BigDecimal("60.00"), "key-1");
+
+        // Act
+        LedgerRecord retried = engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(),
+                receiverAccount.getId(), new BigDecimal("60.00"), "key-1");
+
+        // Assert
+        assertSame(first, retried);
+        assertEquals(new BigDecimal("40.00"), engine.balanceOf(senderAccount.getId()));
+        verify(ledgerJournal, times(1)).append(any());
+    }
+
+    @Test
+    void transfer_ShouldSettleBoth_WhenDifferentSendersUseTheSameKey() {
+        // Arrange
+        engine.start();
+        LedgerRecord first = engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(),
+                receiverAccount.getId(), new BigDecimal("60.00"), "key-1");
+
+        // Act
+        LedgerRecord other = engine.transfer(UUID.randomUUID(), receiverAccount.getId(), senderUserId,
+                senderAccount.getId(), new BigDecimal("10.00"), "key-1");
+
+        // Assert
+        assertNotSame(first, other);
+        assertEquals(new BigDecimal("50.00"), engine.balanceOf(senderAccount.getId()));
+        assertEquals(new BigDecimal("50.00"), engine.balanceOf(receiverAccount.getId()));
+        verify(ledgerJournal, times(2)).append(any());
+    }
+
+    @Test
+    void transfer_ShouldRejectKey_WhenUnprojectedReplayedRecordUsedItForAnotherTransfer() {
+        // Arrange
+        LedgerRecord unprojected = new LedgerRecord(8, UUID.randomUUID(), senderUserId, senderAccount.getId(),
+                UUID.randomUUID(), receiverAccount.getId(), new BigDecimal("25.00"), "key-1", LocalDateTime.now());
+        when(transactionRepository.findMaxLedgerSequence()).thenReturn(7L);
+        when(ledgerJournal.open(7L)).thenReturn(List.of(unprojected));
+        engine.start();
+
+        // Act & Assert
+        assertThrows(AlreadyExistsException.class, () -> engine.transfer(senderUserId, senderAccount.getId(),
+                UUID.randomUUID(), receiverAccount.getId(), new BigDecimal("30.00"), "key-1"));
+        assertEquals(new BigDecimal("75.00"), engine.balanceOf(senderAccount.getId()));
+        verify(ledgerJournal, never()).append(any());
+    }
+
+    @Test
+    void transfer_ShouldReleaseKey_WhenTransferFails() {
+        // Arrange
+        engine.start();
+        assertThrows(AuthorizationException.class, () -> engine.transfer(senderUserId, senderAccount.getId(),
+                UUID.randomUUID(), receiverAccount.getId(), new BigDecimal("150.00"), "key-1"));
+
+        // Act
+        LedgerRecord record = engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(),
+                receiverAccount.getId(), new BigDecimal("50.00"), "key-1");
+
+        // Assert
+        assertEquals("key-1", record.idempotencyKey());
+        assertEquals(new BigDecimal("50.00"), engine.balanceOf(senderAccount.getId()));
+    }
+
+    @Test
+    void pruneProjectedKeys_ShouldKeepKeys_UntilProjectedAndPastRetention() {
+        // Arrange
+        engine.start();
+        LedgerRecord first = engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(),
+                receiverAccount.getId(), new BigDecimal("10.00"), "key-1");
+        when(projectionWriter.projectedSequence()).thenReturn(first.sequence());
+
+        // Act
+        engine.pruneProjectedKeys();
+        LedgerRecord retried = engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(),
+                receiverAccount.getId(), new BigDecimal("10.00"), "key-1");
+
+        // Assert
+        assertSame(first, retried);
+        assertEquals(new BigDecimal("90.00"), engine.balanceOf(senderAccount.getId()));
+    }
+
+    @Test
+    void balanceOf_ShouldLoadAccountOpenedAfterStart() {
+        // Arrange
+        engine.start();
+        Account opened = account(new BigDecimal("12.50"));
+        when(accountRepository.findById(opened.getId())).thenReturn(Optional.of(opened));
+
+        // Act & Assert
+        assertEquals(new BigDecimal("12.50"), engine.balanceOf(opened.getId()));
+        assertEquals(new BigDecimal("12.50"), engine.balanceOf(opened.getId()));
+        verify(accountRepository, times(1)).findById(opened.getId());
+    }
+
+    @Test
+    void transfer_ShouldLoadUnknownReceiverOnCallerThread() {
+        // Arrange
+        engine.start();
+        Account opened = account(new BigDecimal("5.00"));
+        AtomicReference<String> loadingThread = new AtomicReference<>();
+        when(accountRepository.findById(opened.getId())).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return Optional.of(opened);
+        });
+
+        // Act
+        engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(), opened.getId(),
+                new BigDecimal("10.00"), null);
+
+        // Assert
+        assertEquals(Thread.currentThread().getName(), loadingThread.get());
+        assertEquals(new BigDecimal("15.00"), engine.balanceOf(opened.getId()));
+        assertEquals(new BigDecimal("90.00"), engine.balanceOf(senderAccount.getId()));
+    }
+
+    @Test
+    void transfer_ShouldNotDebitSender_WhenReceiverDoesNotExist() {
+        // Arrange
+        engine.start();
+        UUID missing = UUID.randomUUID();
+        when(accountRepository.findById(missing)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> engine.transfer(senderUserId, senderAccount.getId(),
+                UUID.randomUUID(), missing, new BigDecimal("10.00"), null));
+        assertEquals(new BigDecimal("100.00"), engine.balanceOf(senderAccount.getId()));
+        verify(ledgerJournal, never()).append(any());
+    }
+
+    @Test
+    void start_ShouldDoNothing_WhenModeIsNotInMemory() {
+        // Arrange
+        InMemoryLedgerEngine disabled = new InMemoryLedgerEngine(accountRepository, transactionRepository,
+                ledgerJournal, projectionWriter, TransferConcurrencyMode.PESSIMISTIC, 4, 1024, 600000, 100000, 5000);
+
+        // Act
+        disabled.start();
+
+        // Assert
+        verifyNoInteractions(ledgerJournal, projectionWriter);
+        verify(transactionRepository, never()).findMaxLedgerSequence();
+        assertThrows(IllegalStateException.class, () -> disabled.balanceOf(senderAccount.getId()));
+    }
+
+    private LedgerRecord transfer(BigDecimal amount) {
+        return engine.transfer(senderUserId, senderAccount.getId(), UUID.randomUUID(), receiverAccount.getId(),
+                amount, null);
+    }
+
+    private Account account(BigDecimal balance) {
+        Account account = new Account("12345678", "0001", "password");
+        try {
+            java.lang.reflect.Field idField = Account.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(account, UUID.randomUUID());
+
+            java.lang.reflect.Field balanceField = Account.class.getDeclaredField("balance");
+            balanceField.setAccessible(true);
+            balanceField.set(account, balance);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up account", e);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,167 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.BalanceSnapshot;
+import com.bank.baas.domain.model.LedgerEntry;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerBalanceServiceTest {
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private LedgerBalanceService ledgerBalanceService;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        ledgerBalanceService = new LedgerBalanceService(ledgerEntryRepository, accountRepository, transactionTemplate,
+                TransferConcurrencyMode.DOUBLE_ENTRY, 10, 60000);
+
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        account = new Account("12345678", "0001", "password");
+        try {
+            java.lang.reflect.Field idField = Account.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(account, UUID.randomUUID());
+
+            java.lang.reflect.Field balanceField = Account.class.getDeclaredField("balance");
+            balanceField.setAccessible(true);
+            balanceField.set(account, new BigDecimal("100.00"));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up account", e);
+        }
+    }
+
+    @Test
+    void balanceOf_ShouldAddEntriesAfterLatestSnapshot() {
+        // Arrange
+        when(ledgerEntryRepository.findLatestSnapshot(account.getId())).thenReturn(Optional.of(
+                new BalanceSnapshot(account.getId(), new BigDecimal("250.00"), 40, LocalDateTime.now())));
+        when(ledgerEntryRepository.sumAfter(account.getId(), 40)).thenReturn(new BigDecimal("-30.00"));
+
+        // Act
+        BigDecimal balance = ledgerBalanceService.balanceOf(account);
+
+        // Assert
+        assertEquals(new BigDecimal("220.00"), balance);
+    }
+
+    @Test
+    void balanceOf_ShouldStartFromAccountBalance_WhenThereIsNoSnapshot() {
+        // Arrange
+        when(ledgerEntryRepository.findLatestSnapshot(account.getId())).thenReturn(Optional.empty());
+        when(ledgerEntryRepository.sumAfter(account.getId(), 0)).thenReturn(new BigDecimal("15.50"));
+
+        // Act
+        BigDecimal balance = ledgerBalanceService.balanceOf(account);
+
+        // Assert
+        assertEquals(new BigDecimal("115.50"), balance);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void post_ShouldAppendBalancedDebitAndCredit() {
+        // Arrange
+        UUID transactionId = UUID.randomUUID();
+        UUID receiverAccountId = UUID.randomUUID();
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        ledgerBalanceService.post(transactionId, account.getId(), receiverAccountId, new BigDecimal("40.00"),
+                LocalDateTime.now());
+
+        // Assert
+        verify(ledgerEntryRepository).appendAll(entries.capture());
+        assertEquals(2, entries.getValue().size());
+        assertEquals(new BigDecimal("-40.00"), entries.getValue().get(0).amount());
+        assertEquals(account.getId(), entries.getValue().get(0).accountId());
+        assertEquals(new BigDecimal("40.00"), entries.getValue().get(1).amount());
+        assertEquals(receiverAccountId, entries.getValue().get(1).accountId());
+        assertTrue(entries.getValue().stream().allMatch(entry -> transactionId.equals(entry.transactionId())));
+    }
+
+    @Test
+    void snapshotBalances_ShouldFoldEntriesUpToHorizonIntoNewSnapshot() {
+        // Arrange
+        when(ledgerEntryRepository.findMaxEntryIdCreatedBefore(any())).thenReturn(120L);
+        when(ledgerEntryRepository.findAccountsWithEntriesSinceSnapshot(120L, 10)).thenReturn(List.of(account.getId()));
+        when(ledgerEntryRepository.findLatestSnapshot(account.getId())).thenReturn(Optional.of(
+                new BalanceSnapshot(account.getId(), new BigDecimal("250.00"), 40, LocalDateTime.now())));
+        when(ledgerEntryRepository.sumBetween(account.getId(), 40, 120)).thenReturn(new BigDecimal("75.00"));
+        ArgumentCaptor<BalanceSnapshot> snapshot = ArgumentCaptor.forClass(BalanceSnapshot.class);
+
+        // Act
+        ledgerBalanceService.snapshotBalances();
+
+        // Assert
+        verify(ledgerEntryRepository).saveSnapshot(snapshot.capture());
+        assertEquals(new BigDecimal("325.00"), snapshot.getValue().balance());
+        assertEquals(120L, snapshot.getValue().lastEntryId());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void snapshotBalances_ShouldSeedFirstSnapshotFromAccountBalance() {
+        // Arrange
+        when(ledgerEntryRepository.findMaxEntryIdCreatedBefore(any())).thenReturn(12L);
+        when(ledgerEntryRepository.findAccountsWithEntriesSinceSnapshot(12L, 10)).thenReturn(List.of(account.getId()));
+        when(ledgerEntryRepository.findLatestSnapshot(account.getId())).thenReturn(Optional.empty());
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(ledgerEntryRepository.sumBetween(account.getId(), 0, 12)).thenReturn(new BigDecimal("-20.00"));
+        ArgumentCaptor<BalanceSnapshot> snapshot = ArgumentCaptor.forClass(BalanceSnapshot.class);
+
+        // Act
+        ledgerBalanceService.snapshotBalances();
+
+        // Assert
+        verify(ledgerEntryRepository).saveSnapshot(snapshot.capture());
+        assertEquals(new BigDecimal("80.00"), snapshot.getValue().balance());
+    }
+
+    @Test
+    void snapshotBalances_ShouldDoNothing_WhenModeIsNotDoubleEntry() {
+        // Arrange
+        LedgerBalanceService disabled = new LedgerBalanceService(ledgerEntryRepository, accountRepository,
+                transactionTemplate, TransferConcurrencyMode.PESSIMISTIC, 10, 60000);
+
+        // Act
+        disabled.snapshotBalances();
+
+        // Assert
+        verifyNoInteractions(ledgerEntryRepository);
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.model.AccountBalanceCheck;
+import com.bank.baas.domain.model.ReconciliationFinding;
+import com.bank.baas.domain.repository.ReconciliationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerReconciliationServiceTest {
+
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    @Mock
+    private ReconciliationRepository reconciliationRepository;
+
+    private LedgerReconciliationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void ranges_ShouldSplitIdSpaceIntoContiguousRanges() {
+        // Act
+        List<LedgerReconciliationService.Range> ranges = LedgerReconciliationService.ranges(4);
+
+        // Assert
+        assertEquals(4, ranges.size());
+        assertEquals(LOWEST_ID, ranges.get(0).fromInclusive());
+        assertEquals(new UUID(0x4000000000000000L, 0L), ranges.get(0).toExclusive());
+        assertEquals(new UUID(0x8000000000000000L, 0L), ranges.get(1).toExclusive());
+        assertEquals(new UUID(0xC000000000000000L, 0L), ranges.get(2).toExclusive());
+        assertNull(ranges.get(3).toExclusive());
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1).toExclusive(), ranges.get(i).fromInclusive());
+        }
+    }
+
+    @Test
+    void reconcile_ShouldRecordMismatchesAndReportTotals() {
+        // Arrange
+        service = service(TransferConcurrencyMode.PESSIMISTIC, 2);
+        AccountBalanceCheck matching = new AccountBalanceCheck(UUID.randomUUID(), new BigDecimal("10.00"), new BigDecimal("10"));
+        AccountBalanceCheck drifted = new AccountBalanceCheck(UUID.randomUUID(), new BigDecimal("15.00"), new BigDecimal("10.00"));
+        when(reconciliationRepository.forEachAccountInRange(eq(LOWEST_ID), any(), any())).thenAnswer(invocation -> {
+            Consumer<AccountBalanceCheck> consumer = invocation.getArgument(2);
+            consumer.accept(matching);
+            consumer.accept(drifted);
+            return 2L;
+        });
+        when(reconciliationRepository.forEachAccountInRange(any(), isNull(), any())).thenReturn(0L);
+
+        // Act
+        LedgerReconciliationService.Report report = service.reconcile();
+
+        // Assert
+        assertEquals(2, report.accountsChecked());
+        assertEquals(1, report.mismatches());
+        assertEquals(0, report.failedRanges());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReconciliationFinding>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reconciliationRepository, times(2)).saveFindings(captor.capture());
+        List<ReconciliationFinding> findings = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(1, findings.size());
+        assertEquals(drifted.accountId(), findings.get(0).accountId());
+        assertEquals(report.runId(), findings.get(0).runId());
+        assertEquals(new BigDecimal("5.00"), findings.get(0).difference());
+    }
+
+    @Test
+    void reconcile_ShouldKeepGoingWhenARangeFails() {
+        // Arrange
+        service = service(TransferConcurrencyMode.PESSIMISTIC, 2);
+        when(reconciliationRepository.forEachAccountInRange(eq(LOWEST_ID), any(), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+        when(reconciliationRepository.forEachAccountInRange(any(), isNull(), any())).thenReturn(3L);
+
+        // Act
+        LedgerReconciliationService.Report report = service.reconcile();
+
+        // Assert
+        assertEquals(3, report.accountsChecked());
+        assertEquals(1, report.failedRanges());
+        verify(reconciliationRepository, times(1)).saveFindings(List.of());
+    }
+
+    @Test
+    void reconcile_ShouldSkipInDoubleEntryMode() {
+        // Arrange
+        service = service(TransferConcurrencyMode.DOUBLE_ENTRY, 2);
+
+        // Act
+        LedgerReconciliationService.Report report = service.reconcile();
+
+        // Assert
+        assertNull(report);
+        verifyNoInteractions(reconciliationRepository);
+    }
+
+    private LedgerReconciliationService service(TransferConcurrencyMode mode, int ranges) {
+        return new LedgerReconciliationService(reconciliationRepository, new SimpleMeterRegistry(), mode, 2, ranges, 0);
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingTransferDispatcherTest {
+
+    @Mock
+    private TransferSettlementService transferSettlementService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingTransferDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new PendingTransferDispatcher(
+                transferSettlementService, transactionRepository, meterRegistry, 2, 2, 60000, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_ShouldSettleTransfersOfTheSameSenderInFifoOrder() throws Exception {
+        // Arrange
+        Account senderAccount = accountWithId();
+        List<UUID> settled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        when(transferSettlementService.settle(any())).thenAnswer(invocation -> {
+            settled.add(invocation.getArgument(0));
+            done.countDown();
+            return Optional.of(TransactionStatus.SUCCESS);
+        });
+
+        List<Transaction> transactions = List.of(
+                pendingFrom(senderAccount), pendingFrom(senderAccount), pendingFrom(senderAccount));
+
+        // Act
+        transactions.forEach(dispatcher::dispatch);
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(transactions.stream().map(Transaction::getId).toList(), settled);
+    }
+
+    @Test
+    void dispatch_ShouldReturnFalse_WhenLaneIsFull() throws Exception {
+        // Arrange
+        Account senderAccount = accountWithId();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(transferSettlementService.settle(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(TransactionStatus.SUCCESS);
+        });
+
+        // Act
+        assertTrue(dispatcher.dispatch(pendingFrom(senderAccount)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(dispatcher.dispatch(pendingFrom(senderAccount)));
+        assertTrue(dispatcher.dispatch(pendingFrom(senderAccount)));
+        boolean accepted = dispatcher.dispatch(pendingFrom(senderAccount));
+        release.countDown();
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1.0, meterRegistry.counter("baas.transfer.async.rejected").count());
+    }
+
+    @Test
+    void recoverPendingTransfers_ShouldRedispatchStalePendingTransactions() throws Exception {
+        // Arrange
+        Transaction stale = pendingFrom(accountWithId());
+        CountDownLatch done = new CountDownLatch(1);
+        when(transactionRepository.findByStatusCreatedBefore(eq(TransactionStatus.PENDING), any(LocalDateTime.class), eq(50)))
+                .thenReturn(List.of(stale));
+        when(transferSettlementService.settle(stale.getId())).thenAnswer(invocation -> {
+            done.countDown();
+            return Optional.of(TransactionStatus.SUCCESS);
+        });
+
+        // Act
+        dispatcher.recoverPendingTransfers();
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private Transaction pendingFrom(Account senderAccount) {
+        User sender = new User("sender@example.com", "12345678900");
+        sender.setAccount(senderAccount);
+        User receiver = new User("receiver@example.com", "98765432100");
+
+        Transaction transaction = new Transaction(sender, receiver, BigDecimal.TEN, LocalDateTime.now());
+        transaction.setId(UUID.randomUUID());
+        return transaction;
+    }
+
+    private Account accountWithId() {
+        return new Account("12345678", "0001", "password");
+    }
+}
@@ -0,0 +1,228 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferIdempotencyServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private final UUID senderId = UUID.randomUUID();
+    private SimpleMeterRegistry meterRegistry;
+    private TransferIdempotencyService transferIdempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferIdempotencyService = new TransferIdempotencyService(transactionRepository, meterRegistry, 2);
+    }
+
+    @Test
+    void execute_ShouldRunTransferOnce_AndServeReplaysFromCache() {
+        // Arrange
+        Transaction transaction = new Transaction();
+        AtomicInteger executions = new AtomicInteger();
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(senderId, "key-1")).thenReturn(Optional.empty());
+
+        // Act
+        Transaction first = transferIdempotencyService.execute(senderId, "key-1", () -> {
+            executions.incrementAndGet();
+            return transaction;
+        });
+        Transaction replay = transferIdempotencyService.execute(senderId, "key-1", () -> {
+            executions.incrementAndGet();
+            return new Transaction();
+        });
+
+        // Assert
+        assertSame(transaction, first);
+        assertSame(transaction, replay);
+        assertEquals(1, executions.get());
+        verify(transactionRepository, times(1)).findBySenderIdAndIdempotencyKey(senderId, "key-1");
+        assertEquals(1.0, replayCount("cache"));
+    }
+
+    @Test
+    void execute_ShouldNotCachePendingTransfer_SoReplaysSeeItsSettlement() {
+        // Arrange
+        Transaction pending = new Transaction();
+        pending.setStatus(TransactionStatus.PENDING);
+        Transaction settled = new Transaction();
+        settled.setStatus(TransactionStatus.SUCCESS);
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(senderId, "key-1")).thenReturn(Optional.empty(), Optional.of(settled));
+
+        // Act
+        Transaction first = transferIdempotencyService.execute(senderId, "key-1", () -> pending);
+        Transaction replay = transferIdempotencyService.execute(senderId, "key-1", () -> fail("transfer must not run"));
+
+        // Assert
+        assertSame(pending, first);
+        assertSame(settled, replay);
+        assertEquals(1.0, replayCount("database"));
+        assertEquals(0.0, replayCount("cache"));
+    }
+
+    @Test
+    void execute_ShouldReturnStoredTransaction_WhenKeyIsInDatabase() {
+        // Arrange
+        Transaction stored = new Transaction();
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(senderId, "key-1")).thenReturn(Optional.of(stored));
+
+        // Act
+        Transaction result = transferIdempotencyService.execute(senderId, "key-1", () -> fail("transfer must not run"));
+
+        // Assert
+        assertSame(stored, result);
+        assertEquals(1.0, replayCount("database"));
+    }
+
+    @Test
+    void execute_ShouldReturnWinner_WhenUniqueKeyIsViolated() {
+        // Arrange
+        Transaction winner = new Transaction();
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(senderId, "key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+
+        // Act
+        Transaction result = transferIdempotencyService.execute(senderId, "key-1", () -> {
+            throw new DataIntegrityViolationException("Duplicate entry 'key-1'");
+        });
+
+        // Assert
+        assertSame(winner, result);
+    }
+
+    @Test
+    void execute_ShouldNotCacheFailures() {
+        // Arrange
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(senderId, "key-1")).thenReturn(Optional.empty());
+        Transaction transaction = new Transaction();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> transferIdempotencyService.execute(senderId, "key-1", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        Transaction retried = transferIdempotencyService.execute(senderId, "key-1", () -> transaction);
+
+        // Assert
+        assertSame(transaction, retried);
+    }
+
+    @Test
+    void execute_ShouldEvictLeastRecentlyUsedKeys() {
+        // Arrange
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(eq(senderId), anyString())).thenReturn(Optional.empty());
+        transferIdempotencyService.execute(senderId, "key-1", Transaction::new);
+        transferIdempotencyService.execute(senderId, "key-2", Transaction::new);
+        transferIdempotencyService.execute(senderId, "key-1", Transaction::new);
+        transferIdempotencyService.execute(senderId, "key-3", Transaction::new);
+
+        // Act
+        transferIdempotencyService.execute(senderId, "key-2", Transaction::new);
+
+        // Assert
+        verify(transactionRepository, times(2)).findBySenderIdAndIdempotencyKey(senderId, "key-2");
+        verify(transactionRepository, times(1)).findBySenderIdAndIdempotencyKey(senderId, "key-1");
+    }
+
+    @Test
+    void execute_ShouldSingleFlightConcurrentDuplicates() throws Exception {
+        // Arrange
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(senderId, "key-1")).thenReturn(Optional.empty());
+        CountDownLatch transferStarted = new CountDownLatch(1);
+        CountDownLatch releaseTransfer = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        Transaction transaction = new Transaction();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<Transaction> leader = executor.submit(() -> transferIdempotencyService.execute(senderId, "key-1", () -> {
+                executions.incrementAndGet();
+                transferStarted.countDown();
+                await(releaseTransfer);
+                return transaction;
+            }));
+            assertTrue(transferStarted.await(5, TimeUnit.SECONDS));
+
+            Future<Transaction> follower1 = executor.submit(() -> transferIdempotencyService.execute(senderId, "key-1", () -> {
+                executions.incrementAndGet();
+                return new Transaction();
+            }));
+            Future<Transaction> follower2 = executor.submit(() -> transferIdempotencyService.execute(senderId, "key-1", () -> {
+                executions.incrementAndGet();
+                return new Transaction();
+            }));
+
+            // Act
+            while (replayCount("in-flight") < 2.0) {
+                Thread.sleep(5);
+            }
+            releaseTransfer.countDown();
+
+            // Assert
+            assertSame(transaction, leader.get(5, TimeUnit.SECONDS));
+            assertSame(transaction, follower1.get(5, TimeUnit.SECONDS));
+            assertSame(transaction, follower2.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double replayCount(String source) {
+        return meterRegistry.counter("baas.transfer.idempotency.replays", "source", source).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void execute_ShouldRunBothTransfers_WhenDifferentSendersUseTheSameKey() {
+        // Arrange
+        UUID otherSenderId = UUID.randomUUID();
+        Transaction first = new Transaction();
+        Transaction second = new Transaction();
+        when(transactionRepository.findBySenderIdAndIdempotencyKey(any(), eq("key-1"))).thenReturn(Optional.empty());
+
+        // Act
+        Transaction firstResult = transferIdempotencyService.execute(senderId, "key-1", () -> first);
+        Transaction secondResult = transferIdempotencyService.execute(otherSenderId, "key-1", () -> second);
+
+        // Assert
+        assertSame(first, firstResult);
+        assertSame(second, secondResult);
+        verify(transactionRepository).findBySenderIdAndIdempotencyKey(senderId, "key-1");
+        verify(transactionRepository).findBySenderIdAndIdempotencyKey(otherSenderId, "key-1");
+    }
+}
@@ -0,0 +1,141 @@
+package com.bank.baas.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferRetryServiceTest {
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferRetryService transferRetryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferRetryService = new TransferRetryService(transactionTemplate, meterRegistry, 3, 1, 4, 0.0);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void executeInTransaction_ShouldReturnResult_WhenNoConflict() {
+        // Act
+        String result = transferRetryService.executeInTransaction(() -> "done");
+
+        // Assert
+        assertEquals("done", result);
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void executeInTransaction_ShouldRetry_WhenLockCannotBeAcquired() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = transferRetryService.executeInTransaction(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+            }
+            return "done";
+        });
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        verify(transactionTemplate, times(3)).execute(any());
+        assertEquals(3.0, meterRegistry.get("baas.transfer.attempts").counter().count());
+        assertEquals(2.0, meterRegistry.get("baas.transfer.retries").counter().count());
+        assertEquals(2.0, meterRegistry.get("baas.transfer.conflicts").tag("type", "pessimistic").counter().count());
+    }
+
+    @Test
+    void executeInTransaction_ShouldRetry_WhenAccountVersionIsStale() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = transferRetryService.executeInTransaction(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("AccountEntity", "stale");
+            }
+            return "done";
+        });
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("baas.transfer.conflicts").tag("type", "optimistic").counter().count());
+        assertEquals(0.0, meterRegistry.get("baas.transfer.conflicts").tag("type", "pessimistic").counter().count());
+    }
+
+    @Test
+    void executeInTransaction_ShouldRethrow_WhenAttemptsAreExhausted() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(CannotAcquireLockException.class, () -> transferRetryService.executeInTransaction(() -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("Lock wait timeout exceeded");
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.get("baas.transfer.retries.exhausted").counter().count());
+    }
+
+    @Test
+    void executeInTransaction_ShouldNotRetry_WhenFailureIsNotALockConflict() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> transferRetryService.executeInTransaction(() -> {
+            calls.incrementAndGet();
+            throw new DataIntegrityViolationException("constraint violation");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.get("baas.transfer.retries").counter().count());
+    }
+
+    @Test
+    void backoffFor_ShouldGrowExponentiallyUpToTheCap() {
+        assertEquals(1, transferRetryService.backoffFor(1));
+        assertEquals(2, transferRetryService.backoffFor(2));
+        assertEquals(4, transferRetryService.backoffFor(3));
+        assertEquals(4, transferRetryService.backoffFor(10));
+    }
+
+    @Test
+    void backoffFor_ShouldStayWithinJitterBounds() {
+        // Arrange
+        TransferRetryService jittered = new TransferRetryService(transactionTemplate, meterRegistry, 3, 100, 100, 0.5);
+
+        // Act & Assert
+        for (int i = 0; i < 50; i++) {
+            long backoff = jittered.backoffFor(1);
+            assertTrue(backoff >= 50 && backoff <= 100, "Backoff out of bounds: " + backoff);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.bank.baas.application.service;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferSettlementServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransferRetryService transferRetryService;
+
+    private TransferSettlementService transferSettlementService;
+
+    private UUID transactionId;
+    private Transaction transaction;
+    private Account senderAccount;
+    private Account receiverAccount;
+
+    @BeforeEach
+    void setUp() {
+        transferSettlementService = new TransferSettlementService(
+                transactionRepository, accountRepository, transferRetryService);
+
+        when(transferRetryService.executeInTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
+        User sender = new User("sender@example.com", "12345678900");
+        User receiver = new User("receiver@example.com", "98765432100");
+        senderAccount = new Account("12345678", "0001", sender, "password");
+        receiverAccount = new Account("87654321", "0001", receiver, "password");
+
+        try {
+            java.lang.reflect.Field idField = Account.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(senderAccount, UUID.randomUUID());
+            idField.set(receiverAccount, UUID.randomUUID());
+
+            java.lang.reflect.Field balanceField = Account.class.getDeclaredField("balance");
+            balanceField.setAccessible(true);
+            balanceField.set(senderAccount, new BigDecimal("100.00"));
+            balanceField.set(receiverAccount, new BigDecimal("0.00"));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up accounts", e);
+        }
+
+        sender.setAccount(senderAccount);
+        receiver.setAccount(receiverAccount);
+
+        transactionId = UUID.randomUUID();
+        transaction = new Transaction(sender, receiver, new BigDecimal("60.00"), LocalDateTime.now());
+        transaction.setId(transactionId);
+    }
+
+    @Test
+    void settle_ShouldMoveBalanceAndMarkSuccess_WhenTransactionIsPending() {
+        // Arrange
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+        when(transactionRepository.updateStatusIfPending(transactionId, TransactionStatus.SUCCESS)).thenReturn(true);
+
+        // Act
+        Optional<TransactionStatus> result = transferSettlementService.settle(transactionId);
+
+        // Assert
+        assertEquals(Optional.of(TransactionStatus.SUCCESS), result);
+        assertEquals(new BigDecimal("40.00"), senderAccount.getBalance());
+        assertEquals(new BigDecimal("60.00"), receiverAccount.getBalance());
+
+        InOrder inOrder = inOrder(accountRepository, transactionRepository);
+        UUID first = Account.LOCK_ORDER.compare(senderAccount.getId(), receiverAccount.getId()) < 0
+                ? senderAccount.getId() : receiverAccount.getId();
+        UUID second = first.equals(senderAccount.getId()) ? receiverAccount.getId() : senderAccount.getId();
+        inOrder.verify(accountRepository).findByIdForUpdate(first);
+        inOrder.verify(accountRepository).findByIdForUpdate(second);
+        inOrder.verify(transactionRepository).updateStatusIfPending(transactionId, TransactionStatus.SUCCESS);
+        verify(accountRepository, times(2)).save(any(Account.class));
+    }
+
+    @Test
+    void settle_ShouldMarkFailed_WhenBalanceIsInsufficient() {
+        // Arrange
+        transaction.setAmount(new BigDecimal("150.00"));
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+        when(transactionRepository.updateStatusIfPending(transactionId, TransactionStatus.FAILED)).thenReturn(true);
+
+        // Act
+        Optional<TransactionStatus> result = transferSettlementService.settle(transactionId);
+
+        // Assert
+        assertEquals(Optional.of(TransactionStatus.FAILED), result);
+        assertEquals(new BigDecimal("100.00"), senderAccount.getBalance());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void settle_ShouldDoNothing_WhenTransactionIsAlreadySettled() {
+        // Arrange
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
+
+        // Act
+        Optional<TransactionStatus> result = transferSettlementService.settle(transactionId);
+
+        // Assert
+        assertEquals(Optional.of(TransactionStatus.SUCCESS), result);
+        verifyNoInteractions(accountRepository);
+        verify(transactionRepository, never()).updateStatusIfPending(any(), any());
+    }
+
+    @Test
+    void settle_ShouldNotMoveBalance_WhenAnotherWorkerSettledFirst() {
+        // Arrange
+        Transaction settled = new Transaction(transaction.getSender(), transaction.getReceiver(),
+                transaction.getAmount(), transaction.getCreatedAt());
+        settled.setStatus(TransactionStatus.SUCCESS);
+        when(transactionRepository.findById(transactionId))
+                .thenReturn(Optional.of(transaction))
+                .thenReturn(Optional.of(settled));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+        when(transactionRepository.updateStatusIfPending(transactionId, TransactionStatus.SUCCESS)).thenReturn(false);
+
+        // Act
+        Optional<TransactionStatus> result = transferSettlementService.settle(transactionId);
+
+        // Assert
+        assertEquals(Optional.of(TransactionStatus.SUCCESS), result);
+        assertEquals(new BigDecimal("100.00"), senderAccount.getBalance());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void settle_ShouldReturnEmpty_WhenTransactionDoesNotExist() {
+        // Arrange
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(transferSettlementService.settle(transactionId).isEmpty());
+        verifyNoInteractions(accountRepository);
+    }
+}
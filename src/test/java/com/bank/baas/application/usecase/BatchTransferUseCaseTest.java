@@ -0,0 +1,251 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.TransferRetryService;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.TransferParticipant;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.presentation.dto.BatchTransferItem;
+import com.bank.baas.presentation.dto.BatchTransferItemResult;
+import com.bank.baas.presentation.dto.BatchTransferRequest;
+import com.bank.baas.presentation.dto.BatchTransferResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchTransferUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferRetryService transferRetryService;
+
+    @Captor
+    private ArgumentCaptor<Map<UUID, BigDecimal>> deltasCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<Transaction>> transactionsCaptor;
+
+    private BatchTransferUseCase batchTransferUseCase;
+
+    private TransferParticipant alice;
+    private TransferParticipant bob;
+    private TransferParticipant carol;
+
+    @BeforeEach
+    void setUp() {
+        batchTransferUseCase = new BatchTransferUseCase(
+                userRepository, accountRepository, transactionRepository, transferRetryService, 2, 100,
+                TransferConcurrencyMode.PESSIMISTIC);
+
+        lenient().when(transferRetryService.executeInTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
+        alice = new TransferParticipant(UUID.randomUUID(), "alice@example.com", "11111111111", UUID.randomUUID(), "alice-pass", null);
+        bob = new TransferParticipant(UUID.randomUUID(), "bob@example.com", "22222222222", UUID.randomUUID(), "bob-pass", null);
+        carol = new TransferParticipant(UUID.randomUUID(), "carol@example.com", "33333333333", null, null, null);
+
+        lenient().when(userRepository.findTransferParticipantsByEmails(anyCollection()))
+                .thenReturn(List.of(alice, bob, carol));
+
+        lenient().when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> saved = new ArrayList<>();
+            for (Transaction transaction : invocation.<List<Transaction>>getArgument(0)) {
+                transaction.setId(UUID.randomUUID());
+                saved.add(transaction);
+            }
+            return saved;
+        });
+    }
+
+    @Test
+    void execute_ShouldAggregateNetDeltasPerAccount() {
+        // Arrange
+        stubBalances(Map.of(alice.accountId(), new BigDecimal("100.00"), bob.accountId(), new BigDecimal("10.00")));
+        BatchTransferRequest request = new BatchTransferRequest(false, List.of(
+                new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("30.00"), "alice-pass"),
+                new BatchTransferItem(bob.email(), alice.email(), new BigDecimal("5.00"), "bob-pass")
+        ));
+
+        // Act
+        BatchTransferResponse response = batchTransferUseCase.execute(request);
+
+        // Assert
+        assertEquals(2, response.total());
+        assertEquals(2, response.succeeded());
+        assertEquals(0, response.failed());
+        assertTrue(response.results().stream().allMatch(result -> result.transactionId() != null));
+
+        verify(accountRepository).applyBalanceDeltas(deltasCaptor.capture());
+        Map<UUID, BigDecimal> deltas = deltasCaptor.getValue();
+        assertEquals(0, new BigDecimal("-25.00").compareTo(deltas.get(alice.accountId())));
+        assertEquals(0, new BigDecimal("25.00").compareTo(deltas.get(bob.accountId())));
+
+        verify(transactionRepository).saveAll(transactionsCaptor.capture());
+        List<Transaction> transactions = transactionsCaptor.getValue();
+        assertEquals(2, transactions.size());
+        assertTrue(transactions.stream().allMatch(transaction -> transaction.getStatus() == TransactionStatus.SUCCESS));
+        assertEquals(alice.userId(), transactions.get(0).getSender().getId());
+        assertEquals(bob.userId(), transactions.get(0).getReceiver().getId());
+    }
+
+    @Test
+    void execute_ShouldReportPerItemFailuresWithoutAbortingTheBatch() {
+        // Arrange
+        stubBalances(Map.of(alice.accountId(), new BigDecimal("50.00"), bob.accountId(), new BigDecimal("0.00")));
+        BatchTransferRequest request = new BatchTransferRequest(false, List.of(
+                new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("40.00"), "alice-pass"),
+                new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("20.00"), "alice-pass"),
+                new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("1.00"), "wrong"),
+                new BatchTransferItem("missing@example.com", bob.email(), new BigDecimal("1.00"), "x"),
+                new BatchTransferItem(alice.email(), carol.email(), new BigDecimal("1.00"), "alice-pass"),
+                new BatchTransferItem(alice.email(), bob.email(), BigDecimal.ZERO, "alice-pass")
+        ));
+
+        // Act
+        BatchTransferResponse response = batchTransferUseCase.execute(request);
+
+        // Assert
+        assertEquals(6, response.total());
+        assertEquals(1, response.succeeded());
+        assertEquals(5, response.failed());
+
+        List<BatchTransferItemResult> results = response.results();
+        assertEquals(TransactionStatus.SUCCESS, results.get(0).status());
+        assertEquals("Insufficient balance", results.get(1).message());
+        assertEquals("Invalid password", results.get(2).message());
+        assertEquals("User not found: missing@example.com", results.get(3).message());
+        assertEquals("Receiver has no account", results.get(4).message());
+        assertEquals("Amount must be greater than zero", results.get(5).message());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+    }
+
+    @Test
+    void execute_ShouldProcessEachChunkInItsOwnTransaction() {
+        // Arrange
+        stubBalances(Map.of(alice.accountId(), new BigDecimal("100.00"), bob.accountId(), new BigDecimal("0.00")));
+        List<BatchTransferItem> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("1.00"), "alice-pass"));
+        }
+
+        // Act
+        BatchTransferResponse response = batchTransferUseCase.execute(new BatchTransferRequest(false, items));
+
+        // Assert
+        assertEquals(5, response.succeeded());
+        verify(transferRetryService, times(3)).executeInTransaction(any());
+        verify(userRepository, times(3)).findTransferParticipantsByEmails(anyCollection());
+        verify(accountRepository, times(3)).lockBalances(anyCollection());
+    }
+
+    @Test
+    void execute_ShouldResolveParticipantsByCpf() {
+        // Arrange
+        when(userRepository.findTransferParticipantsByCpfs(anyCollection())).thenReturn(List.of(alice, bob));
+        stubBalances(Map.of(alice.accountId(), new BigDecimal("10.00"), bob.accountId(), new BigDecimal("0.00")));
+        BatchTransferRequest request = new BatchTransferRequest(true, List.of(
+                new BatchTransferItem(alice.cpf(), bob.cpf(), new BigDecimal("10.00"), "alice-pass")
+        ));
+
+        // Act
+        BatchTransferResponse response = batchTransferUseCase.execute(request);
+
+        // Assert
+        assertEquals(1, response.succeeded());
+        verify(userRepository, never()).findTransferParticipantsByEmails(anyCollection());
+    }
+
+    @Test
+    void execute_ShouldRejectEmptyBatch() {
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> batchTransferUseCase.execute(new BatchTransferRequest(false, List.of())));
+        assertEquals("Batch must contain at least one transfer", exception.getMessage());
+        verifyNoInteractions(transferRetryService);
+    }
+
+    @Test
+    void execute_ShouldRejectBatch_WhenModeIsInMemory() {
+        // Arrange
+        BatchTransferUseCase inMemoryUseCase = new BatchTransferUseCase(
+                userRepository, accountRepository, transactionRepository, transferRetryService, 2, 100,
+                TransferConcurrencyMode.IN_MEMORY);
+        BatchTransferRequest request = new BatchTransferRequest(false, List.of(
+                new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("10.00"), "alice-pass")));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> inMemoryUseCase.execute(request));
+        assertEquals("Batch transfers are not available in IN_MEMORY mode", exception.getMessage());
+        verifyNoInteractions(transferRetryService, accountRepository, transactionRepository);
+    }
+
+    @Test
+    void execute_ShouldRejectBatch_WhenModeIsDoubleEntry() {
+        // Arrange
+        BatchTransferUseCase doubleEntryUseCase = new BatchTransferUseCase(
+                userRepository, accountRepository, transactionRepository, transferRetryService, 2, 100,
+                TransferConcurrencyMode.DOUBLE_ENTRY);
+        BatchTransferRequest request = new BatchTransferRequest(false, List.of(
+                new BatchTransferItem(alice.email(), bob.email(), new BigDecimal("10.00"), "alice-pass")));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> doubleEntryUseCase.execute(request));
+        assertEquals("Batch transfers are not available in DOUBLE_ENTRY mode", exception.getMessage());
+        verifyNoInteractions(transferRetryService, accountRepository, transactionRepository);
+    }
+
+    @Test
+    void execute_ShouldRejectBatchAboveLimit() {
+        // Arrange
+        BatchTransferUseCase limitedUseCase = new BatchTransferUseCase(
+                userRepository, accountRepository, transactionRepository, transferRetryService, 2, 1,
+                TransferConcurrencyMode.PESSIMISTIC);
+        BatchTransferRequest request = new BatchTransferRequest(false, List.of(
+                new BatchTransferItem(alice.email(), bob.email(), BigDecimal.ONE, "alice-pass"),
+                new BatchTransferItem(alice.email(), bob.email(), BigDecimal.ONE, "alice-pass")
+        ));
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> limitedUseCase.execute(request));
+        verifyNoInteractions(transferRetryService);
+    }
+
+    private void stubBalances(Map<UUID, BigDecimal> balances) {
+        when(accountRepository.lockBalances(anyCollection())).thenAnswer(invocation -> new HashMap<>(balances));
+    }
+}
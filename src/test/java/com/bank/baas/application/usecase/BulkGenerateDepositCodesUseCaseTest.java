@@ -0,0 +1,151 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.DepositCodeGenerator;
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.domain.enums.DepositCodeMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.presentation.dto.BulkGenerateDepositCodeRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkGenerateDepositCodesUseCaseTest {
+
+    private static final String EMAIL = "partner@example.com";
+    private static final String PASSWORD = "password123";
+    private static final BigDecimal AMOUNT = new BigDecimal("25.00");
+    private static final String SIGNING_KEYS = "1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DepositCodeRepository depositCodeRepository;
+
+    @Mock
+    private DepositCodeGenerator depositCodeGenerator;
+
+    private final DepositCodeSigner depositCodeSigner = new DepositCodeSigner(SIGNING_KEYS, 1);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(UUID.randomUUID(), EMAIL, "12345678900");
+        user.setAccount(new Account("12345678", "0001", user, PASSWORD));
+
+        AtomicInteger sequence = new AtomicInteger();
+        lenient().when(depositCodeGenerator.next()).thenAnswer(invocation -> String.format("CODE%08d", sequence.incrementAndGet()));
+        lenient().when(userRepository.findUserByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void execute_ShouldInsertInChunksAndWriteOneLinePerCode() throws IOException {
+        // Arrange
+        BulkGenerateDepositCodesUseCase useCase = useCase(DepositCodeMode.STORED, 4);
+        BulkGenerateDepositCodeRequest request = new BulkGenerateDepositCodeRequest(PASSWORD, AMOUNT, 10);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        int generated = useCase.execute(useCase.authorize(EMAIL, request), request, output);
+
+        // Assert
+        assertEquals(10, generated);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DepositCode>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(depositCodeRepository, times(3)).insertAll(chunks.capture());
+        assertEquals(List.of(4, 4, 2), chunks.getAllValues().stream().map(List::size).toList());
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(10, lines.length);
+        assertTrue(lines[0].startsWith("{\"code\":\"CODE00000001\",\"amount\":25.00,\"expiresAt\":\""));
+        verify(userRepository, times(1)).findUserByEmail(EMAIL);
+    }
+
+    @Test
+    void execute_ShouldRedrawChunk_WhenInsertHitsDuplicate() throws IOException {
+        // Arrange
+        BulkGenerateDepositCodesUseCase useCase = useCase(DepositCodeMode.STORED, 5);
+        BulkGenerateDepositCodeRequest request = new BulkGenerateDepositCodeRequest(PASSWORD, AMOUNT, 5);
+        doThrow(new DataIntegrityViolationException("duplicate code")).doNothing()
+                .when(depositCodeRepository).insertAll(any());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        useCase.execute(user, request, output);
+
+        // Assert
+        verify(depositCodeRepository, times(2)).insertAll(any());
+        verify(depositCodeGenerator, times(10)).next();
+        assertTrue(output.toString(StandardCharsets.UTF_8).startsWith("{\"code\":\"CODE00000006\""));
+    }
+
+    @Test
+    void execute_ShouldSignWithoutInserting_WhenModeIsSigned() throws IOException {
+        // Arrange
+        BulkGenerateDepositCodesUseCase useCase = useCase(DepositCodeMode.SIGNED, 4);
+        BulkGenerateDepositCodeRequest request = new BulkGenerateDepositCodeRequest(PASSWORD, AMOUNT, 6);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        useCase.execute(user, request, output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(6, lines.length);
+        String token = lines[0].substring("{\"code\":\"".length(), "{\"code\":\"".length() + DepositCodeSigner.TOKEN_LENGTH);
+        assertEquals(user.getId(), depositCodeSigner.verify(token).orElseThrow().generatorId());
+        verifyNoInteractions(depositCodeRepository, depositCodeGenerator);
+    }
+
+    @Test
+    void authorize_ShouldRejectCountAboveLimit() {
+        // Arrange
+        BulkGenerateDepositCodesUseCase useCase = useCase(DepositCodeMode.STORED, 4);
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.authorize(EMAIL, new BulkGenerateDepositCodeRequest(PASSWORD, AMOUNT, 101)));
+        assertEquals("Count must be between 1 and 100", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void authorize_ShouldRejectInvalidPassword() {
+        // Arrange
+        BulkGenerateDepositCodesUseCase useCase = useCase(DepositCodeMode.STORED, 4);
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.authorize(EMAIL, new BulkGenerateDepositCodeRequest("wrong", AMOUNT, 10)));
+        assertEquals("Invalid password", exception.getMessage());
+    }
+
+    private BulkGenerateDepositCodesUseCase useCase(DepositCodeMode mode, int chunkSize) {
+        return new BulkGenerateDepositCodesUseCase(userRepository, depositCodeRepository, depositCodeGenerator,
+                depositCodeSigner, mode, 3, 72, chunkSize, 100);
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.enums.StatementFormat;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.StatementRow;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.StatementRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportStatementUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StatementRepository statementRepository;
+
+    @InjectMocks
+    private ExportStatementUseCase exportStatementUseCase;
+
+    private User user;
+    private StatementRow row;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(UUID.randomUUID(), "owner@example.com", "12345678900");
+        row = new StatementRow(
+                UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                UUID.fromString("00000000-0000-0000-0000-000000000002"),
+                "a,\"b\"@example.com",
+                UUID.fromString("00000000-0000-0000-0000-000000000003"),
+                "receiver@example.com",
+                new BigDecimal("10.50"),
+                TransactionStatus.SUCCESS);
+    }
+
+    @Test
+    void execute_ShouldWriteHeaderAndEscapedCsvRows() throws IOException {
+        // Arrange
+        streamRows(List.of(row));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportStatementUseCase.execute(user, StatementFormat.CSV, output);
+
+        // Assert
+        assertEquals(1, rows);
+        assertEquals("id,createdAt,senderId,senderEmail,receiverId,receiverEmail,amount,status\n" +
+                "00000000-0000-0000-0000-000000000001,2024-01-02T03:04:05,00000000-0000-0000-0000-000000000002," +
+                "\"a,\"\"b\"\"@example.com\",00000000-0000-0000-0000-000000000003,receiver@example.com,10.50,SUCCESS\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void execute_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // Arrange
+        streamRows(List.of(row, row));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportStatementUseCase.execute(user, StatementFormat.NDJSON, output);
+
+        // Assert
+        assertEquals(2, rows);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":\"00000000-0000-0000-0000-000000000001\",\"createdAt\":\"2024-01-02T03:04:05\"," +
+                "\"senderId\":\"00000000-0000-0000-0000-000000000002\",\"senderEmail\":\"a,\\\"b\\\"@example.com\"," +
+                "\"receiverId\":\"00000000-0000-0000-0000-000000000003\",\"receiverEmail\":\"receiver@example.com\"," +
+                "\"amount\":10.50,\"status\":\"SUCCESS\"}", lines[0]);
+    }
+
+    @Test
+    void execute_ShouldPropagateIOException_WhenClientDisconnects() {
+        // Arrange
+        streamRows(List.of(row));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                () -> exportStatementUseCase.execute(user, StatementFormat.CSV, broken));
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+
+    @Test
+    void findUser_ShouldThrowException_WhenUserDoesNotExist() {
+        // Arrange
+        when(userRepository.findUserByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> exportStatementUseCase.findUser("missing@example.com"));
+        verifyNoInteractions(statementRepository);
+    }
+
+    private void streamRows(List<StatementRow> rows) {
+        when(statementRepository.forEachRow(eq(user.getId()), any())).thenAnswer(invocation -> {
+            Consumer<StatementRow> consumer = invocation.getArgument(1);
+            rows.forEach(consumer);
+            return (long) rows.size();
+        });
+    }
+}
@@ -1,8 +1,12 @@
 package com.bank.baas.application.usecase;
 
+import com.bank.baas.application.service.DepositCodeGenerator;
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.domain.enums.DepositCodeMode;
 import com.bank.baas.domain.exception.AuthorizationException;
 import com.bank.baas.domain.model.Account;
 import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.SignedDepositCode;
 import com.bank.baas.domain.model.User;
 import com.bank.baas.domain.repository.DepositCodeRepository;
 import com.bank.baas.domain.repository.UserRepository;
@@ -12,11 +16,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,13 +32,19 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class GenerateDepositCodeUseCaseTest {
 
+    private static final String SIGNING_KEYS = "1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private DepositCodeRepository depositCodeRepository;
 
-    @InjectMocks
+    @Mock
+    private DepositCodeGenerator depositCodeGenerator;
+
+    private final DepositCodeSigner depositCodeSigner = new DepositCodeSigner(SIGNING_KEYS, 1);
+
     private GenerateDepositCodeUseCase generateDepositCodeUseCase;
 
     @Captor
@@ -49,6 +60,9 @@ class GenerateDepositCodeUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        generateDepositCodeUseCase = new GenerateDepositCodeUseCase(userRepository, depositCodeRepository,
+                depositCodeGenerator, depositCodeSigner, DepositCodeMode.STORED, 3, 72);
+
         email = "test@example.com";
         password = "password123";
         amount = new BigDecimal("100.00");
@@ -84,8 +98,8 @@ class GenerateDepositCodeUseCaseTest {
     void execute_ShouldGenerateDepositCode_WhenRequestIsValid() {
         // Arrange
         when(userRepository.findUserByEmail(email)).thenReturn(Optional.of(user));
-        when(depositCodeRepository.existsByCode(any())).thenReturn(false);
-        when(depositCodeRepository.save(any(DepositCode.class))).thenReturn(savedDepositCode);
+        when(depositCodeGenerator.next()).thenReturn("ABCD1234efgh");
+        when(depositCodeRepository.insert(any(DepositCode.class))).thenReturn(savedDepositCode);
 
         // Act
         DepositCode result = generateDepositCodeUseCase.execute(request);
@@ -97,15 +111,44 @@ class GenerateDepositCodeUseCaseTest {
         assertEquals(savedDepositCode.getAmount(), result.getAmount());
 
         verify(userRepository).findUserByEmail(email);
-        verify(depositCodeRepository).existsByCode(any());
-        verify(depositCodeRepository).save(depositCodeCaptor.capture());
+        verify(depositCodeRepository, never()).existsByCode(any());
+        verify(depositCodeRepository).insert(depositCodeCaptor.capture());
 
         DepositCode capturedDepositCode = depositCodeCaptor.getValue();
         assertNotNull(capturedDepositCode);
+        assertEquals("ABCD1234efgh", capturedDepositCode.getCode());
+        assertNotNull(capturedDepositCode.getExpiresAt());
+        assertTrue(capturedDepositCode.getExpiresAt().isAfter(LocalDateTime.now().plusHours(71)));
         assertEquals(amount, capturedDepositCode.getAmount());
         assertEquals(user, capturedDepositCode.getGenerator());
     }
 
+    @Test
+    void execute_ShouldSignCodeWithoutWriting_WhenModeIsSigned() {
+        // Arrange
+        GenerateDepositCodeUseCase signedUseCase = new GenerateDepositCodeUseCase(userRepository, depositCodeRepository,
+                depositCodeGenerator, depositCodeSigner, DepositCodeMode.SIGNED, 3, 72);
+        when(userRepository.findUserByEmail(email)).thenReturn(Optional.of(user));
+
+        // Act
+        DepositCode result = signedUseCase.execute(request);
+
+        // Assert
+        assertEquals(DepositCodeSigner.TOKEN_LENGTH, result.getCode().length());
+        SignedDepositCode claims = depositCodeSigner.verify(result.getCode()).orElseThrow();
+        assertEquals(user.getId(), claims.generatorId());
+        assertEquals(0, amount.compareTo(claims.amount()));
+        assertEquals(result.getExpiresAt().withNano(0), claims.expiresAt());
+        verifyNoInteractions(depositCodeRepository, depositCodeGenerator);
+    }
+
+    @Test
+    void constructor_ShouldRequireSigningKeys_WhenModeIsSigned() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new GenerateDepositCodeUseCase(userRepository,
+                depositCodeRepository, depositCodeGenerator, new DepositCodeSigner("", 0), DepositCodeMode.SIGNED, 3, 72));
+    }
+
     @Test
     void execute_ShouldThrowIllegalArgumentException_WhenAmountIsZero() {
         // Arrange
@@ -118,7 +161,7 @@ class GenerateDepositCodeUseCaseTest {
 
         assertEquals("Amount must be greater than zero", exception.getMessage());
         verify(userRepository, never()).findUserByEmail(any());
-        verify(depositCodeRepository, never()).save(any());
+        verify(depositCodeRepository, never()).insert(any());
     }
 
     @Test
@@ -133,7 +176,7 @@ class GenerateDepositCodeUseCaseTest {
 
         assertEquals("Amount must be greater than zero", exception.getMessage());
         verify(userRepository, never()).findUserByEmail(any());
-        verify(depositCodeRepository, never()).save(any());
+        verify(depositCodeRepository, never()).insert(any());
     }
 
     @Test
@@ -148,7 +191,7 @@ class GenerateDepositCodeUseCaseTest {
 
         assertEquals("User not found: " + email, exception.getMessage());
         verify(userRepository).findUserByEmail(email);
-        verify(depositCodeRepository, never()).save(any());
+        verify(depositCodeRepository, never()).insert(any());
     }
 
     @Test
@@ -164,7 +207,7 @@ class GenerateDepositCodeUseCaseTest {
 
         assertEquals("User has no account", exception.getMessage());
         verify(userRepository).findUserByEmail(email);
-        verify(depositCodeRepository, never()).save(any());
+        verify(depositCodeRepository, never()).insert(any());
     }
 
     @Test
@@ -180,23 +223,38 @@ class GenerateDepositCodeUseCaseTest {
 
         assertEquals("Invalid password", exception.getMessage());
         verify(userRepository).findUserByEmail(email);
-        verify(depositCodeRepository, never()).save(any());
+        verify(depositCodeRepository, never()).insert(any());
     }
 
     @Test
-    void execute_ShouldGenerateUniqueCode_WhenFirstCodeAlreadyExists() {
+    void execute_ShouldDrawNewCode_WhenInsertHitsExistingCode() {
         // Arrange
         when(userRepository.findUserByEmail(email)).thenReturn(Optional.of(user));
-        // First check returns true (code exists), second check returns false (unique code)
-        when(depositCodeRepository.existsByCode(any())).thenReturn(true, false);
-        when(depositCodeRepository.save(any(DepositCode.class))).thenReturn(savedDepositCode);
+        when(depositCodeGenerator.next()).thenReturn("TAKEN0000000", "FREE00000000");
+        when(depositCodeRepository.insert(any(DepositCode.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate code"))
+                .thenReturn(savedDepositCode);
 
         // Act
         DepositCode result = generateDepositCodeUseCase.execute(request);
 
         // Assert
         assertNotNull(result);
-        verify(depositCodeRepository, times(2)).existsByCode(any());
-        verify(depositCodeRepository).save(any(DepositCode.class));
+        verify(depositCodeRepository, times(2)).insert(depositCodeCaptor.capture());
+        assertEquals("FREE00000000", depositCodeCaptor.getAllValues().get(1).getCode());
+        verify(depositCodeRepository, never()).existsByCode(any());
+    }
+
+    @Test
+    void execute_ShouldGiveUp_WhenEveryAttemptCollides() {
+        // Arrange
+        when(userRepository.findUserByEmail(email)).thenReturn(Optional.of(user));
+        when(depositCodeGenerator.next()).thenReturn("TAKEN0000000");
+        when(depositCodeRepository.insert(any(DepositCode.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate code"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> generateDepositCodeUseCase.execute(request));
+        verify(depositCodeRepository, times(3)).insert(any(DepositCode.class));
     }
 }
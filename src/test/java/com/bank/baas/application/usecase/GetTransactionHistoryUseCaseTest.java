@@ -0,0 +1,117 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.TransactionCursor;
+import com.bank.baas.domain.model.TransactionHistoryEntry;
+import com.bank.baas.domain.model.TransactionPage;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.TransactionHistoryRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetTransactionHistoryUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionHistoryRepository transactionHistoryRepository;
+
+    private GetTransactionHistoryUseCase getTransactionHistoryUseCase;
+    private User user;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        getTransactionHistoryUseCase = new GetTransactionHistoryUseCase(userRepository, transactionHistoryRepository, 2, 100);
+
+        email = "history@example.com";
+        user = new User(UUID.randomUUID(), email, "12345678900");
+        lenient().when(userRepository.findUserByEmail(email)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void execute_ShouldReturnNextCursor_WhenMoreTransactionsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        TransactionHistoryEntry newest = entry(now);
+        TransactionHistoryEntry middle = entry(now.minusSeconds(1));
+        TransactionHistoryEntry oldest = entry(now.minusSeconds(2));
+        when(transactionHistoryRepository.findPage(user.getId(), null, 3)).thenReturn(List.of(newest, middle, oldest));
+
+        // Act
+        TransactionPage page = getTransactionHistoryUseCase.execute(email, null, null);
+
+        // Assert
+        assertEquals(List.of(newest, middle), page.items());
+        assertEquals(TransactionCursor.after(middle), page.nextCursor());
+    }
+
+    @Test
+    void execute_ShouldReturnLastPageWithoutCursor_WhenNoMoreTransactionsExist() {
+        // Arrange
+        TransactionHistoryEntry only = entry(LocalDateTime.now());
+        when(transactionHistoryRepository.findPage(user.getId(), null, 11)).thenReturn(List.of(only));
+
+        // Act
+        TransactionPage page = getTransactionHistoryUseCase.execute(email, null, 10);
+
+        // Assert
+        assertEquals(List.of(only), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void execute_ShouldSeekFromDecodedCursor() {
+        // Arrange
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000), UUID.randomUUID());
+        when(transactionHistoryRepository.findPage(user.getId(), cursor, 3)).thenReturn(List.of());
+
+        // Act
+        TransactionPage page = getTransactionHistoryUseCase.execute(email, cursor.encode(), null);
+
+        // Assert
+        assertTrue(page.items().isEmpty());
+        verify(transactionHistoryRepository).findHistoryPage(eq(user.getId()), eq(cursor), anyInt());
+    }
+
+    @Test
+    void execute_ShouldThrowException_WhenCursorIsInvalid() {
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> getTransactionHistoryUseCase.execute(email, "not-a-cursor", null));
+        assertEquals("Invalid cursor", exception.getMessage());
+        verifyNoInteractions(transactionHistoryRepository);
+    }
+
+    @Test
+    void execute_ShouldThrowException_WhenLimitIsOutOfRange() {
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> getTransactionHistoryUseCase.execute(email, null, 0));
+        assertThrows(AuthorizationException.class, () -> getTransactionHistoryUseCase.execute(email, null, 101));
+        verify(transactionHistoryRepository, never()).findHistoryPage(any(), any(), anyInt());
+    }
+
+    private TransactionHistoryEntry entry(LocalDateTime createdAt) {
+        return new TransactionHistoryEntry(UUID.randomUUID(), createdAt, UUID.randomUUID(), "counterparty@example.com",
+                new BigDecimal("-1.00"), TransactionStatus.SUCCESS);
+    }
+}
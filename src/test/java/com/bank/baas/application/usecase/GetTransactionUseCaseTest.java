@@ -0,0 +1,60 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetTransactionUseCaseTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private GetTransactionUseCase getTransactionUseCase;
+    private UUID transactionId;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        getTransactionUseCase = new GetTransactionUseCase(transactionRepository);
+
+        transactionId = UUID.randomUUID();
+        transaction = new Transaction(new User(UUID.randomUUID(), "sender@example.com", "12345678900"),
+                new User(UUID.randomUUID(), "receiver@example.com", "98765432100"),
+                new BigDecimal("10.00"), LocalDateTime.now());
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
+    }
+
+    @Test
+    void execute_ShouldReturnTransaction_WhenRequesterIsSenderOrReceiver() {
+        // Act
+        Optional<Transaction> asSender = getTransactionUseCase.execute(transactionId, "sender@example.com");
+        Optional<Transaction> asReceiver = getTransactionUseCase.execute(transactionId, "receiver@example.com");
+
+        // Assert
+        assertSame(transaction, asSender.orElseThrow());
+        assertSame(transaction, asReceiver.orElseThrow());
+    }
+
+    @Test
+    void execute_ShouldHideTransaction_WhenRequesterIsNotAParty() {
+        // Act
+        Optional<Transaction> result = getTransactionUseCase.execute(transactionId, "someone@example.com");
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+}
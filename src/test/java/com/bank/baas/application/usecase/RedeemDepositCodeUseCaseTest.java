@@ -0,0 +1,248 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.application.service.TransferRetryService;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.RedeemedCode;
+import com.bank.baas.domain.model.SignedDepositCode;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.RedeemedCodeRepository;
+import com.bank.baas.domain.repository.TransactionRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedeemDepositCodeUseCaseTest {
+
+    private static final String CODE = "ABCD1234";
+    private static final BigDecimal AMOUNT = new BigDecimal("40.00");
+    private static final String SIGNING_KEYS = "1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private DepositCodeRepository depositCodeRepository;
+
+    @Mock
+    private RedeemedCodeRepository redeemedCodeRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferRetryService transferRetryService;
+
+    private final DepositCodeSigner depositCodeSigner = new DepositCodeSigner(SIGNING_KEYS, 1);
+
+    private RedeemDepositCodeUseCase useCase;
+    private User generator;
+    private User redeemer;
+    private Account generatorAccount;
+    private Account redeemerAccount;
+    private DepositCode depositCode;
+
+    @BeforeEach
+    void setUp() {
+        useCase = useCase(TransferConcurrencyMode.ATOMIC);
+
+        generator = new User(UUID.randomUUID(), "generator@example.com", "12345678900");
+        redeemer = new User(UUID.randomUUID(), "redeemer@example.com", "98765432100");
+        generatorAccount = new Account("11111111", "0001", "password");
+        redeemerAccount = new Account("22222222", "0001", "password");
+        depositCode = new DepositCode(CODE, AMOUNT, generator);
+
+        lenient().when(transferRetryService.executeInTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(userRepository.findUserByEmail(redeemer.getEmail())).thenReturn(Optional.of(redeemer));
+        lenient().when(accountRepository.findByUserId(redeemer.getId())).thenReturn(Optional.of(redeemerAccount));
+        lenient().when(accountRepository.findByUserId(generator.getId())).thenReturn(Optional.of(generatorAccount));
+        lenient().when(depositCodeRepository.findByCode(CODE)).thenReturn(Optional.of(depositCode));
+    }
+
+    @Test
+    void execute_ShouldClaimCodeAndMoveAmountFromGeneratorToRedeemer() {
+        // Arrange
+        when(depositCodeRepository.claim(eq(CODE), eq(redeemer), any())).thenReturn(true);
+        when(accountRepository.debitIfSufficientBalance(generatorAccount.getId(), AMOUNT)).thenReturn(true);
+        when(accountRepository.credit(redeemerAccount.getId(), AMOUNT)).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Transaction transaction = useCase.execute(redeemer.getEmail(), CODE);
+
+        // Assert
+        assertEquals(TransactionStatus.SUCCESS, transaction.getStatus());
+        assertEquals(AMOUNT, transaction.getAmount());
+        assertEquals(generator, transaction.getSender());
+        assertEquals(redeemer, transaction.getReceiver());
+        verify(transferRetryService).executeInTransaction(any());
+    }
+
+    @Test
+    void execute_ShouldRejectWhenAnotherRedeemerClaimedFirst() {
+        // Arrange
+        when(depositCodeRepository.claim(eq(CODE), eq(redeemer), any())).thenReturn(false);
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.execute(redeemer.getEmail(), CODE));
+        assertEquals("Deposit code already used", exception.getMessage());
+        verify(accountRepository, never()).debitIfSufficientBalance(any(), any());
+        verify(accountRepository, never()).credit(any(), any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_ShouldFailWhenGeneratorCannotCoverAmount() {
+        // Arrange
+        when(depositCodeRepository.claim(eq(CODE), eq(redeemer), any())).thenReturn(true);
+        when(accountRepository.debitIfSufficientBalance(generatorAccount.getId(), AMOUNT)).thenReturn(false);
+        lenient().when(accountRepository.credit(redeemerAccount.getId(), AMOUNT)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> useCase.execute(redeemer.getEmail(), CODE));
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_ShouldRejectOwnCode() {
+        // Arrange
+        when(userRepository.findUserByEmail(generator.getEmail())).thenReturn(Optional.of(generator));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.execute(generator.getEmail(), CODE));
+        assertEquals("Cannot use own deposit code", exception.getMessage());
+        verify(depositCodeRepository, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldRejectCodeAlreadyMarkedUsed() {
+        // Arrange
+        depositCode.markAsUsed(new User(UUID.randomUUID(), "other@example.com", "11122233344"));
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> useCase.execute(redeemer.getEmail(), CODE));
+        verify(depositCodeRepository, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldRejectExpiredCode() {
+        // Arrange
+        depositCode = new DepositCode(CODE, AMOUNT, generator, LocalDateTime.now().minusMinutes(1));
+        when(depositCodeRepository.findByCode(CODE)).thenReturn(Optional.of(depositCode));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.execute(redeemer.getEmail(), CODE));
+        assertEquals("Deposit code expired", exception.getMessage());
+        verify(depositCodeRepository, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldRecordNonceAndMoveAmount_WhenCodeIsSigned() {
+        // Arrange
+        UUID nonce = UUID.randomUUID();
+        String token = depositCodeSigner.sign(new SignedDepositCode(nonce, generator.getId(), AMOUNT,
+                LocalDateTime.now().plusHours(1)));
+        when(userRepository.findUserById(generator.getId())).thenReturn(Optional.of(generator));
+        when(accountRepository.debitIfSufficientBalance(generatorAccount.getId(), AMOUNT)).thenReturn(true);
+        when(accountRepository.credit(redeemerAccount.getId(), AMOUNT)).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Transaction transaction = useCase.execute(redeemer.getEmail(), token);
+
+        // Assert
+        assertEquals(generator, transaction.getSender());
+        assertEquals(redeemer, transaction.getReceiver());
+        verify(redeemedCodeRepository).insert(argThat((RedeemedCode redeemed) ->
+                redeemed.nonce().equals(nonce) && redeemed.redeemedBy().equals(redeemer.getId())));
+        verifyNoInteractions(depositCodeRepository);
+    }
+
+    @Test
+    void execute_ShouldRejectSignedCode_WhenNonceAlreadyRedeemed() {
+        // Arrange
+        String token = depositCodeSigner.sign(new SignedDepositCode(UUID.randomUUID(), generator.getId(), AMOUNT,
+                LocalDateTime.now().plusHours(1)));
+        when(userRepository.findUserById(generator.getId())).thenReturn(Optional.of(generator));
+        doThrow(new DataIntegrityViolationException("duplicate nonce")).when(redeemedCodeRepository).insert(any());
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.execute(redeemer.getEmail(), token));
+        assertEquals("Deposit code already used", exception.getMessage());
+        verify(accountRepository, never()).debitIfSufficientBalance(any(), any());
+    }
+
+    @Test
+    void execute_ShouldRejectSignedCode_WhenTampered() {
+        // Arrange
+        String token = depositCodeSigner.sign(new SignedDepositCode(UUID.randomUUID(), generator.getId(), AMOUNT,
+                LocalDateTime.now().plusHours(1)));
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.execute(redeemer.getEmail(), tampered));
+        assertEquals("Deposit code not found", exception.getMessage());
+        verifyNoInteractions(redeemedCodeRepository);
+    }
+
+    @Test
+    void execute_ShouldRejectSignedCode_WhenExpired() {
+        // Arrange
+        String token = depositCodeSigner.sign(new SignedDepositCode(UUID.randomUUID(), generator.getId(), AMOUNT,
+                LocalDateTime.now().minusSeconds(5)));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> useCase.execute(redeemer.getEmail(), token));
+        assertEquals("Deposit code expired", exception.getMessage());
+        verifyNoInteractions(redeemedCodeRepository);
+    }
+
+    @Test
+    void execute_ShouldRejectInMemoryMode() {
+        // Arrange
+        useCase = useCase(TransferConcurrencyMode.IN_MEMORY);
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> useCase.execute(redeemer.getEmail(), CODE));
+        verifyNoInteractions(transferRetryService, depositCodeRepository);
+    }
+
+    private RedeemDepositCodeUseCase useCase(TransferConcurrencyMode mode) {
+        return new RedeemDepositCodeUseCase(userRepository, accountRepository, depositCodeRepository,
+                redeemedCodeRepository, depositCodeSigner, transactionRepository, transferRetryService, mode);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.baas.application.usecase;
+
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateBalanceSlotsUseCaseTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private UpdateBalanceSlotsUseCase updateBalanceSlotsUseCase;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @Test
+    void execute_ShouldResizeSlots_WhenCallerIsPrivileged() {
+        // Arrange
+        when(accountRepository.resizeBalanceSlots(accountId, 0)).thenReturn(true);
+
+        // Act
+        updateBalanceSlotsUseCase.execute(true, accountId, 0);
+
+        // Assert
+        verify(accountRepository).resizeBalanceSlots(accountId, 0);
+    }
+
+    @Test
+    void execute_ShouldThrowException_WhenCallerIsNotPrivileged() {
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> updateBalanceSlotsUseCase.execute(false, accountId, 8));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void execute_ShouldThrowException_WhenSlotsAreNegative() {
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> updateBalanceSlotsUseCase.execute(true, accountId, -1));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void execute_ShouldThrowException_WhenAccountDoesNotExist() {
+        // Arrange
+        when(accountRepository.resizeBalanceSlots(accountId, 8)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> updateBalanceSlotsUseCase.execute(true, accountId, 8));
+    }
+}
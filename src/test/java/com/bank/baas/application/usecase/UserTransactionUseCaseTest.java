@@ -1,9 +1,19 @@
 package com.bank.baas.application.usecase;
 
+import com.bank.baas.application.service.GroupCommitTransferExecutor;
+import com.bank.baas.application.service.InMemoryLedgerEngine;
+import com.bank.baas.application.service.LedgerBalanceService;
+import com.bank.baas.application.service.PendingTransferDispatcher;
+import com.bank.baas.application.service.TransferIdempotencyService;
+import com.bank.baas.application.service.TransferRetryService;
 import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.enums.TransferConcurrencyMode;
+import com.bank.baas.domain.exception.AlreadyExistsException;
 import com.bank.baas.domain.exception.AuthorizationException;
 import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.LedgerRecord;
 import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.TransferParticipant;
 import com.bank.baas.domain.model.User;
 import com.bank.baas.domain.repository.AccountRepository;
 import com.bank.baas.domain.repository.TransactionRepository;
@@ -14,17 +24,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +57,24 @@ class UserTransactionUseCaseTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private TransferRetryService transferRetryService;
+
+    @Mock
+    private TransferIdempotencyService transferIdempotencyService;
+
+    @Mock
+    private PendingTransferDispatcher pendingTransferDispatcher;
+
+    @Mock
+    private InMemoryLedgerEngine inMemoryLedgerEngine;
+
+    @Mock
+    private LedgerBalanceService ledgerBalanceService;
+
+    @Mock
+    private GroupCommitTransferExecutor groupCommitTransferExecutor;
+
     private UserTransactionUseCase userTransactionUseCase;
 
     @Captor
@@ -61,6 +96,11 @@ class UserTransactionUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        userTransactionUseCase = useCase(TransferConcurrencyMode.PESSIMISTIC);
+
+        lenient().when(transferRetryService.executeInTransaction(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
         senderEmail = "sender@example.com";
         receiverEmail = "receiver@example.com";
         password = "password123";
@@ -123,8 +163,9 @@ class UserTransactionUseCaseTest {
     @Test
     void execute_ShouldCompleteTransaction_WhenRequestIsValid() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(senderAccount, receiverAccount);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
 
@@ -136,8 +177,8 @@ class UserTransactionUseCaseTest {
         assertEquals(savedTransaction.getId(), result.getId());
         assertEquals(TransactionStatus.SUCCESS, result.getStatus());
 
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
+        verify(userRepository, never()).findUserByEmail(any());
         verify(accountRepository, times(2)).save(accountCaptor.capture());
         verify(transactionRepository).save(transactionCaptor.capture());
 
@@ -151,8 +192,8 @@ class UserTransactionUseCaseTest {
 
         // Verify the transaction was created correctly
         Transaction capturedTransaction = transactionCaptor.getValue();
-        assertEquals(sender, capturedTransaction.getSender());
-        assertEquals(receiver, capturedTransaction.getReceiver());
+        assertEquals(sender.getId(), capturedTransaction.getSender().getId());
+        assertEquals(receiver.getId(), capturedTransaction.getReceiver().getId());
         assertEquals(amount, capturedTransaction.getAmount());
     }
 
@@ -163,8 +204,10 @@ class UserTransactionUseCaseTest {
         String receiverCpf = "98765432100";
         UserTransactionRequest cpfRequest = new UserTransactionRequest(senderCpf, receiverCpf, amount, password, true);
 
-        when(userRepository.findUserByCPF(senderCpf)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByCPF(receiverCpf)).thenReturn(Optional.of(receiver));
+        when(userRepository.findTransferParticipantsByCpfs(List.of(senderCpf, receiverCpf)))
+                .thenReturn(List.of(participant(sender), participant(receiver)));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
         when(accountRepository.save(any(Account.class))).thenReturn(senderAccount, receiverAccount);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
 
@@ -173,15 +216,14 @@ class UserTransactionUseCaseTest {
 
         // Assert
         assertNotNull(result);
-        verify(userRepository).findUserByCPF(senderCpf);
-        verify(userRepository).findUserByCPF(receiverCpf);
-        verify(userRepository, never()).findUserByEmail(any());
+        verify(userRepository).findTransferParticipantsByCpfs(List.of(senderCpf, receiverCpf));
+        verify(userRepository, never()).findTransferParticipantsByEmails(any());
     }
 
     @Test
     void execute_ShouldThrowAuthorizationException_WhenSenderNotFound() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.empty());
+        stubParticipants(participant(receiver));
 
         // Act & Assert
         AuthorizationException exception = assertThrows(AuthorizationException.class, () -> {
@@ -189,8 +231,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("User not found: " + senderEmail, exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository, never()).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -198,8 +239,7 @@ class UserTransactionUseCaseTest {
     @Test
     void execute_ShouldThrowAuthorizationException_WhenReceiverNotFound() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.empty());
+        stubParticipants(participant(sender));
 
         // Act & Assert
         AuthorizationException exception = assertThrows(AuthorizationException.class, () -> {
@@ -207,8 +247,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("User not found: " + receiverEmail, exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -217,7 +256,7 @@ class UserTransactionUseCaseTest {
     void execute_ShouldThrowAuthorizationException_WhenSenderHasNoAccount() {
         // Arrange
         User senderWithoutAccount = new User(senderEmail, "12345678900");
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(senderWithoutAccount));
+        stubParticipants(participant(senderWithoutAccount), participant(receiver));
 
         // Act & Assert
         AuthorizationException exception = assertThrows(AuthorizationException.class, () -> {
@@ -225,7 +264,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("Sender has no account", exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -234,8 +273,7 @@ class UserTransactionUseCaseTest {
     void execute_ShouldThrowAuthorizationException_WhenReceiverHasNoAccount() {
         // Arrange
         User receiverWithoutAccount = new User(receiverEmail, "98765432100");
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiverWithoutAccount));
+        stubParticipants(participant(sender), participant(receiverWithoutAccount));
 
         // Act & Assert
         AuthorizationException exception = assertThrows(AuthorizationException.class, () -> {
@@ -243,8 +281,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("Receiver has no account", exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -252,7 +289,7 @@ class UserTransactionUseCaseTest {
     @Test
     void execute_ShouldThrowAuthorizationException_WhenPasswordIsIncorrect() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
+        stubParticipants(participant(sender), participant(receiver));
         UserTransactionRequest invalidRequest = new UserTransactionRequest(senderEmail, receiverEmail, amount, "wrongpassword", false);
 
         // Act & Assert
@@ -261,8 +298,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("Invalid password", exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository, never()).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -270,8 +306,7 @@ class UserTransactionUseCaseTest {
     @Test
     void execute_ShouldThrowAuthorizationException_WhenAmountIsZero() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        stubParticipants(participant(sender), participant(receiver));
         UserTransactionRequest invalidRequest = new UserTransactionRequest(senderEmail, receiverEmail, BigDecimal.ZERO, password, false);
 
         // Act & Assert
@@ -280,8 +315,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("Amount must be greater than zero", exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -289,8 +323,7 @@ class UserTransactionUseCaseTest {
     @Test
     void execute_ShouldThrowAuthorizationException_WhenAmountIsNegative() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        stubParticipants(participant(sender), participant(receiver));
         UserTransactionRequest invalidRequest = new UserTransactionRequest(senderEmail, receiverEmail, new BigDecimal("-10.00"), password, false);
 
         // Act & Assert
@@ -299,8 +332,7 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("Amount must be greater than zero", exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
     }
@@ -308,8 +340,7 @@ class UserTransactionUseCaseTest {
     @Test
     void execute_ShouldThrowAuthorizationException_WhenSenderHasInsufficientBalance() {
         // Arrange
-        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
-        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        stubParticipants(participant(sender), participant(receiver));
         UserTransactionRequest invalidRequest = new UserTransactionRequest(senderEmail, receiverEmail, new BigDecimal("1000.00"), password, false);
 
         // Act & Assert
@@ -318,9 +349,444 @@ class UserTransactionUseCaseTest {
         });
 
         assertEquals("Insufficient balance", exception.getMessage());
-        verify(userRepository).findUserByEmail(senderEmail);
-        verify(userRepository).findUserByEmail(receiverEmail);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(accountRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_ShouldLockAccountsInIdOrder_WhenModeIsPessimistic() {
+        // Arrange
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+        when(accountRepository.save(any(Account.class))).thenReturn(senderAccount, receiverAccount);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        UUID firstId = Account.LOCK_ORDER.compare(senderAccount.getId(), receiverAccount.getId()) < 0
+                ? senderAccount.getId() : receiverAccount.getId();
+        UUID secondId = firstId.equals(senderAccount.getId()) ? receiverAccount.getId() : senderAccount.getId();
+
+        // Act
+        userTransactionUseCase.execute(request);
+
+        // Assert
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).findByIdForUpdate(firstId);
+        inOrder.verify(accountRepository).findByIdForUpdate(secondId);
+        inOrder.verify(accountRepository, times(2)).save(any(Account.class));
+        verify(transferRetryService).executeInTransaction(any());
+    }
+
+    @Test
+    void execute_ShouldUseLockedBalance_WhenAccountChangedBeforeLock() {
+        // Arrange
+        Account lockedSenderAccount = new Account("12345678", "0001", sender, password);
+        try {
+            java.lang.reflect.Field idField = Account.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(lockedSenderAccount, senderAccount.getId());
+
+            java.lang.reflect.Field balanceField = Account.class.getDeclaredField("balance");
+            balanceField.setAccessible(true);
+            balanceField.set(lockedSenderAccount, new BigDecimal("50.00"));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up locked account", e);
+        }
+
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(lockedSenderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class, () -> {
+            userTransactionUseCase.execute(request);
+        });
+
+        assertEquals("Insufficient balance", exception.getMessage());
+        verify(accountRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_ShouldNotLockAccounts_WhenModeIsOptimistic() {
+        // Arrange
+        UserTransactionUseCase optimisticUseCase = useCase(TransferConcurrencyMode.OPTIMISTIC);
+
+        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
+        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        when(accountRepository.save(any(Account.class))).thenReturn(senderAccount, receiverAccount);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        // Act
+        Transaction result = optimisticUseCase.execute(request);
+
+        // Assert
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(accountRepository, times(2)).save(any(Account.class));
+    }
+
+    @Test
+    void execute_ShouldPropagateVersionConflict_SoTheTransferCanBeRetried() {
+        // Arrange
+        UserTransactionUseCase optimisticUseCase = useCase(TransferConcurrencyMode.OPTIMISTIC);
+
+        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
+        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, senderAccount.getId()));
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> optimisticUseCase.execute(request));
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_ShouldPropagateDuplicateKey_WithoutRecordingFailedTransaction() {
+        // Arrange
+        UserTransactionUseCase atomicUseCase = useCase(TransferConcurrencyMode.ATOMIC);
+
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.debitIfSufficientBalance(senderAccount.getId(), amount)).thenReturn(true);
+        when(accountRepository.credit(receiverAccount.getId(), amount)).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("idx_transactions_sender_idempotency_key"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> atomicUseCase.execute(request));
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+    }
+
+    @Test
+    void execute_ShouldUseConditionalUpdatesInIdOrder_WhenModeIsAtomic() {
+        // Arrange
+        UserTransactionUseCase atomicUseCase = useCase(TransferConcurrencyMode.ATOMIC);
+
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.debitIfSufficientBalance(senderAccount.getId(), amount)).thenReturn(true);
+        when(accountRepository.credit(receiverAccount.getId(), amount)).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        // Act
+        Transaction result = atomicUseCase.execute(request);
+
+        // Assert
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+
+        InOrder inOrder = inOrder(accountRepository);
+        if (Account.LOCK_ORDER.compare(senderAccount.getId(), receiverAccount.getId()) < 0) {
+            inOrder.verify(accountRepository).debitIfSufficientBalance(senderAccount.getId(), amount);
+            inOrder.verify(accountRepository).credit(receiverAccount.getId(), amount);
+        } else {
+            inOrder.verify(accountRepository).credit(receiverAccount.getId(), amount);
+            inOrder.verify(accountRepository).debitIfSufficientBalance(senderAccount.getId(), amount);
+        }
         verify(accountRepository, never()).save(any());
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void execute_ShouldThrowInsufficientBalance_WhenConditionalDebitMatchesNoRow() {
+        // Arrange
+        UserTransactionUseCase atomicUseCase = useCase(TransferConcurrencyMode.ATOMIC);
+
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.debitIfSufficientBalance(senderAccount.getId(), amount)).thenReturn(false);
+        lenient().when(accountRepository.credit(receiverAccount.getId(), amount)).thenReturn(true);
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class, () -> {
+            atomicUseCase.execute(request);
+        });
+
+        assertEquals("Insufficient balance", exception.getMessage());
         verify(transactionRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void execute_ShouldPersistIdempotencyKey_WhenKeyIsProvided() {
+        // Arrange
+        String idempotencyKey = "payroll-2024-01-0001";
+        when(transferIdempotencyService.execute(eq(sender.getId()), eq(idempotencyKey), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        // Act
+        Transaction result = userTransactionUseCase.execute(request, idempotencyKey);
+
+        // Assert
+        assertEquals(savedTransaction.getId(), result.getId());
+        verify(transactionRepository).save(transactionCaptor.capture());
+        assertEquals(idempotencyKey, transactionCaptor.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    void execute_ShouldReturnStoredTransaction_WhenKeyWasAlreadyProcessed() {
+        // Arrange
+        String idempotencyKey = "payroll-2024-01-0001";
+        when(transferIdempotencyService.execute(eq(sender.getId()), eq(idempotencyKey), any()))
+                .thenReturn(savedTransaction);
+        stubParticipants(participant(sender), participant(receiver));
+
+        // Act
+        Transaction result = userTransactionUseCase.execute(request, idempotencyKey);
+
+        // Assert
+        assertSame(savedTransaction, result);
+        verify(userRepository).findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail));
+        verifyNoInteractions(accountRepository, transactionRepository, transferRetryService);
+    }
+
+    @Test
+    void execute_ShouldRejectReplay_WhenPasswordIsIncorrect() {
+        // Arrange
+        String idempotencyKey = "payroll-2024-01-0001";
+        UserTransactionRequest wrongPassword = new UserTransactionRequest(
+                senderEmail, receiverEmail, amount, "wrongpassword", false);
+        stubParticipants(participant(sender), participant(receiver));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> userTransactionUseCase.execute(wrongPassword, idempotencyKey));
+        assertEquals("Invalid password", exception.getMessage());
+        verifyNoInteractions(transferIdempotencyService);
+    }
+
+    @Test
+    void execute_ShouldRejectReplay_WhenKeyBelongsToADifferentTransfer() {
+        // Arrange
+        String idempotencyKey = "payroll-2024-01-0001";
+        UserTransactionRequest otherRequest = new UserTransactionRequest(
+                senderEmail, receiverEmail, new BigDecimal("999.00"), password, false);
+        when(transferIdempotencyService.execute(eq(sender.getId()), eq(idempotencyKey), any()))
+                .thenReturn(savedTransaction);
+        stubParticipants(participant(sender), participant(receiver));
+
+        // Act & Assert
+        AlreadyExistsException exception = assertThrows(AlreadyExistsException.class,
+                () -> userTransactionUseCase.execute(otherRequest, idempotencyKey));
+        assertEquals("Idempotency-Key already used for a different transfer", exception.getMessage());
+    }
+
+    @Test
+    void execute_ShouldSkipDeduplication_WhenKeyIsBlank() {
+        // Arrange
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByIdForUpdate(receiverAccount.getId())).thenReturn(Optional.of(receiverAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        // Act
+        userTransactionUseCase.execute(request, " ");
+
+        // Assert
+        verifyNoInteractions(transferIdempotencyService);
+        verify(transactionRepository).save(transactionCaptor.capture());
+        assertNull(transactionCaptor.getValue().getIdempotencyKey());
+    }
+
+    @Test
+    void execute_ShouldRejectIdempotencyKey_WhenItIsTooLong() {
+        // Act & Assert
+        assertThrows(AuthorizationException.class,
+                () -> userTransactionUseCase.execute(request, "k".repeat(129)));
+        verifyNoInteractions(transferIdempotencyService, transferRetryService);
+    }
+
+    @Test
+    void submit_ShouldPersistPendingTransactionAndDispatchIt_WithoutTouchingAccounts() {
+        // Arrange
+        Transaction pendingTransaction = new Transaction(sender, receiver, amount, LocalDateTime.now());
+        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
+        when(userRepository.findUserByEmail(receiverEmail)).thenReturn(Optional.of(receiver));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(pendingTransaction);
+
+        // Act
+        Transaction result = userTransactionUseCase.submit(request, null);
+
+        // Assert
+        assertSame(pendingTransaction, result);
+        verify(transactionRepository).save(transactionCaptor.capture());
+        assertEquals(TransactionStatus.PENDING, transactionCaptor.getValue().getStatus());
+        verify(pendingTransferDispatcher).dispatch(pendingTransaction);
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void submit_ShouldNotDispatch_WhenReplayIsAlreadySettled() {
+        // Arrange
+        String idempotencyKey = "payroll-2024-01-0001";
+        when(transferIdempotencyService.execute(eq(sender.getId()), eq(idempotencyKey), any()))
+                .thenReturn(savedTransaction);
+        stubParticipants(participant(sender), participant(receiver));
+
+        // Act
+        Transaction result = userTransactionUseCase.submit(request, idempotencyKey);
+
+        // Assert
+        assertSame(savedTransaction, result);
+        verifyNoInteractions(pendingTransferDispatcher);
+    }
+
+    @Test
+    void submit_ShouldNotDispatchAgain_WhenReplayIsStillPending() {
+        // Arrange
+        String idempotencyKey = "payroll-2024-01-0001";
+        Transaction pendingTransaction = new Transaction(sender, receiver, amount, LocalDateTime.now());
+        when(transferIdempotencyService.execute(eq(sender.getId()), eq(idempotencyKey), any()))
+                .thenReturn(pendingTransaction);
+        stubParticipants(participant(sender), participant(receiver));
+
+        // Act
+        Transaction result = userTransactionUseCase.submit(request, idempotencyKey);
+
+        // Assert
+        assertSame(pendingTransaction, result);
+        verifyNoInteractions(pendingTransferDispatcher, transactionRepository);
+    }
+
+    @Test
+    void submit_ShouldRejectTransfer_WhenPasswordIsInvalid() {
+        // Arrange
+        UserTransactionRequest invalidRequest = new UserTransactionRequest(
+                senderEmail, receiverEmail, amount, "wrong", false);
+        when(userRepository.findUserByEmail(senderEmail)).thenReturn(Optional.of(sender));
+
+        // Act & Assert
+        assertThrows(AuthorizationException.class, () -> userTransactionUseCase.submit(invalidRequest, null));
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(pendingTransferDispatcher);
+    }
+
+    @Test
+    void execute_ShouldSettleThroughLedgerEngine_WhenInMemoryModeIsEnabled() {
+        // Arrange
+        UserTransactionUseCase inMemoryUseCase = useCase(TransferConcurrencyMode.IN_MEMORY);
+        UUID transactionId = UUID.randomUUID();
+        LedgerRecord record = new LedgerRecord(42L, transactionId, sender.getId(), senderAccount.getId(),
+                receiver.getId(), receiverAccount.getId(), amount, null, LocalDateTime.now());
+        stubParticipants(participant(sender), participant(receiver));
+        when(inMemoryLedgerEngine.transfer(sender.getId(), senderAccount.getId(), receiver.getId(),
+                receiverAccount.getId(), amount, null)).thenReturn(record);
+
+        // Act
+        Transaction result = inMemoryUseCase.execute(request);
+
+        // Assert
+        assertEquals(TransactionStatus.SUCCESS, result.getStatus());
+        assertEquals(transactionId, result.getId());
+        assertEquals(42L, result.getLedgerSequence());
+        verifyNoInteractions(accountRepository, transactionRepository, transferRetryService);
+    }
+
+    @Test
+    void execute_ShouldLeaveBalanceCheckToLedgerEngine_WhenInMemoryModeIsEnabled() {
+        // Arrange
+        UserTransactionUseCase inMemoryUseCase = useCase(TransferConcurrencyMode.IN_MEMORY);
+        UserTransactionRequest largeRequest = new UserTransactionRequest(
+                senderEmail, receiverEmail, new BigDecimal("10000.00"), password, false);
+        stubParticipants(participant(sender), participant(receiver));
+        when(inMemoryLedgerEngine.transfer(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new AuthorizationException("Insufficient balance"));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> inMemoryUseCase.execute(largeRequest));
+        assertEquals("Insufficient balance", exception.getMessage());
+        verify(inMemoryLedgerEngine).transfer(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldLockOnlySenderAndPostEntries_WhenDoubleEntryModeIsEnabled() {
+        // Arrange
+        UserTransactionUseCase doubleEntryUseCase = useCase(TransferConcurrencyMode.DOUBLE_ENTRY);
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        when(ledgerBalanceService.balanceOf(senderAccount)).thenReturn(new BigDecimal("100.00"));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+        // Act
+        Transaction result = doubleEntryUseCase.execute(request);
+
+        // Assert
+        assertEquals(savedTransaction, result);
+        verify(accountRepository, never()).findByIdForUpdate(receiverAccount.getId());
+        verify(accountRepository, never()).save(any());
+        verify(ledgerBalanceService).post(eq(savedTransaction.getId()), eq(senderAccount.getId()),
+                eq(receiverAccount.getId()), eq(amount), any(LocalDateTime.class));
+    }
+
+    @Test
+    void execute_ShouldUseLedgerBalance_WhenDoubleEntryModeIsEnabled() {
+        // Arrange
+        UserTransactionUseCase doubleEntryUseCase = useCase(TransferConcurrencyMode.DOUBLE_ENTRY);
+        stubParticipants(participant(sender), participant(receiver));
+        when(accountRepository.findByIdForUpdate(senderAccount.getId())).thenReturn(Optional.of(senderAccount));
+        // The account table still says 500.00, but postings since then brought the balance down.
+        when(ledgerBalanceService.balanceOf(senderAccount)).thenReturn(new BigDecimal("99.99"));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> doubleEntryUseCase.execute(request));
+        assertEquals("Insufficient balance", exception.getMessage());
+        verify(transactionRepository, never()).save(any());
+        verify(ledgerBalanceService, never()).post(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldSubmitToGroupCommitExecutor_WhenGroupCommitModeIsEnabled() {
+        // Arrange
+        UserTransactionUseCase groupCommitUseCase = useCase(TransferConcurrencyMode.GROUP_COMMIT);
+        stubParticipants(participant(sender), participant(receiver));
+        when(groupCommitTransferExecutor.submit(argThat(user -> sender.getId().equals(user.getId())),
+                eq(senderAccount.getId()), argThat(user -> receiver.getId().equals(user.getId())),
+                eq(receiverAccount.getId()), eq(amount), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(savedTransaction));
+
+        // Act
+        Transaction result = groupCommitUseCase.execute(request);
+
+        // Assert
+        assertEquals(savedTransaction, result);
+        verifyNoInteractions(accountRepository, transactionRepository, transferRetryService);
+    }
+
+    @Test
+    void execute_ShouldRethrowSettlementFailure_WhenGroupCommitModeIsEnabled() {
+        // Arrange
+        UserTransactionUseCase groupCommitUseCase = useCase(TransferConcurrencyMode.GROUP_COMMIT);
+        stubParticipants(participant(sender), participant(receiver));
+        when(groupCommitTransferExecutor.submit(any(), any(), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new AuthorizationException("Insufficient balance")));
+
+        // Act & Assert
+        AuthorizationException exception = assertThrows(AuthorizationException.class,
+                () -> groupCommitUseCase.execute(request));
+        assertEquals("Insufficient balance", exception.getMessage());
+    }
+
+    private void stubParticipants(TransferParticipant... participants) {
+        when(userRepository.findTransferParticipantsByEmails(List.of(senderEmail, receiverEmail)))
+                .thenReturn(List.of(participants));
+    }
+
+    private static TransferParticipant participant(User user) {
+        Account account = user.getAccount();
+        return account == null
+                ? new TransferParticipant(user.getId(), user.getEmail(), user.getCpf(), null, null, null)
+                : new TransferParticipant(user.getId(), user.getEmail(), user.getCpf(), account.getId(),
+                        account.getPassword(), account.getBalance());
+    }
+
+    private UserTransactionUseCase useCase(TransferConcurrencyMode concurrencyMode) {
+        return new UserTransactionUseCase(
+                userRepository, accountRepository, transactionRepository, transferRetryService,
+                transferIdempotencyService, pendingTransferDispatcher, inMemoryLedgerEngine, ledgerBalanceService,
+                groupCommitTransferExecutor, concurrencyMode);
+    }
+}
@@ -0,0 +1,116 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.application.usecase.UserTransactionUseCase;
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserRepository;
+import com.bank.baas.presentation.dto.UserTransactionRequest;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hot-account transfer workload shared by the transfer benchmarks: every transfer touches one
+ * hot account, half of them as payer and half as payee, so A->B and B->A run concurrently.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+abstract class AbstractTransferBenchmark {
+
+    protected static final String PASSWORD = "bench-pass";
+    protected static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    protected static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Autowired
+    protected UserTransactionUseCase userTransactionUseCase;
+
+    @Autowired
+    protected SpringDataUserRepository userRepository;
+
+    @Autowired
+    protected SpringDataAccountRepository accountRepository;
+
+    protected final List<UUID> seededAccountIds = Collections.synchronizedList(new ArrayList<>());
+
+    protected String seedAccount(String prefix) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        UserEntity user = new UserEntity();
+        user.setEmail(prefix + "-" + suffix + "@bench.local");
+        user.setCpf(suffix + String.format("%03d", Math.abs(prefix.hashCode()) % 1000));
+        user.setPassword(PASSWORD);
+        UserEntity savedUser = userRepository.save(user);
+
+        AccountEntity account = new AccountEntity(suffix, "0001", savedUser, PASSWORD);
+        account.setBalance(INITIAL_BALANCE);
+        seededAccountIds.add(accountRepository.save(account).getId());
+
+        return savedUser.getEmail();
+    }
+
+    protected BenchmarkResult runHotAccountWorkload(String label, int threads, int transfersPerThread, int peers)
+            throws InterruptedException {
+        String hotAccount = seedAccount("hot");
+        List<String> peerAccounts = new ArrayList<>();
+        for (int i = 0; i < peers; i++) {
+            peerAccounts.add(seedAccount("peer" + i));
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    String peer = peerAccounts.get((thread + i) % peerAccounts.size());
+                    boolean outbound = (thread + i) % 2 == 0;
+                    UserTransactionRequest request = outbound
+                            ? new UserTransactionRequest(hotAccount, peer, AMOUNT, PASSWORD, false)
+                            : new UserTransactionRequest(peer, hotAccount, AMOUNT, PASSWORD, false);
+
+                    long began = System.nanoTime();
+                    try {
+                        userTransactionUseCase.execute(request);
+                        latencies.add(System.nanoTime() - began);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - began;
+
+        BenchmarkResult result = BenchmarkResult.of(label, threads, latencies, failures.get(), elapsedNanos);
+        SimpleLogger.info(getClass(), result.toString());
+        return result;
+    }
+
+    protected BigDecimal totalSeededBalance() {
+        return accountRepository.findAllById(seededAccountIds).stream()
+                .map(AccountEntity::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
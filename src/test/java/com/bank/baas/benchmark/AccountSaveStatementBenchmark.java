@@ -0,0 +1,113 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.repository.AccountRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import com.bank.baas.infrastructure.persistence.mapper.AccountMapper;
+import com.bank.baas.presentation.dto.UserTransactionRequest;
+import com.bank.baas.utils.log.SimpleLogger;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JDBC statements behind saving an account that is already loaded in the transaction: merging a freshly mapped
+ * copy (the previous save) against writing the changes onto the managed entity, plus statements per transfer.
+ * Counted with Hibernate statistics, which include the lookups of each unit of work.
+ */
+@SpringBootTest(properties = {
+        "baas.transfer.concurrency-mode=PESSIMISTIC",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AccountSaveStatementBenchmark extends AbstractTransferBenchmark {
+
+    private static final int SAVES = 500;
+    private static final int TRANSFERS = 500;
+
+    @Autowired
+    private UserRepository domainUserRepository;
+
+    @Autowired
+    private AccountRepository domainAccountRepository;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void save_MergeVersusManagedEntity() {
+        // Arrange
+        String owner = seedAccount("owner");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        Counts merged = run(statistics, owner,
+                account -> accountRepository.save(accountMapper.toEntity(account)));
+        Counts tracked = run(statistics, owner, domainAccountRepository::save);
+
+        // Assert
+        SimpleLogger.info(getClass(), String.format(
+                "account save: merge=%.2f statements/op (%d user updates), managed=%.2f statements/op (%d user updates)",
+                merged.statementsPerOp(), merged.userUpdates(), tracked.statementsPerOp(), tracked.userUpdates()));
+        assertTrue(tracked.statementsPerOp() <= merged.statementsPerOp());
+        assertEquals(0, tracked.userUpdates());
+        assertEquals(0, INITIAL_BALANCE.add(AMOUNT.multiply(BigDecimal.valueOf(2L * SAVES)))
+                .compareTo(totalSeededBalance()));
+    }
+
+    @Test
+    void transfer_StatementsPerTransfer() {
+        // Arrange
+        String payer = seedAccount("payer");
+        String payee = seedAccount("payee");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        for (int i = 0; i < TRANSFERS; i++) {
+            userTransactionUseCase.execute(new UserTransactionRequest(payer, payee, AMOUNT, PASSWORD, false));
+        }
+
+        // Assert
+        long userUpdates = statistics.getEntityStatistics(UserEntity.class.getName()).getUpdateCount();
+        SimpleLogger.info(getClass(), String.format("transfer: %.2f statements/transfer, %d account updates, %d user updates",
+                (double) statistics.getPrepareStatementCount() / TRANSFERS,
+                statistics.getEntityStatistics(AccountEntity.class.getName()).getUpdateCount(), userUpdates));
+        assertEquals(0, userUpdates);
+    }
+
+    private Counts run(Statistics statistics, String owner, Consumer<Account> save) {
+        statistics.clear();
+
+        for (int i = 0; i < SAVES; i++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Loaded the way the transfer flow loads it, so the account row is managed when save runs.
+                Account account = domainUserRepository.findUserByEmail(owner).orElseThrow().getAccount();
+                account.increaseBalance(AMOUNT);
+                save.accept(account);
+            });
+        }
+
+        return new Counts((double) statistics.getPrepareStatementCount() / SAVES,
+                statistics.getEntityStatistics(UserEntity.class.getName()).getUpdateCount());
+    }
+
+    private record Counts(double statementsPerOp, long userUpdates) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.baas.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "baas.transfer.concurrency-mode=ATOMIC")
+class AtomicTransferBenchmark extends AbstractTransferBenchmark {
+
+    @Test
+    void hotAccountTransfers_ShouldConserveMoneyWithConditionalUpdates() throws InterruptedException {
+        // Arrange
+        int peers = 8;
+
+        // Act
+        BenchmarkResult result = runHotAccountWorkload("atomic", 16, 200, peers);
+
+        // Assert
+        assertEquals(0, result.failures());
+        assertEquals(16 * 200, result.completed());
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(peers + 1)).compareTo(totalSeededBalance()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlotConsolidator;
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.presentation.dto.UserTransactionRequest;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inbound-only traffic into one merchant account: every thread pays it from its own account, so the only shared
+ * row is the receiver's (or its slots).
+ */
+@SpringBootTest(properties = "baas.transfer.concurrency-mode=ATOMIC")
+class BalanceSlotCreditBenchmark extends AbstractTransferBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 200;
+
+    @Autowired
+    private AccountBalanceSlotConsolidator consolidator;
+
+    @Test
+    void inboundCredits_ShouldScaleWithBalanceSlots() throws InterruptedException {
+        // Arrange
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        // Act
+        for (int slots : new int[]{0, 2, 8, 16}) {
+            results.add(runInboundWorkload(slots));
+        }
+        consolidator.consolidate();
+
+        // Assert
+        results.forEach(result -> SimpleLogger.info(getClass(), result.toString()));
+        for (BenchmarkResult result : results) {
+            assertEquals(0, result.failures());
+            assertEquals(THREADS * TRANSFERS_PER_THREAD, result.completed());
+        }
+        BigDecimal expected = INITIAL_BALANCE.multiply(BigDecimal.valueOf(seededAccountIds.size()));
+        assertEquals(0, expected.compareTo(totalSeededBalance()));
+    }
+
+    private BenchmarkResult runInboundWorkload(int slots) throws InterruptedException {
+        String merchant = seedAccount("merchant" + slots);
+        UUID merchantAccountId = seededAccountIds.get(seededAccountIds.size() - 1);
+        if (slots > 0) {
+            AccountEntity account = accountRepository.findById(merchantAccountId).orElseThrow();
+            account.setBalanceSlots(slots);
+            accountRepository.save(account);
+            consolidator.consolidate();
+        }
+
+        List<String> payers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            payers.add(seedAccount("payer" + slots + "-" + i));
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (String payer : payers) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    long began = System.nanoTime();
+                    try {
+                        userTransactionUseCase.execute(new UserTransactionRequest(payer, merchant, AMOUNT, PASSWORD, false));
+                        latencies.add(System.nanoTime() - began);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+
+        return BenchmarkResult.of("slots=" + slots, THREADS, latencies, failures.get(), System.nanoTime() - began);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.baas.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+record BenchmarkResult(
+        String label,
+        int threads,
+        int completed,
+        int failures,
+        double throughputPerSecond,
+        double p50Millis,
+        double p99Millis
+) {
+
+    static BenchmarkResult of(String label, int threads, List<Long> latenciesNanos, int failures, long elapsedNanos) {
+        List<Long> sorted = new ArrayList<>(latenciesNanos);
+        Collections.sort(sorted);
+
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        double throughput = elapsedSeconds == 0 ? 0 : sorted.size() / elapsedSeconds;
+
+        return new BenchmarkResult(
+                label,
+                threads,
+                sorted.size(),
+                failures,
+                throughput,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99)
+        );
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: threads=%d completed=%d failures=%d throughput=%.1f/s p50=%.2fms p99=%.2fms",
+                label, threads, completed, failures, throughputPerSecond, p50Millis, p99Millis);
+    }
+}
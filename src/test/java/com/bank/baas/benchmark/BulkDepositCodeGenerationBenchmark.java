@@ -0,0 +1,66 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.application.usecase.BulkGenerateDepositCodesUseCase;
+import com.bank.baas.application.usecase.GenerateDepositCodeUseCase;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataDepositCodeRepository;
+import com.bank.baas.presentation.dto.BulkGenerateDepositCodeRequest;
+import com.bank.baas.presentation.dto.GenerateDepositCodeRequest;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A campaign's worth of codes generated one call at a time, each re-checking the account and inserting one row,
+ * against one bulk call that checks the account once and inserts in JDBC batches.
+ */
+@SpringBootTest
+class BulkDepositCodeGenerationBenchmark extends AbstractTransferBenchmark {
+
+    private static final int CODES = 5_000;
+
+    @Autowired
+    private GenerateDepositCodeUseCase generateDepositCodeUseCase;
+
+    @Autowired
+    private BulkGenerateDepositCodesUseCase bulkGenerateDepositCodesUseCase;
+
+    @Autowired
+    private SpringDataDepositCodeRepository depositCodeRepository;
+
+    @Test
+    void perCallVersusBulk_Throughput() throws IOException {
+        // Arrange
+        String partner = seedAccount("partner");
+        long before = depositCodeRepository.count();
+
+        // Act
+        long began = System.nanoTime();
+        for (int i = 0; i < CODES; i++) {
+            generateDepositCodeUseCase.execute(new GenerateDepositCodeRequest(partner, PASSWORD, AMOUNT));
+        }
+        long perCallNanos = System.nanoTime() - began;
+
+        BulkGenerateDepositCodeRequest request = new BulkGenerateDepositCodeRequest(PASSWORD, AMOUNT, CODES);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        began = System.nanoTime();
+        int generated = bulkGenerateDepositCodesUseCase.execute(
+                bulkGenerateDepositCodesUseCase.authorize(partner, request), request, output);
+        long bulkNanos = System.nanoTime() - began;
+
+        // Assert
+        SimpleLogger.info(getClass(), String.format("%d codes: per-call=%.0f codes/s bulk=%.0f codes/s",
+                CODES, CODES / (perCallNanos / 1_000_000_000.0), CODES / (bulkNanos / 1_000_000_000.0)));
+        assertEquals(CODES, generated);
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(CODES, lines.size());
+        assertEquals(before + 2L * CODES, depositCodeRepository.count());
+    }
+}
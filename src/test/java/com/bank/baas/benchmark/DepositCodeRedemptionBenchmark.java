@@ -0,0 +1,154 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.application.usecase.RedeemDepositCodeUseCase;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.infrastructure.persistence.entity.DepositCodeEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataDepositCodeRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deposit code redemption under contention: many redeemers racing on one code, and many codes redeemed in parallel.
+ */
+@SpringBootTest(properties = "baas.transfer.concurrency-mode=ATOMIC")
+class DepositCodeRedemptionBenchmark extends AbstractTransferBenchmark {
+
+    private static final int RACERS = 300;
+    private static final int THREADS = 16;
+    private static final int CODES_PER_THREAD = 50;
+
+    @Autowired
+    private RedeemDepositCodeUseCase redeemDepositCodeUseCase;
+
+    @Autowired
+    private SpringDataDepositCodeRepository depositCodeRepository;
+
+    @Test
+    void racingRedeemers_ShouldClaimCodeExactlyOnce() throws InterruptedException {
+        // Arrange
+        String generator = seedAccount("issuer");
+        String code = issueCode(generator);
+        List<String> redeemers = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            redeemers.add(seedAccount("racer" + i));
+        }
+
+        AtomicInteger redeemed = new AtomicInteger();
+        ConcurrentLinkedQueue<String> rejections = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RACERS);
+
+        // Act
+        for (String redeemer : redeemers) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    redeemDepositCodeUseCase.execute(redeemer, code);
+                    redeemed.incrementAndGet();
+                } catch (AuthorizationException e) {
+                    rejections.add(e.getMessage());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+
+        // Assert
+        assertEquals(1, redeemed.get());
+        assertEquals(RACERS - 1, rejections.size());
+        assertTrue(rejections.stream().allMatch("Deposit code already used"::equals));
+
+        DepositCodeEntity claimed = depositCodeRepository.findByCode(code).orElseThrow();
+        assertTrue(claimed.isUsed());
+        assertTrue(redeemers.contains(claimed.getUsedBy().getEmail()));
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(RACERS + 1)).compareTo(totalSeededBalance()));
+    }
+
+    @Test
+    void parallelRedemptions_Throughput() throws InterruptedException {
+        // Arrange
+        List<String> generators = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            generators.add(seedAccount("issuer" + i));
+        }
+        List<List<String>> codesPerThread = new ArrayList<>();
+        List<String> redeemers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            redeemers.add(seedAccount("redeemer" + t));
+            List<String> codes = new ArrayList<>();
+            for (int i = 0; i < CODES_PER_THREAD; i++) {
+                codes.add(issueCode(generators.get((t + i) % generators.size())));
+            }
+            codesPerThread.add(codes);
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            String redeemer = redeemers.get(t);
+            List<String> codes = codesPerThread.get(t);
+            executor.submit(() -> {
+                start.await();
+                for (String code : codes) {
+                    long began = System.nanoTime();
+                    try {
+                        redeemDepositCodeUseCase.execute(redeemer, code);
+                        latencies.add(System.nanoTime() - began);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+        BenchmarkResult result = BenchmarkResult.of("deposit-code-redemption", THREADS, latencies, failures.get(),
+                System.nanoTime() - began);
+
+        // Assert
+        SimpleLogger.info(getClass(), result.toString());
+        assertEquals(0, result.failures());
+        assertEquals(THREADS * CODES_PER_THREAD, result.completed());
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(seededAccountIds.size())).compareTo(totalSeededBalance()));
+    }
+
+    private String issueCode(String generatorEmail) {
+        UserEntity generator = userRepository.findByEmail(generatorEmail).orElseThrow();
+
+        DepositCodeEntity entity = new DepositCodeEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setCode(UUID.randomUUID().toString().replace("-", "").substring(0, 16));
+        entity.setAmount(AMOUNT);
+        entity.setGenerator(generator);
+        entity.setUsed(false);
+        entity.setCreatedAt(LocalDateTime.now());
+        return depositCodeRepository.save(entity).getCode();
+    }
+}
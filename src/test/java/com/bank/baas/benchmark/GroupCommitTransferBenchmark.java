@@ -0,0 +1,38 @@
+package com.bank.baas.benchmark;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "baas.transfer.concurrency-mode=GROUP_COMMIT",
+        "baas.transfer.group-commit.window-ms=2",
+        "baas.transfer.group-commit.max-batch-size=64"
+})
+class GroupCommitTransferBenchmark extends AbstractTransferBenchmark {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void hotAccountTransfers_ShouldConserveMoneyWithGroupedCommits() throws InterruptedException {
+        // Arrange
+        int peers = 8;
+
+        // Act
+        BenchmarkResult result = runHotAccountWorkload("group-commit", 16, 200, peers);
+
+        // Assert
+        DistributionSummary batchSizes = meterRegistry.get("baas.transfer.group-commit.batch.size").summary();
+        assertEquals(0, result.failures());
+        assertEquals(16 * 200, result.completed());
+        assertTrue(batchSizes.count() < 16 * 200);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(peers + 1)).compareTo(totalSeededBalance()));
+    }
+}
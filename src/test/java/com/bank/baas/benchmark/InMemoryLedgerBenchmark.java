@@ -0,0 +1,45 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.application.service.LedgerProjectionWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "baas.transfer.concurrency-mode=IN_MEMORY")
+class InMemoryLedgerBenchmark extends AbstractTransferBenchmark {
+
+    @Autowired
+    private LedgerProjectionWriter projectionWriter;
+
+    @DynamicPropertySource
+    static void ledgerJournal(DynamicPropertyRegistry registry) throws IOException {
+        // The H2 database starts empty, so the journal must too.
+        String path = Files.createTempDirectory("bench-ledger").resolve("ledger.journal").toString();
+        registry.add("baas.ledger.journal-path", () -> path);
+    }
+
+    @Test
+    void hotAccountTransfers_ShouldConserveMoneyThroughTheSequencer() throws InterruptedException {
+        // Arrange
+        int peers = 8;
+        long projectedBefore = projectionWriter.projectedSequence();
+
+        // Act
+        BenchmarkResult result = runHotAccountWorkload("in-memory", 16, 200, peers);
+        boolean projected = projectionWriter.awaitProjected(projectedBefore + result.completed(), 60000);
+
+        // Assert
+        assertEquals(0, result.failures());
+        assertEquals(16 * 200, result.completed());
+        assertTrue(projected);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(peers + 1)).compareTo(totalSeededBalance()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.utils.log.SimpleLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "baas.transfer.concurrency-mode=OPTIMISTIC",
+        "baas.transfer.retry.max-attempts=50"
+})
+class OptimisticTransferBenchmark extends AbstractTransferBenchmark {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void hotAccountTransfers_ShouldConserveMoneyAndReportConflictRate() throws InterruptedException {
+        // Arrange
+        int peers = 8;
+
+        // Act
+        BenchmarkResult result = runHotAccountWorkload("optimistic", 16, 200, peers);
+
+        // Assert
+        double attempts = meterRegistry.get("baas.transfer.attempts").counter().count();
+        double conflicts = meterRegistry.get("baas.transfer.conflicts").tag("type", "optimistic").counter().count();
+        SimpleLogger.info(OptimisticTransferBenchmark.class,
+                String.format("optimistic: attempts=%.0f conflicts=%.0f conflictRate=%.3f",
+                        attempts, conflicts, attempts == 0 ? 0 : conflicts / attempts));
+
+        assertEquals(16 * 200, result.completed() + result.failures());
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(peers + 1)).compareTo(totalSeededBalance()));
+    }
+}
@@ -0,0 +1,239 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.DepositCode;
+import com.bank.baas.domain.model.Transaction;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.infrastructure.persistence.entity.DepositCodeEntity;
+import com.bank.baas.infrastructure.persistence.entity.TransactionEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import com.bank.baas.infrastructure.persistence.mapper.AccountMapper;
+import com.bank.baas.infrastructure.persistence.mapper.DepositCodeMapper;
+import com.bank.baas.infrastructure.persistence.mapper.TransactionMapper;
+import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Entity to domain mapping cost per call, in ns/op and bytes allocated per op, for the field-copying mappers
+ * against the reflection-based mapping they replaced (reproduced below). Each mapping is warmed up before it is
+ * measured on the same thread.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class PersistenceMapperBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private DepositCodeMapper depositCodeMapper;
+
+    private volatile Object blackhole;
+
+    private AccountEntity accountEntity;
+    private UserEntity sender;
+    private UserEntity receiver;
+    private TransactionEntity transactionEntity;
+    private DepositCodeEntity depositCodeEntity;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        sender = user("sender@bench.local", "11111111111", now);
+        receiver = user("receiver@bench.local", "22222222222", now);
+
+        accountEntity = new AccountEntity("12345678", "0001", sender, "bench-pass");
+        accountEntity.setId(UUID.randomUUID());
+        accountEntity.setBalance(new BigDecimal("1500.00"));
+        accountEntity.setVersion(7L);
+        accountEntity.setCreatedAt(now);
+        accountEntity.setUpdatedAt(now);
+        sender.setAccountEntity(accountEntity);
+
+        transactionEntity = new TransactionEntity();
+        transactionEntity.setId(UUID.randomUUID());
+        transactionEntity.setSender(sender);
+        transactionEntity.setReceiver(receiver);
+        transactionEntity.setAmount(new BigDecimal("10.00"));
+        transactionEntity.setStatus(TransactionStatus.SUCCESS);
+        transactionEntity.setCreatedAt(now);
+        transactionEntity.setUpdatedAt(now);
+
+        depositCodeEntity = new DepositCodeEntity();
+        depositCodeEntity.setId(UUID.randomUUID());
+        depositCodeEntity.setCode("ABCD1234efgh");
+        depositCodeEntity.setAmount(new BigDecimal("25.00"));
+        depositCodeEntity.setGenerator(sender);
+        depositCodeEntity.setUsed(true);
+        depositCodeEntity.setCreatedAt(now);
+        depositCodeEntity.setUsedAt(now);
+        depositCodeEntity.setUsedBy(receiver);
+        depositCodeEntity.setExpiresAt(now.plusHours(72));
+    }
+
+    @Test
+    void toDomain_ReflectionVersusFieldCopy() {
+        // Act
+        compare("account", () -> legacyAccount(accountEntity), () -> accountMapper.toDomain(accountEntity));
+        compare("user", () -> legacyUser(receiver), () -> userMapper.toDomain(receiver));
+        compare("transaction", () -> legacyTransaction(transactionEntity), () -> transactionMapper.toDomain(transactionEntity));
+        compare("deposit-code", () -> legacyDepositCode(depositCodeEntity), () -> depositCodeMapper.toDomain(depositCodeEntity));
+
+        // Assert: both paths produce the same state.
+        Account account = accountMapper.toDomain(accountEntity);
+        Account legacy = legacyAccount(accountEntity);
+        assertEquals(legacy.getId(), account.getId());
+        assertEquals(legacy.getBalance(), account.getBalance());
+        assertEquals(legacy.getVersion(), account.getVersion());
+        assertEquals(legacy.getUpdatedAt(), account.getUpdatedAt());
+
+        DepositCode depositCode = depositCodeMapper.toDomain(depositCodeEntity);
+        assertEquals(depositCodeEntity.getId(), depositCode.getId());
+        assertTrue(depositCode.isUsed());
+        assertEquals(receiver.getId(), depositCode.getUsedBy().getId());
+
+        Transaction transaction = transactionMapper.toDomain(transactionEntity);
+        assertEquals(transactionEntity.getId(), transaction.getId());
+        assertEquals(TransactionStatus.SUCCESS, transaction.getStatus());
+    }
+
+    private void compare(String label, Supplier<Object> legacy, Supplier<Object> current) {
+        Measurement before = measure(legacy);
+        Measurement after = measure(current);
+
+        SimpleLogger.info(getClass(), String.format(
+                "%s toDomain: reflection=%.1f ns/op %.0f B/op, field-copy=%.1f ns/op %.0f B/op",
+                label, before.nanosPerOp(), before.bytesPerOp(), after.nanosPerOp(), after.bytesPerOp()));
+        // getDeclaredField hands out a fresh Field copy on every call, so the old path always allocates more.
+        assertTrue(after.bytesPerOp() < before.bytesPerOp(), label + " should allocate less without reflection");
+    }
+
+    private Measurement measure(Supplier<Object> mapping) {
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole = mapping.get();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long began = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole = mapping.get();
+        }
+
+        long elapsed = System.nanoTime() - began;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement((double) elapsed / ITERATIONS, (double) allocated / ITERATIONS);
+    }
+
+    private record Measurement(double nanosPerOp, double bytesPerOp) {
+    }
+
+    private static UserEntity user(String email, String cpf, LocalDateTime now) {
+        UserEntity user = new UserEntity(email, cpf, "bench-pass");
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(now);
+        Set<String> roles = new HashSet<>();
+        roles.add("ROLE_USER");
+        user.setRoles(roles);
+        return user;
+    }
+
+    // The mapping as it was before the rehydration constructors, setting private fields by reflection.
+
+    private static Account legacyAccount(AccountEntity entity) {
+        Account account = new Account(entity.getNumber(), entity.getAgency(), entity.getPassword());
+        set(Account.class, account, "id", entity.getId());
+        set(Account.class, account, "balance", entity.getTotalBalance());
+        set(Account.class, account, "version", entity.getVersion());
+        set(Account.class, account, "createdAt", entity.getCreatedAt());
+        if (entity.getUpdatedAt() != null) {
+            set(Account.class, account, "updatedAt", entity.getUpdatedAt());
+        }
+        if (entity.getUser() != null) {
+            User user = new User(entity.getUser().getEmail(), entity.getUser().getCpf());
+            user.setPassword(entity.getUser().getPassword());
+            user.setRoles(entity.getUser().getRoles());
+            set(User.class, user, "id", entity.getUser().getId());
+            account.setUser(user);
+        }
+        return account;
+    }
+
+    private static User legacyUser(UserEntity entity) {
+        User user = new User(entity.getEmail(), entity.getCpf());
+        user.setPassword(entity.getPassword());
+        user.setRoles(entity.getRoles());
+        set(User.class, user, "id", entity.getId());
+        if (entity.getAccount() != null) {
+            user.setAccount(legacyAccount(entity.getAccount()));
+        }
+        return user;
+    }
+
+    private static Transaction legacyTransaction(TransactionEntity entity) {
+        Transaction transaction = new Transaction(legacyUser(entity.getSender()), legacyUser(entity.getReceiver()),
+                entity.getAmount(), entity.getCreatedAt());
+        set(Transaction.class, transaction, "id", entity.getId());
+        set(Transaction.class, transaction, "status", entity.getStatus());
+        transaction.setIdempotencyKey(entity.getIdempotencyKey());
+        transaction.setLedgerSequence(entity.getLedgerSequence());
+        if (entity.getUpdatedAt() != null) {
+            set(Transaction.class, transaction, "updatedAt", entity.getUpdatedAt());
+        }
+        return transaction;
+    }
+
+    private static DepositCode legacyDepositCode(DepositCodeEntity entity) {
+        DepositCode depositCode = new DepositCode(entity.getCode(), entity.getAmount(), legacyUser(entity.getGenerator()),
+                entity.getExpiresAt());
+        set(DepositCode.class, depositCode, "id", entity.getId());
+        if (entity.isUsed()) {
+            set(DepositCode.class, depositCode, "used", true);
+            set(DepositCode.class, depositCode, "usedAt", entity.getUsedAt());
+            set(DepositCode.class, depositCode, "usedBy", legacyUser(entity.getUsedBy()));
+        }
+        return depositCode;
+    }
+
+    private static void set(Class<?> type, Object target, String name, Object value) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
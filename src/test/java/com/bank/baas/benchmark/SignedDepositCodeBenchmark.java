@@ -0,0 +1,169 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.application.service.DepositCodeGenerator;
+import com.bank.baas.application.service.DepositCodeSigner;
+import com.bank.baas.application.usecase.GenerateDepositCodeUseCase;
+import com.bank.baas.application.usecase.RedeemDepositCodeUseCase;
+import com.bank.baas.domain.enums.DepositCodeMode;
+import com.bank.baas.domain.exception.AuthorizationException;
+import com.bank.baas.domain.repository.DepositCodeRepository;
+import com.bank.baas.domain.repository.UserRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataDepositCodeRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataRedeemedCodeRepository;
+import com.bank.baas.presentation.dto.GenerateDepositCodeRequest;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stored against signed deposit codes: generation throughput when each code is an INSERT versus an HMAC, and
+ * racing redeemers on one signed code, where only the redeemed_codes primary key stands between them.
+ */
+@SpringBootTest(properties = {
+        "baas.transfer.concurrency-mode=ATOMIC",
+        "baas.deposit-code.signing.keys=1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+        "baas.deposit-code.signing.active-key-id=1"
+})
+class SignedDepositCodeBenchmark extends AbstractTransferBenchmark {
+
+    private static final int THREADS = 8;
+    private static final int STORED_CODES_PER_THREAD = 250;
+    private static final int SIGNED_CODES_PER_THREAD = 5_000;
+    private static final int RACERS = 100;
+
+    @Autowired
+    private UserRepository domainUserRepository;
+
+    @Autowired
+    private DepositCodeRepository depositCodeRepository;
+
+    @Autowired
+    private DepositCodeGenerator depositCodeGenerator;
+
+    @Autowired
+    private DepositCodeSigner depositCodeSigner;
+
+    @Autowired
+    private RedeemDepositCodeUseCase redeemDepositCodeUseCase;
+
+    @Autowired
+    private SpringDataDepositCodeRepository storedCodes;
+
+    @Autowired
+    private SpringDataRedeemedCodeRepository redeemedCodes;
+
+    @Test
+    void generation_StoredVersusSigned() throws InterruptedException {
+        // Arrange
+        String generator = seedAccount("issuer");
+        GenerateDepositCodeRequest request = new GenerateDepositCodeRequest(generator, PASSWORD, AMOUNT);
+        long storedBefore = storedCodes.count();
+
+        // Act
+        BenchmarkResult stored = generate("deposit-code-generation-stored",
+                useCase(DepositCodeMode.STORED), request, STORED_CODES_PER_THREAD);
+        long storedAfterStoredRun = storedCodes.count();
+        BenchmarkResult signed = generate("deposit-code-generation-signed",
+                useCase(DepositCodeMode.SIGNED), request, SIGNED_CODES_PER_THREAD);
+
+        // Assert
+        SimpleLogger.info(getClass(), stored.toString());
+        SimpleLogger.info(getClass(), signed.toString());
+        assertEquals(0, stored.failures());
+        assertEquals(0, signed.failures());
+        assertEquals(storedBefore + (long) THREADS * STORED_CODES_PER_THREAD, storedAfterStoredRun);
+        assertEquals(storedAfterStoredRun, storedCodes.count());
+    }
+
+    @Test
+    void racingRedeemers_ShouldRedeemSignedCodeExactlyOnce() throws InterruptedException {
+        // Arrange
+        String generator = seedAccount("signer");
+        String code = useCase(DepositCodeMode.SIGNED)
+                .execute(new GenerateDepositCodeRequest(generator, PASSWORD, AMOUNT))
+                .getCode();
+        List<String> redeemers = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            redeemers.add(seedAccount("racer" + i));
+        }
+        long redeemedBefore = redeemedCodes.count();
+
+        AtomicInteger redeemed = new AtomicInteger();
+        List<String> rejections = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RACERS);
+
+        // Act
+        for (String redeemer : redeemers) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    redeemDepositCodeUseCase.execute(redeemer, code);
+                    redeemed.incrementAndGet();
+                } catch (AuthorizationException e) {
+                    rejections.add(e.getMessage());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+
+        // Assert
+        assertEquals(1, redeemed.get());
+        assertEquals(RACERS - 1, rejections.size());
+        assertTrue(rejections.stream().allMatch("Deposit code already used"::equals));
+        assertEquals(redeemedBefore + 1, redeemedCodes.count());
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(seededAccountIds.size())).compareTo(totalSeededBalance()));
+    }
+
+    private GenerateDepositCodeUseCase useCase(DepositCodeMode mode) {
+        return new GenerateDepositCodeUseCase(domainUserRepository, depositCodeRepository, depositCodeGenerator,
+                depositCodeSigner, mode, 5, 72);
+    }
+
+    private BenchmarkResult generate(String label, GenerateDepositCodeUseCase useCase, GenerateDepositCodeRequest request,
+                                     int codesPerThread) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < codesPerThread; i++) {
+                    long began = System.nanoTime();
+                    try {
+                        useCase.execute(request);
+                        latencies.add(System.nanoTime() - began);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+
+        return BenchmarkResult.of(label, THREADS, latencies, failures.get(), System.nanoTime() - began);
+    }
+}
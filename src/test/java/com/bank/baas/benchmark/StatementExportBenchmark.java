@@ -0,0 +1,89 @@
+package com.bank.baas.benchmark;
+
+import com.bank.baas.application.usecase.ExportStatementUseCase;
+import com.bank.baas.domain.enums.StatementFormat;
+import com.bank.baas.domain.enums.TransactionStatus;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.infrastructure.persistence.entity.TransactionEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataTransactionRepository;
+import com.bank.baas.utils.log.SimpleLogger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports one user's statement of {@value #ROWS} transactions and reports rows per second for each format.
+ */
+@SpringBootTest
+class StatementExportBenchmark extends AbstractTransferBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int INSERT_CHUNK = 5_000;
+
+    @Autowired
+    private ExportStatementUseCase exportStatementUseCase;
+
+    @Autowired
+    private SpringDataTransactionRepository transactionRepository;
+
+    @Test
+    void export_ShouldStreamEveryRow() throws IOException {
+        // Arrange
+        UserEntity owner = userRepository.findByEmail(seedAccount("owner")).orElseThrow();
+        UserEntity counterparty = userRepository.findByEmail(seedAccount("counterparty")).orElseThrow();
+        seedTransactions(owner, counterparty);
+        User user = exportStatementUseCase.findUser(owner.getEmail());
+
+        for (StatementFormat format : StatementFormat.values()) {
+            CountingOutputStream output = new CountingOutputStream();
+
+            // Act
+            long began = System.nanoTime();
+            long rows = exportStatementUseCase.execute(user, format, output);
+            double elapsedSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+            // Assert
+            SimpleLogger.info(getClass(), String.format("%s export: rows=%d bytes=%d throughput=%.0f rows/s",
+                    format, rows, output.bytes, rows / elapsedSeconds));
+            assertEquals(ROWS, rows);
+        }
+    }
+
+    private void seedTransactions(UserEntity owner, UserEntity counterparty) {
+        for (int start = 0; start < ROWS; start += INSERT_CHUNK) {
+            List<TransactionEntity> chunk = new ArrayList<>(INSERT_CHUNK);
+            for (int i = start; i < Math.min(ROWS, start + INSERT_CHUNK); i++) {
+                TransactionEntity transaction = new TransactionEntity();
+                boolean outbound = i % 2 == 0;
+                transaction.setSender(outbound ? owner : counterparty);
+                transaction.setReceiver(outbound ? counterparty : owner);
+                transaction.setAmount(AMOUNT);
+                transaction.setStatus(TransactionStatus.SUCCESS);
+                chunk.add(transaction);
+            }
+            transactionRepository.saveAll(chunk);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
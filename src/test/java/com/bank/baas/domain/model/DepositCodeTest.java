@@ -42,6 +42,40 @@ class DepositCodeTest {
         assertNull(depositCode.getUsedBy(), "UsedBy should be null");
     }
 
+    @Test
+    void testIsExpired() {
+        User generator = new User("generator@example.com", "12345678900");
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+
+        DepositCode depositCode = new DepositCode("DEP123", new BigDecimal("100.00"), generator, expiresAt);
+
+        assertEquals(expiresAt, depositCode.getExpiresAt(), "ExpiresAt should match");
+        assertFalse(depositCode.isExpired(expiresAt.minusSeconds(1)), "Should not be expired before expiresAt");
+        assertTrue(depositCode.isExpired(expiresAt), "Should be expired at expiresAt");
+    }
+
+    @Test
+    void testIsExpiredWithoutExpiresAt() {
+        DepositCode depositCode = new DepositCode("DEP123", new BigDecimal("100.00"),
+                new User("generator@example.com", "12345678900"));
+
+        assertNull(depositCode.getExpiresAt(), "ExpiresAt should be null");
+        assertFalse(depositCode.isExpired(LocalDateTime.now().plusYears(10)), "Should never expire");
+    }
+
+    @Test
+    void testMarkAsUsedWhenExpired() {
+        User generator = createUserWithId("generator@example.com", "12345678900", UUID.randomUUID());
+        User user = createUserWithId("user@example.com", "98765432100", UUID.randomUUID());
+        DepositCode depositCode = new DepositCode("DEP123", new BigDecimal("100.00"), generator,
+                LocalDateTime.now().minusMinutes(1));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> depositCode.markAsUsed(user));
+
+        assertEquals("Deposit code expired", exception.getMessage());
+        assertFalse(depositCode.isUsed(), "Used should remain false");
+    }
+
     @Test
     void testMarkAsUsed() {
         String code = "DEP123";
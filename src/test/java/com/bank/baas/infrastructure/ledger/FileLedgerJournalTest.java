@@ -0,0 +1,163 @@
+package com.bank.baas.infrastructure.ledger;
+
+import com.bank.baas.domain.model.LedgerRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileLedgerJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private FileLedgerJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void append_ShouldAssignConsecutiveSequences() {
+        // Arrange
+        journal = newJournal();
+        journal.open(0);
+
+        // Act
+        List<CompletableFuture<LedgerRecord>> appends = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            appends.add(journal.append(record("key-" + i)));
+        }
+
+        // Assert
+        for (int i = 0; i < appends.size(); i++) {
+            assertEquals(i + 1, appends.get(i).join().sequence());
+        }
+    }
+
+    @Test
+    void open_ShouldReturnRecordsAfterCheckpoint_WhenJournalIsReopened() {
+        // Arrange
+        journal = newJournal();
+        journal.open(0);
+        LedgerRecord first = journal.append(record("key;with;separators")).join();
+        journal.append(record(null)).join();
+        journal.append(record("key-3")).join();
+        journal.close();
+
+        // Act
+        journal = newJournal();
+        List<LedgerRecord> replay = journal.open(1);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), replay.stream().map(LedgerRecord::sequence).toList());
+        assertNull(replay.get(0).idempotencyKey());
+        assertEquals(4, journal.append(record("key-4")).join().sequence());
+        assertEquals("key;with;separators", FileLedgerJournal.decode(FileLedgerJournal.encode(first)).idempotencyKey());
+    }
+
+    @Test
+    void open_ShouldDropTornTail() throws IOException {
+        // Arrange
+        journal = newJournal();
+        journal.open(0);
+        journal.append(record("key-1")).join();
+        journal.close();
+        Files.write(directory.resolve("ledger.journal"), "2;2024-01-01T00:00;abc".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        // Act
+        journal = newJournal();
+        List<LedgerRecord> replay = journal.open(0);
+        LedgerRecord next = journal.append(record("key-2")).join();
+        journal.close();
+
+        // Assert
+        assertEquals(1, replay.size());
+        assertEquals(2, next.sequence());
+        journal = newJournal();
+        assertEquals(2, journal.open(0).size());
+    }
+
+    @Test
+    void open_ShouldContinueAfterCheckpoint_WhenJournalFileIsMissing() {
+        // Arrange
+        journal = newJournal();
+
+        // Act
+        List<LedgerRecord> replay = journal.open(100);
+
+        // Assert
+        assertTrue(replay.isEmpty());
+        assertEquals(101, journal.append(record(null)).join().sequence());
+    }
+
+    @Test
+    void decode_ShouldRejectRecordWithWrongChecksum() {
+        // Arrange
+        String line = FileLedgerJournal.encode(record("key").withSequence(7));
+        String tampered = line.replaceFirst(";10.00;", ";99.00;");
+
+        // Act & Assert
+        assertNotNull(FileLedgerJournal.decode(line));
+        assertNull(FileLedgerJournal.decode(tampered));
+    }
+
+    @Test
+    void decode_ShouldKeepTransactionId() {
+        // Arrange
+        LedgerRecord record = record("key").withSequence(7);
+
+        // Act
+        LedgerRecord decoded = FileLedgerJournal.decode(FileLedgerJournal.encode(record));
+
+        // Assert
+        assertEquals(record, decoded);
+    }
+
+    @Test
+    void decode_ShouldDeriveStableTransactionId_WhenLineHasNoTransactionId() {
+        // Arrange
+        String content = String.join(";", "7", "2024-01-01T00:00", UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString(), "10.00", "");
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        String legacyLine = content + ";" + Long.toHexString(crc.getValue());
+
+        // Act
+        LedgerRecord first = FileLedgerJournal.decode(legacyLine);
+        LedgerRecord second = FileLedgerJournal.decode(legacyLine);
+
+        // Assert
+        assertNotNull(first);
+        assertEquals(7, first.sequence());
+        assertEquals(first.transactionId(), second.transactionId());
+    }
+
+    private FileLedgerJournal newJournal() {
+        return new FileLedgerJournal(new SimpleMeterRegistry(), directory.resolve("ledger.journal").toString(), 16);
+    }
+
+    private LedgerRecord record(String idempotencyKey) {
+        return new LedgerRecord(0, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), new BigDecimal("10.00"), idempotencyKey, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.baas.infrastructure.persistence.history;
+
+import com.bank.baas.infrastructure.persistence.migration.DataMigrations;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserTransactionHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserTransactionHistoryBackfillTest {
+
+    @Mock
+    private SpringDataUserTransactionHistoryRepository historyRepository;
+
+    @Mock
+    private DataMigrations dataMigrations;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserTransactionHistoryBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new UserTransactionHistoryBackfill(historyRepository, dataMigrations, transactionTemplate, 2);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void backfill_ShouldCopyMissingTransactionsInChunks() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(historyRepository.findTransactionIdsWithoutHistory(Limit.of(2))).thenReturn(List.of(first, second));
+        when(historyRepository.findTransactionIdsWithoutHistoryAfter(second, Limit.of(2))).thenReturn(List.of(third));
+        when(historyRepository.findTransactionIdsWithoutHistoryAfter(third, Limit.of(2))).thenReturn(List.of());
+        when(historyRepository.copyMissingTransactions(anyCollection())).thenReturn(4, 2);
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        verify(historyRepository).copyMissingTransactions(List.of(first, second));
+        verify(historyRepository).copyMissingTransactions(List.of(third));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(dataMigrations).markCompleted(UserTransactionHistoryBackfill.MIGRATION);
+    }
+
+    @Test
+    void backfill_ShouldSkipScan_WhenMigrationIsRecorded() {
+        // Arrange
+        when(dataMigrations.isCompleted(UserTransactionHistoryBackfill.MIGRATION)).thenReturn(true);
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        verifyNoInteractions(historyRepository, transactionTemplate);
+        verify(dataMigrations, never()).markCompleted(any());
+    }
+
+    @Test
+    void backfill_ShouldOnlyRecordMigration_WhenEveryTransactionHasHistory() {
+        // Arrange
+        when(historyRepository.findTransactionIdsWithoutHistory(Limit.of(2))).thenReturn(List.of());
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        verify(historyRepository, never()).copyMissingTransactions(anyCollection());
+        verifyNoInteractions(transactionTemplate);
+        verify(dataMigrations).markCompleted(UserTransactionHistoryBackfill.MIGRATION);
+    }
+
+    @Test
+    void backfill_ShouldRetryChunk_WhenRowsWereCopiedConcurrently() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(historyRepository.findTransactionIdsWithoutHistory(Limit.of(2))).thenReturn(List.of(id));
+        when(historyRepository.findTransactionIdsWithoutHistoryAfter(id, Limit.of(2))).thenReturn(List.of());
+        when(historyRepository.copyMissingTransactions(List.of(id)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenReturn(0);
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        verify(historyRepository, times(2)).copyMissingTransactions(List.of(id));
+    }
+}
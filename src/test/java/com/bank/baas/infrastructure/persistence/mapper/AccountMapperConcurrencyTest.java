@@ -0,0 +1,132 @@
+package com.bank.baas.infrastructure.persistence.mapper;
+
+import com.bank.baas.domain.model.Account;
+import com.bank.baas.domain.model.User;
+import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the mappers as the application wires them, with UserMapper holding a lazy proxy to AccountMapper, so the
+ * cycle is resolved through the same path real requests take.
+ */
+@SpringJUnitConfig({AccountMapper.class, UserMapper.class})
+class AccountMapperConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 5_000;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Test
+    void toEntity_ShouldCloseCycleOnSameInstances() {
+        // Arrange
+        Account account = account(1);
+
+        // Act
+        AccountEntity entity = accountMapper.toEntity(account);
+
+        // Assert
+        assertEquals(account.getNumber(), entity.getNumber());
+        assertEquals(account.getUser().getEmail(), entity.getUser().getEmail());
+        assertSame(entity, entity.getUser().getAccount());
+    }
+
+    @Test
+    void toDomain_ShouldCloseCycleOnSameInstances() {
+        // Arrange
+        UserEntity userEntity = userEntity(1);
+
+        // Act
+        User user = userMapper.toDomain(userEntity);
+
+        // Assert
+        assertEquals(userEntity.getAccount().getNumber(), user.getAccount().getNumber());
+        assertEquals(0, userEntity.getAccount().getTotalBalance().compareTo(user.getAccount().getBalance()));
+        assertSame(user, user.getAccount().getUser());
+    }
+
+    @Test
+    void concurrentMapping_ShouldNeverReturnPartialGraphs() throws InterruptedException {
+        // Arrange
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            executor.submit(() -> {
+                start.await();
+                Account account = account(seed);
+                UserEntity userEntity = userEntity(seed);
+
+                for (int i = 0; i < ITERATIONS; i++) {
+                    AccountEntity mapped = accountMapper.toEntity(account);
+                    if (!account.getNumber().equals(mapped.getNumber())
+                            || mapped.getBalance() == null
+                            || mapped.getUser() == null
+                            || mapped.getUser().getAccount() != mapped) {
+                        failures.add("toEntity returned a partial graph on thread " + seed);
+                    }
+
+                    User user = userMapper.toDomain(userEntity);
+                    Account userAccount = user.getAccount();
+                    if (userAccount == null
+                            || !userEntity.getAccount().getNumber().equals(userAccount.getNumber())
+                            || userAccount.getPassword() == null
+                            || userAccount.getUser() != user) {
+                        failures.add("toDomain returned a partial graph on thread " + seed);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        // Assert
+        assertEquals(List.of(), failures.stream().distinct().toList());
+    }
+
+    private static Account account(int seed) {
+        User user = new User(UUID.randomUUID(), "user" + seed + "@example.com", String.format("%011d", seed),
+                "password123", Set.of("ROLE_USER"), LocalDateTime.now(), null);
+        Account account = new Account(UUID.randomUUID(), String.format("%08d", seed), "0001",
+                new BigDecimal("100.00"), "password123", 0L, LocalDateTime.now(), null);
+        user.setAccount(account);
+        return account;
+    }
+
+    private static UserEntity userEntity(int seed) {
+        UserEntity userEntity = new UserEntity("user" + seed + "@example.com", String.format("%011d", seed), "password123");
+        userEntity.setId(UUID.randomUUID());
+        AccountEntity accountEntity = new AccountEntity(String.format("%08d", seed), "0001", userEntity, "password123");
+        accountEntity.setId(UUID.randomUUID());
+        accountEntity.setBalance(new BigDecimal("100.00"));
+        accountEntity.setVersion(0L);
+        userEntity.setAccount(accountEntity);
+        return userEntity;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.baas.infrastructure.persistence.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyIndexMigrationTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private DataMigrations dataMigrations;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Mock
+    private ResultSet indexes;
+
+    @Mock
+    private Statement statement;
+
+    private IdempotencyKeyIndexMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new IdempotencyKeyIndexMigration(dataSource, dataMigrations);
+    }
+
+    @Test
+    void migrate_ShouldDropLegacyIndexAndRecordCompletion() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getIndexInfo(any(), any(), eq("transactions"), eq(true), eq(false))).thenReturn(indexes);
+        when(indexes.next()).thenReturn(true);
+        when(indexes.getString("INDEX_NAME")).thenReturn(IdempotencyKeyIndexMigration.LEGACY_INDEX);
+        when(connection.createStatement()).thenReturn(statement);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        verify(statement).execute("drop index idx_transactions_idempotency_key on transactions");
+        verify(dataMigrations).markCompleted(IdempotencyKeyIndexMigration.MIGRATION);
+    }
+
+    @Test
+    void migrate_ShouldOnlyRecordCompletion_WhenLegacyIndexIsAbsent() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getIndexInfo(any(), any(), anyString(), eq(true), eq(false))).thenReturn(indexes);
+        when(indexes.next()).thenReturn(false);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        verify(connection, never()).createStatement();
+        verify(dataMigrations).markCompleted(IdempotencyKeyIndexMigration.MIGRATION);
+    }
+
+    @Test
+    void migrate_ShouldSkip_WhenAlreadyCompleted() {
+        // Arrange
+        when(dataMigrations.isCompleted(IdempotencyKeyIndexMigration.MIGRATION)).thenReturn(true);
+
+        // Act
+        migration.migrate();
+
+        // Assert
+        verifyNoInteractions(dataSource);
+        verify(dataMigrations, never()).markCompleted(any());
+    }
+}
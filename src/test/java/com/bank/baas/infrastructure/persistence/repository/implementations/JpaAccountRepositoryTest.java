@@ -1,24 +1,39 @@
 package com.bank.baas.infrastructure.persistence.repository.implementations;
 
 import com.bank.baas.domain.model.Account;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlotConsolidator;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlots;
 import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
 import com.bank.baas.infrastructure.persistence.mapper.AccountMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +45,21 @@ class JpaAccountRepositoryTest {
     @Mock
     private AccountMapper accountMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AccountBalanceSlots balanceSlots;
+
+    @Mock
+    private AccountBalanceSlotConsolidator slotConsolidator;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SessionImplementor session;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery<AccountEntity> lockQuery;
+
     @InjectMocks
     private JpaAccountRepository jpaAccountRepository;
 
@@ -63,6 +93,9 @@ class JpaAccountRepositoryTest {
         } catch (Exception e) {
             throw new RuntimeException("Failed to set account ID", e);
         }
+
+        lenient().when(entityManager.unwrap(SessionImplementor.class)).thenReturn(session);
+        lenient().when(session.getPersistenceContextInternal().getEntity(any())).thenReturn(null);
     }
 
     @Test
@@ -112,6 +145,65 @@ class JpaAccountRepositoryTest {
         verify(accountMapper, never()).toDomain(any());
     }
 
+    @Test
+    void findByIdForUpdate_ShouldRefreshWithPessimisticWriteLock_WhenAccountIsManaged() {
+        // Arrange
+        stubManaged(accountEntity);
+        when(accountMapper.toDomain(accountEntity)).thenReturn(account);
+
+        // Act
+        Optional<Account> result = jpaAccountRepository.findByIdForUpdate(accountId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(account, result.get());
+        verify(entityManager).refresh(eq(accountEntity), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+        verify(accountMapper).toDomain(accountEntity);
+    }
+
+    @Test
+    void findByIdForUpdate_ShouldLoadWithSingleLockingFind_WhenAccountIsNotManaged() {
+        // Arrange
+        when(entityManager.find(eq(AccountEntity.class), eq(accountId), eq(LockModeType.PESSIMISTIC_WRITE), anyMap()))
+                .thenReturn(accountEntity);
+        when(accountMapper.toDomain(accountEntity)).thenReturn(account);
+
+        // Act
+        Optional<Account> result = jpaAccountRepository.findByIdForUpdate(accountId);
+
+        // Assert
+        assertEquals(account, result.orElseThrow());
+        verify(entityManager, never()).find(AccountEntity.class, accountId);
+        verify(entityManager, never()).refresh(any(), any(LockModeType.class), anyMap());
+    }
+
+    @Test
+    void findByIdForUpdate_ShouldLoadWithoutLock_WhenUnmanagedAccountIsSlotted() {
+        // Arrange
+        when(balanceSlots.isSlotted(accountId)).thenReturn(true);
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(accountEntity);
+        when(accountMapper.toDomain(accountEntity)).thenReturn(account);
+
+        // Act
+        Optional<Account> result = jpaAccountRepository.findByIdForUpdate(accountId);
+
+        // Assert
+        assertEquals(account, result.orElseThrow());
+        verify(entityManager, never()).find(any(), any(), any(LockModeType.class), anyMap());
+        verify(entityManager, never()).refresh(any());
+    }
+
+    @Test
+    void findByIdForUpdate_ShouldReturnEmpty_WhenAccountDoesNotExist() {
+        // Act
+        Optional<Account> result = jpaAccountRepository.findByIdForUpdate(accountId);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(entityManager, never()).refresh(any(), any(LockModeType.class), anyMap());
+        verify(accountMapper, never()).toDomain(any());
+    }
+
     @Test
     void findByNumber_ShouldReturnAccount_WhenAccountExists() {
         // Arrange
@@ -279,4 +371,331 @@ class JpaAccountRepositoryTest {
         assertFalse(result);
         verify(accountRepository).existsByNumber(accountNumber);
     }
-}
\ No newline at end of file
+
+    @Test
+    void debitIfSufficientBalance_ShouldReturnTrue_WhenOneRowIsUpdated() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("10.00");
+        when(accountRepository.debitIfSufficientBalance(eq(accountId), eq(amount), any())).thenReturn(1);
+
+        // Act
+        boolean result = jpaAccountRepository.debitIfSufficientBalance(accountId, amount);
+
+        // Assert
+        assertTrue(result);
+        verify(accountRepository).debitIfSufficientBalance(eq(accountId), eq(amount), any());
+    }
+
+    @Test
+    void debitIfSufficientBalance_ShouldReturnFalse_WhenBalanceIsInsufficient() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("10.00");
+        when(accountRepository.debitIfSufficientBalance(eq(accountId), eq(amount), any())).thenReturn(0);
+
+        // Act
+        boolean result = jpaAccountRepository.debitIfSufficientBalance(accountId, amount);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void credit_ShouldReturnTrue_WhenOneRowIsUpdated() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("10.00");
+        when(accountRepository.credit(eq(accountId), eq(amount), any())).thenReturn(1);
+
+        // Act
+        boolean result = jpaAccountRepository.credit(accountId, amount);
+
+        // Assert
+        assertTrue(result);
+        verify(accountRepository).credit(eq(accountId), eq(amount), any());
+    }
+
+    @Test
+    void lockBalances_ShouldReturnBalancesOfLockedAccounts() {
+        // Arrange
+        accountEntity.setBalance(new BigDecimal("75.00"));
+        stubLockQuery(accountEntity);
+
+        // Act
+        Map<UUID, BigDecimal> result = jpaAccountRepository.lockBalances(List.of(accountId));
+
+        // Assert
+        assertEquals(Map.of(accountId, new BigDecimal("75.00")), result);
+        verify(lockQuery).setParameter("ids", List.of(accountId));
+    }
+
+    @Test
+    void lockBalances_ShouldLockRowsWithConfiguredTimeout() {
+        // Arrange
+        ReflectionTestUtils.setField(jpaAccountRepository, "lockTimeoutMs", 3000L);
+        stubLockQuery(accountEntity);
+
+        // Act
+        jpaAccountRepository.lockBalances(List.of(accountId));
+
+        // Assert
+        verify(lockQuery).setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        verify(lockQuery).setHint("jakarta.persistence.lock.timeout", 3000L);
+    }
+
+    @Test
+    void lockBalances_ShouldIncludeSlotBalance_WhenAccountHasBalanceSlots() {
+        // Arrange
+        AccountEntity locked = slottedEntity(new BigDecimal("10.00"), new BigDecimal("40.00"));
+        stubLockQuery(locked);
+
+        // Act
+        Map<UUID, BigDecimal> result = jpaAccountRepository.lockBalances(List.of(accountId));
+
+        // Assert
+        assertEquals(Map.of(accountId, new BigDecimal("50.00")), result);
+        verify(balanceSlots).loadSlotBalances(List.of(locked));
+    }
+
+    @Test
+    void lockBalances_ShouldNotQuery_WhenNoAccountIsGiven() {
+        // Act
+        Map<UUID, BigDecimal> result = jpaAccountRepository.lockBalances(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void applyBalanceDeltas_ShouldAddDeltaToManagedEntity() {
+        // Arrange
+        accountEntity.setBalance(new BigDecimal("75.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(accountEntity);
+
+        // Act
+        jpaAccountRepository.applyBalanceDeltas(Map.of(accountId, new BigDecimal("-25.00")));
+
+        // Assert
+        assertEquals(new BigDecimal("50.00"), accountEntity.getBalance());
+        assertNotNull(accountEntity.getUpdatedAt());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void applyBalanceDeltas_ShouldCreditSlot_WhenAccountHasBalanceSlots() {
+        // Arrange
+        AccountEntity managed = slottedEntity(new BigDecimal("10.00"), new BigDecimal("40.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(managed);
+        when(balanceSlots.credit(accountId, 4, new BigDecimal("25.00"))).thenReturn(true);
+
+        // Act
+        jpaAccountRepository.applyBalanceDeltas(Map.of(accountId, new BigDecimal("25.00")));
+
+        // Assert
+        assertEquals(new BigDecimal("10.00"), managed.getBalance());
+        assertEquals(new BigDecimal("65.00"), managed.getSlotBalance());
+    }
+
+    @Test
+    void applyBalanceDeltas_ShouldSweepSlots_WhenRowBalanceCannotCoverDebit() {
+        // Arrange
+        AccountEntity managed = slottedEntity(new BigDecimal("10.00"), new BigDecimal("40.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(managed);
+        when(balanceSlots.sweep(accountId)).thenReturn(new BigDecimal("40.00"));
+
+        // Act
+        jpaAccountRepository.applyBalanceDeltas(Map.of(accountId, new BigDecimal("-30.00")));
+
+        // Assert
+        assertEquals(new BigDecimal("20.00"), managed.getBalance());
+        assertEquals(BigDecimal.ZERO, managed.getSlotBalance());
+    }
+
+    @Test
+    void save_ShouldApplyChangesToManagedEntity_WithoutMerging() {
+        // Arrange
+        accountEntity.setBalance(new BigDecimal("100.00"));
+        accountEntity.setPassword("1234");
+        setDomainBalance(new BigDecimal("75.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(accountEntity);
+        when(accountMapper.toDomain(accountEntity)).thenReturn(account);
+
+        // Act
+        Account result = jpaAccountRepository.save(account);
+
+        // Assert
+        assertEquals(account, result);
+        assertEquals(new BigDecimal("75.00"), accountEntity.getBalance());
+        verify(accountMapper, never()).toEntity(any());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void save_ShouldFailOptimistically_WhenDomainVersionIsStale() {
+        // Arrange
+        accountEntity.setBalance(new BigDecimal("100.00"));
+        accountEntity.setVersion(3L);
+        setDomainBalance(new BigDecimal("75.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(accountEntity);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> jpaAccountRepository.save(account));
+        assertEquals(new BigDecimal("100.00"), accountEntity.getBalance());
+    }
+
+    @Test
+    void save_ShouldCreditSlotAndLeaveRowBalance_WhenAccountHasBalanceSlots() {
+        // Arrange
+        AccountEntity managed = slottedEntity(new BigDecimal("100.00"), new BigDecimal("50.00"));
+        setDomainBalance(new BigDecimal("180.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(managed);
+        when(balanceSlots.credit(accountId, 4, new BigDecimal("30.00"))).thenReturn(true);
+
+        // Act
+        jpaAccountRepository.save(account);
+
+        // Assert
+        assertEquals(new BigDecimal("100.00"), managed.getBalance());
+        assertEquals(new BigDecimal("80.00"), managed.getSlotBalance());
+        assertEquals(4, managed.getBalanceSlots());
+        verify(balanceSlots, never()).sweep(any());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void save_ShouldSweepSlotsIntoRow_WhenRowBalanceCannotCoverDebit() {
+        // Arrange
+        AccountEntity managed = slottedEntity(new BigDecimal("10.00"), new BigDecimal("50.00"));
+        setDomainBalance(new BigDecimal("20.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(managed);
+        when(balanceSlots.sweep(accountId)).thenReturn(new BigDecimal("50.00"));
+
+        // Act
+        jpaAccountRepository.save(account);
+
+        // Assert
+        assertEquals(new BigDecimal("20.00"), managed.getBalance());
+        assertEquals(BigDecimal.ZERO, managed.getSlotBalance());
+        verify(balanceSlots, never()).credit(any(), anyInt(), any());
+        InOrder lockOrder = inOrder(entityManager, balanceSlots);
+        lockOrder.verify(entityManager).lock(eq(managed), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+        lockOrder.verify(balanceSlots).sweep(accountId);
+    }
+
+    @Test
+    void save_ShouldFailOptimistically_WhenSlotsWereSweptConcurrently() {
+        // Arrange
+        AccountEntity managed = slottedEntity(new BigDecimal("10.00"), new BigDecimal("50.00"));
+        setDomainBalance(new BigDecimal("20.00"));
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(managed);
+        when(balanceSlots.sweep(accountId)).thenReturn(BigDecimal.ZERO);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> jpaAccountRepository.save(account));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void findByIdForUpdate_ShouldNotLockRow_WhenAccountHasBalanceSlots() {
+        // Arrange
+        AccountEntity managed = slottedEntity(new BigDecimal("10.00"), BigDecimal.ZERO);
+        stubManaged(managed);
+        when(accountMapper.toDomain(managed)).thenReturn(account);
+
+        // Act
+        Optional<Account> result = jpaAccountRepository.findByIdForUpdate(accountId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        verify(entityManager).refresh(managed);
+        verify(entityManager, never()).refresh(any(), any(LockModeType.class), anyMap());
+    }
+
+    @Test
+    void credit_ShouldCreditSlot_WhenAccountHasBalanceSlots() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("10.00");
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(slottedEntity(BigDecimal.ZERO, BigDecimal.ZERO));
+        when(balanceSlots.credit(accountId, 4, amount)).thenReturn(true);
+
+        // Act
+        boolean result = jpaAccountRepository.credit(accountId, amount);
+
+        // Assert
+        assertTrue(result);
+        verify(accountRepository, never()).credit(any(), any(), any());
+    }
+
+    @Test
+    void debitIfSufficientBalance_ShouldSweepSlotsAndRetry_WhenRowBalanceIsShort() {
+        // Arrange
+        BigDecimal amount = new BigDecimal("10.00");
+        when(accountRepository.debitIfSufficientBalance(eq(accountId), eq(amount), any())).thenReturn(0, 1);
+        when(entityManager.find(AccountEntity.class, accountId)).thenReturn(slottedEntity(BigDecimal.ZERO, BigDecimal.ZERO));
+        when(balanceSlots.sweep(accountId)).thenReturn(new BigDecimal("25.00"));
+
+        // Act
+        boolean result = jpaAccountRepository.debitIfSufficientBalance(accountId, amount);
+
+        // Assert
+        assertTrue(result);
+        verify(accountRepository).credit(eq(accountId), eq(new BigDecimal("25.00")), any());
+        InOrder lockOrder = inOrder(entityManager, balanceSlots);
+        lockOrder.verify(entityManager).refresh(any(AccountEntity.class), eq(LockModeType.PESSIMISTIC_WRITE), anyMap());
+        lockOrder.verify(balanceSlots).sweep(accountId);
+    }
+
+    @Test
+    void findById_ShouldLoadSlotBalanceBeforeMapping() {
+        // Arrange
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(accountEntity));
+        when(accountMapper.toDomain(accountEntity)).thenReturn(account);
+
+        // Act
+        Optional<Account> result = jpaAccountRepository.findById(accountId);
+
+        // Assert
+        assertTrue(result.isPresent());
+        InOrder order = inOrder(balanceSlots, accountMapper);
+        order.verify(balanceSlots).loadSlotBalance(accountEntity);
+        order.verify(accountMapper).toDomain(accountEntity);
+    }
+
+    @Test
+    void resizeBalanceSlots_ShouldDrainThroughConsolidator() {
+        // Arrange
+        when(slotConsolidator.resize(accountId, 0)).thenReturn(true);
+
+        // Act
+        boolean result = jpaAccountRepository.resizeBalanceSlots(accountId, 0);
+
+        // Assert
+        assertTrue(result);
+        verify(slotConsolidator).resize(accountId, 0);
+    }
+
+    private void stubLockQuery(AccountEntity... locked) {
+        when(entityManager.createQuery(anyString(), eq(AccountEntity.class))).thenReturn(lockQuery);
+        when(lockQuery.getResultList()).thenReturn(List.of(locked));
+    }
+
+    private void stubManaged(AccountEntity entity) {
+        when(session.getPersistenceContextInternal().getEntity(any())).thenReturn(entity);
+    }
+
+    private AccountEntity slottedEntity(BigDecimal rowBalance, BigDecimal slotBalance) {
+        accountEntity.setBalance(rowBalance);
+        accountEntity.setBalanceSlots(4);
+        accountEntity.setSlotBalance(slotBalance);
+        return accountEntity;
+    }
+
+    private void setDomainBalance(BigDecimal balance) {
+        try {
+            java.lang.reflect.Field balanceField = Account.class.getDeclaredField("balance");
+            balanceField.setAccessible(true);
+            balanceField.set(account, balance);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set account balance", e);
+        }
+    }
+}
@@ -7,14 +7,17 @@ import com.bank.baas.infrastructure.persistence.entity.UserEntity;
 import com.bank.baas.infrastructure.persistence.mapper.DepositCodeMapper;
 import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataDepositCodeRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +39,9 @@ class JpaDepositCodeRepositoryTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private JpaDepositCodeRepository jpaDepositCodeRepository;
 
@@ -99,6 +105,41 @@ class JpaDepositCodeRepositoryTest {
         verify(depositCodeMapper).toDomain(depositCodeEntity);
     }
 
+    @Test
+    void insert_ShouldPersistWithoutMerging() {
+        // Arrange
+        when(depositCodeMapper.toEntity(depositCode)).thenReturn(depositCodeEntity);
+        when(depositCodeMapper.toDomain(depositCodeEntity)).thenReturn(depositCode);
+
+        // Act
+        DepositCode result = jpaDepositCodeRepository.insert(depositCode);
+
+        // Assert
+        assertEquals(depositCode, result);
+        verify(entityManager).persist(depositCodeEntity);
+        verify(entityManager).flush();
+        verify(depositCodeRepository, never()).save(any());
+        verify(depositCodeRepository, never()).existsByCode(any());
+    }
+
+    @Test
+    void insertAll_ShouldPersistEveryCodeAndFlushOnce() {
+        // Arrange
+        DepositCode other = new DepositCode("DEP456", new BigDecimal("100.00"), generator);
+        DepositCodeEntity otherEntity = new DepositCodeEntity();
+        when(depositCodeMapper.toEntity(depositCode)).thenReturn(depositCodeEntity);
+        when(depositCodeMapper.toEntity(other)).thenReturn(otherEntity);
+
+        // Act
+        jpaDepositCodeRepository.insertAll(List.of(depositCode, other));
+
+        // Assert
+        verify(entityManager).persist(depositCodeEntity);
+        verify(entityManager).persist(otherEntity);
+        verify(entityManager, times(1)).flush();
+        verify(depositCodeRepository, never()).saveAll(any());
+    }
+
     @Test
     void findById_ShouldReturnDepositCode_WhenDepositCodeExists() {
         // Arrange
@@ -367,4 +408,61 @@ class JpaDepositCodeRepositoryTest {
         assertFalse(result);
         verify(depositCodeRepository).existsByCode(code);
     }
-}
\ No newline at end of file
+
+    @Test
+    void claim_ShouldReturnTrue_WhenConditionalUpdateMatchesUnusedCode() {
+        // Arrange
+        LocalDateTime usedAt = LocalDateTime.now();
+        when(userMapper.toEntity(generator)).thenReturn(generatorEntity);
+        when(depositCodeRepository.claim(code, generatorEntity, usedAt)).thenReturn(1);
+
+        // Act
+        boolean result = jpaDepositCodeRepository.claim(code, generator, usedAt);
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void claim_ShouldReturnFalse_WhenCodeWasAlreadyClaimed() {
+        // Arrange
+        LocalDateTime usedAt = LocalDateTime.now();
+        when(userMapper.toEntity(generator)).thenReturn(generatorEntity);
+        when(depositCodeRepository.claim(code, generatorEntity, usedAt)).thenReturn(0);
+
+        // Act
+        boolean result = jpaDepositCodeRepository.claim(code, generator, usedAt);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void deleteExpiredUnused_ShouldDeleteOneBatchOfIds() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(depositCodeRepository.findExpiredUnusedIds(before, Limit.of(2))).thenReturn(ids);
+        when(depositCodeRepository.deleteExpiredUnused(ids, before)).thenReturn(2);
+
+        // Act
+        int deleted = jpaDepositCodeRepository.deleteExpiredUnused(before, 2);
+
+        // Assert
+        assertEquals(2, deleted);
+    }
+
+    @Test
+    void deleteUsedBefore_ShouldSkipDelete_WhenNothingQualifies() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now();
+        when(depositCodeRepository.findUsedIdsBefore(before, Limit.of(10))).thenReturn(List.of());
+
+        // Act
+        int deleted = jpaDepositCodeRepository.deleteUsedBefore(before, 10);
+
+        // Assert
+        assertEquals(0, deleted);
+        verify(depositCodeRepository, never()).deleteUsedBefore(any(), any());
+    }
+}
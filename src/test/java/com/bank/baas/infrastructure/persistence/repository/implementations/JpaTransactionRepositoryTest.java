@@ -8,14 +8,22 @@ import com.bank.baas.infrastructure.persistence.entity.UserEntity;
 import com.bank.baas.infrastructure.persistence.mapper.TransactionMapper;
 import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
 import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataTransactionRepository;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserTransactionHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Work;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +32,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +48,15 @@ class JpaTransactionRepositoryTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private SpringDataUserTransactionHistoryRepository historyRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SessionImplementor session;
+
     @InjectMocks
     private JpaTransactionRepository jpaTransactionRepository;
 
@@ -118,6 +137,22 @@ class JpaTransactionRepositoryTest {
         verify(transactionMapper).toDomain(transactionEntity);
     }
 
+    @Test
+    void saveAll_ShouldSaveAllEntitiesInOneCall() {
+        // Arrange
+        when(transactionMapper.toEntity(transaction)).thenReturn(transactionEntity);
+        when(transactionRepository.saveAll(List.of(transactionEntity))).thenReturn(List.of(transactionEntity));
+        when(transactionMapper.toDomain(transactionEntity)).thenReturn(transaction);
+
+        // Act
+        List<Transaction> result = jpaTransactionRepository.saveAll(List.of(transaction));
+
+        // Assert
+        assertEquals(List.of(transaction), result);
+        verify(transactionRepository).saveAll(List.of(transactionEntity));
+        verify(transactionRepository, never()).save(any());
+    }
+
     @Test
     void findById_ShouldReturnTransaction_WhenTransactionExists() {
         // Arrange
@@ -384,4 +419,119 @@ class JpaTransactionRepositoryTest {
         verify(transactionRepository).findAll();
         verify(transactionMapper, never()).toDomain(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void save_ShouldCopyNewTransactionIntoHistory() {
+        // Arrange
+        Transaction newTransaction = new Transaction(sender, receiver, new BigDecimal("10.00"), createdAt);
+        when(transactionMapper.toEntity(newTransaction)).thenReturn(transactionEntity);
+        when(transactionRepository.save(transactionEntity)).thenReturn(transactionEntity);
+        when(transactionMapper.toDomain(transactionEntity)).thenReturn(transaction);
+
+        // Act
+        jpaTransactionRepository.save(newTransaction);
+
+        // Assert
+        InOrder inOrder = inOrder(transactionRepository, historyRepository);
+        inOrder.verify(transactionRepository).flush();
+        inOrder.verify(historyRepository).copyFromTransactions(List.of(transactionId));
+        verify(historyRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void save_ShouldUpdateHistoryStatus_WhenTransactionAlreadyExists() {
+        // Arrange
+        transactionEntity.setStatus(TransactionStatus.FAILED);
+        when(transactionMapper.toEntity(transaction)).thenReturn(transactionEntity);
+        when(transactionRepository.save(transactionEntity)).thenReturn(transactionEntity);
+        when(transactionMapper.toDomain(transactionEntity)).thenReturn(transaction);
+
+        // Act
+        jpaTransactionRepository.save(transaction);
+
+        // Assert
+        verify(historyRepository).updateStatus(eq(transactionId), eq(TransactionStatus.FAILED), any(LocalDateTime.class));
+        verify(historyRepository, never()).copyFromTransactions(any());
+    }
+
+    @Test
+    void saveAll_ShouldCopyNewTransactionsIntoHistoryInOneStatement() {
+        // Arrange
+        TransactionEntity secondEntity = new TransactionEntity();
+        UUID secondId = UUID.randomUUID();
+        secondEntity.setId(secondId);
+        Transaction first = new Transaction(sender, receiver, new BigDecimal("1.00"), createdAt);
+        Transaction second = new Transaction(receiver, sender, new BigDecimal("2.00"), createdAt);
+        when(transactionMapper.toEntity(first)).thenReturn(transactionEntity);
+        when(transactionMapper.toEntity(second)).thenReturn(secondEntity);
+        when(transactionRepository.saveAll(List.of(transactionEntity, secondEntity)))
+                .thenReturn(List.of(transactionEntity, secondEntity));
+
+        // Act
+        jpaTransactionRepository.saveAll(List.of(first, second));
+
+        // Assert
+        verify(historyRepository).copyFromTransactions(List.of(transactionId, secondId));
+    }
+
+    @Test
+    void updateStatusIfPending_ShouldUpdateHistory_OnlyWhenTransitionHappened() {
+        // Arrange
+        UUID settledId = UUID.randomUUID();
+        UUID alreadySettledId = UUID.randomUUID();
+        when(transactionRepository.updateStatusIfPending(eq(settledId), eq(TransactionStatus.SUCCESS), any())).thenReturn(1);
+        when(transactionRepository.updateStatusIfPending(eq(alreadySettledId), eq(TransactionStatus.SUCCESS), any())).thenReturn(0);
+
+        // Act
+        boolean settled = jpaTransactionRepository.updateStatusIfPending(settledId, TransactionStatus.SUCCESS);
+        boolean alreadySettled = jpaTransactionRepository.updateStatusIfPending(alreadySettledId, TransactionStatus.SUCCESS);
+
+        // Assert
+        assertTrue(settled);
+        assertFalse(alreadySettled);
+        verify(historyRepository).updateStatus(eq(settledId), eq(TransactionStatus.SUCCESS), any(LocalDateTime.class));
+        verify(historyRepository, never()).updateStatus(eq(alreadySettledId), any(), any());
+    }
+
+    @Test
+    void insertAll_ShouldWriteEveryRowInOneJdbcBatchAndThenCopyHistory() throws Exception {
+        // Arrange
+        Transaction second = new Transaction(receiver, sender, new BigDecimal("2.00"), createdAt);
+        UUID secondId = UUID.randomUUID();
+        second.setId(secondId);
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        second.setStatus(TransactionStatus.SUCCESS);
+        transaction.setLedgerSequence(1L);
+        second.setLedgerSequence(2L);
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(entityManager.unwrap(SessionImplementor.class)).thenReturn(session);
+        doAnswer(invocation -> {
+            invocation.<Work>getArgument(0).execute(connection);
+            return null;
+        }).when(session).doWork(any());
+
+        // Act
+        jpaTransactionRepository.insertAll(List.of(transaction, second));
+
+        // Assert
+        verify(statement, times(2)).addBatch();
+        verify(statement).executeBatch();
+        verify(statement, never()).executeUpdate();
+        InOrder inOrder = inOrder(statement, transactionRepository, historyRepository);
+        inOrder.verify(statement).executeBatch();
+        inOrder.verify(transactionRepository).flush();
+        inOrder.verify(historyRepository).copyFromTransactions(List.of(transactionId, secondId));
+    }
+
+    @Test
+    void insertAll_ShouldDoNothing_WhenThereAreNoTransactions() {
+        // Act
+        jpaTransactionRepository.insertAll(List.of());
+
+        // Assert
+        verifyNoInteractions(entityManager, historyRepository);
+    }
+}
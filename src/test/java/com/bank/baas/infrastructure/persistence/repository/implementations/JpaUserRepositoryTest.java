@@ -1,6 +1,7 @@
 package com.bank.baas.infrastructure.persistence.repository.implementations;
 
 import com.bank.baas.domain.model.User;
+import com.bank.baas.infrastructure.persistence.balance.AccountBalanceSlots;
 import com.bank.baas.infrastructure.persistence.entity.AccountEntity;
 import com.bank.baas.infrastructure.persistence.entity.UserEntity;
 import com.bank.baas.infrastructure.persistence.mapper.UserMapper;
@@ -32,6 +33,9 @@ class JpaUserRepositoryTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private AccountBalanceSlots balanceSlots;
+
     @InjectMocks
     private JpaUserRepository jpaUserRepository;
 
@@ -190,6 +194,22 @@ class JpaUserRepositoryTest {
         verify(userMapper, never()).toDomain(any());
     }
 
+    @Test
+    void findUserById_ShouldLoadSlotBalance_WhenUserHasAccount() {
+        // Arrange
+        AccountEntity accountEntity = new AccountEntity();
+        userEntity.setAccount(accountEntity);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userEntity));
+        when(userMapper.toDomain(userEntity)).thenReturn(user);
+
+        // Act
+        jpaUserRepository.findUserById(userId);
+
+        // Assert
+        verify(balanceSlots).loadSlotBalance(accountEntity);
+        verify(userMapper).toDomain(userEntity);
+    }
+
     @Test
     void existsByEmail_ShouldReturnTrue_WhenUserExists() {
         // Arrange
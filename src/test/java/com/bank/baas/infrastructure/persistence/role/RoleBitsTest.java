@@ -0,0 +1,61 @@
+package com.bank.baas.infrastructure.persistence.role;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleBitsTest {
+
+    @Test
+    void encodeAndDecode_ShouldRoundTripRegisteredRoles() {
+        // Arrange
+        Set<String> roles = Set.of("ROLE_USER", "ROLE_ADMIN");
+
+        // Act
+        int mask = RoleBits.encode(roles);
+        Set<String> decoded = RoleBits.decode(mask);
+
+        // Assert
+        assertEquals(0b101, mask);
+        assertEquals(roles, decoded);
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), List.copyOf(decoded));
+        assertTrue(decoded.contains("ROLE_ADMIN"));
+        assertFalse(decoded.contains("ROLE_SUPPORT"));
+        assertFalse(decoded.contains("ROLE_UNKNOWN"));
+    }
+
+    @Test
+    void decodedSet_ShouldTrackChangesInItsOwnMask() {
+        // Arrange
+        Set<String> roles = RoleBits.decode(RoleBits.bitOf("ROLE_USER"));
+
+        // Act
+        roles.add("ROLE_SUPPORT");
+        roles.remove("ROLE_USER");
+
+        // Assert
+        assertEquals(Set.of("ROLE_SUPPORT"), roles);
+        assertEquals(RoleBits.bitOf("ROLE_SUPPORT"), RoleBits.encode(roles));
+    }
+
+    @Test
+    void encode_ShouldRejectRoleWithoutRegisteredBit() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> RoleBits.encode(Set.of("ROLE_MANAGER")));
+        assertEquals("Role has no registered bit: ROLE_MANAGER", exception.getMessage());
+    }
+
+    @Test
+    void updateStatement_ShouldSumRegisteredBitsPerUser() {
+        // Act
+        String statement = UserRolesBackfill.updateStatement();
+
+        // Assert
+        assertTrue(statement.contains("when 'ROLE_USER' then 1 when 'ROLE_SUPPORT' then 2 when 'ROLE_ADMIN' then 4"));
+        assertTrue(statement.endsWith("where roles = 0"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.bank.baas.infrastructure.persistence.role;
+
+import com.bank.baas.infrastructure.persistence.entity.UserEntity;
+import com.bank.baas.infrastructure.persistence.migration.DataMigrations;
+import com.bank.baas.infrastructure.persistence.repository.interfaces.SpringDataUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the backfill against the test profile database, with {@code user_roles} created and seeded the way the old
+ * collection table stored roles.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRolesBackfillTest {
+
+    @Autowired
+    private UserRolesBackfill backfill;
+
+    @Autowired
+    private DataMigrations dataMigrations;
+
+    @Autowired
+    private SpringDataUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> seededUsers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // The application context already ran the backfill against a schema without user_roles.
+        jdbcTemplate.update("delete from data_migrations where name = ?", UserRolesBackfill.MIGRATION);
+        jdbcTemplate.execute("create table user_roles (user_id uuid not null, role varchar(255) not null, " +
+                "primary key (user_id, role))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table user_roles");
+        userRepository.deleteAllById(seededUsers);
+    }
+
+    @Test
+    void backfill_ShouldEncodeLegacyRolesIntoMask() {
+        // Arrange
+        UUID admin = seedLegacyUser("admin", "ROLE_USER", "ROLE_ADMIN");
+        UUID support = seedLegacyUser("support", "ROLE_USER", "ROLE_SUPPORT");
+        UUID noRoles = seedLegacyUser("none");
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(RoleBits.bitOf("ROLE_USER") | RoleBits.bitOf("ROLE_ADMIN"), rolesOf(admin));
+        assertEquals(RoleBits.bitOf("ROLE_USER") | RoleBits.bitOf("ROLE_SUPPORT"), rolesOf(support));
+        assertEquals(0, rolesOf(noRoles));
+        assertTrue(dataMigrations.isCompleted(UserRolesBackfill.MIGRATION));
+    }
+
+    @Test
+    void backfill_ShouldSkipRolesWithoutRegisteredBit() {
+        // Arrange
+        UUID mixed = seedLegacyUser("mixed", "ROLE_USER", "ROLE_AUDITOR");
+        UUID unregisteredOnly = seedLegacyUser("auditor", "ROLE_AUDITOR");
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(RoleBits.bitOf("ROLE_USER"), rolesOf(mixed));
+        assertEquals(0, rolesOf(unregisteredOnly));
+    }
+
+    @Test
+    void backfill_ShouldNotOverwriteMaskThatIsAlreadySet() {
+        // Arrange
+        UUID migrated = seedLegacyUser("migrated", "ROLE_USER", "ROLE_ADMIN");
+        jdbcTemplate.update("update users set roles = ? where id = ?", RoleBits.bitOf("ROLE_SUPPORT"), migrated);
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(RoleBits.bitOf("ROLE_SUPPORT"), rolesOf(migrated));
+    }
+
+    @Test
+    void backfill_ShouldSkip_WhenAlreadyCompleted() {
+        // Arrange
+        dataMigrations.markCompleted(UserRolesBackfill.MIGRATION);
+        UUID legacy = seedLegacyUser("late", "ROLE_USER");
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        assertEquals(0, rolesOf(legacy));
+    }
+
+    private UUID seedLegacyUser(String prefix, String... roles) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        UserEntity user = new UserEntity();
+        user.setEmail(prefix + "-" + suffix + "@roles.local");
+        user.setCpf(suffix + String.format("%03d", Math.abs(prefix.hashCode()) % 1000));
+        user.setPassword("roles-pass");
+        UUID id = userRepository.save(user).getId();
+        seededUsers.add(id);
+
+        // Users from before the bitmask column have mask 0 and their roles only in user_roles.
+        jdbcTemplate.update("update users set roles = 0 where id = ?", id);
+        for (String role : roles) {
+            jdbcTemplate.update("insert into user_roles (user_id, role) values (?, ?)", id, role);
+        }
+        return id;
+    }
+
+    private int rolesOf(UUID userId) {
+        return jdbcTemplate.queryForObject("select roles from users where id = ?", Integer.class, userId);
+    }
+}